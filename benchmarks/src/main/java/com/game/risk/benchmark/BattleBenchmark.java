@@ -0,0 +1,71 @@
+package com.game.risk.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.game.risk.core.util.AttackPhaseUtil;
+import com.game.risk.core.util.FastRandom;
+import com.game.risk.model.Country;
+
+/**
+ * Benchmark of a battle between two countries.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BattleBenchmark {
+
+	/** Number of dice rolled by the attacker. */
+	@Param({ "1", "2", "3" })
+	public int attackDice;
+
+	/** Number of dice rolled by the defender. */
+	@Param({ "1", "2" })
+	public int defendDice;
+
+	/** The attacking country. */
+	private Country attacker;
+
+	/** The defending country. */
+	private Country defender;
+
+	/** Random number generator of the battles. */
+	private FastRandom random;
+
+	/**
+	 * Create the countries.
+	 */
+	@Setup
+	public void setUp() {
+		attacker = new Country("Attacker");
+		defender = new Country("Defender");
+		random = new FastRandom(42);
+	}
+
+	/**
+	 * Roll the dice of one battle, on countries with enough armies for the dice.
+	 *
+	 * @return armies left on the defending country
+	 */
+	@Benchmark
+	public int startBattle() {
+		attacker.setCurrentNumberOfArmies(4);
+		defender.setCurrentNumberOfArmies(3);
+		AttackPhaseUtil.startBattle(attacker, defender, attackDice, defendDice, random);
+		return defender.getCurrentNumberOfArmies();
+	}
+}
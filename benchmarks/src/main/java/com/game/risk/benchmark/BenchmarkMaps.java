@@ -0,0 +1,81 @@
+package com.game.risk.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+import com.game.risk.core.MapFileReader;
+import com.game.risk.core.MapGenerator;
+import com.game.risk.core.MapGenerator.Topology;
+
+/**
+ * Map files used as inputs by the benchmarks.
+ * <p>
+ * A map is named either after a map bundled with the game, such as
+ * {@code World.map}, or {@code planar-<territories>} and
+ * {@code random-<territories>} for a map of the given number of territories
+ * generated by {@link MapGenerator} with that topology. Every map is written
+ * to a temporary file deleted on exit, since the readers of the game work on
+ * files.
+ */
+public final class BenchmarkMaps {
+
+	/** Number of territories of each continent of a generated map. */
+	private static final int TERRITORIES_PER_CONTINENT = 250;
+
+	/** Average number of adjacent territories of a generated map. */
+	private static final double AVERAGE_DEGREE = 4;
+
+	/** Seed of the generated maps. */
+	private static final long SEED = 42;
+
+	/**
+	 * Instantiates nothing, the class only has static methods.
+	 */
+	private BenchmarkMaps() {
+	}
+
+	/**
+	 * Get the file of a map.
+	 *
+	 * @param name
+	 *            name of a bundled map or of a generated map
+	 * @return the temporary map file
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static File getFile(String name) throws IOException {
+		File file = File.createTempFile("benchmark-", ".map");
+		file.deleteOnExit();
+		int separator = name.indexOf('-');
+		if (!name.endsWith(".map") && separator > 0) {
+			int territories = Integer.parseInt(name.substring(separator + 1));
+			Topology topology = Topology.valueOf(name.substring(0, separator).toUpperCase());
+			new MapGenerator(territories, Math.max(1, territories / TERRITORIES_PER_CONTINENT), AVERAGE_DEGREE,
+					topology, SEED).writeFile(file);
+		} else {
+			try (InputStream input = BenchmarkMaps.class.getResourceAsStream("/" + name)) {
+				if (input == null) {
+					throw new IOException("No bundled map " + name);
+				}
+				Files.copy(input, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+		return file;
+	}
+
+	/**
+	 * Read a map.
+	 *
+	 * @param name
+	 *            name of a bundled map or of a generated map
+	 * @return the map file reader
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static MapFileReader read(String name) throws IOException {
+		return new MapFileReader(getFile(name)).readFile();
+	}
+}
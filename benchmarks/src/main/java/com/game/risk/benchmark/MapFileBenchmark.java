@@ -0,0 +1,78 @@
+package com.game.risk.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.game.risk.core.MapFileReader;
+import com.game.risk.core.util.MapValidation;
+
+/**
+ * Benchmarks of the parsing and of the validation of a map file.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapFileBenchmark {
+
+	/** Name of the map. */
+	@Param({ "World.map", "3D Cliff.map", "Annys Piratenwelt.map", "planar-10000", "planar-100000", "random-100000" })
+	public String map;
+
+	/** The map file. */
+	private File file;
+
+	/** The map read once, validated by the validation benchmark. */
+	private MapFileReader reader;
+
+	/**
+	 * Write the map file and read it once.
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Setup
+	public void setUp() throws IOException {
+		file = BenchmarkMaps.getFile(map);
+		reader = new MapFileReader(file).readFile();
+	}
+
+	/**
+	 * Read the map file into the model classes.
+	 *
+	 * @return the map file reader
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Benchmark
+	public MapFileReader readFile() throws IOException {
+		return new MapFileReader(file).readFile();
+	}
+
+	/**
+	 * Validate the map file against its countries graph.
+	 *
+	 * @return true if the map is valid
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Benchmark
+	public boolean validateFile() throws IOException {
+		return new MapValidation(reader.getCountriesGraph()).validateFile(file);
+	}
+}
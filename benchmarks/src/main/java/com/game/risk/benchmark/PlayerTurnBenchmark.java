@@ -0,0 +1,101 @@
+package com.game.risk.benchmark;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.game.risk.RiskGamePhases;
+import com.game.risk.core.MapFileReader;
+import com.game.risk.core.util.FastRandom;
+import com.game.risk.model.Player;
+
+/**
+ * Benchmark of a full turn of a computer player, reinforcement, attack and
+ * fortification, right after the startup phase of a two player game.
+ * <p>
+ * Every turn is played on a fresh copy of the map, set up before the turn and
+ * outside of the measurement, with the next seed of the trial so the runs are
+ * reproducible.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlayerTurnBenchmark {
+
+	/** Strategy of the measured player. */
+	@Param({ "Aggressive", "Benevolent", "Random", "Cheater", "Mcts" })
+	public String strategy;
+
+	/** Name of the map. */
+	@Param({ "World.map", "Annys Piratenwelt.map", "planar-1000", "random-1000" })
+	public String map;
+
+	/** The map read once, copied for every turn. */
+	private MapFileReader template;
+
+	/** Seed of the next game. */
+	private long seed;
+
+	/** The player playing the measured turn. */
+	private Player player;
+
+	/**
+	 * Read the map.
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Setup
+	public void setUpTrial() throws IOException {
+		template = BenchmarkMaps.read(map);
+		seed = 42;
+	}
+
+	/**
+	 * Start a new game against a player of another strategy.
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Setup(Level.Invocation)
+	public void setUpTurn() throws IOException {
+		RiskGamePhases gamePhases = new RiskGamePhases(template.copyMap());
+		gamePhases.setTournamentMode(true);
+		gamePhases.setRandom(new FastRandom(seed++));
+		String opponent = strategy.equals("Benevolent") ? "Random" : "Benevolent";
+		List<Player> players = gamePhases.executeStartupPhase(Arrays.asList(strategy, opponent));
+		for (Player each : players) {
+			gamePhases.selectComputerPlayer(each);
+		}
+		player = players.get(0);
+		gamePhases.setCurrentPlayer(player);
+	}
+
+	/**
+	 * Play the turn.
+	 *
+	 * @return the number of countries of the player after the turn
+	 */
+	@Benchmark
+	public int executePhases() {
+		player.executePhases();
+		return player.getCountriesOwned().size();
+	}
+}
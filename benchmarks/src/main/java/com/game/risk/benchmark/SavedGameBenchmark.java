@@ -0,0 +1,94 @@
+package com.game.risk.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.game.risk.RiskGamePhases;
+import com.game.risk.SavedGame;
+import com.game.risk.core.MapFileReader;
+import com.game.risk.core.util.FastRandom;
+import com.game.risk.model.Player;
+
+/**
+ * Benchmarks of the save and of the load of a game with the protobuf data
+ * model, on a four player game right after the startup phase.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SavedGameBenchmark {
+
+	/** Name of the map. */
+	@Param({ "World.map", "3D Cliff.map", "Annys Piratenwelt.map", "planar-10000" })
+	public String map;
+
+	/** Map of the game. */
+	private MapFileReader fileParser;
+
+	/** Players of the game. */
+	private List<Player> players;
+
+	/** The game saved once, loaded by the load benchmark. */
+	private byte[] savedGame;
+
+	/**
+	 * Start the game and save it once.
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Setup
+	public void setUp() throws IOException {
+		fileParser = BenchmarkMaps.read(map);
+		RiskGamePhases gamePhases = new RiskGamePhases(fileParser);
+		gamePhases.setTournamentMode(true);
+		gamePhases.setRandom(new FastRandom(42));
+		players = gamePhases.executeStartupPhase(Arrays.asList("Aggressive", "Benevolent", "Random", "Cheater"));
+		savedGame = save().toByteArray();
+	}
+
+	/**
+	 * Save the game.
+	 *
+	 * @return the saved game
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Benchmark
+	public ByteArrayOutputStream save() throws IOException {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		SavedGame.write(fileParser, players, players.get(0), output);
+		return output;
+	}
+
+	/**
+	 * Load the game.
+	 *
+	 * @return the game phases of the loaded game
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Benchmark
+	public RiskGamePhases load() throws IOException {
+		return SavedGame.read(new ByteArrayInputStream(savedGame));
+	}
+}
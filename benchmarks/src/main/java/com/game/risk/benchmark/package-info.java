@@ -0,0 +1,13 @@
+/**
+ * JMH benchmarks of the game: map parsing and validation, battles, computer
+ * player turns and saved games, on the bundled maps and on generated ones.
+ * <p>
+ * Install the game with {@code mvn install -DskipTests}, then build and run the
+ * benchmarks from the project directory:
+ *
+ * <pre>
+ * mvn -f benchmarks/pom.xml package
+ * java -jar benchmarks/target/benchmarks.jar
+ * </pre>
+ */
+package com.game.risk.benchmark;
@@ -5,16 +5,17 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import javax.swing.SwingUtilities;
+import com.game.risk.core.InvalidMapFileException;
 import com.game.risk.core.MapFileReader;
+import com.game.risk.core.util.FastRandom;
 import com.game.risk.core.util.LoggingUtil;
 import com.game.risk.core.util.PhaseStates;
 import com.game.risk.model.Player;
-import com.game.risk.model.autogen.GameStateDataProtos.CountriesGraph;
-import com.game.risk.model.autogen.GameStateDataProtos.GameState;
 import com.game.risk.view.CardExchangeView;
 import com.game.risk.view.GamePhaseView;
 import com.game.risk.view.PlayerDominationView;
@@ -85,8 +86,8 @@ public class RiskGameDriver {
 		PlayerDominationView dominationView = new PlayerDominationView(players);
 		for (Player player : players) {
 			player.addObserver(cardExchangeView);
-			player.addObserver(dominationView);
 		}
+		gamePhases.getDominationTracker().addObserver(dominationView);
 		dominationView.setVisible(true);
 		cardExchangeView.setVisible(true);
 
@@ -101,21 +102,9 @@ public class RiskGameDriver {
 	 *             Signals that an I/O exception has occurred.
 	 */
 	public static void startLoadedGame(FileInputStream input) throws IOException {
-		CountriesGraph graph = CountriesGraph.parseDelimitedFrom(input);
-		com.game.risk.model.autogen.GameStateDataProtos.MapFileReader reader = com.game.risk.model.autogen.GameStateDataProtos.MapFileReader
-				.parseDelimitedFrom(input);
-		MapFileReader fileReader = new MapFileReader(reader);
-		fileReader.updateCountriesModel();
-		fileReader.updateContinentsModel();
-		com.game.risk.core.CountriesGraph countriesGraph = new com.game.risk.core.CountriesGraph(fileReader);
-		countriesGraph.setContinentHashMap(fileReader.getContinentHashMap());
-		countriesGraph.updateAdjacentCountriesModel(graph);
-		fileReader.setCountriesGraph(countriesGraph);
-		countriesGraph.setCountriesCount(graph.getCountryCount());
-		GameState gameState = GameState.parseDelimitedFrom(input);
-		gamePhases = new RiskGamePhases(fileReader);
-		List<Player> players = gamePhases.updatePlayerList(gameState.getPlayersListList());
-		gamePhases.initializeCurrentPlayer(players, gameState.getCurrentPlayer());
+		gamePhases = SavedGame.read(input);
+		MapFileReader fileReader = gamePhases.getFileParser();
+		List<Player> players = gamePhases.getPlayerList();
 		GamePhaseView gamePhaseView = new GamePhaseView(gamePhases, fileReader);
 		gamePhaseView.setVisible(true);
 		gamePhases.addObserver(gamePhaseView);
@@ -124,93 +113,92 @@ public class RiskGameDriver {
 		PlayerDominationView dominationView = new PlayerDominationView(players);
 		for (Player player : players) {
 			player.addObserver(cardExchangeView);
-			player.addObserver(dominationView);
 		}
+		gamePhases.getDominationTracker().addObserver(dominationView);
 		dominationView.setVisible(true);
 		cardExchangeView.setVisible(true);
 	}
 
 	/**
-	 * Start tournament mode.
+	 * Start tournament mode, playing the computer strategies against each other
+	 * on every map, with one game per available processor at a time.
 	 *
+	 * @param mapFiles
+	 *            the map files
 	 * @throws IOException
 	 *             Signals that an I/O exception has occurred.
 	 */
-	public static void startTournamentMode() throws IOException {
-		List<String> mapfiles = new ArrayList<>();
+	public static void startTournamentMode(List<File> mapFiles) throws IOException {
+		startTournamentMode(mapFiles, new FastRandom().nextLong());
+	}
+
+	/**
+	 * Start tournament mode with the given seed, reproducing the games of an
+	 * earlier tournament with the same seed, maps and strategies.
+	 *
+	 * @param mapFiles
+	 *            the map files
+	 * @param seed
+	 *            seed of the random number generators of the games
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static void startTournamentMode(List<File> mapFiles, long seed) throws IOException {
 		List<String> computerPlayers = new ArrayList<>();
 		computerPlayers.add("Cheater");
 		computerPlayers.add("Random");
 		computerPlayers.add("Aggressive");
 		computerPlayers.add("Benevolent");
+		computerPlayers.add("Mcts");
 		int gamesToBePlayed = 3;
-		HashMap<String, List<String>> gameOutcome = new HashMap<>();
-		int mapNumber = 0;
-		String path = "C:\\Concordia University\\Study Material\\SOEN 6441 Advanced Programming Practices\\RISK Game - Project\\Québec.MAP";
-		String path2 = "C:\\Concordia University\\Study Material\\SOEN 6441 Advanced Programming Practices\\RISK Game - Project\\Annys Piratenwelt.map";
-		mapfiles.add(path);
-		mapfiles.add(path2);
-		for (String fileName : mapfiles) {
-			mapNumber++;
-			File file = new File(path);
-			System.out.println("Game is being played on " + path);
-
-			MapFileReader parser = new MapFileReader(file);
-			if (!parser.checkFileValidation()) {
-				System.out.println("Invalid File Selected.");
-				LoggingUtil.logMessage("Invalid File Selected.");
-				return;
-			}
-			parser.readFile();
-			List<String> list = new ArrayList<>();
-			list.clear();
-			for (int i = 0; i < gamesToBePlayed; i++) {
-				gamePhases = new RiskGamePhases(parser);
-				gamePhases.setTournamentMode(true);
-
-				List<Player> players = gamePhases.executeStartupPhase(computerPlayers);
-				String winner = null;
-				for (int turn = 0; turn < 20; turn++) {
-					for (Player player : players) {
-						gamePhases.selectComputerPlayer(player);
-						player.executePhases();
-						if (player.getCountriesOwned().size() == gamePhases.getTotalCountries()) {
-							winner = player.getPlayerName();
-							break;
-						}
-					}
-					if (winner != null) {
-						System.out.println("Turn Count: " + turn + 1);
-						break;
-					}
-				}
-				if (winner == null) {
-					winner = "Draw";
-					System.out.println("\n** There is Draw between the battle of players for Game" + (i + 1) + " on Map"
-							+ mapNumber + " **");
-				} else {
-					System.out.println("\n** " + winner + " is declared winner for Game" + (i + 1) + " on Map"
-							+ mapNumber + " **");
-				}
-				list.add(winner);
+		int maxTurns = 20;
+
+		ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+		TournamentResult result;
+		System.out.println("Tournament seed: " + seed);
+		LoggingUtil.logMessage("Tournament seed: " + seed);
+		try {
+			result = new TournamentEngine(computerPlayers, gamesToBePlayed, maxTurns, executor, seed).play(mapFiles);
+		} catch (InvalidMapFileException e) {
+			for (String error : e.getErrors()) {
+				System.out.println(error);
 			}
-			gameOutcome.put(fileName, list);
-
+			System.out.println("Invalid File Selected.");
+			LoggingUtil.logMessage("Invalid File Selected.");
+			return;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			System.out.println("Tournament interrupted.");
+			return;
+		} finally {
+			executor.shutdown();
 		}
 
 		int mapCount = 0;
-		for (String key : gameOutcome.keySet()) {
+		for (String mapName : result.getMapNames()) {
 			String message = "\n\n::::::::::: MAP " + (++mapCount) + " Outcome :::::::::::";
 			System.out.println(message);
-			System.out.println("Map Selected: " + key);
+			System.out.println("Map Selected: " + mapName);
 			LoggingUtil.logMessage(message);
-			LoggingUtil.logMessage("Map Selected: " + key);
-			for (int i = 0; i < gameOutcome.get(key).size(); i++) {
-				String winMessage = "Game " + (i + 1) + ": " + gameOutcome.get(key).get(i);
+			LoggingUtil.logMessage("Map Selected: " + mapName);
+			List<String> outcomes = result.getOutcomes(mapName);
+			for (int i = 0; i < outcomes.size(); i++) {
+				String winMessage = "Game " + (i + 1) + ": " + outcomes.get(i);
 				LoggingUtil.logMessage(winMessage);
 				System.out.println(winMessage);
 			}
 		}
-
+		String message = "\n\n::::::::::: Tournament Outcome :::::::::::";
+		System.out.println(message);
+		LoggingUtil.logMessage(message);
+		List<String> outcomes = new ArrayList<>(computerPlayers);
+		outcomes.add(TournamentResult.DRAW);
+		outcomes.add(TournamentResult.ERROR);
+		for (String outcome : outcomes) {
+			String countMessage = outcome + ": " + result.getTotalCount(outcome) + " of " + result.getGamesCount()
+					+ " games";
+			System.out.println(countMessage);
+			LoggingUtil.logMessage(countMessage);
+		}
 	}
 }
@@ -5,13 +5,18 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Observable;
+import java.util.concurrent.ForkJoinPool;
+import com.game.risk.core.DominationTracker;
+import com.game.risk.core.GameState;
 import com.game.risk.core.MapFileReader;
 import com.game.risk.core.StartUpPhase;
 import com.game.risk.core.strategy.impl.AgressivePlayerStrategy;
 import com.game.risk.core.strategy.impl.BenevolentPlayerStrategy;
 import com.game.risk.core.strategy.impl.CheaterPlayerStrategy;
+import com.game.risk.core.strategy.impl.MctsPlayerStrategy;
 import com.game.risk.core.strategy.impl.RandomPlayerStrategy;
 import com.game.risk.core.util.AttackPhaseUtil;
+import com.game.risk.core.util.FastRandom;
 import com.game.risk.core.util.LoggingUtil;
 import com.game.risk.core.util.PhaseStates;
 import com.game.risk.model.Country;
@@ -52,6 +57,15 @@ public class RiskGamePhases extends Observable {
 	/** Round robin scheduler. */
 	private RoundRobinScheduler<Player> robinScheduler;
 
+	/** State of the game the countries and players are bound to. */
+	private GameState gameState;
+
+	/** Tracker notifying the domination of the players, coalesced per phase. */
+	private DominationTracker dominationTracker;
+
+	/** Random number generator of the game, split into one per player. */
+	private FastRandom random = new FastRandom();
+
 	/**
 	 * Default Constructor.
 	 *
@@ -102,14 +116,83 @@ public class RiskGamePhases extends Observable {
 		startUpPhase.assignCountries();
 		startUpPhase.allocateArmiesToPlayers();
 		startUpPhase.assignInitialArmiesToCountries();
-		startUpPhase.populateDominationPercentage();
 
 		List<Player> players = startUpPhase.getPlayerList();
+		bindGameState(players);
+		splitRandom(players);
 		robinScheduler = new RoundRobinScheduler<Player>(players);
 		currentPlayer = robinScheduler.next();
 		return players;
 	}
 
+	/**
+	 * Create the state of the game and bind the countries of the map and the
+	 * players to it.
+	 *
+	 * @param players
+	 *            the players
+	 */
+	private void bindGameState(List<Player> players) {
+		List<String> playerNames = new ArrayList<>();
+		for (Player player : players) {
+			playerNames.add(player.getPlayerName());
+		}
+		gameState = new GameState(fileParser.getCountriesGraph().getTopology(), playerNames);
+		gameState.bind(players);
+		dominationTracker = new DominationTracker(gameState);
+	}
+
+	/**
+	 * Give every player its own random number generator, split from the one of
+	 * the game in the order of the players.
+	 *
+	 * @param players
+	 *            the players
+	 */
+	private void splitRandom(List<Player> players) {
+		for (Player player : players) {
+			player.setRandom(random.split());
+		}
+	}
+
+	/**
+	 * Get the random number generator of the game.
+	 *
+	 * @return the random number generator
+	 */
+	public FastRandom getRandom() {
+		return random;
+	}
+
+	/**
+	 * Set the random number generator of the game. It must be set before the
+	 * startup phase for the players to use it.
+	 *
+	 * @param random
+	 *            the random number generator, seeded to reproduce the game
+	 */
+	public void setRandom(FastRandom random) {
+		this.random = random;
+	}
+
+	/**
+	 * Get the state of the game.
+	 *
+	 * @return the game state, null before the startup phase
+	 */
+	public GameState getGameState() {
+		return gameState;
+	}
+
+	/**
+	 * Get the domination tracker of the game.
+	 *
+	 * @return the domination tracker, null before the startup phase
+	 */
+	public DominationTracker getDominationTracker() {
+		return dominationTracker;
+	}
+
 	/**
 	 * Execute startup phase.
 	 *
@@ -231,7 +314,7 @@ public class RiskGamePhases extends Observable {
 		currentPlayer.attackOpponent(attacker, defender, diceAttacker, diceDefender);
 		if (defender.getCurrentNumberOfArmies() == 0) {
 			setCurrentState(PhaseStates.STATE_CAPTURE);
-			updateCountryToPlayer(defender, attacker);
+			AttackPhaseUtil.captureCountry(defender, attacker, startUpPhase.getPlayerList(), fileParser.getCountriesGraph());
 			currentPlayer.setWinner(true);
 
 		}
@@ -253,27 +336,6 @@ public class RiskGamePhases extends Observable {
 		}
 	}
 
-	/**
-	 * Update country to player.
-	 *
-	 * @param defender
-	 *            the defender
-	 * @param attacker
-	 *            the attacker
-	 */
-	private void updateCountryToPlayer(Country defender, Country attacker) {
-		ArrayList<Player> playerList = startUpPhase.getPlayerList();
-		for (int i = 0; i < startUpPhase.getNumberOfPlayers(); i++) {
-			if (playerList.get(i).getPlayerName().equals(defender.getPlayerName())) {
-				playerList.get(i).removeCountry(defender);
-			} else if (playerList.get(i).getPlayerName().equals(attacker.getPlayerName())) {
-				playerList.get(i).addCountry(defender);
-			}
-		}
-		defender.setPlayerName(attacker.getPlayerName());
-
-	}
-
 	/**
 	 * Get Player List.
 	 * 
@@ -304,10 +366,13 @@ public class RiskGamePhases extends Observable {
 	}
 
 	/**
-	 * Update domination percentage.
+	 * Update domination percentage, notifying the observers of the domination
+	 * tracker if it has changed.
 	 */
 	public void updateDominationPercentage() {
-		startUpPhase.populateDominationPercentage();
+		if (dominationTracker != null) {
+			dominationTracker.publish();
+		}
 	}
 
 	/**
@@ -385,6 +450,7 @@ public class RiskGamePhases extends Observable {
 		setCurrentState(state);
 		setChanged();
 		notifyObservers();
+		updateDominationPercentage();
 	}
 
 	/**
@@ -419,11 +485,11 @@ public class RiskGamePhases extends Observable {
 			List<com.game.risk.model.CardType> cards = new ArrayList<>();
 			for (Cards card : player.getCardListList()) {
 				if (card.getCard().equals(CardType.ARTILLERY)) {
-					cards.add(com.game.risk.model.CardType.values()[3]);
+					cards.add(com.game.risk.model.CardType.Artillery);
 				} else if (card.getCard().equals(CardType.INFANTRY)) {
-					cards.add(com.game.risk.model.CardType.values()[1]);
+					cards.add(com.game.risk.model.CardType.Infantry);
 				} else {
-					cards.add(com.game.risk.model.CardType.values()[2]);
+					cards.add(com.game.risk.model.CardType.Cavalry);
 				}
 			}
 			newPlayer.setCardList(cards);
@@ -452,6 +518,8 @@ public class RiskGamePhases extends Observable {
 				break;
 			}
 		}
+		bindGameState(players);
+		splitRandom(players);
 		robinScheduler = new RoundRobinScheduler<Player>(players);
 		currentPlayer = robinScheduler.getUpdateItem(presentPlayer);
 
@@ -487,16 +555,25 @@ public class RiskGamePhases extends Observable {
 		switch (player.getPlayerName()) {
 
 		case "Aggressive":
-			player.setPlayerStrategy(new AgressivePlayerStrategy(currentPlayer, fileParser.getCountriesGraph(), this));
+			player.setPlayerStrategy(new AgressivePlayerStrategy(player, fileParser.getCountriesGraph(), this));
 			break;
 		case "Benevolent":
-			player.setPlayerStrategy(new BenevolentPlayerStrategy(currentPlayer, fileParser.getCountriesGraph()));
+			player.setPlayerStrategy(new BenevolentPlayerStrategy(player, fileParser.getCountriesGraph()));
 			break;
 		case "Random":
-			player.setPlayerStrategy(new RandomPlayerStrategy(currentPlayer, fileParser.getCountriesGraph(), this));
+			player.setPlayerStrategy(new RandomPlayerStrategy(player, fileParser.getCountriesGraph(), this));
 			break;
 		case "Cheater":
-			player.setPlayerStrategy(new CheaterPlayerStrategy(currentPlayer, fileParser.getCountriesGraph(), this));
+			player.setPlayerStrategy(new CheaterPlayerStrategy(player, fileParser.getCountriesGraph(), this));
+			break;
+		case "Mcts":
+			if (tournamentMode) {
+				// Without time budget, the searches and so the games are reproduced by their seed
+				player.setPlayerStrategy(new MctsPlayerStrategy(player, fileParser.getCountriesGraph(), this,
+						ForkJoinPool.commonPool(), MctsPlayerStrategy.DEFAULT_ROLLOUT_BUDGET, 0));
+			} else {
+				player.setPlayerStrategy(new MctsPlayerStrategy(player, fileParser.getCountriesGraph(), this));
+			}
 			break;
 		default:
 			break;
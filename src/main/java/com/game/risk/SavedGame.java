@@ -0,0 +1,213 @@
+package com.game.risk;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.game.risk.core.MapFileReader;
+import com.game.risk.model.CardType;
+import com.game.risk.model.Country;
+import com.game.risk.model.Player;
+import com.game.risk.model.autogen.GameStateDataProtos.Continent;
+import com.game.risk.model.autogen.GameStateDataProtos.CountriesGraph;
+import com.game.risk.model.autogen.GameStateDataProtos.CountriesGraph.CountryLinkedList;
+import com.game.risk.model.autogen.GameStateDataProtos.GameState;
+import com.game.risk.model.autogen.GameStateDataProtos.Player.Cards;
+
+/**
+ * Headless save and load of a game with the protobuf data model.
+ * <p>
+ * A saved game is the countries graph, the map file reader and the game state
+ * messages, each written delimited to the same stream.
+ */
+public class SavedGame {
+
+	/** Map of the game. */
+	private final MapFileReader fileParser;
+
+	/** Country messages by country name, each built once per save. */
+	private final Map<String, com.game.risk.model.autogen.GameStateDataProtos.Country> countryMessages;
+
+	/**
+	 * Instantiates a new saved game writer.
+	 *
+	 * @param fileParser
+	 *            map of the game
+	 */
+	private SavedGame(MapFileReader fileParser) {
+		this.fileParser = fileParser;
+		this.countryMessages = new HashMap<>();
+	}
+
+	/**
+	 * Write a game to a stream.
+	 *
+	 * @param fileParser
+	 *            map of the game
+	 * @param players
+	 *            the players
+	 * @param currentPlayer
+	 *            the player playing the current turn
+	 * @param output
+	 *            the output stream, not closed
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static void write(MapFileReader fileParser, List<Player> players, Player currentPlayer,
+			OutputStream output) throws IOException {
+		new SavedGame(fileParser).writeGame(players, currentPlayer, output);
+	}
+
+	/**
+	 * Read a game from a stream.
+	 *
+	 * @param input
+	 *            the input stream, not closed
+	 * @return the game phases of the game, with the players and the current
+	 *         player initialized
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static RiskGamePhases read(InputStream input) throws IOException {
+		CountriesGraph graph = CountriesGraph.parseDelimitedFrom(input);
+		com.game.risk.model.autogen.GameStateDataProtos.MapFileReader reader = com.game.risk.model.autogen.GameStateDataProtos.MapFileReader
+				.parseDelimitedFrom(input);
+		MapFileReader fileReader = new MapFileReader(reader);
+		fileReader.updateCountriesModel();
+		fileReader.updateContinentsModel();
+		com.game.risk.core.CountriesGraph countriesGraph = new com.game.risk.core.CountriesGraph(fileReader);
+		countriesGraph.setContinentHashMap(fileReader.getContinentHashMap());
+		countriesGraph.updateAdjacentCountriesModel(graph);
+		fileReader.setCountriesGraph(countriesGraph);
+		countriesGraph.setCountriesCount(graph.getCountryCount());
+		GameState gameState = GameState.parseDelimitedFrom(input);
+		RiskGamePhases gamePhases = new RiskGamePhases(fileReader);
+		List<Player> players = gamePhases.updatePlayerList(gameState.getPlayersListList());
+		gamePhases.initializeCurrentPlayer(players, gameState.getCurrentPlayer());
+		return gamePhases;
+	}
+
+	/**
+	 * Build the messages of the game and write them.
+	 *
+	 * @param players
+	 *            the players
+	 * @param currentPlayer
+	 *            the player playing the current turn
+	 * @param output
+	 *            the output stream
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	private void writeGame(List<Player> players, Player currentPlayer, OutputStream output) throws IOException {
+		GameState.Builder builder = GameState.newBuilder().setCurrentPlayer(createPlayerMessage(currentPlayer));
+		for (Player player : players) {
+			builder.addPlayersList(createPlayerMessage(player));
+		}
+		GameState gameState = builder.build();
+		Map<String, Continent> continentMessages = createContinentMessages();
+		CountriesGraph.Builder graphBuilder = CountriesGraph.newBuilder();
+		graphBuilder.putAllContinentMap(continentMessages);
+		graphBuilder.setCountryCount(fileParser.getCountriesHashMap().size());
+		for (Country country : fileParser.getCountriesHashMap().values()) {
+			graphBuilder.putCountryMap(country.getCountryName(), createAdjacentCountriesMessage(country));
+		}
+		CountriesGraph graph = graphBuilder.build();
+		Map<String, com.game.risk.model.autogen.GameStateDataProtos.Country> countryMap = new HashMap<>();
+		for (Country country : fileParser.getCountriesHashMap().values()) {
+			countryMap.put(country.getCountryName(), createCountryMessage(country));
+		}
+		com.game.risk.model.autogen.GameStateDataProtos.MapFileReader mapFileReader = com.game.risk.model.autogen.GameStateDataProtos.MapFileReader
+				.newBuilder().setGraphDataStructure(graph).putAllCountryMap(countryMap)
+				.putAllContinentMap(continentMessages).build();
+		graph.writeDelimitedTo(output);
+		mapFileReader.writeDelimitedTo(output);
+		gameState.writeDelimitedTo(output);
+	}
+
+	/**
+	 * Create the continent messages by continent name.
+	 *
+	 * @return the continent messages
+	 */
+	private Map<String, Continent> createContinentMessages() {
+		Map<String, Continent> continentMap = new HashMap<>();
+		for (com.game.risk.model.Continent continent : fileParser.getContinentHashMap().values()) {
+			Continent.Builder builder = Continent.newBuilder();
+			for (Country country : continent.getCountries()) {
+				builder.addBelongingCountry(createCountryMessage(country));
+			}
+			builder.setContinentName(continent.getContinentName()).setControlValue(continent.getControlValue());
+			continentMap.put(continent.getContinentName(), builder.build());
+		}
+		return continentMap;
+	}
+
+	/**
+	 * Create the message of the adjacent countries of a country.
+	 *
+	 * @param selectedCountry
+	 *            the selected country
+	 * @return CountryLinkedList object
+	 */
+	private CountryLinkedList createAdjacentCountriesMessage(Country selectedCountry) {
+		List<com.game.risk.model.autogen.GameStateDataProtos.Country> list = new ArrayList<>();
+		for (Country country : fileParser.getCountriesGraph().getAdjListHashMap().get(selectedCountry)) {
+			list.add(createCountryMessage(country));
+		}
+		return CountryLinkedList.newBuilder().addAllCountry(list).build();
+	}
+
+	/**
+	 * Create the message of a player.
+	 *
+	 * @param player
+	 *            the player
+	 * @return autogen.GameStateDataProtos.Player object
+	 */
+	private com.game.risk.model.autogen.GameStateDataProtos.Player createPlayerMessage(Player player) {
+		com.game.risk.model.autogen.GameStateDataProtos.Player.Builder playerBuilder = com.game.risk.model.autogen.GameStateDataProtos.Player
+				.newBuilder();
+		for (Country country : player.getCountriesOwned()) {
+			playerBuilder.addCountryOwned(createCountryMessage(country));
+		}
+		for (CardType cardType : player.getCardList()) {
+			Cards.Builder builder = Cards.newBuilder();
+			if (cardType.equals(CardType.Infantry)) {
+				builder.setCard(com.game.risk.model.autogen.GameStateDataProtos.Player.CardType.INFANTRY);
+			} else if (cardType.equals(CardType.Artillery)) {
+				builder.setCard(com.game.risk.model.autogen.GameStateDataProtos.Player.CardType.ARTILLERY);
+			} else {
+				builder.setCard(com.game.risk.model.autogen.GameStateDataProtos.Player.CardType.CAVALRY);
+			}
+			playerBuilder.addCardList(builder.build());
+		}
+		return playerBuilder.setPlayerName(player.getPlayerName()).setNumberOfArmies(player.getNumberOfArmies())
+				.setPercentageDomination(player.getCurrentDominationPercentage()).setIsAI(player.isAI()).build();
+	}
+
+	/**
+	 * Create the message of a country, once per save.
+	 *
+	 * @param country
+	 *            the country
+	 * @return autogen.GameStateDataProtos.Country object
+	 */
+	private com.game.risk.model.autogen.GameStateDataProtos.Country createCountryMessage(Country country) {
+		com.game.risk.model.autogen.GameStateDataProtos.Country message = countryMessages
+				.get(country.getCountryName());
+		if (message == null) {
+			message = com.game.risk.model.autogen.GameStateDataProtos.Country.newBuilder()
+					.setCountryName(country.getCountryName()).setContinentName(country.getContinentName())
+					.setXCoordinate(country.getxCoordinate()).setYCoordinate(country.getyCoordinate())
+					.setPlayerName(country.getPlayerName()).setCurrentArmiesCount(country.getCurrentNumberOfArmies())
+					.build();
+			countryMessages.put(country.getCountryName(), message);
+		}
+		return message;
+	}
+}
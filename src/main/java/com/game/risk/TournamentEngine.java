@@ -0,0 +1,178 @@
+package com.game.risk;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import com.game.risk.core.MapFileCache;
+import com.game.risk.core.MapFileReader;
+import com.game.risk.core.util.FastRandom;
+import com.game.risk.model.Player;
+
+/**
+ * Headless engine playing the games of a tournament in parallel.
+ * <p>
+ * Each map is loaded once and used as a read-only template. Every game is
+ * played on its own copy of the map, with its own players and game phases, so
+ * games share no mutable state and can run on any thread of the executor.
+ * Every game gets its own random number generator, split from the seed of the
+ * tournament in the order of the games, so a seed reproduces every game
+ * whatever the number of threads.
+ */
+public class TournamentEngine {
+
+	/** Names of the computer strategies playing each game. */
+	private final List<String> strategies;
+
+	/** Number of games played on each map. */
+	private final int gamesPerMap;
+
+	/** Number of turns after which a game is a draw. */
+	private final int maxTurns;
+
+	/** Executor running the games. */
+	private final ExecutorService executor;
+
+	/** Cache of the compiled maps. */
+	private final MapFileCache mapFileCache;
+
+	/** Seed of the random number generators of the games. */
+	private final long seed;
+
+	/**
+	 * Instantiates a new tournament engine.
+	 *
+	 * @param strategies
+	 *            names of the computer strategies playing each game
+	 * @param gamesPerMap
+	 *            number of games played on each map
+	 * @param maxTurns
+	 *            number of turns after which a game is a draw
+	 * @param executor
+	 *            executor running the games, not shut down by the engine
+	 */
+	public TournamentEngine(List<String> strategies, int gamesPerMap, int maxTurns, ExecutorService executor) {
+		this(strategies, gamesPerMap, maxTurns, executor, new FastRandom().nextLong());
+	}
+
+	/**
+	 * Instantiates a new tournament engine reproducing the games of a seed.
+	 *
+	 * @param strategies
+	 *            names of the computer strategies playing each game
+	 * @param gamesPerMap
+	 *            number of games played on each map
+	 * @param maxTurns
+	 *            number of turns after which a game is a draw
+	 * @param executor
+	 *            executor running the games, not shut down by the engine
+	 * @param seed
+	 *            seed of the random number generators of the games
+	 */
+	public TournamentEngine(List<String> strategies, int gamesPerMap, int maxTurns, ExecutorService executor,
+			long seed) {
+		this.strategies = new ArrayList<>(strategies);
+		this.gamesPerMap = gamesPerMap;
+		this.maxTurns = maxTurns;
+		this.executor = executor;
+		this.mapFileCache = new MapFileCache();
+		this.seed = seed;
+	}
+
+	/**
+	 * Get the seed of the random number generators of the games.
+	 *
+	 * @return the seed
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+	/**
+	 * Play the games on every map and wait for their outcomes.
+	 *
+	 * @param mapFiles
+	 *            the map files
+	 * @return the tournament result
+	 * @throws IOException
+	 *             if a map cannot be read or is invalid
+	 * @throws InterruptedException
+	 *             if interrupted while waiting for the games
+	 */
+	public TournamentResult play(List<File> mapFiles) throws IOException, InterruptedException {
+		TournamentResult result = new TournamentResult(strategies);
+		List<String> mapNames = new ArrayList<>();
+		List<Future<String>> futures = new ArrayList<>();
+		FastRandom random = new FastRandom(seed);
+		for (File mapFile : mapFiles) {
+			final MapFileReader template = mapFileCache.load(mapFile);
+			// Building the topology before the games read the template concurrently
+			template.getCountriesGraph().getTopology();
+			String mapName = mapFile.getPath();
+			result.addMap(mapName, gamesPerMap);
+			for (int game = 0; game < gamesPerMap; game++) {
+				mapNames.add(mapName);
+				final FastRandom gameRandom = random.split();
+				futures.add(executor.submit(new Callable<String>() {
+					@Override
+					public String call() throws IOException {
+						// Each game needs its own countries, bound to the state of the game
+						return playGame(template.copyMap(), gameRandom);
+					}
+				}));
+			}
+		}
+		for (int i = 0; i < futures.size(); i++) {
+			String outcome;
+			try {
+				outcome = futures.get(i).get();
+			} catch (ExecutionException e) {
+				System.out.println("Game " + (i % gamesPerMap + 1) + " on " + mapNames.get(i) + " failed: "
+						+ e.getCause());
+				outcome = TournamentResult.ERROR;
+			}
+			result.setOutcome(mapNames.get(i), i % gamesPerMap, outcome);
+		}
+		return result;
+	}
+
+	/**
+	 * Play a game until a player owns every country or the turns limit is
+	 * reached. Players owning no country are skipped.
+	 *
+	 * @param map
+	 *            map of the game, owned by the game
+	 * @param random
+	 *            random number generator of the game
+	 * @return name of the winning strategy or {@link TournamentResult#DRAW}
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	String playGame(MapFileReader map, FastRandom random) throws IOException {
+		RiskGamePhases gamePhases = new RiskGamePhases(map);
+		gamePhases.setTournamentMode(true);
+		gamePhases.setRandom(random);
+		List<Player> players = gamePhases.executeStartupPhase(strategies);
+		for (Player player : players) {
+			gamePhases.selectComputerPlayer(player);
+		}
+		for (int turn = 0; turn < maxTurns; turn++) {
+			for (Player player : players) {
+				if (player.getCountriesOwned().isEmpty()) {
+					continue;
+				}
+				gamePhases.setCurrentPlayer(player);
+				player.executePhases();
+				if (player.getCountriesOwned().size() == gamePhases.getTotalCountries()) {
+					return player.getPlayerName();
+				}
+			}
+		}
+		return TournamentResult.DRAW;
+	}
+}
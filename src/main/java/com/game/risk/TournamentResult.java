@@ -0,0 +1,139 @@
+package com.game.risk;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcomes of the games of a tournament, aggregated per map and per strategy.
+ */
+public class TournamentResult {
+
+	/** Outcome of a game which no player has won within the turns limit. */
+	public static final String DRAW = "Draw";
+
+	/** Outcome of a game which failed with an exception. */
+	public static final String ERROR = "Error";
+
+	/** Strategies playing the tournament. */
+	private final List<String> strategies;
+
+	/** Outcome of each game, by map name. */
+	private final Map<String, String[]> outcomes = new LinkedHashMap<>();
+
+	/**
+	 * Instantiates a new tournament result.
+	 *
+	 * @param strategies
+	 *            strategies playing the tournament
+	 */
+	public TournamentResult(List<String> strategies) {
+		this.strategies = new ArrayList<>(strategies);
+	}
+
+	/**
+	 * Add a map to the tournament.
+	 *
+	 * @param mapName
+	 *            name of the map
+	 * @param gamesCount
+	 *            number of games played on the map
+	 */
+	void addMap(String mapName, int gamesCount) {
+		outcomes.put(mapName, new String[gamesCount]);
+	}
+
+	/**
+	 * Set the outcome of a game.
+	 *
+	 * @param mapName
+	 *            name of the map
+	 * @param game
+	 *            index of the game on the map
+	 * @param outcome
+	 *            name of the winning strategy, {@link #DRAW} or {@link #ERROR}
+	 */
+	void setOutcome(String mapName, int game, String outcome) {
+		outcomes.get(mapName)[game] = outcome;
+	}
+
+	/**
+	 * Get the strategies playing the tournament.
+	 *
+	 * @return the strategies
+	 */
+	public List<String> getStrategies() {
+		return Collections.unmodifiableList(strategies);
+	}
+
+	/**
+	 * Get the names of the maps, in the order they were given.
+	 *
+	 * @return the map names
+	 */
+	public List<String> getMapNames() {
+		return new ArrayList<>(outcomes.keySet());
+	}
+
+	/**
+	 * Get the outcome of each game played on a map.
+	 *
+	 * @param mapName
+	 *            name of the map
+	 * @return outcome of each game, in game order
+	 */
+	public List<String> getOutcomes(String mapName) {
+		List<String> list = new ArrayList<>();
+		Collections.addAll(list, outcomes.get(mapName));
+		return list;
+	}
+
+	/**
+	 * Count the games of a map having an outcome.
+	 *
+	 * @param mapName
+	 *            name of the map
+	 * @param outcome
+	 *            name of a strategy, {@link #DRAW} or {@link #ERROR}
+	 * @return the games count
+	 */
+	public int getCount(String mapName, String outcome) {
+		int count = 0;
+		for (String gameOutcome : outcomes.get(mapName)) {
+			if (outcome.equals(gameOutcome)) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Count the games of all the maps having an outcome.
+	 *
+	 * @param outcome
+	 *            name of a strategy, {@link #DRAW} or {@link #ERROR}
+	 * @return the games count
+	 */
+	public int getTotalCount(String outcome) {
+		int count = 0;
+		for (String mapName : outcomes.keySet()) {
+			count += getCount(mapName, outcome);
+		}
+		return count;
+	}
+
+	/**
+	 * Get the total number of games.
+	 *
+	 * @return the games count
+	 */
+	public int getGamesCount() {
+		int count = 0;
+		for (String[] mapOutcomes : outcomes.values()) {
+			count += mapOutcomes.length;
+		}
+		return count;
+	}
+}
@@ -0,0 +1,261 @@
+package com.game.risk.core;
+
+import java.util.Arrays;
+
+/**
+ * Index of the strongest and weakest country of each player by number of
+ * armies.
+ * <p>
+ * The countries of each player are kept in an indexed max heap and an indexed
+ * min heap over the armies of a {@link GameState}, with the position of each
+ * country id in its heaps, so the strongest and weakest countries are read in
+ * O(1) and a change of owner or of armies costs O(log n). Countries with the
+ * same armies are ordered by id. The index must be told of every change
+ * through {@link #add(int, int)}, {@link #remove(int, int)} and
+ * {@link #update(int, int)}, which the game state does.
+ */
+public class ArmyIndex {
+
+	/**
+	 * Indexed binary heap of country ids ordered by their armies.
+	 */
+	private static final class Heap {
+
+		/** Armies of each country, shared with the game state. */
+		private final int[] armies;
+
+		/** Position of each country id in the heap of its owner, -1 if absent. */
+		private final int[] positions;
+
+		/** True for a max heap, false for a min heap. */
+		private final boolean max;
+
+		/** Country ids of the heap. */
+		private int[] ids = new int[8];
+
+		/** Number of countries of the heap. */
+		private int size;
+
+		/**
+		 * Instantiates a new empty heap.
+		 *
+		 * @param armies
+		 *            armies of each country
+		 * @param positions
+		 *            positions of the country ids, shared by the heaps of the same
+		 *            order
+		 * @param max
+		 *            true for a max heap
+		 */
+		private Heap(int[] armies, int[] positions, boolean max) {
+			this.armies = armies;
+			this.positions = positions;
+			this.max = max;
+		}
+
+		/**
+		 * Add a country.
+		 *
+		 * @param id
+		 *            id of the country
+		 */
+		private void add(int id) {
+			if (size == ids.length) {
+				ids = Arrays.copyOf(ids, size * 2);
+			}
+			ids[size] = id;
+			positions[id] = size;
+			siftUp(size++);
+		}
+
+		/**
+		 * Remove a country, replacing it with the last one of the heap.
+		 *
+		 * @param id
+		 *            id of the country
+		 */
+		private void remove(int id) {
+			int index = positions[id];
+			positions[id] = -1;
+			size--;
+			if (index < size) {
+				ids[index] = ids[size];
+				positions[ids[index]] = index;
+				update(index);
+			}
+		}
+
+		/**
+		 * Move a country whose armies have changed to its position.
+		 *
+		 * @param index
+		 *            position of the country
+		 */
+		private void update(int index) {
+			if (!siftUp(index)) {
+				siftDown(index);
+			}
+		}
+
+		/**
+		 * Move a country up while it comes before its parent.
+		 *
+		 * @param index
+		 *            position of the country
+		 * @return true if moved
+		 */
+		private boolean siftUp(int index) {
+			int id = ids[index];
+			int start = index;
+			while (index > 0) {
+				int parent = (index - 1) >>> 1;
+				if (!before(id, ids[parent])) {
+					break;
+				}
+				ids[index] = ids[parent];
+				positions[ids[index]] = index;
+				index = parent;
+			}
+			ids[index] = id;
+			positions[id] = index;
+			return index != start;
+		}
+
+		/**
+		 * Move a country down while a child comes before it.
+		 *
+		 * @param index
+		 *            position of the country
+		 */
+		private void siftDown(int index) {
+			int id = ids[index];
+			int half = size >>> 1;
+			while (index < half) {
+				int child = 2 * index + 1;
+				if (child + 1 < size && before(ids[child + 1], ids[child])) {
+					child++;
+				}
+				if (!before(ids[child], id)) {
+					break;
+				}
+				ids[index] = ids[child];
+				positions[ids[index]] = index;
+				index = child;
+			}
+			ids[index] = id;
+			positions[id] = index;
+		}
+
+		/**
+		 * Check whether a country comes before another one in the heap.
+		 *
+		 * @param id
+		 *            id of the first country
+		 * @param id2
+		 *            id of the second country
+		 * @return true if before
+		 */
+		private boolean before(int id, int id2) {
+			if (armies[id] != armies[id2]) {
+				return max ? armies[id] > armies[id2] : armies[id] < armies[id2];
+			}
+			return id < id2;
+		}
+	}
+
+	/** Countries of each player by decreasing armies. */
+	private final Heap[] strongest;
+
+	/** Countries of each player by increasing armies. */
+	private final Heap[] weakest;
+
+	/** Positions of the country ids in the max heaps. */
+	private final int[] maxPositions;
+
+	/** Positions of the country ids in the min heaps. */
+	private final int[] minPositions;
+
+	/**
+	 * Instantiates a new index without country.
+	 *
+	 * @param armies
+	 *            armies of each country by id, read at each change
+	 * @param playersCount
+	 *            number of players
+	 */
+	public ArmyIndex(int[] armies, int playersCount) {
+		maxPositions = new int[armies.length];
+		minPositions = new int[armies.length];
+		Arrays.fill(maxPositions, -1);
+		Arrays.fill(minPositions, -1);
+		strongest = new Heap[playersCount];
+		weakest = new Heap[playersCount];
+		for (int player = 0; player < playersCount; player++) {
+			strongest[player] = new Heap(armies, maxPositions, true);
+			weakest[player] = new Heap(armies, minPositions, false);
+		}
+	}
+
+	/**
+	 * Add a country to the countries of a player.
+	 *
+	 * @param player
+	 *            the player index
+	 * @param id
+	 *            id of the country
+	 */
+	public void add(int player, int id) {
+		strongest[player].add(id);
+		weakest[player].add(id);
+	}
+
+	/**
+	 * Remove a country from the countries of a player.
+	 *
+	 * @param player
+	 *            the player index
+	 * @param id
+	 *            id of the country
+	 */
+	public void remove(int player, int id) {
+		strongest[player].remove(id);
+		weakest[player].remove(id);
+	}
+
+	/**
+	 * Update the index after the armies of a country of a player have changed.
+	 *
+	 * @param player
+	 *            the player index
+	 * @param id
+	 *            id of the country
+	 */
+	public void update(int player, int id) {
+		strongest[player].update(maxPositions[id]);
+		weakest[player].update(minPositions[id]);
+	}
+
+	/**
+	 * Get the country of a player with the most armies.
+	 *
+	 * @param player
+	 *            the player index
+	 * @return id of the country, the lowest id among equal armies, -1 if the
+	 *         player owns no country
+	 */
+	public int getStrongest(int player) {
+		return strongest[player].size == 0 ? -1 : strongest[player].ids[0];
+	}
+
+	/**
+	 * Get the country of a player with the fewest armies.
+	 *
+	 * @param player
+	 *            the player index
+	 * @return id of the country, the lowest id among equal armies, -1 if the
+	 *         player owns no country
+	 */
+	public int getWeakest(int player) {
+		return weakest[player].size == 0 ? -1 : weakest[player].ids[0];
+	}
+}
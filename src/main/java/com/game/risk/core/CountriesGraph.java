@@ -2,8 +2,17 @@ package com.game.risk.core;
 
 import com.game.risk.model.Continent;
 import com.game.risk.model.Country;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Graph class to hold the countries and its adjacent countries.
@@ -28,6 +37,21 @@ public class CountriesGraph {
 	 */
 	private HashMap<Country, LinkedList<Country>> adjListHashMap;
 
+	/** Countries indexed by their id, null for removed countries. */
+	private Country[] countryById = new Country[16];
+
+	/** Id to be assigned to the next country added to the graph. */
+	private int nextCountryId;
+
+	/** Integer-indexed topology, built on demand and dropped on modification. */
+	private MapTopology topology;
+
+	/** Edge index, built on demand and updated on edge modification. */
+	private EdgeIndex edgeIndex;
+
+	/** Frontier index, built on demand and updated on ownership change. */
+	private FrontierIndex frontierIndex;
+
 	/**
 	 * Sets the adj list hash map.
 	 *
@@ -36,6 +60,10 @@ public class CountriesGraph {
 	 */
 	public void setAdjListHashMap(HashMap<Country, LinkedList<Country>> adjListHashMap) {
 		this.adjListHashMap = adjListHashMap;
+		topology = null;
+		frontierIndex = null;
+		edgeIndex = null;
+		registerCountries();
 	}
 
 	/**
@@ -46,7 +74,7 @@ public class CountriesGraph {
 	 */
 	public CountriesGraph(MapFileReader fileParser) {
 		this.mapFileReader = fileParser;
-		adjListHashMap = new HashMap<Country, LinkedList<Country>>();
+		adjListHashMap = new LinkedHashMap<Country, LinkedList<Country>>();
 		continentHashMap = new HashMap<String, Continent>();
 	}
 
@@ -77,7 +105,8 @@ public class CountriesGraph {
 	}
 
 	/**
-	 * Get the Adjacent List Map.
+	 * Get the Adjacent List Map. This is a compatibility view of the graph, it
+	 * must only be modified through the methods of the graph.
 	 *
 	 * @return the adjListHashMap
 	 */
@@ -94,6 +123,13 @@ public class CountriesGraph {
 	 *            end country of edge
 	 */
 	public void addEdge(Country startCountry, Country endCountry) {
+		register(startCountry);
+		register(endCountry);
+		topology = null;
+		frontierIndex = null;
+		if (edgeIndex != null) {
+			edgeIndex.add(startCountry.getId(), endCountry.getId());
+		}
 		if (adjListHashMap.containsKey(startCountry)) {
 			adjListHashMap.get(startCountry).add(endCountry);
 		} else {
@@ -120,6 +156,7 @@ public class CountriesGraph {
 	 */
 	public void setContinentHashMap(HashMap<String, Continent> continentHashMap) {
 		this.continentHashMap = continentHashMap;
+		topology = null;
 	}
 
 	/**
@@ -131,8 +168,14 @@ public class CountriesGraph {
 	 *            end country of edge
 	 */
 	public void removeEdge(Country startCountry, Country endCountry) {
-		adjListHashMap.get(startCountry).remove(endCountry);
-		adjListHashMap.get(endCountry).remove(startCountry);
+		topology = null;
+		frontierIndex = null;
+		if (adjListHashMap.get(startCountry).remove(endCountry) && edgeIndex != null) {
+			edgeIndex.remove(startCountry.getId(), endCountry.getId());
+		}
+		if (adjListHashMap.get(endCountry).remove(startCountry) && edgeIndex != null) {
+			edgeIndex.remove(endCountry.getId(), startCountry.getId());
+		}
 	}
 
 	/**
@@ -145,11 +188,16 @@ public class CountriesGraph {
 	public boolean removeCountry(Country country) {
 		if (adjListHashMap.containsKey(country)) {
 			LinkedList<Country> adjCountries = adjListHashMap.get(country);
-			for (int i = 0; i < adjCountries.size(); i++) {
-				Country adjCountry = adjCountries.get(i);
-				adjListHashMap.get(adjCountry).remove(country);
+			for (Country adjCountry : adjCountries) {
+				if (adjListHashMap.get(adjCountry).remove(country) && edgeIndex != null) {
+					edgeIndex.remove(adjCountry.getId(), country.getId());
+				}
+				if (edgeIndex != null) {
+					edgeIndex.remove(country.getId(), adjCountry.getId());
+				}
 			}
 			adjListHashMap.remove(country);
+			unregister(country);
 			mapFileReader.getCountriesHashMap().remove(country.getCountryName());
 			// Removing the country from its respective continent
 			mapFileReader.getContinentHashMap().get(country.getContinentName()).removeCountry(country);
@@ -158,6 +206,118 @@ public class CountriesGraph {
 		return false;
 	}
 
+	/**
+	 * Remove countries from the graph and model classes. The adjacency list of
+	 * each remaining adjacent country and the countries list of each continent
+	 * are filtered once, whatever the number of removed countries they have.
+	 *
+	 * @param countries
+	 *            countries to be removed
+	 * @return number of countries removed, not counting those not present
+	 */
+	public int removeCountries(Collection<Country> countries) {
+		Set<Country> removedCountries = new HashSet<>();
+		Set<Country> adjCountries = new HashSet<>();
+		Set<String> continentNames = new HashSet<>();
+		for (Country country : countries) {
+			if (adjListHashMap.containsKey(country) && removedCountries.add(country)) {
+				adjCountries.addAll(adjListHashMap.get(country));
+				continentNames.add(country.getContinentName());
+			}
+		}
+		adjCountries.removeAll(removedCountries);
+		for (Country adjCountry : adjCountries) {
+			removeAdjacentCountries(adjCountry, removedCountries);
+		}
+		for (Country country : removedCountries) {
+			if (edgeIndex != null) {
+				for (Country adjCountry : adjListHashMap.get(country)) {
+					edgeIndex.remove(country.getId(), adjCountry.getId());
+				}
+			}
+			adjListHashMap.remove(country);
+			unregister(country);
+			mapFileReader.getCountriesHashMap().remove(country.getCountryName());
+		}
+		// Removing the countries from their respective continents
+		for (String continentName : continentNames) {
+			List<Country> continentCountries = mapFileReader.getContinentHashMap().get(continentName).getCountries();
+			List<Country> remainingCountries = new ArrayList<>(continentCountries.size());
+			for (Country country : continentCountries) {
+				if (!removedCountries.contains(country)) {
+					remainingCountries.add(country);
+				}
+			}
+			continentCountries.clear();
+			continentCountries.addAll(remainingCountries);
+		}
+		return removedCountries.size();
+	}
+
+	/**
+	 * Remove connectivities between countries, in both directions. The adjacency
+	 * list of each country is filtered once, whatever the number of removed
+	 * edges it has.
+	 *
+	 * @param edges
+	 *            adjacent countries to disconnect, by country
+	 */
+	public void removeEdges(Map<Country, ? extends Collection<Country>> edges) {
+		Map<Country, Set<Country>> removedEdges = new HashMap<>();
+		for (Map.Entry<Country, ? extends Collection<Country>> entry : edges.entrySet()) {
+			for (Country adjCountry : entry.getValue()) {
+				getAdjacentSet(removedEdges, entry.getKey()).add(adjCountry);
+				getAdjacentSet(removedEdges, adjCountry).add(entry.getKey());
+			}
+		}
+		for (Map.Entry<Country, Set<Country>> entry : removedEdges.entrySet()) {
+			if (adjListHashMap.containsKey(entry.getKey())) {
+				removeAdjacentCountries(entry.getKey(), entry.getValue());
+			}
+		}
+		topology = null;
+		frontierIndex = null;
+	}
+
+	/**
+	 * Filter some countries out of the adjacency list of a country.
+	 *
+	 * @param country
+	 *            the country
+	 * @param removedCountries
+	 *            the countries to filter out
+	 */
+	private void removeAdjacentCountries(Country country, Set<Country> removedCountries) {
+		Iterator<Country> iterator = adjListHashMap.get(country).iterator();
+		while (iterator.hasNext()) {
+			Country adjCountry = iterator.next();
+			if (removedCountries.contains(adjCountry)) {
+				iterator.remove();
+				if (edgeIndex != null) {
+					edgeIndex.remove(country.getId(), adjCountry.getId());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Get the set of adjacent countries of a country, creating it if needed.
+	 *
+	 * @param adjacentSets
+	 *            sets of adjacent countries by country
+	 * @param country
+	 *            the country
+	 * @return the set
+	 */
+	private static Set<Country> getAdjacentSet(Map<Country, Set<Country>> adjacentSets, Country country) {
+		Set<Country> adjacentSet = adjacentSets.get(country);
+		if (adjacentSet == null) {
+			adjacentSet = new HashSet<>();
+			adjacentSets.put(country, adjacentSet);
+		}
+		return adjacentSet;
+	}
+
 	/**
 	 * Add a country to the graph.
 	 *
@@ -165,6 +325,9 @@ public class CountriesGraph {
 	 *            country to be added
 	 */
 	public void addCountry(Country country) {
+		register(country);
+		topology = null;
+		frontierIndex = null;
 		adjListHashMap.put(country, new LinkedList<Country>());
 		continentHashMap.get(country.getContinentName()).addCountry(country);
 	}
@@ -177,6 +340,7 @@ public class CountriesGraph {
 	 */
 	public void addContinent(Continent continent) {
 		continentHashMap.put(continent.getContinentName(), continent);
+		topology = null;
 	}
 
 	/**
@@ -197,9 +361,11 @@ public class CountriesGraph {
 					adjListHashMap.get(adjCountry).remove(continent.getCountries().get(i));
 				}
 				mapFileReader.getCountriesHashMap().remove(continent.getCountries().get(i).getCountryName());
+				unregister(continent.getCountries().get(i));
 			}
 
 			continentHashMap.remove(continent.getContinentName());
+			edgeIndex = null;
 			return true;
 
 		}
@@ -216,12 +382,35 @@ public class CountriesGraph {
 	 * @return true if adjacent
 	 */
 	public boolean isAdjacent(Country country, Country country2) {
-		for (int i = 0; i < adjListHashMap.get(country).size(); i++) {
-			if (country2.getCountryName().equals(adjListHashMap.get(country).get(i).getCountryName())) {
-				return true;
+		if (!isRegistered(country) || !isRegistered(country2)) {
+			return false;
+		}
+		EdgeIndex currentEdgeIndex = edgeIndex;
+		if (currentEdgeIndex == null) {
+			currentEdgeIndex = buildEdgeIndex();
+		}
+		return currentEdgeIndex.contains(country.getId(), country2.getId());
+	}
+
+	/**
+	 * Build the edge index from the adjacency lists.
+	 *
+	 * @return the edge index
+	 */
+	private EdgeIndex buildEdgeIndex() {
+		registerCountries();
+		int edgesCount = 0;
+		for (LinkedList<Country> adjCountries : adjListHashMap.values()) {
+			edgesCount += adjCountries.size();
+		}
+		EdgeIndex newEdgeIndex = new EdgeIndex(edgesCount);
+		for (Map.Entry<Country, LinkedList<Country>> entry : adjListHashMap.entrySet()) {
+			for (Country adjCountry : entry.getValue()) {
+				newEdgeIndex.add(entry.getKey().getId(), adjCountry.getId());
 			}
 		}
-		return false;
+		edgeIndex = newEdgeIndex;
+		return newEdgeIndex;
 	}
 
 	/**
@@ -241,5 +430,159 @@ public class CountriesGraph {
 			}
 			adjListHashMap.put(country, adjCountries);
 		}
+		topology = null;
+		frontierIndex = null;
+		edgeIndex = null;
+		registerCountries();
+	}
+
+	/**
+	 * Get the integer-indexed topology of the graph. The topology is built once
+	 * and shared until the graph is modified.
+	 *
+	 * @return the topology
+	 */
+	public MapTopology getTopology() {
+		MapTopology currentTopology = topology;
+		if (currentTopology == null) {
+			registerCountries();
+			currentTopology = new MapTopology(Arrays.copyOf(countryById, nextCountryId),
+					adjListHashMap != null ? adjListHashMap : new HashMap<Country, LinkedList<Country>>(),
+					continentHashMap != null ? continentHashMap : new HashMap<String, Continent>());
+			topology = currentTopology;
+		}
+		return currentTopology;
+	}
+
+	/**
+	 * Get the frontier index of the players. Once the countries are bound to a
+	 * game state of the topology, the index of the state is returned. Otherwise
+	 * the index is built from the current owners of the countries and then kept
+	 * up to date by {@link #ownerChanged(Country)}.
+	 *
+	 * @return the frontier index
+	 */
+	public FrontierIndex getFrontierIndex() {
+		GameState gameState = getBoundGameState();
+		if (gameState != null) {
+			frontierIndex = null;
+			return gameState.getFrontierIndex();
+		}
+		if (frontierIndex == null) {
+			frontierIndex = new FrontierIndex(getTopology());
+		}
+		return frontierIndex;
+	}
+
+	/**
+	 * Get the game state the countries of the topology are bound to.
+	 *
+	 * @return the game state, null if not bound
+	 */
+	private GameState getBoundGameState() {
+		MapTopology topology = getTopology();
+		for (int id = 0; id < topology.size(); id++) {
+			Country country = topology.getCountry(id);
+			if (country != null) {
+				GameState gameState = country.getGameState();
+				return gameState != null && gameState.getTopology() == topology ? gameState : null;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Notify the graph that a country has changed owner, updating the frontier
+	 * index if it has been built.
+	 *
+	 * @param country
+	 *            the country with its new owner
+	 */
+	public void ownerChanged(Country country) {
+		if (frontierIndex != null) {
+			frontierIndex.ownerChanged(country);
+		}
+	}
+
+	/**
+	 * Notify the graph that countries have changed owner, updating the frontier
+	 * index once for all of them if it has been built.
+	 *
+	 * @param countries
+	 *            the countries with their new owners
+	 */
+	public void ownersChanged(Collection<Country> countries) {
+		if (frontierIndex != null) {
+			frontierIndex.ownersChanged(countries);
+		}
+	}
+
+	/**
+	 * Get the country with the given id.
+	 *
+	 * @param id
+	 *            the id
+	 * @return the country, null if not present
+	 */
+	public Country getCountry(int id) {
+		return id >= 0 && id < nextCountryId ? countryById[id] : null;
+	}
+
+	/**
+	 * Check whether a country has an id in this graph.
+	 *
+	 * @param country
+	 *            the country
+	 * @return true if registered
+	 */
+	private boolean isRegistered(Country country) {
+		int id = country.getId();
+		return id >= 0 && id < nextCountryId && countryById[id] == country;
+	}
+
+	/**
+	 * Assign the next id to a country if it does not have an id in this graph.
+	 *
+	 * @param country
+	 *            the country
+	 */
+	private void register(Country country) {
+		if (isRegistered(country)) {
+			return;
+		}
+		if (nextCountryId == countryById.length) {
+			countryById = Arrays.copyOf(countryById, countryById.length * 2);
+		}
+		country.setId(nextCountryId);
+		countryById[nextCountryId++] = country;
+	}
+
+	/**
+	 * Release the id of a removed country, leaving a hole in the ids.
+	 *
+	 * @param country
+	 *            the country
+	 */
+	private void unregister(Country country) {
+		if (isRegistered(country)) {
+			countryById[country.getId()] = null;
+		}
+		topology = null;
+		frontierIndex = null;
+	}
+
+	/**
+	 * Register all the countries present in the adjacency lists.
+	 */
+	private void registerCountries() {
+		if (adjListHashMap == null) {
+			return;
+		}
+		for (Map.Entry<Country, LinkedList<Country>> entry : adjListHashMap.entrySet()) {
+			register(entry.getKey());
+			for (Country adjCountry : entry.getValue()) {
+				register(adjCountry);
+			}
+		}
 	}
 }
@@ -0,0 +1,135 @@
+package com.game.risk.core;
+
+import java.util.Arrays;
+
+/**
+ * Immutable snapshot of the domination of the players of a game: the
+ * countries and armies each player owns, by player index.
+ */
+public class DominationSnapshot {
+
+	/** Names of the players indexed by player index. */
+	private final String[] playerNames;
+
+	/** Number of countries owned by each player. */
+	private final int[] countriesCounts;
+
+	/** Number of armies on the countries owned by each player. */
+	private final int[] armiesCounts;
+
+	/** Number of countries of the map. */
+	private final int totalCountries;
+
+	/**
+	 * Instantiates a new snapshot, taking ownership of the arrays.
+	 *
+	 * @param playerNames
+	 *            names of the players
+	 * @param countriesCounts
+	 *            number of countries owned by each player
+	 * @param armiesCounts
+	 *            number of armies of each player
+	 * @param totalCountries
+	 *            number of countries of the map
+	 */
+	DominationSnapshot(String[] playerNames, int[] countriesCounts, int[] armiesCounts, int totalCountries) {
+		this.playerNames = playerNames;
+		this.countriesCounts = countriesCounts;
+		this.armiesCounts = armiesCounts;
+		this.totalCountries = totalCountries;
+	}
+
+	/**
+	 * Get the number of players.
+	 *
+	 * @return the players count
+	 */
+	public int getPlayersCount() {
+		return playerNames.length;
+	}
+
+	/**
+	 * Get the name of a player.
+	 *
+	 * @param player
+	 *            the player index
+	 * @return the player name
+	 */
+	public String getPlayerName(int player) {
+		return playerNames[player];
+	}
+
+	/**
+	 * Get the number of countries owned by a player.
+	 *
+	 * @param player
+	 *            the player index
+	 * @return the countries count
+	 */
+	public int getCountriesCount(int player) {
+		return countriesCounts[player];
+	}
+
+	/**
+	 * Get the number of armies of a player.
+	 *
+	 * @param player
+	 *            the player index
+	 * @return the armies count
+	 */
+	public int getArmiesCount(int player) {
+		return armiesCounts[player];
+	}
+
+	/**
+	 * Get the share of the countries of the map owned by a player.
+	 *
+	 * @param player
+	 *            the player index
+	 * @return the domination percentage, from 0 to 1
+	 */
+	public double getDominationPercentage(int player) {
+		return totalCountries == 0 ? 0 : (double) countriesCounts[player] / totalCountries;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object object) {
+		if (!(object instanceof DominationSnapshot)) {
+			return false;
+		}
+		DominationSnapshot snapshot = (DominationSnapshot) object;
+		return totalCountries == snapshot.totalCountries && Arrays.equals(playerNames, snapshot.playerNames)
+				&& Arrays.equals(countriesCounts, snapshot.countriesCounts)
+				&& Arrays.equals(armiesCounts, snapshot.armiesCounts);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		return 31 * Arrays.hashCode(countriesCounts) + Arrays.hashCode(armiesCounts);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder("Current Domination Percentage:");
+		for (int player = 0; player < playerNames.length; player++) {
+			builder.append(player == 0 ? " " : ", ").append(playerNames[player]).append(" ")
+					.append(getDominationPercentage(player) * 100).append("%");
+		}
+		return builder.toString();
+	}
+}
@@ -0,0 +1,64 @@
+package com.game.risk.core;
+
+import java.util.Observable;
+
+import com.game.risk.core.util.LogLevel;
+import com.game.risk.core.util.LoggingUtil;
+
+/**
+ * Observable domination of the players of a game.
+ * <p>
+ * The countries and armies of each player are running totals of the
+ * {@link GameState}, updated by every capture and army change, so a snapshot
+ * of the domination costs O(players). The tracker is published at the end of
+ * each phase, and notifies its observers with the new
+ * {@link DominationSnapshot} only if the domination has changed since the
+ * last notification, so observers are notified at most once per phase.
+ */
+public class DominationTracker extends Observable {
+
+	/** State of the game. */
+	private final GameState gameState;
+
+	/** Last snapshot notified, null before the first notification. */
+	private DominationSnapshot lastSnapshot;
+
+	/**
+	 * Instantiates a new domination tracker.
+	 *
+	 * @param gameState
+	 *            state of the game
+	 */
+	public DominationTracker(GameState gameState) {
+		this.gameState = gameState;
+	}
+
+	/**
+	 * Publish the current domination, notifying the observers with a snapshot
+	 * if it has changed since the last notification.
+	 *
+	 * @return true if the observers have been notified
+	 */
+	public boolean publish() {
+		DominationSnapshot snapshot = gameState.getDominationSnapshot();
+		if (snapshot.equals(lastSnapshot)) {
+			return false;
+		}
+		lastSnapshot = snapshot;
+		if (LoggingUtil.isLoggable(LogLevel.INFO)) {
+			LoggingUtil.logMessage(snapshot.toString());
+		}
+		setChanged();
+		notifyObservers(snapshot);
+		return true;
+	}
+
+	/**
+	 * Get the last snapshot notified.
+	 *
+	 * @return the snapshot, null before the first notification
+	 */
+	public DominationSnapshot getLastSnapshot() {
+		return lastSnapshot;
+	}
+}
@@ -0,0 +1,192 @@
+package com.game.risk.core;
+
+import java.util.Arrays;
+
+/**
+ * Hash set of the directed edges of the countries graph, keyed by the ids of
+ * the two countries, answering adjacency queries in constant time without
+ * allocating.
+ * <p>
+ * Edges are packed into a single long and stored in an open-addressing table
+ * with linear probing. Each edge keeps the number of times it appears in the
+ * adjacency lists, so that removing one of duplicated entries keeps the edge.
+ */
+public class EdgeIndex {
+
+	/** Marker of an empty slot. Packed edges are never negative. */
+	private static final long EMPTY = -1L;
+
+	/** Packed edges. */
+	private long[] keys;
+
+	/** Number of occurrences of each edge. */
+	private int[] counts;
+
+	/** Number of distinct edges. */
+	private int size;
+
+	/**
+	 * Instantiates a new edge index.
+	 *
+	 * @param expectedEdges
+	 *            expected number of edges
+	 */
+	public EdgeIndex(int expectedEdges) {
+		int capacity = 16;
+		while (capacity < expectedEdges * 2) {
+			capacity <<= 1;
+		}
+		allocate(capacity);
+	}
+
+	/**
+	 * Add an edge.
+	 *
+	 * @param from
+	 *            id of the start country
+	 * @param to
+	 *            id of the end country
+	 */
+	public void add(int from, int to) {
+		long key = pack(from, to);
+		int slot = find(key);
+		if (keys[slot] == key) {
+			counts[slot]++;
+			return;
+		}
+		keys[slot] = key;
+		counts[slot] = 1;
+		if (++size * 2 > keys.length) {
+			resize();
+		}
+	}
+
+	/**
+	 * Remove one occurrence of an edge.
+	 *
+	 * @param from
+	 *            id of the start country
+	 * @param to
+	 *            id of the end country
+	 */
+	public void remove(int from, int to) {
+		long key = pack(from, to);
+		int slot = find(key);
+		if (keys[slot] != key) {
+			return;
+		}
+		if (--counts[slot] > 0) {
+			return;
+		}
+		size--;
+		// Backward shift deletion keeps the probe sequences without tombstones
+		int mask = keys.length - 1;
+		int hole = slot;
+		int next = (hole + 1) & mask;
+		while (keys[next] != EMPTY) {
+			int home = hash(keys[next]) & mask;
+			if (((next - home) & mask) >= ((next - hole) & mask)) {
+				keys[hole] = keys[next];
+				counts[hole] = counts[next];
+				hole = next;
+			}
+			next = (next + 1) & mask;
+		}
+		keys[hole] = EMPTY;
+		counts[hole] = 0;
+	}
+
+	/**
+	 * Check whether an edge is present.
+	 *
+	 * @param from
+	 *            id of the start country
+	 * @param to
+	 *            id of the end country
+	 * @return true if present
+	 */
+	public boolean contains(int from, int to) {
+		long key = pack(from, to);
+		return keys[find(key)] == key;
+	}
+
+	/**
+	 * Get the number of distinct edges.
+	 *
+	 * @return the size
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Find the slot of a key, or the empty slot where it would be inserted.
+	 *
+	 * @param key
+	 *            packed edge
+	 * @return the slot
+	 */
+	private int find(long key) {
+		int mask = keys.length - 1;
+		int slot = hash(key) & mask;
+		while (keys[slot] != EMPTY && keys[slot] != key) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	/**
+	 * Double the capacity of the table.
+	 */
+	private void resize() {
+		long[] oldKeys = keys;
+		int[] oldCounts = counts;
+		allocate(oldKeys.length * 2);
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldKeys[i] != EMPTY) {
+				int slot = find(oldKeys[i]);
+				keys[slot] = oldKeys[i];
+				counts[slot] = oldCounts[i];
+			}
+		}
+	}
+
+	/**
+	 * Allocate an empty table.
+	 *
+	 * @param capacity
+	 *            capacity, a power of two
+	 */
+	private void allocate(int capacity) {
+		keys = new long[capacity];
+		counts = new int[capacity];
+		Arrays.fill(keys, EMPTY);
+	}
+
+	/**
+	 * Pack an edge into a long.
+	 *
+	 * @param from
+	 *            id of the start country
+	 * @param to
+	 *            id of the end country
+	 * @return packed edge
+	 */
+	private static long pack(int from, int to) {
+		return ((long) from << 32) | (to & 0xFFFFFFFFL);
+	}
+
+	/**
+	 * Hash a packed edge.
+	 *
+	 * @param key
+	 *            packed edge
+	 * @return the hash
+	 */
+	private static int hash(long key) {
+		key ^= key >>> 33;
+		key *= 0xFF51AFD7ED558CCDL;
+		key ^= key >>> 33;
+		return (int) key;
+	}
+}
@@ -0,0 +1,330 @@
+package com.game.risk.core;
+
+import com.game.risk.model.Country;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Frontier of each player: the owned countries having at least one adjacent
+ * country owned by another player.
+ * <p>
+ * The index keeps, for every country, the number of its adjacent countries
+ * owned by another player, and for every player the list of its frontier
+ * countries. When a country changes owner only the country and the countries
+ * adjacent to it are updated, so a capture costs O(degree) whatever the size
+ * of the map. The index of a {@link GameState} reads the owners of the state
+ * and is told of every change of owner by the state itself. Otherwise it keeps
+ * the owners read from the countries as ints and must be told of every
+ * ownership change through {@link CountriesGraph#ownerChanged(Country)}.
+ */
+public class FrontierIndex {
+
+	/** Topology of the graph. */
+	private MapTopology topology;
+
+	/** State of the game giving the owners, null if read from the countries. */
+	private GameState gameState;
+
+	/** Index of each player name, null if read from the game state. */
+	private HashMap<String, Integer> ownerIndexes;
+
+	/** Owner index of each country, -1 if none, the array of the game state if any. */
+	private int[] owners;
+
+	/** Number of adjacent countries owned by another player, for each country. */
+	private int[] enemyCounts;
+
+	/** Position of each country in the frontier of its owner, -1 if not on it. */
+	private int[] frontierPositions;
+
+	/** Frontier countries of each player. */
+	private int[][] frontiers;
+
+	/** Number of frontier countries of each player. */
+	private int[] frontierSizes;
+
+	/**
+	 * Build the frontier index from the current owners of the countries.
+	 *
+	 * @param topology
+	 *            topology of the graph
+	 */
+	public FrontierIndex(MapTopology topology) {
+		this.topology = topology;
+		int size = topology.size();
+		ownerIndexes = new HashMap<>();
+		owners = new int[size];
+		frontiers = new int[4][];
+		frontierSizes = new int[4];
+		for (int id = 0; id < size; id++) {
+			Country country = topology.getCountry(id);
+			owners[id] = country == null ? -1 : ownerIndex(country.getPlayerName());
+		}
+		build();
+	}
+
+	/**
+	 * Build the frontier index of a game state from its current owners.
+	 *
+	 * @param gameState
+	 *            the game state
+	 * @param owners
+	 *            owner of each country, the array of the state
+	 */
+	FrontierIndex(GameState gameState, int[] owners) {
+		this.topology = gameState.getTopology();
+		this.gameState = gameState;
+		this.owners = owners;
+		frontiers = new int[gameState.getPlayersCount()][];
+		frontierSizes = new int[gameState.getPlayersCount()];
+		build();
+	}
+
+	/**
+	 * Compute the enemies count and the frontiers from the current owners.
+	 */
+	void build() {
+		int size = topology.size();
+		enemyCounts = new int[size];
+		frontierPositions = new int[size];
+		Arrays.fill(frontierPositions, -1);
+		Arrays.fill(frontierSizes, 0);
+		for (int id = 0; id < size; id++) {
+			if (topology.getCountry(id) != null) {
+				enemyCounts[id] = countEnemies(id);
+				updateFrontier(id);
+			}
+		}
+	}
+
+	/**
+	 * Update the index after a country has changed owner. The new owner is read
+	 * from the country. The index of a game state ignores the call, the state
+	 * having already reported the change.
+	 *
+	 * @param country
+	 *            the country
+	 */
+	public void ownerChanged(Country country) {
+		if (gameState != null || !topology.contains(country)) {
+			return;
+		}
+		int id = country.getId();
+		int oldOwner = owners[id];
+		int newOwner = ownerIndex(country.getPlayerName());
+		if (oldOwner == newOwner) {
+			return;
+		}
+		owners[id] = newOwner;
+		ownerChanged(id, oldOwner);
+	}
+
+	/**
+	 * Update the index after a country has changed owner, the new owner being
+	 * already recorded in the owners.
+	 *
+	 * @param id
+	 *            id of the country
+	 * @param oldOwner
+	 *            the previous owner index
+	 */
+	void ownerChanged(int id, int oldOwner) {
+		int newOwner = owners[id];
+		removeFromFrontier(id, oldOwner);
+		enemyCounts[id] = countEnemies(id);
+		updateFrontier(id);
+
+		int[] reverseOffsets = topology.getReverseOffsets();
+		int[] reverseNeighbours = topology.getReverseNeighbours();
+		for (int i = reverseOffsets[id]; i < reverseOffsets[id + 1]; i++) {
+			int adjacent = reverseNeighbours[i];
+			if (adjacent == id) {
+				continue;
+			}
+			if (owners[adjacent] == oldOwner) {
+				enemyCounts[adjacent]++;
+			} else if (owners[adjacent] == newOwner) {
+				enemyCounts[adjacent]--;
+			} else {
+				continue;
+			}
+			updateFrontier(adjacent);
+		}
+	}
+
+	/**
+	 * Update the index after countries have changed owner, each one in
+	 * O(degree).
+	 *
+	 * @param countries
+	 *            the countries
+	 */
+	public void ownersChanged(Collection<Country> countries) {
+		for (Country country : countries) {
+			ownerChanged(country);
+		}
+	}
+
+	/**
+	 * Check whether a country has an adjacent country owned by another player.
+	 *
+	 * @param country
+	 *            the country
+	 * @return true if on the frontier
+	 */
+	public boolean isFrontier(Country country) {
+		return topology.contains(country) && enemyCounts[country.getId()] > 0;
+	}
+
+	/**
+	 * Get the frontier countries of a player.
+	 *
+	 * @param playerName
+	 *            name of the player
+	 * @return new list of the countries of the player having an enemy neighbour
+	 */
+	public List<Country> getFrontierCountries(String playerName) {
+		int owner = findOwnerIndex(playerName);
+		if (owner < 0) {
+			return new ArrayList<>();
+		}
+		List<Country> countries = new ArrayList<>(frontierSizes[owner]);
+		for (int i = 0; i < frontierSizes[owner]; i++) {
+			countries.add(topology.getCountry(frontiers[owner][i]));
+		}
+		return countries;
+	}
+
+	/**
+	 * Get the adjacent countries of a country owned by another player, in the
+	 * order of the adjacency list.
+	 *
+	 * @param country
+	 *            the country
+	 * @return new list of enemy neighbours
+	 */
+	public List<Country> getEnemyNeighbours(Country country) {
+		List<Country> enemies = new ArrayList<>();
+		if (!isFrontier(country)) {
+			return enemies;
+		}
+		int id = country.getId();
+		int[] offsets = topology.getOffsets();
+		int[] neighbours = topology.getNeighbours();
+		for (int i = offsets[id]; i < offsets[id + 1]; i++) {
+			if (owners[neighbours[i]] != owners[id]) {
+				enemies.add(topology.getCountry(neighbours[i]));
+			}
+		}
+		return enemies;
+	}
+
+	/**
+	 * Count the adjacent countries of a country owned by another player.
+	 *
+	 * @param id
+	 *            id of the country
+	 * @return the enemies count
+	 */
+	private int countEnemies(int id) {
+		int[] offsets = topology.getOffsets();
+		int[] neighbours = topology.getNeighbours();
+		int count = 0;
+		for (int i = offsets[id]; i < offsets[id + 1]; i++) {
+			if (owners[neighbours[i]] != owners[id]) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Add or remove a country from the frontier of its owner according to its
+	 * enemies count.
+	 *
+	 * @param id
+	 *            id of the country
+	 */
+	private void updateFrontier(int id) {
+		boolean onFrontier = enemyCounts[id] > 0 && owners[id] >= 0;
+		if (onFrontier && frontierPositions[id] < 0) {
+			int owner = owners[id];
+			if (frontiers[owner] == null) {
+				frontiers[owner] = new int[8];
+			} else if (frontierSizes[owner] == frontiers[owner].length) {
+				frontiers[owner] = Arrays.copyOf(frontiers[owner], frontierSizes[owner] * 2);
+			}
+			frontierPositions[id] = frontierSizes[owner];
+			frontiers[owner][frontierSizes[owner]++] = id;
+		} else if (!onFrontier && frontierPositions[id] >= 0) {
+			removeFromFrontier(id, owners[id]);
+		}
+	}
+
+	/**
+	 * Remove a country from the frontier of its owner, moving the last country of
+	 * the frontier into its position.
+	 *
+	 * @param id
+	 *            id of the country
+	 * @param owner
+	 *            owner index of the frontier holding the country
+	 */
+	private void removeFromFrontier(int id, int owner) {
+		int position = frontierPositions[id];
+		if (position < 0) {
+			return;
+		}
+		int last = frontiers[owner][--frontierSizes[owner]];
+		frontiers[owner][position] = last;
+		frontierPositions[last] = position;
+		frontierPositions[id] = -1;
+	}
+
+	/**
+	 * Find the index of a player name.
+	 *
+	 * @param playerName
+	 *            name of the player
+	 * @return the owner index, -1 if the player owns no country
+	 */
+	private int findOwnerIndex(String playerName) {
+		if (gameState == null) {
+			Integer owner = ownerIndexes.get(playerName);
+			return owner == null ? -1 : owner;
+		}
+		for (int player = 0; player < gameState.getPlayersCount(); player++) {
+			if (gameState.getPlayerName(player).equals(playerName)) {
+				return player;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Get the index of a player name, assigning the next index to a new name.
+	 *
+	 * @param playerName
+	 *            name of the player
+	 * @return the owner index, -1 for no owner
+	 */
+	private int ownerIndex(String playerName) {
+		if (playerName == null) {
+			return -1;
+		}
+		Integer index = ownerIndexes.get(playerName);
+		if (index == null) {
+			index = ownerIndexes.size();
+			ownerIndexes.put(playerName, index);
+			if (index == frontierSizes.length) {
+				frontiers = Arrays.copyOf(frontiers, index * 2);
+				frontierSizes = Arrays.copyOf(frontierSizes, index * 2);
+			}
+		}
+		return index;
+	}
+}
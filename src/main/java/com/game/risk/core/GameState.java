@@ -0,0 +1,604 @@
+package com.game.risk.core;
+
+import com.game.risk.model.CardType;
+import com.game.risk.model.Continent;
+import com.game.risk.model.Country;
+import com.game.risk.model.Player;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Mutable state of a game, kept in primitive arrays indexed by the country ids
+ * of an immutable {@link MapTopology} and by player index.
+ * <p>
+ * The state holds the owner and armies of each country, and the armies to
+ * place and card counts of each player. It also counts the countries each
+ * player owns in each continent, updated in O(1) by every change of owner, so
+ * the continents a player controls and its continent bonus are known without
+ * scanning the countries, and keeps the running totals of countries and armies
+ * of each player for the domination of the players. Once bound, {@link Country} and
+ * {@link Player} objects are views reading and writing this state, so the
+ * game can be copied for lookahead with a few array copies, and the copy
+ * shares the topology with the original. While the players are bound, an
+ * {@link ArmyIndex} also keeps the strongest and weakest country of each
+ * player, and a {@link FrontierIndex} built on demand keeps the frontier of
+ * each player; the copies maintain neither.
+ */
+public class GameState {
+
+	/** Number of card types. */
+	private static final int CARD_TYPES = CardType.values().length;
+
+	/** Topology of the map, shared by the copies of the state. */
+	private final MapTopology topology;
+
+	/** Names of the players indexed by player index, shared by the copies. */
+	private final String[] playerNames;
+
+	/** Owner player index of each country, -1 if it has no owner. */
+	private final int[] owners;
+
+	/** Armies of each country. */
+	private final int[] armies;
+
+	/** Armies to place of each player. */
+	private final int[] armiesToPlace;
+
+	/** Number of cards of each type of each player. */
+	private final int[] cardCounts;
+
+	/** Number of countries owned by each player in each continent. */
+	private final int[] ownedCounts;
+
+	/** Number of countries owned by each player. */
+	private final int[] countriesCounts;
+
+	/** Number of armies on the countries owned by each player. */
+	private final int[] armiesCounts;
+
+	/** Number of countries of the topology. */
+	private final int totalCountries;
+
+	/** Sum of the control values of the continents controlled by each player. */
+	private final int[] continentBonuses;
+
+	/** Players bound to the state by player index, null if not bound. */
+	private Player[] players;
+
+	/** Strongest and weakest countries of each player, null if not bound. */
+	private ArmyIndex armyIndex;
+
+	/** Frontier of each player, built on demand, null in the copies. */
+	private FrontierIndex frontierIndex;
+
+	/**
+	 * Instantiates a new game state with no owner, no army and no card.
+	 *
+	 * @param topology
+	 *            topology of the map
+	 * @param playerNames
+	 *            names of the players, in player index order
+	 */
+	public GameState(MapTopology topology, List<String> playerNames) {
+		this.topology = topology;
+		this.playerNames = playerNames.toArray(new String[playerNames.size()]);
+		owners = new int[topology.size()];
+		armies = new int[topology.size()];
+		armiesToPlace = new int[this.playerNames.length];
+		cardCounts = new int[this.playerNames.length * CARD_TYPES];
+		ownedCounts = new int[this.playerNames.length * topology.getContinentsCount()];
+		countriesCounts = new int[this.playerNames.length];
+		armiesCounts = new int[this.playerNames.length];
+		continentBonuses = new int[this.playerNames.length];
+		Arrays.fill(owners, -1);
+		int count = 0;
+		for (int id = 0; id < topology.size(); id++) {
+			if (topology.getCountry(id) != null) {
+				count++;
+			}
+		}
+		totalCountries = count;
+	}
+
+	/**
+	 * Instantiates a copy of a game state.
+	 *
+	 * @param gameState
+	 *            the copied game state
+	 */
+	private GameState(GameState gameState) {
+		topology = gameState.topology;
+		playerNames = gameState.playerNames;
+		owners = gameState.owners.clone();
+		armies = gameState.armies.clone();
+		armiesToPlace = gameState.armiesToPlace.clone();
+		cardCounts = gameState.cardCounts.clone();
+		ownedCounts = gameState.ownedCounts.clone();
+		countriesCounts = gameState.countriesCounts.clone();
+		armiesCounts = gameState.armiesCounts.clone();
+		continentBonuses = gameState.continentBonuses.clone();
+		totalCountries = gameState.totalCountries;
+	}
+
+	/**
+	 * Copy the state. No country or player is bound to the copy.
+	 *
+	 * @return the copy
+	 */
+	public GameState copy() {
+		return new GameState(this);
+	}
+
+	/**
+	 * Copy another state of the same game into this one, without allocating.
+	 *
+	 * @param gameState
+	 *            state of the same topology and players
+	 */
+	public void copyFrom(GameState gameState) {
+		System.arraycopy(gameState.owners, 0, owners, 0, owners.length);
+		System.arraycopy(gameState.armies, 0, armies, 0, armies.length);
+		System.arraycopy(gameState.armiesToPlace, 0, armiesToPlace, 0, armiesToPlace.length);
+		System.arraycopy(gameState.cardCounts, 0, cardCounts, 0, cardCounts.length);
+		System.arraycopy(gameState.ownedCounts, 0, ownedCounts, 0, ownedCounts.length);
+		System.arraycopy(gameState.countriesCounts, 0, countriesCounts, 0, countriesCounts.length);
+		System.arraycopy(gameState.armiesCounts, 0, armiesCounts, 0, armiesCounts.length);
+		System.arraycopy(gameState.continentBonuses, 0, continentBonuses, 0, continentBonuses.length);
+		if (armyIndex != null) {
+			buildArmyIndex();
+		}
+		if (frontierIndex != null) {
+			frontierIndex.build();
+		}
+	}
+
+	/**
+	 * Take a snapshot of the current owners, armies and cards of the countries of
+	 * a topology and of players, without binding them.
+	 *
+	 * @param topology
+	 *            topology of the map
+	 * @param players
+	 *            the players, in player index order
+	 * @return the game state
+	 */
+	public static GameState snapshot(MapTopology topology, List<Player> players) {
+		List<String> playerNames = new ArrayList<>();
+		for (Player player : players) {
+			playerNames.add(player.getPlayerName());
+		}
+		GameState gameState = new GameState(topology, playerNames);
+		gameState.read(players);
+		return gameState;
+	}
+
+	/**
+	 * Bind the countries of the topology and the players to this state. The
+	 * current owners, armies and cards of the objects are moved into the state,
+	 * and the objects read and write the state afterwards.
+	 *
+	 * @param players
+	 *            the players, in player index order
+	 */
+	public void bind(List<Player> players) {
+		read(players);
+		for (int id = 0; id < topology.size(); id++) {
+			Country country = topology.getCountry(id);
+			if (country != null) {
+				country.setGameState(this);
+			}
+		}
+		for (int index = 0; index < players.size(); index++) {
+			players.get(index).setGameState(this, index);
+		}
+		this.players = players.toArray(new Player[players.size()]);
+		buildArmyIndex();
+	}
+
+	/**
+	 * Build the index of the strongest and weakest countries of the players
+	 * from the current owners and armies.
+	 */
+	private void buildArmyIndex() {
+		armyIndex = new ArmyIndex(armies, playerNames.length);
+		for (int id = 0; id < owners.length; id++) {
+			if (owners[id] >= 0) {
+				armyIndex.add(owners[id], id);
+			}
+		}
+	}
+
+	/**
+	 * Read the current owners, armies and cards of the countries of the topology
+	 * and of the players.
+	 *
+	 * @param players
+	 *            the players, in player index order
+	 */
+	private void read(List<Player> players) {
+		for (int id = 0; id < topology.size(); id++) {
+			Country country = topology.getCountry(id);
+			if (country != null) {
+				setOwner(id, getPlayerIndex(country.getPlayerName()));
+				setArmies(id, country.getCurrentNumberOfArmies());
+			}
+		}
+		Arrays.fill(cardCounts, 0);
+		for (int index = 0; index < players.size(); index++) {
+			Player player = players.get(index);
+			armiesToPlace[index] = player.getNumberOfArmies();
+			for (CardType cardType : player.getCardList()) {
+				cardCounts[index * CARD_TYPES + cardType.ordinal()]++;
+			}
+		}
+	}
+
+	/**
+	 * Get the topology of the map.
+	 *
+	 * @return the topology
+	 */
+	public MapTopology getTopology() {
+		return topology;
+	}
+
+	/**
+	 * Get the number of players.
+	 *
+	 * @return the players count
+	 */
+	public int getPlayersCount() {
+		return playerNames.length;
+	}
+
+	/**
+	 * Get the name of a player.
+	 *
+	 * @param player
+	 *            the player index
+	 * @return the player name, null for -1
+	 */
+	public String getPlayerName(int player) {
+		return player < 0 ? null : playerNames[player];
+	}
+
+	/**
+	 * Get a player bound to the state.
+	 *
+	 * @param player
+	 *            the player index
+	 * @return the player, null for -1 or if the players are not bound
+	 */
+	public Player getPlayer(int player) {
+		return player < 0 || players == null ? null : players[player];
+	}
+
+	/**
+	 * Check whether players are bound to the state.
+	 *
+	 * @return true if bound
+	 */
+	public boolean isBound() {
+		return players != null;
+	}
+
+	/**
+	 * Get the index of a player.
+	 *
+	 * @param playerName
+	 *            the player name
+	 * @return the player index, -1 for null
+	 */
+	public int getPlayerIndex(String playerName) {
+		if (playerName == null) {
+			return -1;
+		}
+		for (int index = 0; index < playerNames.length; index++) {
+			if (playerNames[index].equals(playerName)) {
+				return index;
+			}
+		}
+		throw new IllegalArgumentException(playerName + " does not play this game");
+	}
+
+	/**
+	 * Get the frontier index of the players, reading the owners of this state and
+	 * updated by every change of owner. It is built on the first call.
+	 *
+	 * @return the frontier index
+	 */
+	public FrontierIndex getFrontierIndex() {
+		if (frontierIndex == null) {
+			frontierIndex = new FrontierIndex(this, owners);
+		}
+		return frontierIndex;
+	}
+
+	/**
+	 * Get the owner of a country.
+	 *
+	 * @param id
+	 *            id of the country
+	 * @return the player index, -1 if it has no owner
+	 */
+	public int getOwner(int id) {
+		return owners[id];
+	}
+
+	/**
+	 * Set the owner of a country.
+	 *
+	 * @param id
+	 *            id of the country
+	 * @param player
+	 *            the player index, -1 for no owner
+	 */
+	public void setOwner(int id, int player) {
+		int oldPlayer = owners[id];
+		if (oldPlayer == player) {
+			return;
+		}
+		owners[id] = player;
+		if (frontierIndex != null) {
+			frontierIndex.ownerChanged(id, oldPlayer);
+		}
+		if (armyIndex != null) {
+			if (oldPlayer >= 0) {
+				armyIndex.remove(oldPlayer, id);
+			}
+			if (player >= 0) {
+				armyIndex.add(player, id);
+			}
+		}
+		int continent = topology.getContinent(id);
+		if (oldPlayer >= 0) {
+			countriesCounts[oldPlayer]--;
+			armiesCounts[oldPlayer] -= armies[id];
+			if (continent >= 0) {
+				updateOwnedCount(oldPlayer, continent, -1);
+			}
+		}
+		if (player >= 0) {
+			countriesCounts[player]++;
+			armiesCounts[player] += armies[id];
+			if (continent >= 0) {
+				updateOwnedCount(player, continent, 1);
+			}
+		}
+	}
+
+	/**
+	 * Update the number of countries of a continent owned by a player, and the
+	 * continent bonus of the player when it gains or loses the control of the
+	 * continent.
+	 *
+	 * @param player
+	 *            the player index
+	 * @param continent
+	 *            the continent index
+	 * @param delta
+	 *            1 for a country gained, -1 for a country lost
+	 */
+	private void updateOwnedCount(int player, int continent, int delta) {
+		int index = player * topology.getContinentsCount() + continent;
+		int size = topology.getContinentSize(continent);
+		if (ownedCounts[index] == size) {
+			continentBonuses[player] -= topology.getControlValue(continent);
+		}
+		ownedCounts[index] += delta;
+		if (ownedCounts[index] == size) {
+			continentBonuses[player] += topology.getControlValue(continent);
+		}
+	}
+
+	/**
+	 * Get the armies of a country.
+	 *
+	 * @param id
+	 *            id of the country
+	 * @return the armies
+	 */
+	public int getArmies(int id) {
+		return armies[id];
+	}
+
+	/**
+	 * Set the armies of a country.
+	 *
+	 * @param id
+	 *            id of the country
+	 * @param count
+	 *            the armies
+	 */
+	public void setArmies(int id, int count) {
+		if (owners[id] >= 0) {
+			armiesCounts[owners[id]] += count - armies[id];
+		}
+		armies[id] = count;
+		if (armyIndex != null && owners[id] >= 0) {
+			armyIndex.update(owners[id], id);
+		}
+	}
+
+	/**
+	 * Get the armies a player has to place.
+	 *
+	 * @param player
+	 *            the player index
+	 * @return the armies
+	 */
+	public int getArmiesToPlace(int player) {
+		return armiesToPlace[player];
+	}
+
+	/**
+	 * Set the armies a player has to place.
+	 *
+	 * @param player
+	 *            the player index
+	 * @param count
+	 *            the armies
+	 */
+	public void setArmiesToPlace(int player, int count) {
+		armiesToPlace[player] = count;
+	}
+
+	/**
+	 * Get the number of cards of a type held by a player.
+	 *
+	 * @param player
+	 *            the player index
+	 * @param cardType
+	 *            the card type
+	 * @return the cards count
+	 */
+	public int getCardCount(int player, CardType cardType) {
+		return cardCounts[player * CARD_TYPES + cardType.ordinal()];
+	}
+
+	/**
+	 * Set the number of cards of a type held by a player.
+	 *
+	 * @param player
+	 *            the player index
+	 * @param cardType
+	 *            the card type
+	 * @param count
+	 *            the cards count
+	 */
+	public void setCardCount(int player, CardType cardType, int count) {
+		cardCounts[player * CARD_TYPES + cardType.ordinal()] = count;
+	}
+
+	/**
+	 * Get the country of a player with the most armies, in O(1).
+	 *
+	 * @param player
+	 *            the player index
+	 * @return id of the country, the lowest id among equal armies, -1 if the
+	 *         player owns no country or the players are not bound
+	 */
+	public int getStrongestCountry(int player) {
+		return armyIndex == null ? -1 : armyIndex.getStrongest(player);
+	}
+
+	/**
+	 * Get the country of a player with the fewest armies, in O(1).
+	 *
+	 * @param player
+	 *            the player index
+	 * @return id of the country, the lowest id among equal armies, -1 if the
+	 *         player owns no country or the players are not bound
+	 */
+	public int getWeakestCountry(int player) {
+		return armyIndex == null ? -1 : armyIndex.getWeakest(player);
+	}
+
+	/**
+	 * Get the number of countries owned by a player.
+	 *
+	 * @param player
+	 *            the player index
+	 * @return the countries count
+	 */
+	public int getCountriesCount(int player) {
+		return countriesCounts[player];
+	}
+
+	/**
+	 * Get the number of armies on the countries owned by a player.
+	 *
+	 * @param player
+	 *            the player index
+	 * @return the armies count
+	 */
+	public int getArmiesCount(int player) {
+		return armiesCounts[player];
+	}
+
+	/**
+	 * Get the number of countries of the map.
+	 *
+	 * @return the total countries
+	 */
+	public int getTotalCountries() {
+		return totalCountries;
+	}
+
+	/**
+	 * Get the share of the countries of the map owned by a player.
+	 *
+	 * @param player
+	 *            the player index
+	 * @return the domination percentage, from 0 to 1
+	 */
+	public double getDominationPercentage(int player) {
+		return totalCountries == 0 ? 0 : (double) countriesCounts[player] / totalCountries;
+	}
+
+	/**
+	 * Take a snapshot of the domination of all the players.
+	 *
+	 * @return the snapshot
+	 */
+	public DominationSnapshot getDominationSnapshot() {
+		return new DominationSnapshot(playerNames, countriesCounts.clone(), armiesCounts.clone(), totalCountries);
+	}
+
+	/**
+	 * Get the number of countries of a continent owned by a player.
+	 *
+	 * @param player
+	 *            the player index
+	 * @param continent
+	 *            the continent index
+	 * @return the countries count
+	 */
+	public int getCountriesCount(int player, int continent) {
+		return ownedCounts[player * topology.getContinentsCount() + continent];
+	}
+
+	/**
+	 * Check whether a player owns all the countries of a continent.
+	 *
+	 * @param player
+	 *            the player index
+	 * @param continent
+	 *            the continent index
+	 * @return true if the player controls the continent
+	 */
+	public boolean isControlled(int player, int continent) {
+		return getCountriesCount(player, continent) == topology.getContinentSize(continent);
+	}
+
+	/**
+	 * Get the sum of the control values of the continents controlled by a
+	 * player.
+	 *
+	 * @param player
+	 *            the player index
+	 * @return the continent bonus
+	 */
+	public int getContinentBonus(int player) {
+		return continentBonuses[player];
+	}
+
+	/**
+	 * Get the continents controlled by a player, in continent index order.
+	 *
+	 * @param player
+	 *            the player index
+	 * @return new list of the continents
+	 */
+	public List<Continent> getControlledContinents(int player) {
+		List<Continent> continents = new ArrayList<>();
+		for (int continent = 0; continent < topology.getContinentsCount(); continent++) {
+			if (isControlled(player, continent) && topology.getContinentByIndex(continent) != null) {
+				continents.add(topology.getContinentByIndex(continent));
+			}
+		}
+		return continents;
+	}
+}
@@ -0,0 +1,41 @@
+package com.game.risk.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Exception thrown when a map file fails validation, carrying every error
+ * found while reading the file.
+ */
+public class InvalidMapFileException extends IOException {
+
+	/** The Constant serialVersionUID. */
+	private static final long serialVersionUID = 1L;
+
+	/** Validation errors found in the map file. */
+	private final List<String> errors;
+
+	/**
+	 * Instantiates a new invalid map file exception.
+	 *
+	 * @param file
+	 *            the invalid map file
+	 * @param errors
+	 *            the validation errors
+	 */
+	public InvalidMapFileException(File file, List<String> errors) {
+		super(file.getName() + " is not a valid map file: " + errors.size() + " error(s)");
+		this.errors = Collections.unmodifiableList(errors);
+	}
+
+	/**
+	 * Get the validation errors.
+	 *
+	 * @return list of errors
+	 */
+	public List<String> getErrors() {
+		return errors;
+	}
+}
@@ -1,9 +1,20 @@
 package com.game.risk.core;
 
 import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.game.risk.core.util.MapValidationState;
 import com.game.risk.model.Continent;
 import com.game.risk.model.Country;
 
@@ -27,6 +38,9 @@ public class MapEditor {
 	/** Parser to changing the data stored. */
 	private MapFileReader mapFileReader;
 
+	/** Live validation state of the map, null until first used. */
+	private MapValidationState validationState;
+
 	/**
 	 * Constructor.
 	 *
@@ -37,6 +51,16 @@ public class MapEditor {
 		this.mapFileReader = mapFileReader;
 	}
 
+	/**
+	 * Get the map being edited, replaced by its edited copy after a successful
+	 * script.
+	 *
+	 * @return the map file reader
+	 */
+	public MapFileReader getMapFileReader() {
+		return mapFileReader;
+	}
+
 	/**
 	 * Method to print the adjacency Matrix representation and edit the map.
 	 *
@@ -53,89 +77,62 @@ public class MapEditor {
 		BufferedReader reader = new BufferedReader(new InputStreamReader(System.in));
 		while (true) {
 			System.out.println(":: " + (isNewMap ? "Create a New Map" : " Edit the Map")
-					+ " ::\n\n1. Add a Country\n2. Delete a country\n3. Add an Edge\n4. Delete an Edge\n5. Add a Continent\n6. Delete a Continent\n7. Save and Exit");
+					+ " ::\n\n1. Add a Country\n2. Delete a country\n3. Add an Edge\n4. Delete an Edge\n5. Add a Continent\n6. Delete a Continent\n7. Save and Exit\n8. Run a Script, Save and Exit");
 			int choice = Integer.parseInt(reader.readLine());
 
 			// Initialing variables for the switch case use
 			String countryName = null;
 			String countryName2 = null;
 			String continentName = null;
+			boolean isScriptSaved = false;
 
 			switch (choice) {
 			case 1:
 				System.out.println("\n:: Enter the Country Name and its Continent ::");
 				countryName = reader.readLine();
 				continentName = reader.readLine();
-				Country country = new Country(countryName);
-				country.setContinentName(continentName);
-				country.setxCoordinate(DEFAULT_COUNTRY_COORDINATE_VALUE);
-				country.setyCoordinate(DEFAULT_COUNTRY_COORDINATE_VALUE);
-				mapFileReader.getCountriesGraph().addCountry(country);
-				mapFileReader.getCountriesHashMap().put(countryName, country);
-				if (mapFileReader.getCountriesGraph().getContinentHashMap().get(continentName).getCountries()
-						.size() > 1) {
+				Country country = addCountry(countryName, continentName);
+				if (country != null && mapFileReader.getCountriesGraph().getContinentHashMap().get(continentName)
+						.getCountries().size() > 1) {
 					System.out
 							.println("- Add adjacency (Edge) with other countries -\n- Enter Adjacent Country Name -");
 					String adjCountryName = reader.readLine();
-					mapFileReader.getCountriesGraph().addEdge(country,
-							mapFileReader.getCountriesHashMap().get(adjCountryName));
-					mapFileReader.getCountriesGraph().addEdge(mapFileReader.getCountriesHashMap().get(adjCountryName),
-							country);
+					addEdge(countryName, adjCountryName);
 				}
-				System.out.println("\n::::: Map Updated :::::");
-				askForNewLineInput(reader);
-				printMapElements();
+				printMapUpdated(reader);
 				break;
 			case 2:
 				System.out.println("\n:: Enter the Country Name to perform Deletion ::");
 				countryName = reader.readLine();
-				mapFileReader.getCountriesGraph().removeCountry(mapFileReader.getCountriesHashMap().get(countryName));
-				System.out.println("\n::::: Map Updated :::::");
-				askForNewLineInput(reader);
-				printMapElements();
+				removeCountry(countryName);
+				printMapUpdated(reader);
 				break;
 			case 3:
 				System.out.println("\n:: Enter the two countries to be connected ::");
 				countryName = reader.readLine();
 				countryName2 = reader.readLine();
-				mapFileReader.getCountriesGraph().addEdge(mapFileReader.getCountriesHashMap().get(countryName),
-						mapFileReader.getCountriesHashMap().get(countryName2));
-				mapFileReader.getCountriesGraph().addEdge(mapFileReader.getCountriesHashMap().get(countryName2),
-						mapFileReader.getCountriesHashMap().get(countryName));
-				System.out.println("\n::::: Map Updated :::::");
-				askForNewLineInput(reader);
-				printMapElements();
+				addEdge(countryName, countryName2);
+				printMapUpdated(reader);
 				break;
 			case 4:
 				System.out.println("\n:: Enter the two countries to remove their connectivity ::");
 				countryName = reader.readLine();
 				countryName2 = reader.readLine();
-				mapFileReader.getCountriesGraph().removeEdge(mapFileReader.getCountriesHashMap().get(countryName),
-						mapFileReader.getCountriesHashMap().get(countryName2));
-				mapFileReader.getCountriesGraph().removeEdge(mapFileReader.getCountriesHashMap().get(countryName2),
-						mapFileReader.getCountriesHashMap().get(countryName));
-				System.out.println("\n::::: Map Updated :::::");
-				askForNewLineInput(reader);
-				printMapElements();
+				removeEdge(countryName, countryName2);
+				printMapUpdated(reader);
 				break;
 			case 5:
 				System.out.println("\n:: Enter a Name for the new Continent ::");
 				continentName = reader.readLine();
 				System.out.println("- Enter its control value -");
 				int controlValue = Integer.parseInt(reader.readLine());
-				Continent continent = new Continent(continentName, controlValue);
 				System.out.println("- How many new countries you want to insert? -");
 				int count = Integer.parseInt(reader.readLine());
-				mapFileReader.getCountriesGraph().addContinent(continent);
+				addContinent(continentName, controlValue);
 				String[] countriesArray = new String[count];
 				for (int i = 0; i < countriesArray.length; i++) {
 					countriesArray[i] = reader.readLine();
-					Country newCountry = new Country(countriesArray[i]);
-					newCountry.setContinentName(continentName);
-					newCountry.setxCoordinate(DEFAULT_COUNTRY_COORDINATE_VALUE);
-					newCountry.setyCoordinate(DEFAULT_COUNTRY_COORDINATE_VALUE);
-					mapFileReader.getCountriesGraph().addCountry(newCountry);
-					mapFileReader.getCountriesHashMap().put(countriesArray[i], newCountry);
+					addCountry(countriesArray[i], continentName);
 				}
 				System.out.println("- Define an edge for each new country created -");
 				for (int i = 0; i < countriesArray.length; i++) {
@@ -143,46 +140,37 @@ public class MapEditor {
 					int adjacentCount = Integer.parseInt(reader.readLine());
 					System.out.println("- Enter the Country Name(s) to be placed Adjacent -");
 					for (int j = 0; j < adjacentCount; j++) {
-
-						String adjacentCountryNm = reader.readLine();
-						if (isCountryPresent(adjacentCountryNm) && !mapFileReader.getCountriesGraph().isAdjacent(
-								mapFileReader.getCountriesHashMap().get(countriesArray[i]),
-								mapFileReader.getCountriesHashMap().get(adjacentCountryNm))) {
-							mapFileReader.getCountriesGraph().addEdge(
-									mapFileReader.getCountriesHashMap().get(countriesArray[i]),
-									mapFileReader.getCountriesHashMap().get(adjacentCountryNm));
-							mapFileReader.getCountriesGraph().addEdge(
-									mapFileReader.getCountriesHashMap().get(adjacentCountryNm),
-									mapFileReader.getCountriesHashMap().get(countriesArray[i]));
-						}
+						addEdge(countriesArray[i], reader.readLine());
 					}
 				}
-				System.out.println("\n::::: Map Updated :::::");
-				askForNewLineInput(reader);
-				printMapElements();
+				printMapUpdated(reader);
 				break;
 			case 6:
 				System.out.println("\n:: Enter a Continent Name to be deleted ::");
 				continentName = reader.readLine();
-				boolean isPresent = isContinentPresent(continentName);
-				if (isPresent) {
-					mapFileReader.getCountriesGraph()
-							.removeContinent(mapFileReader.getContinentHashMap().get(continentName));
-				} else {
+				if (!removeContinent(continentName)) {
 					System.out.println("Invalid Continent Name Input");
 				}
-				System.out.println("\n::::: Map Updated :::::");
-				askForNewLineInput(reader);
-				printMapElements();
+				printMapUpdated(reader);
 				break;
 			case 7:
 				mapFileReader.getMapFileWriter().saveMapToFile(isNewMap);
 				break;
+			case 8:
+				System.out.println("\n:: Enter the Script File and the Map File to be written ::");
+				String scriptName = reader.readLine();
+				List<String> errors = runScript(new File(scriptName), new File(reader.readLine()), false);
+				for (String error : errors) {
+					System.out.println(error);
+				}
+				isScriptSaved = errors.isEmpty();
+				System.out.println(isScriptSaved ? "\n::::: Map Saved :::::" : "\n::::: Map Not Saved :::::");
+				break;
 			default:
 				System.out.println("Invalid Input.");
 				break;
 			}
-			if (choice == 7) {
+			if (choice == 7 || isScriptSaved) {
 				break;
 			}
 		}
@@ -190,6 +178,385 @@ public class MapEditor {
 		return true;
 	}
 
+	/**
+	 * Get the live validation state of the map, built on first use and then
+	 * updated by each edit, except the edits of a script.
+	 *
+	 * @return the validation state
+	 */
+	public MapValidationState getValidationState() {
+		if (validationState == null) {
+			validationState = new MapValidationState(mapFileReader.getCountriesGraph());
+		}
+		return validationState;
+	}
+
+	/**
+	 * Add a new country, without adjacent countries, to an existing continent.
+	 *
+	 * @param countryName
+	 *            name of the country
+	 * @param continentName
+	 *            name of the continent
+	 * @return the country, null if the country is already present or the
+	 *         continent is not present
+	 */
+	public Country addCountry(String countryName, String continentName) {
+		if (isCountryPresent(countryName) || !isContinentPresent(continentName)) {
+			System.out.println("Invalid Country or Continent Name Input");
+			return null;
+		}
+		Country country = new Country(countryName);
+		country.setContinentName(continentName);
+		country.setxCoordinate(DEFAULT_COUNTRY_COORDINATE_VALUE);
+		country.setyCoordinate(DEFAULT_COUNTRY_COORDINATE_VALUE);
+		mapFileReader.getCountriesGraph().addCountry(country);
+		mapFileReader.getCountriesHashMap().put(countryName, country);
+		if (validationState != null) {
+			validationState.addCountry(country);
+		}
+		return country;
+	}
+
+	/**
+	 * Remove a country and its edges.
+	 *
+	 * @param countryName
+	 *            name of the country
+	 * @return true if removed, false if the country is not present
+	 */
+	public boolean removeCountry(String countryName) {
+		if (!isCountryPresent(countryName)) {
+			System.out.println("Invalid Country Name Input");
+			return false;
+		}
+		Country country = mapFileReader.getCountriesHashMap().get(countryName);
+		if (validationState != null) {
+			validationState.removeCountry(country);
+		}
+		return mapFileReader.getCountriesGraph().removeCountry(country);
+	}
+
+	/**
+	 * Connect two countries, in both directions.
+	 *
+	 * @param countryName
+	 *            name of the first country
+	 * @param countryName2
+	 *            name of the second country
+	 * @return true if connected, false if a country is not present
+	 */
+	public boolean addEdge(String countryName, String countryName2) {
+		if (!isCountryPresent(countryName) || !isCountryPresent(countryName2) || countryName.equals(countryName2)) {
+			System.out.println("Invalid Country Name Input");
+			return false;
+		}
+		Country country = mapFileReader.getCountriesHashMap().get(countryName);
+		Country country2 = mapFileReader.getCountriesHashMap().get(countryName2);
+		CountriesGraph graph = mapFileReader.getCountriesGraph();
+		if (!graph.isAdjacent(country, country2)) {
+			graph.addEdge(country, country2);
+		}
+		if (!graph.isAdjacent(country2, country)) {
+			graph.addEdge(country2, country);
+		}
+		if (validationState != null) {
+			validationState.addEdge(country, country2);
+		}
+		return true;
+	}
+
+	/**
+	 * Remove the connectivity between two countries, in both directions.
+	 *
+	 * @param countryName
+	 *            name of the first country
+	 * @param countryName2
+	 *            name of the second country
+	 * @return true if removed, false if a country is not present
+	 */
+	public boolean removeEdge(String countryName, String countryName2) {
+		if (!isCountryPresent(countryName) || !isCountryPresent(countryName2)) {
+			System.out.println("Invalid Country Name Input");
+			return false;
+		}
+		Country country = mapFileReader.getCountriesHashMap().get(countryName);
+		Country country2 = mapFileReader.getCountriesHashMap().get(countryName2);
+		mapFileReader.getCountriesGraph().removeEdge(country, country2);
+		if (validationState != null) {
+			validationState.removeEdge(country, country2);
+		}
+		return true;
+	}
+
+	/**
+	 * Add a new continent, without countries.
+	 *
+	 * @param continentName
+	 *            name of the continent
+	 * @param controlValue
+	 *            control value of the continent
+	 * @return the continent, null if already present
+	 */
+	public Continent addContinent(String continentName, int controlValue) {
+		if (isContinentPresent(continentName)) {
+			System.out.println("Invalid Continent Name Input");
+			return null;
+		}
+		Continent continent = new Continent(continentName, controlValue);
+		mapFileReader.getCountriesGraph().addContinent(continent);
+		mapFileReader.getContinentHashMap().put(continentName, continent);
+		if (validationState != null) {
+			validationState.addContinent(continent);
+		}
+		return continent;
+	}
+
+	/**
+	 * Remove a continent and its countries.
+	 *
+	 * @param continentName
+	 *            name of the continent
+	 * @return true if removed, false if the continent is not present
+	 */
+	public boolean removeContinent(String continentName) {
+		if (!isContinentPresent(continentName)) {
+			return false;
+		}
+		Continent continent = mapFileReader.getCountriesGraph().getContinentHashMap().get(continentName);
+		if (validationState != null) {
+			validationState.removeContinent(continent);
+		}
+		mapFileReader.getCountriesGraph().removeContinent(continent);
+		mapFileReader.getContinentHashMap().remove(continentName);
+		return true;
+	}
+
+	/**
+	 * Apply a script of edits to the map in one transaction, validate the map
+	 * once and write it once.
+	 * <p>
+	 * Each line of the script is an operation and its arguments, separated by
+	 * commas: <code>addContinent,name,control value</code>,
+	 * <code>removeContinent,name</code>, <code>addCountry,name,continent</code>,
+	 * <code>removeCountry,name</code>, <code>addEdge,country,country</code> or
+	 * <code>removeEdge,country,country</code>. Empty lines and lines starting
+	 * with ';' are ignored. The whole script is checked before the map is
+	 * changed, so a script with an error does not change the map. The script is
+	 * then applied to a copy of the map, which replaces the edited map and is
+	 * written only if it is valid, so an invalid result, or an operation
+	 * failing halfway, leaves the edited map unchanged. Consecutive removals of countries and of edges are applied
+	 * together, filtering each adjacency list once.
+	 *
+	 * @param script
+	 *            the script file
+	 * @param mapFile
+	 *            the map file to be written
+	 * @param compressed
+	 *            true to compress the map file with gzip
+	 * @return the errors found in the script or in the edited map, empty if the
+	 *         map has been written
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public List<String> runScript(File script, File mapFile, boolean compressed) throws IOException {
+		List<String[]> operations = new ArrayList<>();
+		List<Integer> lineNumbers = new ArrayList<>();
+		List<String> errors = new ArrayList<>();
+		try (BufferedReader reader = new BufferedReader(new FileReader(script))) {
+			String line;
+			for (int lineNumber = 1; (line = reader.readLine()) != null; lineNumber++) {
+				line = line.trim();
+				if (!line.isEmpty() && !line.startsWith(";")) {
+					operations.add(line.split(","));
+					lineNumbers.add(lineNumber);
+				}
+			}
+		}
+		checkScript(operations, lineNumbers, errors);
+		if (!errors.isEmpty()) {
+			return errors;
+		}
+
+		// The script is applied to a copy of the map, kept only if it is valid
+		MapFileReader originalMap = mapFileReader;
+		MapValidationState originalValidationState = validationState;
+		mapFileReader = originalMap.copyMap();
+		validationState = null;
+		boolean valid = false;
+		try {
+			CountriesGraph graph = mapFileReader.getCountriesGraph();
+			List<Country> removedCountries = new ArrayList<>();
+			Map<Country, List<Country>> removedEdges = new LinkedHashMap<>();
+			for (String[] operation : operations) {
+				if (!operation[0].equals("removeCountry") && !removedCountries.isEmpty()) {
+					graph.removeCountries(removedCountries);
+					removedCountries.clear();
+				}
+				if (!operation[0].equals("removeEdge") && !removedEdges.isEmpty()) {
+					graph.removeEdges(removedEdges);
+					removedEdges.clear();
+				}
+				switch (operation[0]) {
+				case "addContinent":
+					addContinent(operation[1], Integer.parseInt(operation[2]));
+					break;
+				case "removeContinent":
+					removeContinent(operation[1]);
+					break;
+				case "addCountry":
+					addCountry(operation[1], operation[2]);
+					break;
+				case "removeCountry":
+					removedCountries.add(mapFileReader.getCountriesHashMap().get(operation[1]));
+					break;
+				case "addEdge":
+					addEdge(operation[1], operation[2]);
+					break;
+				default:
+					Country country = mapFileReader.getCountriesHashMap().get(operation[1]);
+					if (!removedEdges.containsKey(country)) {
+						removedEdges.put(country, new ArrayList<Country>());
+					}
+					removedEdges.get(country).add(mapFileReader.getCountriesHashMap().get(operation[2]));
+					break;
+				}
+			}
+			graph.removeCountries(removedCountries);
+			graph.removeEdges(removedEdges);
+
+			errors.addAll(mapFileReader.validateMap());
+			valid = errors.isEmpty();
+		} finally {
+			// A copy left invalid or half applied gives the edited map back
+			if (!valid) {
+				mapFileReader = originalMap;
+				validationState = originalValidationState;
+			}
+		}
+		if (!valid) {
+			return errors;
+		}
+		mapFileReader.getMapFileWriter().saveMapToFile(mapFileReader.getMapMetaData().isEmpty(), mapFile,
+				compressed);
+		return errors;
+	}
+
+	/**
+	 * Check that a string is a control value, a number without sign in the
+	 * range of an int.
+	 *
+	 * @param value
+	 *            the string
+	 * @return true if the string is a control value
+	 */
+	private static boolean isControlValue(String value) {
+		if (!value.matches("\\d+")) {
+			return false;
+		}
+		try {
+			Integer.parseInt(value);
+			return true;
+		} catch (NumberFormatException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Check the operations of a script against the names of the countries and
+	 * continents they create and remove, without changing the map.
+	 *
+	 * @param operations
+	 *            the operations and their arguments
+	 * @param lineNumbers
+	 *            line number of each operation in the script
+	 * @param errors
+	 *            list receiving the errors found
+	 */
+	private void checkScript(List<String[]> operations, List<Integer> lineNumbers, List<String> errors) {
+		Map<String, String> countries = new HashMap<>();
+		for (Country country : mapFileReader.getCountriesHashMap().values()) {
+			countries.put(country.getCountryName(), country.getContinentName());
+		}
+		Map<String, Set<String>> continents = new HashMap<>();
+		for (Continent continent : mapFileReader.getCountriesGraph().getContinentHashMap().values()) {
+			Set<String> continentCountries = new HashSet<>();
+			for (Country country : continent.getCountries()) {
+				continentCountries.add(country.getCountryName());
+			}
+			continents.put(continent.getContinentName(), continentCountries);
+		}
+		for (int i = 0; i < operations.size(); i++) {
+			String[] operation = operations.get(i);
+			String error = null;
+			switch (operation[0] + "/" + operation.length) {
+			case "addContinent/3":
+				if (continents.containsKey(operation[1])) {
+					error = operation[1] + ": is defined more than one time";
+				} else if (!isControlValue(operation[2])) {
+					error = operation[2] + ": is not a control value";
+				} else {
+					continents.put(operation[1], new HashSet<String>());
+				}
+				break;
+			case "removeContinent/2":
+				if (!continents.containsKey(operation[1])) {
+					error = operation[1] + ": is not a continent";
+				} else {
+					countries.keySet().removeAll(continents.remove(operation[1]));
+				}
+				break;
+			case "addCountry/3":
+				if (countries.containsKey(operation[1])) {
+					error = operation[1] + ": is defined more than one time";
+				} else if (!continents.containsKey(operation[2])) {
+					error = operation[2] + ": is not a continent";
+				} else {
+					countries.put(operation[1], operation[2]);
+					continents.get(operation[2]).add(operation[1]);
+				}
+				break;
+			case "removeCountry/2":
+				if (!countries.containsKey(operation[1])) {
+					error = operation[1] + ": is not a country";
+				} else if (continents.containsKey(countries.get(operation[1]))) {
+					continents.get(countries.remove(operation[1])).remove(operation[1]);
+				} else {
+					countries.remove(operation[1]);
+				}
+				break;
+			case "addEdge/3":
+			case "removeEdge/3":
+				if (!countries.containsKey(operation[1]) || !countries.containsKey(operation[2])
+						|| operation[1].equals(operation[2])) {
+					error = operation[1] + ", " + operation[2] + ": are not two countries";
+				}
+				break;
+			default:
+				error = "Invalid operation";
+				break;
+			}
+			if (error != null) {
+				errors.add("* Line " + lineNumbers.get(i) + " of the script: " + error);
+			}
+		}
+	}
+
+	/**
+	 * Print the map update with the validation status and the map elements.
+	 *
+	 * @param reader
+	 *            BufferedReader object reference
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	private void printMapUpdated(BufferedReader reader) throws IOException {
+		System.out.println("\n::::: Map Updated :::::");
+		System.out.println(getValidationState().getStatus());
+		askForNewLineInput(reader);
+		printMapElements();
+	}
+
 	/**
 	 * Check whether the User wants to move to the new line.
 	 *
@@ -213,11 +580,7 @@ public class MapEditor {
 	 * @return true if the continent is present in the continent HashMap else false
 	 */
 	private boolean isContinentPresent(String continentName) {
-		for (String continent : mapFileReader.getCountriesGraph().getContinentHashMap().keySet()) {
-			if (continent.equals(continentName))
-				return true;
-		}
-		return false;
+		return mapFileReader.getCountriesGraph().getContinentHashMap().containsKey(continentName);
 	}
 
 	/**
@@ -228,11 +591,7 @@ public class MapEditor {
 	 * @return true if the country is present in the countries HashMap else false
 	 */
 	private boolean isCountryPresent(String countryName) {
-		for (String country : mapFileReader.getCountriesHashMap().keySet()) {
-			if (country.equals(countryName))
-				return true;
-		}
-		return false;
+		return mapFileReader.getCountriesHashMap().containsKey(countryName);
 	}
 
 	/**
@@ -259,4 +618,26 @@ public class MapEditor {
 		}
 		System.out.print(builder.toString());
 	}
+
+	/**
+	 * Apply a script of edits to a map file from the command line.
+	 *
+	 * @param args
+	 *            map file, script file, output map file and optionally gzip to
+	 *            compress the output
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length < 3 || args.length > 4 || (args.length == 4 && !args[3].equals("gzip"))) {
+			System.out.println("Usage: MapEditor <map file> <script file> <output file> [gzip]");
+			return;
+		}
+		MapEditor mapEditor = new MapEditor(new MapFileReader(new File(args[0])).readFile());
+		List<String> errors = mapEditor.runScript(new File(args[1]), new File(args[2]), args.length == 4);
+		for (String error : errors) {
+			System.out.println(error);
+		}
+		System.out.println(errors.isEmpty() ? "Map written to " + args[2] : "Map not written");
+	}
 }
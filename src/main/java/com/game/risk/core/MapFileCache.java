@@ -0,0 +1,362 @@
+package com.game.risk.core;
+
+import com.game.risk.model.Continent;
+import com.game.risk.model.Country;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.Buffer;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * On-disk cache of compiled map files, keyed by the SHA-256 hash of the map
+ * file content.
+ * <p>
+ * A map file is compiled once, after it has been read and validated by
+ * {@link MapFileReader#readValidatedFile()}, into a compact binary format with
+ * interned names, int country IDs grouped by continent, continent ranges and
+ * a CSR adjacency block (offsets and neighbours arrays). Loading a map whose
+ * content is already in the cache memory-maps the compiled file and skips
+ * text parsing and validation entirely.
+ */
+public class MapFileCache {
+
+	/** Magic number at the start of a compiled map file ("RMAP"). */
+	private static final int MAGIC = 0x524D4150;
+
+	/** Version of the compiled map format. */
+	private static final int VERSION = 1;
+
+	/** Extension of the compiled map files. */
+	private static final String EXTENSION = ".rmap";
+
+	/** Directory containing the compiled map files. */
+	private File cacheDirectory;
+
+	/**
+	 * Map File Cache constructor using the default cache directory in the
+	 * temporary directory of the system.
+	 */
+	public MapFileCache() {
+		this(new File(System.getProperty("java.io.tmpdir"), "risk-map-cache"));
+	}
+
+	/**
+	 * Map File Cache constructor.
+	 *
+	 * @param cacheDirectory
+	 *            directory containing the compiled map files
+	 */
+	public MapFileCache(File cacheDirectory) {
+		this.cacheDirectory = cacheDirectory;
+	}
+
+	/**
+	 * Load a map file, from its compiled form if its content is cached, otherwise
+	 * by reading and validating the text file and compiling it into the cache.
+	 *
+	 * @param mapFile
+	 *            the map file
+	 * @return map file reader holding the map
+	 * @throws InvalidMapFileException
+	 *             if the map is invalid
+	 * @throws IOException
+	 *             input output exception
+	 */
+	public MapFileReader load(File mapFile) throws IOException {
+		File compiledFile = getCompiledFile(mapFile);
+		if (compiledFile.isFile()) {
+			MapFileReader mapFileReader = new MapFileReader(mapFile);
+			if (readCompiledFile(compiledFile, mapFileReader)) {
+				return mapFileReader;
+			}
+		}
+		MapFileReader mapFileReader = new MapFileReader(mapFile).readValidatedFile();
+		writeCompiledFile(mapFileReader, compiledFile);
+		return mapFileReader;
+	}
+
+	/**
+	 * Check whether the content of a map file is in the cache.
+	 *
+	 * @param mapFile
+	 *            the map file
+	 * @return true if cached
+	 * @throws IOException
+	 *             input output exception
+	 */
+	public boolean isCached(File mapFile) throws IOException {
+		return getCompiledFile(mapFile).isFile();
+	}
+
+	/**
+	 * Get the compiled file of a map file, named after the hash of its content.
+	 *
+	 * @param mapFile
+	 *            the map file
+	 * @return the compiled file
+	 * @throws IOException
+	 *             input output exception
+	 */
+	public File getCompiledFile(File mapFile) throws IOException {
+		return new File(cacheDirectory, hash(mapFile) + EXTENSION);
+	}
+
+	/**
+	 * Compute the SHA-256 hash of the content of a map file, uncompressed if it
+	 * was written with gzip, so a map has the same compiled file whether it is
+	 * compressed or not.
+	 *
+	 * @param file
+	 *            the file
+	 * @return hexadecimal hash
+	 * @throws IOException
+	 *             input output exception
+	 */
+	private static String hash(File file) throws IOException {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IOException(e);
+		}
+		if (MapFileReader.isCompressed(file)) {
+			try (InputStream input = MapFileReader.openStream(file)) {
+				byte[] buffer = new byte[64 * 1024];
+				int count;
+				while ((count = input.read(buffer)) >= 0) {
+					digest.update(buffer, 0, count);
+				}
+			}
+		} else {
+			try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+					FileChannel channel = randomAccessFile.getChannel()) {
+				ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+				while (channel.read(buffer) >= 0) {
+					// Called through Buffer to run on Java 8 when compiled by a later JDK
+					((Buffer) buffer).flip();
+					digest.update(buffer);
+					((Buffer) buffer).clear();
+				}
+			}
+		}
+		StringBuilder builder = new StringBuilder();
+		for (byte b : digest.digest()) {
+			builder.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+		}
+		return builder.toString();
+	}
+
+	/**
+	 * Write the compiled form of a map into the cache. The file is written under
+	 * a temporary name and then moved, so concurrent readers never see a partial
+	 * file.
+	 *
+	 * @param mapFileReader
+	 *            map file reader holding a validated map
+	 * @param compiledFile
+	 *            the compiled file
+	 * @throws IOException
+	 *             input output exception
+	 */
+	static void writeCompiledFile(MapFileReader mapFileReader, File compiledFile) throws IOException {
+		File directory = compiledFile.getParentFile();
+		if (!directory.isDirectory() && !directory.mkdirs() && !directory.isDirectory()) {
+			throw new IOException("Cannot create the map cache directory " + directory);
+		}
+		File temporaryFile = File.createTempFile("map", ".tmp", directory);
+		try {
+			try (DataOutputStream output = new DataOutputStream(
+					new BufferedOutputStream(new FileOutputStream(temporaryFile)))) {
+				compile(mapFileReader, output);
+			}
+			try {
+				Files.move(temporaryFile.toPath(), compiledFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temporaryFile.toPath(), compiledFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+		} finally {
+			Files.deleteIfExists(temporaryFile.toPath());
+		}
+	}
+
+	/**
+	 * Compile a map into the binary format.
+	 *
+	 * @param mapFileReader
+	 *            map file reader holding a validated map
+	 * @param output
+	 *            output stream
+	 * @throws IOException
+	 *             input output exception
+	 */
+	private static void compile(MapFileReader mapFileReader, DataOutputStream output) throws IOException {
+		HashMap<String, Integer> names = new LinkedHashMap<>();
+		List<Continent> continents = new ArrayList<>(mapFileReader.getContinentHashMap().values());
+		List<Country> countries = new ArrayList<>();
+		HashMap<Country, Integer> countryIds = new HashMap<>();
+		for (Continent continent : continents) {
+			intern(names, continent.getContinentName());
+			for (Country country : continent.getCountries()) {
+				countryIds.put(country, countries.size());
+				countries.add(country);
+				intern(names, country.getCountryName());
+				intern(names, country.getxCoordinate());
+				intern(names, country.getyCoordinate());
+			}
+		}
+		for (String metaData : mapFileReader.getMapMetaData()) {
+			intern(names, metaData);
+		}
+
+		output.writeInt(MAGIC);
+		output.writeInt(VERSION);
+		output.writeInt(names.size());
+		for (String name : names.keySet()) {
+			byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+			output.writeInt(bytes.length);
+			output.write(bytes);
+		}
+		output.writeInt(mapFileReader.getMapMetaData().size());
+		for (String metaData : mapFileReader.getMapMetaData()) {
+			output.writeInt(names.get(metaData));
+		}
+		output.writeInt(continents.size());
+		int firstCountry = 0;
+		for (Continent continent : continents) {
+			output.writeInt(names.get(continent.getContinentName()));
+			output.writeInt(continent.getControlValue());
+			output.writeInt(firstCountry);
+			output.writeInt(continent.getCountries().size());
+			firstCountry += continent.getCountries().size();
+		}
+		output.writeInt(countries.size());
+		for (Country country : countries) {
+			output.writeInt(names.get(country.getCountryName()));
+			output.writeInt(names.get(country.getxCoordinate()));
+			output.writeInt(names.get(country.getyCoordinate()));
+		}
+		// CSR adjacency: offsets of each country into the neighbours block
+		HashMap<Country, LinkedList<Country>> adjListHashMap = mapFileReader.getCountriesGraph().getAdjListHashMap();
+		int offset = 0;
+		output.writeInt(offset);
+		for (Country country : countries) {
+			offset += adjListHashMap.get(country).size();
+			output.writeInt(offset);
+		}
+		for (Country country : countries) {
+			for (Country adjCountry : adjListHashMap.get(country)) {
+				Integer id = countryIds.get(adjCountry);
+				if (id == null) {
+					throw new IOException(adjCountry.getCountryName() + " is not defined in any continent");
+				}
+				output.writeInt(id);
+			}
+		}
+	}
+
+	/**
+	 * Add a name to the name table if not already present.
+	 *
+	 * @param names
+	 *            name table
+	 * @param name
+	 *            the name
+	 */
+	private static void intern(HashMap<String, Integer> names, String name) {
+		if (!names.containsKey(name)) {
+			names.put(name, names.size());
+		}
+	}
+
+	/**
+	 * Read the compiled form of a map by memory-mapping it, and store its data
+	 * into the model classes.
+	 *
+	 * @param compiledFile
+	 *            the compiled file
+	 * @param mapFileReader
+	 *            map file reader to be populated
+	 * @return true if read, false if the compiled file is not in the current
+	 *         format or is truncated
+	 * @throws IOException
+	 *             input output exception
+	 */
+	static boolean readCompiledFile(File compiledFile, MapFileReader mapFileReader) throws IOException {
+		ByteBuffer buffer;
+		try (RandomAccessFile randomAccessFile = new RandomAccessFile(compiledFile, "r");
+				FileChannel channel = randomAccessFile.getChannel()) {
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+		try {
+			if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+				return false;
+			}
+			String[] names = new String[buffer.getInt()];
+			for (int i = 0; i < names.length; i++) {
+				byte[] bytes = new byte[buffer.getInt()];
+				buffer.get(bytes);
+				names[i] = new String(bytes, StandardCharsets.UTF_8);
+			}
+			int metaDataCount = buffer.getInt();
+			for (int i = 0; i < metaDataCount; i++) {
+				mapFileReader.getMapMetaData().add(names[buffer.getInt()]);
+			}
+
+			CountriesGraph countriesGraph = mapFileReader.getCountriesGraph();
+			Continent[] continents = new Continent[buffer.getInt()];
+			int[] continentRanges = new int[continents.length * 2];
+			for (int i = 0; i < continents.length; i++) {
+				continents[i] = new Continent(names[buffer.getInt()], buffer.getInt());
+				continentRanges[2 * i] = buffer.getInt();
+				continentRanges[2 * i + 1] = buffer.getInt();
+				mapFileReader.getContinentHashMap().put(continents[i].getContinentName(), continents[i]);
+				countriesGraph.addContinent(continents[i]);
+			}
+			Country[] countries = new Country[buffer.getInt()];
+			for (int i = 0; i < countries.length; i++) {
+				countries[i] = new Country(names[buffer.getInt()]);
+				countries[i].setxCoordinate(names[buffer.getInt()]);
+				countries[i].setyCoordinate(names[buffer.getInt()]);
+			}
+			for (int i = 0; i < continents.length; i++) {
+				int end = continentRanges[2 * i] + continentRanges[2 * i + 1];
+				for (int id = continentRanges[2 * i]; id < end; id++) {
+					countries[id].setContinentName(continents[i].getContinentName());
+					mapFileReader.getCountriesHashMap().put(countries[id].getCountryName(), countries[id]);
+					countriesGraph.addCountry(countries[id]);
+				}
+			}
+			int[] offsets = new int[countries.length + 1];
+			for (int i = 0; i < offsets.length; i++) {
+				offsets[i] = buffer.getInt();
+			}
+			for (int i = 0; i < countries.length; i++) {
+				for (int edge = offsets[i]; edge < offsets[i + 1]; edge++) {
+					countriesGraph.addEdge(countries[i], countries[buffer.getInt()]);
+				}
+			}
+		} catch (BufferUnderflowException | ArrayIndexOutOfBoundsException e) {
+			return false;
+		}
+		return true;
+	}
+}
@@ -1,17 +1,26 @@
 package com.game.risk.core;
 
+import com.game.risk.core.util.ConnectivityAnalysis;
 import com.game.risk.core.util.MapValidation;
 import com.game.risk.model.Continent;
 import com.game.risk.model.Country;
 
+import java.io.BufferedInputStream;
 import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileNotFoundException;
-import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
 
 /**
  * Map File Parser for reading map data for the game.
@@ -21,9 +30,6 @@ import java.util.List;
  */
 public class MapFileReader {
 
-	/** FileReader class variable. */
-	private FileReader fileReader;
-
 	/** HashMap to store searched countries through the map file. */
 	private HashMap<String, Country> countriesHashMap;
 
@@ -64,7 +70,9 @@ public class MapFileReader {
 	 *             file not found exception
 	 */
 	public MapFileReader(File file) throws FileNotFoundException {
-		fileReader = new FileReader(file);
+		if (!file.isFile()) {
+			throw new FileNotFoundException(file.getPath() + " (No such file)");
+		}
 		this.fileName = file;
 		countriesHashMap = new HashMap<String, Country>();
 		continentHashMap = new HashMap<String, Continent>();
@@ -125,8 +133,100 @@ public class MapFileReader {
 	 *             input output exception
 	 */
 	public MapFileReader readFile() throws IOException {
+		try (BufferedReader reader = openFile(fileName)) {
+			readFile(reader);
+		}
+		return this;
+	}
+
+	/**
+	 * Open a map file, uncompressing it if it was written with gzip.
+	 *
+	 * @param file
+	 *            the map file
+	 * @return the reader of the file
+	 * @throws IOException
+	 *             input output exception
+	 */
+	private static BufferedReader openFile(File file) throws IOException {
+		return new BufferedReader(new InputStreamReader(openStream(file), Charset.defaultCharset()));
+	}
+
+	/**
+	 * Open the content of a map file as a stream, uncompressing it if it was
+	 * written with gzip.
+	 *
+	 * @param file
+	 *            the map file
+	 * @return the stream of the content
+	 * @throws IOException
+	 *             input output exception
+	 */
+	static InputStream openStream(File file) throws IOException {
+		InputStream input = new BufferedInputStream(new FileInputStream(file));
+		try {
+			input.mark(2);
+			int magic = input.read() | (input.read() << 8);
+			input.reset();
+			if (magic == GZIPInputStream.GZIP_MAGIC) {
+				input = new GZIPInputStream(input);
+			}
+		} catch (IOException e) {
+			input.close();
+			throw e;
+		}
+		return input;
+	}
 
-		BufferedReader reader = new BufferedReader(fileReader);
+	/**
+	 * Check whether a map file was written with gzip, from its first two bytes.
+	 *
+	 * @param file
+	 *            the map file
+	 * @return true if compressed
+	 * @throws IOException
+	 *             input output exception
+	 */
+	public static boolean isCompressed(File file) throws IOException {
+		try (InputStream input = new FileInputStream(file)) {
+			return (input.read() | (input.read() << 8)) == GZIPInputStream.GZIP_MAGIC;
+		}
+	}
+
+	/**
+	 * Read the whole content of a map file, uncompressed if it was written with
+	 * gzip.
+	 *
+	 * @param file
+	 *            the map file
+	 * @return the bytes of the content
+	 * @throws IOException
+	 *             input output exception
+	 */
+	public static byte[] readContent(File file) throws IOException {
+		if (!isCompressed(file)) {
+			return Files.readAllBytes(file.toPath());
+		}
+		try (InputStream input = openStream(file)) {
+			ByteArrayOutputStream output = new ByteArrayOutputStream();
+			byte[] buffer = new byte[8192];
+			int count;
+			while ((count = input.read(buffer)) >= 0) {
+				output.write(buffer, 0, count);
+			}
+			return output.toByteArray();
+		}
+	}
+
+	/**
+	 * Read and store data into the model classes from the given reader.
+	 *
+	 * @param reader
+	 *            reader over the map file
+	 * @throws IOException
+	 *             input output exception
+	 */
+	private void readFile(BufferedReader reader) throws IOException {
 		String line;
 		while (true) {
 			line = reader.readLine();
@@ -186,9 +286,134 @@ public class MapFileReader {
 				}
 			}
 		}
+	}
+
+	/**
+	 * Method to read and store data into the model classes from map file by
+	 * scanning the memory-mapped bytes of the file in a single pass. Produces the
+	 * same model as {@link #readFile()}. A file written with gzip is
+	 * uncompressed in memory and scanned from there.
+	 *
+	 * @return map file reader
+	 * @throws IOException
+	 *             input output exception
+	 */
+	public MapFileReader readMappedFile() throws IOException {
+		return new MapFileScanner(this).scan(fileName);
+	}
+
+	/**
+	 * Method to read, validate and store data into the model classes from map file
+	 * in a single pass. Format errors are collected while the file is scanned and
+	 * the graph connectivity is checked on the resulting model, so the file is
+	 * read only once.
+	 *
+	 * @return map file reader if the map is valid
+	 * @throws InvalidMapFileException
+	 *             if the map is invalid, with all the errors found
+	 * @throws IOException
+	 *             input output exception
+	 */
+	public MapFileReader readValidatedFile() throws IOException {
+		List<String> errors = new ArrayList<>();
+		new MapFileScanner(this, errors).scan(fileName);
+		if (errors.isEmpty() && countriesHashMap.isEmpty()) {
+			errors.add("No territory is defined");
+		}
+		if (errors.isEmpty()) {
+			checkConnectivity(errors);
+		}
+		if (!errors.isEmpty()) {
+			throw new InvalidMapFileException(fileName, errors);
+		}
 		return this;
 	}
 
+	/**
+	 * Validate the map held in memory, without reading the file: at least one
+	 * territory, at least one territory in each continent and the whole map and
+	 * each continent connected.
+	 *
+	 * @return the errors found, empty if the map is valid
+	 */
+	public List<String> validateMap() {
+		List<String> errors = new ArrayList<>();
+		if (countriesHashMap.isEmpty()) {
+			errors.add("No territory is defined");
+			return errors;
+		}
+		for (Continent continent : continentHashMap.values()) {
+			if (continent.getCountries().isEmpty()) {
+				errors.add(continent.getContinentName() + ": does not have any country");
+			}
+		}
+		checkConnectivity(errors);
+		return errors;
+	}
+
+	/**
+	 * Check the connectivity of the whole map and of each continent.
+	 *
+	 * @param errors
+	 *            list receiving the errors found
+	 */
+	private void checkConnectivity(List<String> errors) {
+		ConnectivityAnalysis connectivity = new MapValidation(countriesGraph).checkConnectivity(countriesGraph);
+		if (!connectivity.isConnected()) {
+			errors.add("* Map is not a connected graph, it has " + connectivity.getComponentsCount()
+					+ " components");
+		}
+		for (Map.Entry<String, List<Country>> entry : connectivity.getDisconnectedCountries().entrySet()) {
+			StringBuilder builder = new StringBuilder();
+			for (Country country : entry.getValue()) {
+				builder.append(builder.length() == 0 ? "" : ", ").append(country.getCountryName());
+			}
+			errors.add("* " + entry.getKey() + ": is not a connected subgraph, disconnected countries: "
+					+ builder);
+		}
+	}
+
+	/**
+	 * Copy the map into a new map file reader with its own countries and
+	 * continents, so that a game can be played on the copy without changing this
+	 * map. Only the map is copied: owners and armies of the copy are not set.
+	 * This map must not be modified while it is copied.
+	 *
+	 * @return the copy
+	 */
+	public MapFileReader copyMap() {
+		MapFileReader copy = new MapFileReader();
+		copy.fileName = fileName;
+		copy.mapMetaData.addAll(mapMetaData);
+		for (Continent continent : continentHashMap.values()) {
+			Continent newContinent = new Continent(continent.getContinentName(), continent.getControlValue());
+			copy.continentHashMap.put(newContinent.getContinentName(), newContinent);
+			copy.countriesGraph.addContinent(newContinent);
+		}
+		MapTopology topology = countriesGraph.getTopology();
+		Country[] countries = new Country[topology.size()];
+		for (int id = 0; id < countries.length; id++) {
+			Country country = topology.getCountry(id);
+			if (country == null) {
+				continue;
+			}
+			countries[id] = new Country(country.getCountryName());
+			countries[id].setxCoordinate(country.getxCoordinate());
+			countries[id].setyCoordinate(country.getyCoordinate());
+			countries[id].setContinentName(country.getContinentName());
+			copy.countriesHashMap.put(countries[id].getCountryName(), countries[id]);
+			copy.countriesGraph.addCountry(countries[id]);
+		}
+		int[] offsets = topology.getOffsets();
+		int[] neighbours = topology.getNeighbours();
+		for (int id = 0; id < countries.length; id++) {
+			for (int edge = offsets[id]; edge < offsets[id + 1]; edge++) {
+				copy.countriesGraph.addEdge(countries[id], countries[neighbours[edge]]);
+			}
+		}
+		return copy;
+	}
+
 	/**
 	 * Check File Validation.
 	 *
@@ -0,0 +1,711 @@
+package com.game.risk.core;
+
+import com.game.risk.model.Continent;
+import com.game.risk.model.Country;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.List;
+
+/**
+ * Memory-mapped map file parser. The file is mapped through a
+ * {@link FileChannel} and scanned byte by byte exactly once, filling the
+ * {@link CountriesGraph}, countries HashMap and continents HashMap of a
+ * {@link MapFileReader} the same way {@link MapFileReader#readFile()} does.
+ * Territory lines are tokenized in place, and country names already seen are
+ * resolved from their bytes without allocating a String.
+ * <p>
+ * When created with an error list, the scanner also validates the file while
+ * building the model: mandatory tags, continent and territory formats,
+ * duplicate definitions and continents without countries. Invalid lines are
+ * reported and skipped instead of failing the scan.
+ */
+public class MapFileScanner {
+
+	/** Maximum number of bytes mapped at once. */
+	private static final int WINDOW_SIZE = 1 << 30;
+
+	/** Initial capacity of the line buffer. */
+	private static final int INITIAL_LINE_CAPACITY = 256;
+
+	/** Map file reader to be populated. */
+	private MapFileReader mapFileReader;
+
+	/** Charset used to decode names, same as the one used by FileReader. */
+	private Charset charset;
+
+	/** Channel of the map file. */
+	private FileChannel channel;
+
+	/** Size of the map file in bytes. */
+	private long fileSize;
+
+	/** Current mapped window of the file, or its whole uncompressed content. */
+	private ByteBuffer window;
+
+	/** File offset of the current window. */
+	private long windowStart;
+
+	/** File offset of the next byte to be read. */
+	private long position;
+
+	/** Bytes of the current line, without the line terminator. */
+	private byte[] line;
+
+	/** Length of the current line. */
+	private int lineLength;
+
+	/** Countries resolved by the bytes of their name. */
+	private NameTable<Country> countryTable;
+
+	/** Continent names resolved by their bytes. */
+	private NameTable<String> continentTable;
+
+	/** Validation errors, null if the scanner does not validate the file. */
+	private List<String> errors;
+
+	/** True if the [Map] tag is found. */
+	private boolean hasMapTag;
+
+	/** True if the [Continents] tag is found. */
+	private boolean hasContinentsTag;
+
+	/** True if the [Territories] tag is found. */
+	private boolean hasTerritoriesTag;
+
+	/**
+	 * Map File Scanner constructor.
+	 *
+	 * @param mapFileReader
+	 *            map file reader to be populated
+	 */
+	public MapFileScanner(MapFileReader mapFileReader) {
+		this.mapFileReader = mapFileReader;
+		this.charset = Charset.defaultCharset();
+		this.line = new byte[INITIAL_LINE_CAPACITY];
+		this.countryTable = new NameTable<>();
+		this.continentTable = new NameTable<>();
+	}
+
+	/**
+	 * Validating Map File Scanner constructor.
+	 *
+	 * @param mapFileReader
+	 *            map file reader to be populated
+	 * @param errors
+	 *            list to which the validation errors are added
+	 */
+	public MapFileScanner(MapFileReader mapFileReader, List<String> errors) {
+		this(mapFileReader);
+		this.errors = errors;
+	}
+
+	/**
+	 * Scan the map file and store its data into the model classes. A file written
+	 * with gzip cannot be mapped, so its content is uncompressed into memory
+	 * first.
+	 *
+	 * @param file
+	 *            map file to be scanned
+	 * @return the populated map file reader
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public MapFileReader scan(File file) throws IOException {
+		if (MapFileReader.isCompressed(file)) {
+			window = ByteBuffer.wrap(MapFileReader.readContent(file));
+			fileSize = window.limit();
+			windowStart = 0;
+			position = 0;
+			try {
+				scanLines();
+			} finally {
+				window = null;
+			}
+		} else {
+			try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r")) {
+				channel = randomAccessFile.getChannel();
+				fileSize = channel.size();
+				position = 0;
+				mapWindow(0);
+				scanLines();
+			} finally {
+				channel = null;
+				window = null;
+			}
+		}
+		if (errors != null) {
+			validateModel();
+		}
+		return mapFileReader;
+	}
+
+	/**
+	 * Scan the lines of the file, from the current window.
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	private void scanLines() throws IOException {
+		int section = Section.NONE;
+		while (readLine()) {
+			if (startsWith("[Map]")) {
+				mapFileReader.getMapMetaData().add(decode(0, lineLength));
+				hasMapTag = true;
+				section = Section.MAP;
+			} else if (startsWith("[Continents]")) {
+				hasContinentsTag = true;
+				section = Section.CONTINENTS;
+			} else if (startsWith("[Territories]")) {
+				hasTerritoriesTag = true;
+				section = Section.TERRITORIES;
+			} else if (section == Section.MAP) {
+				if (lineLength == 0) {
+					section = Section.NONE;
+				} else {
+					mapFileReader.getMapMetaData().add(decode(0, lineLength));
+				}
+			} else if (section == Section.CONTINENTS && lineLength > 0) {
+				parseContinent();
+			} else if (section == Section.TERRITORIES && lineLength > 0) {
+				parseTerritory();
+			}
+		}
+	}
+
+	/**
+	 * Check the tags and the model built from the file once it has been scanned.
+	 */
+	private void validateModel() {
+		if (!hasMapTag) {
+			errors.add("No [Map] tag is defined");
+		}
+		if (!hasTerritoriesTag) {
+			errors.add("No [Territories] tag is defined");
+		}
+		if (!hasContinentsTag) {
+			errors.add("No [Continents] tag is defined");
+		}
+		for (Continent continent : mapFileReader.getContinentHashMap().values()) {
+			if (continent.getCountries().isEmpty()) {
+				errors.add(continent.getContinentName() + ": does not have any country");
+			}
+		}
+		for (Country country : mapFileReader.getCountriesHashMap().values()) {
+			if (country.getContinentName() == null) {
+				errors.add("* " + country.getCountryName() + ": is an adjacent country but is not defined");
+			}
+		}
+	}
+
+	/**
+	 * Parse the current line as a continent definition (name=controlValue).
+	 */
+	private void parseContinent() {
+		int separator = indexOf((byte) '=', 0, lineLength);
+		if (errors != null && !isValidContinent(separator)) {
+			errors.add("* " + decode(0, lineLength) + ": Invalid format for a continent ");
+			return;
+		}
+		if (separator < 0) {
+			throw new NumberFormatException("Invalid continent definition: " + decode(0, lineLength));
+		}
+		int valueEnd = indexOf((byte) '=', separator + 1, lineLength);
+		int controlValue;
+		try {
+			controlValue = parseInt(separator + 1, valueEnd < 0 ? lineLength : valueEnd);
+		} catch (NumberFormatException e) {
+			if (errors == null) {
+				throw e;
+			}
+			errors.add("* " + decode(0, lineLength) + ": Invalid format for a continent ");
+			return;
+		}
+		String continentName = continentName(0, separator);
+		if (errors != null && mapFileReader.getContinentHashMap().containsKey(continentName)) {
+			errors.add("*" + continentName + " is defined more than one time");
+			return;
+		}
+		Continent continent = new Continent(continentName, controlValue);
+		mapFileReader.getContinentHashMap().put(continentName, continent);
+		mapFileReader.getCountriesGraph().addContinent(continent);
+	}
+
+	/**
+	 * Parse the current line as a territory definition
+	 * (name,x,y,continent,adjacent countries...).
+	 *
+	 * @throws IOException
+	 *             if the line has less than four fields
+	 */
+	private void parseTerritory() throws IOException {
+		if (errors != null && !isValidTerritory()) {
+			errors.add("* " + decode(0, lineLength) + ": Invalid format for a territory ");
+			return;
+		}
+		// Trailing empty fields are ignored, as String.split does
+		int end = lineLength;
+		while (end > 0 && line[end - 1] == ',') {
+			end--;
+		}
+		int nameEnd = indexOf((byte) ',', 0, end);
+		int xEnd = nameEnd < 0 ? -1 : indexOf((byte) ',', nameEnd + 1, end);
+		int yEnd = xEnd < 0 ? -1 : indexOf((byte) ',', xEnd + 1, end);
+		if (yEnd < 0) {
+			throw new IOException("Invalid territory definition: " + decode(0, lineLength));
+		}
+		int continentEnd = indexOf((byte) ',', yEnd + 1, end);
+		if (continentEnd < 0) {
+			continentEnd = end;
+		}
+
+		CountriesGraph countriesGraph = mapFileReader.getCountriesGraph();
+		Country country = country(0, nameEnd);
+		if (errors != null) {
+			String continentName = continentName(yEnd + 1, continentEnd);
+			if (country.getContinentName() != null) {
+				errors.add("* " + country.getCountryName() + ": is defined more than one time");
+				return;
+			} else if (!mapFileReader.getContinentHashMap().containsKey(continentName)) {
+				errors.add("* " + country.getCountryName() + ": belongs to " + continentName
+						+ " which is not defined in [Continents]");
+				return;
+			}
+		}
+		if (country.getContinentName() == null) {
+			country.setxCoordinate(decode(nameEnd + 1, xEnd));
+			country.setyCoordinate(decode(xEnd + 1, yEnd));
+			country.setContinentName(continentName(yEnd + 1, continentEnd));
+			countriesGraph.addCountry(country);
+		}
+
+		// Adjacent countries, created when they are not defined yet
+		for (int start = continentEnd + 1; start <= end && continentEnd < end;) {
+			int tokenEnd = indexOf((byte) ',', start, end);
+			if (tokenEnd < 0) {
+				tokenEnd = end;
+			}
+			countriesGraph.addEdge(country, country(start, tokenEnd));
+			start = tokenEnd + 1;
+		}
+	}
+
+	/**
+	 * Check the format of the current line as a continent definition, which must
+	 * match "[^,;=]+=[0-9]+".
+	 *
+	 * @param separator
+	 *            index of the first '=' in the line
+	 * @return true if format is valid
+	 */
+	private boolean isValidContinent(int separator) {
+		if (separator <= 0 || indexOf((byte) '=', separator + 1, lineLength) >= 0) {
+			return false;
+		}
+		return indexOf((byte) ',', 0, separator) < 0 && indexOf((byte) ';', 0, separator) < 0
+				&& isDigits(separator + 1, lineLength);
+	}
+
+	/**
+	 * Check the format of the current line as a territory definition, which must
+	 * match "[^;,]+,[0-9]+,[0-9]+,[^;,]+,[^;,]+(,[^;,]+)*".
+	 *
+	 * @return true if format is valid
+	 */
+	private boolean isValidTerritory() {
+		if (indexOf((byte) ';', 0, lineLength) >= 0) {
+			return false;
+		}
+		int field = 0;
+		int start = 0;
+		while (start <= lineLength) {
+			int end = indexOf((byte) ',', start, lineLength);
+			if (end < 0) {
+				end = lineLength;
+			}
+			if (end == start || ((field == 1 || field == 2) && !isDigits(start, end))) {
+				return false;
+			}
+			field++;
+			start = end + 1;
+		}
+		return field >= 5;
+	}
+
+	/**
+	 * Check whether the given bytes of the current line are all decimal digits.
+	 *
+	 * @param from
+	 *            start offset
+	 * @param to
+	 *            end offset
+	 * @return true if there is at least one byte and all of them are digits
+	 */
+	private boolean isDigits(int from, int to) {
+		if (from >= to) {
+			return false;
+		}
+		for (int i = from; i < to; i++) {
+			if (line[i] < '0' || line[i] > '9') {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Resolve the country named by the given bytes of the current line, creating
+	 * it if it has not been seen yet.
+	 *
+	 * @param from
+	 *            start offset of the name
+	 * @param to
+	 *            end offset of the name
+	 * @return country object
+	 */
+	private Country country(int from, int to) {
+		int hash = hash(from, to);
+		Country country = countryTable.get(line, from, to, hash);
+		if (country == null) {
+			String countryName = decode(from, to);
+			country = mapFileReader.getCountriesHashMap().get(countryName);
+			if (country == null) {
+				country = new Country(countryName);
+				mapFileReader.getCountriesHashMap().put(countryName, country);
+			}
+			countryTable.put(line, from, to, hash, country);
+		}
+		return country;
+	}
+
+	/**
+	 * Resolve the continent name given by the bytes of the current line.
+	 *
+	 * @param from
+	 *            start offset of the name
+	 * @param to
+	 *            end offset of the name
+	 * @return continent name
+	 */
+	private String continentName(int from, int to) {
+		int hash = hash(from, to);
+		String continentName = continentTable.get(line, from, to, hash);
+		if (continentName == null) {
+			continentName = decode(from, to);
+			continentTable.put(line, from, to, hash, continentName);
+		}
+		return continentName;
+	}
+
+	/**
+	 * Read the next line of the file into the line buffer.
+	 *
+	 * @return false if the end of file has been reached
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	private boolean readLine() throws IOException {
+		if (position >= fileSize) {
+			return false;
+		}
+		lineLength = 0;
+		while (position < fileSize) {
+			if (position - windowStart >= window.limit()) {
+				mapWindow(position);
+			}
+			byte b = window.get((int) (position - windowStart));
+			position++;
+			if (b == '\n') {
+				break;
+			}
+			if (lineLength == line.length) {
+				byte[] grown = new byte[line.length << 1];
+				System.arraycopy(line, 0, grown, 0, lineLength);
+				line = grown;
+			}
+			line[lineLength++] = b;
+		}
+		if (lineLength > 0 && line[lineLength - 1] == '\r') {
+			lineLength--;
+		}
+		return true;
+	}
+
+	/**
+	 * Map the window of the file starting at the given offset.
+	 *
+	 * @param offset
+	 *            file offset
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	private void mapWindow(long offset) throws IOException {
+		windowStart = offset;
+		window = channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(WINDOW_SIZE, fileSize - offset));
+	}
+
+	/**
+	 * Check whether the current line starts with the given ASCII prefix.
+	 *
+	 * @param prefix
+	 *            prefix
+	 * @return true if the line starts with the prefix
+	 */
+	private boolean startsWith(String prefix) {
+		if (lineLength < prefix.length()) {
+			return false;
+		}
+		for (int i = 0; i < prefix.length(); i++) {
+			if (line[i] != prefix.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Find a byte in the current line.
+	 *
+	 * @param b
+	 *            byte to be searched
+	 * @param from
+	 *            start offset
+	 * @param to
+	 *            end offset
+	 * @return index of the byte or -1 if not present
+	 */
+	private int indexOf(byte b, int from, int to) {
+		for (int i = from; i < to; i++) {
+			if (line[i] == b) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Parse a decimal number from the current line, the same way as
+	 * {@link Integer#parseInt(String)}. Unsigned numbers of at most nine digits,
+	 * which cannot overflow, are parsed in place, and the others are decoded and
+	 * left to {@link Integer#parseInt(String)} for the sign and overflow checks.
+	 *
+	 * @param from
+	 *            start offset
+	 * @param to
+	 *            end offset
+	 * @return parsed value
+	 */
+	private int parseInt(int from, int to) {
+		if (from >= to) {
+			throw new NumberFormatException("For input string: \"\"");
+		}
+		if (to - from > 9 || line[from] == '-' || line[from] == '+') {
+			return Integer.parseInt(decode(from, to));
+		}
+		int value = 0;
+		for (int i = from; i < to; i++) {
+			int digit = line[i] - '0';
+			if (digit < 0 || digit > 9) {
+				throw new NumberFormatException("For input string: \"" + decode(from, to) + "\"");
+			}
+			value = value * 10 + digit;
+		}
+		return value;
+	}
+
+	/**
+	 * Hash the given bytes of the current line.
+	 *
+	 * @param from
+	 *            start offset
+	 * @param to
+	 *            end offset
+	 * @return hash value
+	 */
+	private int hash(int from, int to) {
+		int hash = 0;
+		for (int i = from; i < to; i++) {
+			hash = 31 * hash + line[i];
+		}
+		return hash;
+	}
+
+	/**
+	 * Decode the given bytes of the current line.
+	 *
+	 * @param from
+	 *            start offset
+	 * @param to
+	 *            end offset
+	 * @return decoded String
+	 */
+	private String decode(int from, int to) {
+		return new String(line, from, to - from, charset);
+	}
+
+	/**
+	 * Sections of the map file.
+	 */
+	private static final class Section {
+
+		/** Outside of any known section. */
+		static final int NONE = 0;
+
+		/** [Map] section. */
+		static final int MAP = 1;
+
+		/** [Continents] section. */
+		static final int CONTINENTS = 2;
+
+		/** [Territories] section. */
+		static final int TERRITORIES = 3;
+	}
+
+	/**
+	 * Open addressing hash table keyed by the raw bytes of a name.
+	 *
+	 * @param <T>
+	 *            type of the stored values
+	 */
+	private static final class NameTable<T> {
+
+		/** Stored keys. */
+		private byte[][] keys = new byte[64][];
+
+		/** Hashes of the stored keys. */
+		private int[] hashes = new int[64];
+
+		/** Stored values. */
+		private Object[] values = new Object[64];
+
+		/** Number of stored entries. */
+		private int size;
+
+		/**
+		 * Look up a name.
+		 *
+		 * @param buffer
+		 *            buffer holding the name
+		 * @param from
+		 *            start offset of the name
+		 * @param to
+		 *            end offset of the name
+		 * @param hash
+		 *            hash of the name
+		 * @return stored value or null
+		 */
+		@SuppressWarnings("unchecked")
+		T get(byte[] buffer, int from, int to, int hash) {
+			int mask = keys.length - 1;
+			for (int slot = mix(hash) & mask; keys[slot] != null; slot = (slot + 1) & mask) {
+				if (hashes[slot] == hash && equals(keys[slot], buffer, from, to)) {
+					return (T) values[slot];
+				}
+			}
+			return null;
+		}
+
+		/**
+		 * Store a name which is not present yet.
+		 *
+		 * @param buffer
+		 *            buffer holding the name
+		 * @param from
+		 *            start offset of the name
+		 * @param to
+		 *            end offset of the name
+		 * @param hash
+		 *            hash of the name
+		 * @param value
+		 *            value to be stored
+		 */
+		void put(byte[] buffer, int from, int to, int hash, T value) {
+			if ((size + 1) * 2 > keys.length) {
+				resize();
+			}
+			byte[] key = new byte[to - from];
+			System.arraycopy(buffer, from, key, 0, key.length);
+			insert(key, hash, value);
+			size++;
+		}
+
+		/**
+		 * Insert an entry into a free slot.
+		 *
+		 * @param key
+		 *            key bytes
+		 * @param hash
+		 *            hash of the key
+		 * @param value
+		 *            value
+		 */
+		private void insert(byte[] key, int hash, Object value) {
+			int mask = keys.length - 1;
+			int slot = mix(hash) & mask;
+			while (keys[slot] != null) {
+				slot = (slot + 1) & mask;
+			}
+			keys[slot] = key;
+			hashes[slot] = hash;
+			values[slot] = value;
+		}
+
+		/**
+		 * Double the capacity of the table.
+		 */
+		private void resize() {
+			byte[][] oldKeys = keys;
+			int[] oldHashes = hashes;
+			Object[] oldValues = values;
+			keys = new byte[oldKeys.length << 1][];
+			hashes = new int[oldKeys.length << 1];
+			values = new Object[oldKeys.length << 1];
+			for (int i = 0; i < oldKeys.length; i++) {
+				if (oldKeys[i] != null) {
+					insert(oldKeys[i], oldHashes[i], oldValues[i]);
+				}
+			}
+		}
+
+		/**
+		 * Spread the bits of a hash.
+		 *
+		 * @param hash
+		 *            hash
+		 * @return mixed hash
+		 */
+		private static int mix(int hash) {
+			int h = hash * 0x9E3779B9;
+			return h ^ (h >>> 16);
+		}
+
+		/**
+		 * Compare a key with a range of a buffer.
+		 *
+		 * @param key
+		 *            key bytes
+		 * @param buffer
+		 *            buffer
+		 * @param from
+		 *            start offset
+		 * @param to
+		 *            end offset
+		 * @return true if equal
+		 */
+		private static boolean equals(byte[] key, byte[] buffer, int from, int to) {
+			if (key.length != to - from) {
+				return false;
+			}
+			for (int i = 0; i < key.length; i++) {
+				if (key[i] != buffer[from + i]) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+}
@@ -2,11 +2,23 @@ package com.game.risk.core;
 
 import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
 
 import javax.swing.filechooser.FileSystemView;
 import com.game.risk.model.Continent;
@@ -14,7 +26,15 @@ import com.game.risk.model.Country;
 
 /**
  * Map file writer to write the map data into the .map file
- * 
+ * <p>
+ * The map is streamed to the file continent by continent, without building
+ * the file in memory. The continents are written in the order of their first
+ * country id, followed by the continents without country sorted by name, and
+ * the territories of each continent in the order of their ids, so the same map
+ * always gives the same file. The file can be compressed with gzip, which
+ * every read path of {@link MapFileReader}, the {@link MapFileCache} and the
+ * map validation detect and read back.
+ *
  * @author sohrab_singh
  * @author Sarthak
  */
@@ -26,6 +46,9 @@ public class MapFileWriter {
 	/** COMMA Separator. */
 	private static final String COMMA_SEPERATOR = ",";
 
+	/** Size of the buffer of the written file. */
+	private static final int BUFFER_SIZE = 1 << 16;
+
 	/**
 	 * Map File Writer Constructor.
 	 *
@@ -38,11 +61,12 @@ public class MapFileWriter {
 	}
 
 	/**
-	 * Map file writer to write map data to .map file.
-	 * 
+	 * Map file writer to write map data to a new .map file in the default
+	 * directory of the user.
+	 *
 	 * @param isNewMap
 	 *            true if map is new and false if map is already in file.
-	 * 
+	 *
 	 * @return Map File Writer
 	 * @throws IOException
 	 *             input output exception
@@ -53,47 +77,143 @@ public class MapFileWriter {
 		Date date = new Date();
 		String fileName = file.getAbsolutePath() + "//" + "mapfile-" + dateFormat.format(date) + ".map";
 		System.out.println(fileName);
-		File newFile = new File(fileName);
-		BufferedWriter bufferedWriter = new BufferedWriter(new FileWriter(newFile));
-		StringBuilder builder = new StringBuilder();
+		return saveMapToFile(isNewMap, new File(fileName), false);
+	}
 
+	/**
+	 * Map file writer to write map data to the given file.
+	 *
+	 * @param isNewMap
+	 *            true if map is new and false if map is already in file.
+	 * @param file
+	 *            the file, overwritten
+	 * @param compressed
+	 *            true to compress the file with gzip
+	 * @return Map File Writer
+	 * @throws IOException
+	 *             input output exception
+	 */
+	public MapFileWriter saveMapToFile(boolean isNewMap, File file, boolean compressed) throws IOException {
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			OutputStream output = Channels.newOutputStream(channel);
+			if (compressed) {
+				output = new GZIPOutputStream(output, BUFFER_SIZE);
+			}
+			try (Writer writer = new BufferedWriter(new OutputStreamWriter(output, Charset.defaultCharset()),
+					BUFFER_SIZE)) {
+				writeMap(isNewMap, writer);
+			}
+		}
+		return this;
+	}
+
+	/**
+	 * Write the map data in the .map format.
+	 *
+	 * @param isNewMap
+	 *            true if map is new and false if map is already in file.
+	 * @param writer
+	 *            the writer, not closed
+	 * @throws IOException
+	 *             input output exception
+	 */
+	public void writeMap(boolean isNewMap, Writer writer) throws IOException {
 		// Writing [Map] tag meta-data.
 		if (isNewMap) {
-			builder.append("[Map]\n").append("author=${user}");
+			writer.write("[Map]\nauthor=${user}\n");
 		} else {
 			for (String str : fileParser.getMapMetaData()) {
-				builder.append(str);
-				builder.append("\n");
+				writer.write(str);
+				writer.write("\n");
 			}
 		}
-		builder.append("\n");
+		writer.write("\n");
 
 		// Writing [Continents] tag data - (Continent and Control Value).
-		builder.append("[Continents]");
-		for (Continent continent : fileParser.getContinentHashMap().values()) {
-			builder.append("\n");
-			builder.append(continent.getContinentName() + "=" + continent.getControlValue());
+		MapTopology topology = fileParser.getCountriesGraph().getTopology();
+		List<Continent> continents = getContinentsInOrder(topology);
+		writer.write("[Continents]");
+		for (Continent continent : continents) {
+			writer.write("\n");
+			writer.write(continent.getContinentName());
+			writer.write("=");
+			writer.write(Integer.toString(continent.getControlValue()));
 		}
-		builder.append("\n");
-		builder.append("\n");
+		writer.write("\n");
+		writer.write("\n");
 
-		// Writing [Territories] tag data.
-		builder.append("[Territories]");
-		for (Continent continent : fileParser.getContinentHashMap().values()) {
-			builder.append("\n");
-			for (Country country : continent.getCountries()) {
-				builder.append(country.getCountryName() + COMMA_SEPERATOR + country.getxCoordinate() + COMMA_SEPERATOR
-						+ country.getyCoordinate() + COMMA_SEPERATOR + continent.getContinentName());
-
-				for (Country adjacentCountry : fileParser.getCountriesGraph().getAdjListHashMap().get(country)) {
-					builder.append(COMMA_SEPERATOR + adjacentCountry.getCountryName());
+		// Writing [Territories] tag data, grouped by continent with a counting sort of the ids.
+		int continentsCount = topology.getContinentsCount();
+		int[] starts = new int[continentsCount + 1];
+		for (int id = 0; id < topology.size(); id++) {
+			if (topology.getContinent(id) >= 0) {
+				starts[topology.getContinent(id) + 1]++;
+			}
+		}
+		for (int index = 0; index < continentsCount; index++) {
+			starts[index + 1] += starts[index];
+		}
+		int[] ids = new int[starts[continentsCount]];
+		int[] next = starts.clone();
+		for (int id = 0; id < topology.size(); id++) {
+			if (topology.getContinent(id) >= 0) {
+				ids[next[topology.getContinent(id)]++] = id;
+			}
+		}
+		int[] offsets = topology.getOffsets();
+		int[] neighbours = topology.getNeighbours();
+		writer.write("[Territories]");
+		for (int index = 0; index < continentsCount; index++) {
+			if (!fileParser.getContinentHashMap().containsKey(topology.getContinentName(index))) {
+				continue;
+			}
+			writer.write("\n");
+			for (int i = starts[index]; i < starts[index + 1]; i++) {
+				Country country = topology.getCountry(ids[i]);
+				writer.write(country.getCountryName());
+				writer.write(COMMA_SEPERATOR);
+				writer.write(String.valueOf(country.getxCoordinate()));
+				writer.write(COMMA_SEPERATOR);
+				writer.write(String.valueOf(country.getyCoordinate()));
+				writer.write(COMMA_SEPERATOR);
+				writer.write(country.getContinentName());
+				for (int edge = offsets[ids[i]]; edge < offsets[ids[i] + 1]; edge++) {
+					writer.write(COMMA_SEPERATOR);
+					writer.write(topology.getCountry(neighbours[edge]).getCountryName());
 				}
-				builder.append("\n");
+				writer.write("\n");
 			}
 		}
+	}
 
-		bufferedWriter.write(builder.toString());
-		bufferedWriter.close();
-		return this;
+	/**
+	 * Get the continents of the map in the order of their first country id,
+	 * followed by the continents without country sorted by name.
+	 *
+	 * @param topology
+	 *            topology of the map
+	 * @return the continents
+	 */
+	private List<Continent> getContinentsInOrder(MapTopology topology) {
+		List<Continent> continents = new ArrayList<>();
+		for (int index = 0; index < topology.getContinentsCount(); index++) {
+			Continent continent = fileParser.getContinentHashMap().get(topology.getContinentName(index));
+			if (continent != null) {
+				continents.add(continent);
+			}
+		}
+		Set<Continent> written = new HashSet<>(continents);
+		List<String> emptyContinents = new ArrayList<>();
+		for (Continent continent : fileParser.getContinentHashMap().values()) {
+			if (!written.contains(continent)) {
+				emptyContinents.add(continent.getContinentName());
+			}
+		}
+		Collections.sort(emptyContinents);
+		for (String continentName : emptyContinents) {
+			continents.add(fileParser.getContinentHashMap().get(continentName));
+		}
+		return continents;
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,443 @@
+package com.game.risk.core;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import com.game.risk.core.util.FastRandom;
+
+/**
+ * Generator of valid synthetic maps, in the format written by
+ * {@link MapFileWriter#saveMapToFile(boolean)}, to test the game on maps of
+ * any size.
+ * <p>
+ * The territories are numbered along a path which visits all of them, and
+ * every continent is a range of consecutive territories of the path, so the
+ * map and its continents are always connected. The other edges are added on
+ * top of the path:
+ * <ul>
+ * <li>{@link Topology#PLANAR}: the territories are laid out row by row on a
+ * grid, the path snaking from one row to the next, and the edges are chosen
+ * among the vertical edges and one diagonal of every cell of the grid, which
+ * keeps the map planar. The average degree is between 2 and 6.</li>
+ * <li>{@link Topology#RANDOM}: the edges join territories at random offsets
+ * along the path, wrapping around its end, which gives long range edges
+ * between any part of the map.</li>
+ * </ul>
+ * Whether an edge exists is a hash of the seed and of the edge, computed the
+ * same way from both of its territories, so the map is written territory by
+ * territory in a single pass without being held in memory, whatever its size.
+ * The same parameters and seed always give the same file.
+ */
+public class MapGenerator {
+
+	/**
+	 * Topology of the generated maps.
+	 */
+	public enum Topology {
+
+		/** Grid with some vertical and diagonal edges, planar. */
+		PLANAR,
+
+		/** Path with edges at random offsets. */
+		RANDOM
+	}
+
+	/** Prefix of the names of the territories, followed by their number. */
+	private static final String TERRITORY_PREFIX = "Territory ";
+
+	/** Size of the buffer of the written file. */
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	/** Distance between two adjacent territories of the grid, in pixels. */
+	private static final int GRID_STEP = 10;
+
+	/** Number of territories. */
+	private final int territoriesCount;
+
+	/** Number of continents. */
+	private final int continentsCount;
+
+	/** Seed of the map. */
+	private final long seed;
+
+	/** Topology of the map. */
+	private final Topology topology;
+
+	/** Number of columns of the grid. */
+	private final int width;
+
+	/** Number of rows of the grid. */
+	private final int rows;
+
+	/** Probability of each edge which is not on the path. */
+	private final double edgeProbability;
+
+	/** Offsets of the edges of the random topology, sorted. */
+	private final int[] offsets;
+
+	/**
+	 * Instantiates a new map generator.
+	 *
+	 * @param territoriesCount
+	 *            number of territories, at least 2
+	 * @param continentsCount
+	 *            number of continents, between 1 and the number of territories
+	 * @param averageDegree
+	 *            average number of adjacent territories of a territory, at least
+	 *            2 and at most 6 for a planar map
+	 * @param topology
+	 *            topology of the map
+	 * @param seed
+	 *            seed of the map
+	 */
+	public MapGenerator(int territoriesCount, int continentsCount, double averageDegree, Topology topology,
+			long seed) {
+		if (territoriesCount < 2) {
+			throw new IllegalArgumentException("A map needs at least 2 territories");
+		}
+		if (continentsCount < 1 || continentsCount > territoriesCount) {
+			throw new IllegalArgumentException(
+					"The number of continents must be between 1 and the number of territories");
+		}
+		this.territoriesCount = territoriesCount;
+		this.continentsCount = continentsCount;
+		this.topology = topology;
+		this.seed = seed;
+		width = (int) Math.ceil(Math.sqrt(territoriesCount));
+		rows = (territoriesCount + width - 1) / width;
+		// Every territory has 2 adjacent territories on the path but its ends
+		double extraEdges = averageDegree * territoriesCount / 2 - (territoriesCount - 1);
+		if (extraEdges < -1e-9) {
+			throw new IllegalArgumentException(
+					"The average degree must be at least " + 2.0 * (territoriesCount - 1) / territoriesCount);
+		}
+		if (topology == Topology.PLANAR) {
+			long optionalEdges = countOptionalEdges();
+			if (extraEdges > optionalEdges + 1e-9) {
+				throw new IllegalArgumentException("The average degree of this planar map must be at most "
+						+ 2.0 * (territoriesCount - 1 + optionalEdges) / territoriesCount);
+			}
+			edgeProbability = optionalEdges == 0 ? 0 : Math.max(0, extraEdges / optionalEdges);
+			offsets = new int[0];
+		} else {
+			// Offsets up to (n - 1) / 2 join distinct territories in both directions
+			int availableOffsets = Math.max(0, (territoriesCount - 1) / 2 - 1);
+			int offsetsCount = (int) Math.ceil(Math.max(0, extraEdges) / territoriesCount - 1e-9);
+			if (offsetsCount > availableOffsets) {
+				throw new IllegalArgumentException("The average degree of this random map must be at most "
+						+ (2.0 * (territoriesCount - 1) / territoriesCount + 2 * availableOffsets));
+			}
+			edgeProbability = offsetsCount == 0 ? 0 : extraEdges / ((double) offsetsCount * territoriesCount);
+			offsets = chooseOffsets(offsetsCount, availableOffsets);
+		}
+	}
+
+	/**
+	 * Write the map to a file.
+	 *
+	 * @param file
+	 *            the file, overwritten
+	 * @return the file
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public File writeFile(File file) throws IOException {
+		try (Writer writer = new BufferedWriter(Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8),
+				BUFFER_SIZE)) {
+			write(writer);
+		}
+		return file;
+	}
+
+	/**
+	 * Write the map, one territory at a time.
+	 *
+	 * @param writer
+	 *            the writer, not closed
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public void write(Writer writer) throws IOException {
+		writer.write("[Map]\nauthor=MapGenerator\n");
+		writer.write("\n[Continents]");
+		for (int continent = 0; continent < continentsCount; continent++) {
+			int size = getContinentStart(continent + 1) - getContinentStart(continent);
+			writer.write("\n" + getContinentName(continent) + "=" + Math.max(1, size / 2));
+		}
+		writer.write("\n\n[Territories]");
+		StringBuilder line = new StringBuilder();
+		int[] neighbours = new int[6 + 2 * offsets.length];
+		for (int continent = 0; continent < continentsCount; continent++) {
+			writer.write("\n");
+			String continentName = getContinentName(continent);
+			for (int id = getContinentStart(continent); id < getContinentStart(continent + 1); id++) {
+				int row = id / width;
+				line.setLength(0);
+				line.append(TERRITORY_PREFIX).append(id).append(',').append(getColumn(id) * GRID_STEP).append(',')
+						.append(row * GRID_STEP).append(',').append(continentName);
+				int count = topology == Topology.PLANAR ? findPlanarNeighbours(id, neighbours)
+						: findRandomNeighbours(id, neighbours);
+				for (int i = 0; i < count; i++) {
+					line.append(',').append(TERRITORY_PREFIX).append(neighbours[i]);
+				}
+				writer.write(line.append('\n').toString());
+			}
+		}
+	}
+
+	/**
+	 * Get the name of a territory.
+	 *
+	 * @param id
+	 *            number of the territory along the path
+	 * @return the name
+	 */
+	public static String getTerritoryName(int id) {
+		return TERRITORY_PREFIX + id;
+	}
+
+	/**
+	 * Get the name of a continent.
+	 *
+	 * @param continent
+	 *            number of the continent
+	 * @return the name
+	 */
+	public static String getContinentName(int continent) {
+		return "Continent " + continent;
+	}
+
+	/**
+	 * Get the first territory of a continent.
+	 *
+	 * @param continent
+	 *            number of the continent, the number of continents for the end
+	 *            of the last one
+	 * @return number of the territory along the path
+	 */
+	private int getContinentStart(int continent) {
+		return (int) ((long) continent * territoriesCount / continentsCount);
+	}
+
+	/**
+	 * Get the column of a territory on the grid, the path going left to right on
+	 * even rows and right to left on odd rows.
+	 *
+	 * @param id
+	 *            number of the territory along the path
+	 * @return the column
+	 */
+	private int getColumn(int id) {
+		int row = id / width;
+		int position = id % width;
+		return row % 2 == 0 ? position : width - 1 - position;
+	}
+
+	/**
+	 * Get the territory at a cell of the grid.
+	 *
+	 * @param row
+	 *            the row
+	 * @param column
+	 *            the column
+	 * @return number of the territory along the path, -1 if the cell is empty
+	 */
+	private int getTerritory(int row, int column) {
+		if (row < 0 || row >= rows || column < 0 || column >= width) {
+			return -1;
+		}
+		int id = row * width + (row % 2 == 0 ? column : width - 1 - column);
+		return id < territoriesCount ? id : -1;
+	}
+
+	/**
+	 * Find the adjacent territories of a territory of a planar map.
+	 *
+	 * @param id
+	 *            number of the territory along the path
+	 * @param neighbours
+	 *            array receiving the adjacent territories
+	 * @return number of adjacent territories
+	 */
+	private int findPlanarNeighbours(int id, int[] neighbours) {
+		int row = id / width;
+		int column = getColumn(id);
+		int count = 0;
+		// Horizontal edges are all on the path
+		count = addNeighbour(neighbours, count, getTerritory(row, column - 1), true);
+		count = addNeighbour(neighbours, count, getTerritory(row, column + 1), true);
+		// Vertical and diagonal edges, identified by their upper cell
+		count = addNeighbour(neighbours, count, getTerritory(row - 1, column),
+				isVerticalEdge(row - 1, column));
+		count = addNeighbour(neighbours, count, getTerritory(row + 1, column), isVerticalEdge(row, column));
+		count = addNeighbour(neighbours, count, getTerritory(row - 1, column - 1),
+				hasEdge(getCell(row - 1, column - 1) * 2 + 1, edgeProbability));
+		count = addNeighbour(neighbours, count, getTerritory(row + 1, column + 1),
+				hasEdge(getCell(row, column) * 2 + 1, edgeProbability));
+		return count;
+	}
+
+	/**
+	 * Check whether the vertical edge below a cell of the grid exists, either on
+	 * the path or chosen at random.
+	 *
+	 * @param row
+	 *            row of the upper cell
+	 * @param column
+	 *            column of the upper cell
+	 * @return true if the edge exists, when both cells have a territory
+	 */
+	private boolean isVerticalEdge(int row, int column) {
+		// The path goes down at the end of every row
+		boolean onPath = column == (row % 2 == 0 ? width - 1 : 0);
+		return onPath || hasEdge(getCell(row, column) * 2, edgeProbability);
+	}
+
+	/**
+	 * Get the number of a cell of the grid, row by row.
+	 *
+	 * @param row
+	 *            the row
+	 * @param column
+	 *            the column
+	 * @return the number of the cell
+	 */
+	private long getCell(int row, int column) {
+		return (long) row * width + column;
+	}
+
+	/**
+	 * Count the vertical and diagonal edges of the grid which are not on the
+	 * path.
+	 *
+	 * @return the count
+	 */
+	private long countOptionalEdges() {
+		long count = 0;
+		for (int row = 0; row + 1 < rows; row++) {
+			if (row + 2 < rows) {
+				// Two full rows: every column but the one of the path, and every diagonal
+				count += 2L * width - 2;
+			} else {
+				for (int column = 0; column < width; column++) {
+					if (getTerritory(row + 1, column) >= 0 && column != (row % 2 == 0 ? width - 1 : 0)) {
+						count++;
+					}
+					if (column + 1 < width && getTerritory(row + 1, column + 1) >= 0) {
+						count++;
+					}
+				}
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Find the adjacent territories of a territory of a random map.
+	 *
+	 * @param id
+	 *            number of the territory along the path
+	 * @param neighbours
+	 *            array receiving the adjacent territories
+	 * @return number of adjacent territories
+	 */
+	private int findRandomNeighbours(int id, int[] neighbours) {
+		int count = 0;
+		count = addNeighbour(neighbours, count, id - 1, true);
+		count = addNeighbour(neighbours, count, id + 1 < territoriesCount ? id + 1 : -1, true);
+		// The edge of an offset is identified by the territory it starts from
+		for (int i = 0; i < offsets.length; i++) {
+			int forward = (int) (((long) id + offsets[i]) % territoriesCount);
+			int backward = (int) (((long) id - offsets[i] + territoriesCount) % territoriesCount);
+			count = addNeighbour(neighbours, count, forward,
+					hasEdge((long) id * offsets.length + i, edgeProbability));
+			count = addNeighbour(neighbours, count, backward,
+					hasEdge((long) backward * offsets.length + i, edgeProbability));
+		}
+		return count;
+	}
+
+	/**
+	 * Choose distinct offsets of the edges of the random topology.
+	 *
+	 * @param count
+	 *            number of offsets
+	 * @param available
+	 *            number of available offsets, from 2
+	 * @return the offsets, sorted
+	 */
+	private int[] chooseOffsets(int count, int available) {
+		FastRandom random = new FastRandom(seed);
+		Set<Integer> chosen = new HashSet<>();
+		while (chosen.size() < count) {
+			chosen.add(2 + random.nextInt(available));
+		}
+		int[] result = new int[count];
+		int i = 0;
+		for (int offset : chosen) {
+			result[i++] = offset;
+		}
+		Arrays.sort(result);
+		return result;
+	}
+
+	/**
+	 * Add an adjacent territory if it exists.
+	 *
+	 * @param neighbours
+	 *            array receiving the adjacent territories
+	 * @param count
+	 *            number of adjacent territories so far
+	 * @param territory
+	 *            the territory, -1 for none
+	 * @param edge
+	 *            whether the edge exists
+	 * @return the new number of adjacent territories
+	 */
+	private static int addNeighbour(int[] neighbours, int count, int territory, boolean edge) {
+		if (territory >= 0 && edge) {
+			neighbours[count++] = territory;
+		}
+		return count;
+	}
+
+	/**
+	 * Decide whether an edge exists, from a hash of the seed and of the edge.
+	 *
+	 * @param edge
+	 *            number of the edge
+	 * @param probability
+	 *            probability of the edge
+	 * @return true if the edge exists
+	 */
+	private boolean hasEdge(long edge, double probability) {
+		return (FastRandom.mix64(seed ^ FastRandom.mix64(edge)) >>> 11) * 0x1.0p-53 < probability;
+	}
+
+	/**
+	 * Generate a map file from the command line.
+	 *
+	 * @param args
+	 *            territories, continents, average degree, PLANAR or RANDOM,
+	 *            seed and output file
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length != 6) {
+			System.out.println("Usage: MapGenerator <territories> <continents> <average degree> "
+					+ "<PLANAR|RANDOM> <seed> <output file>");
+			return;
+		}
+		MapGenerator generator = new MapGenerator(Integer.parseInt(args[0]), Integer.parseInt(args[1]),
+				Double.parseDouble(args[2]), Topology.valueOf(args[3].toUpperCase()), Long.parseLong(args[4]));
+		System.out.println("Map written to " + generator.writeFile(new File(args[5])).getPath());
+	}
+}
@@ -0,0 +1,279 @@
+package com.game.risk.core;
+
+import com.game.risk.model.Continent;
+import com.game.risk.model.Country;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.Map;
+
+/**
+ * Immutable integer-indexed snapshot of the countries graph.
+ * <p>
+ * Countries are identified by their id in the {@link CountriesGraph}, and the
+ * adjacency is stored in compressed sparse row form: the neighbours of the
+ * country with id <code>i</code> are
+ * <code>neighbours[offsets[i]] .. neighbours[offsets[i + 1] - 1]</code>, in the
+ * order of the adjacency list of the graph. The reverse adjacency, the countries
+ * having a given country as neighbour, is stored the same way. Ids of removed
+ * countries are holes with no country and no neighbours.
+ */
+public class MapTopology {
+
+	/** Countries indexed by their id, null for holes. */
+	private final Country[] countries;
+
+	/** Continent index of each country, -1 if it has no continent. */
+	private final int[] continentOf;
+
+	/** Names of the continents indexed by continent index. */
+	private final String[] continentNames;
+
+	/** Continents indexed by continent index, null if not defined in the graph. */
+	private final Continent[] continents;
+
+	/** Number of countries of each continent. */
+	private final int[] continentSizes;
+
+	/** Offsets of each country into the neighbours array. */
+	private final int[] offsets;
+
+	/** Ids of the adjacent countries of all the countries. */
+	private final int[] neighbours;
+
+	/** Offsets of each country into the reverse neighbours array. */
+	private final int[] reverseOffsets;
+
+	/** Ids of the countries having each country as adjacent country. */
+	private final int[] reverseNeighbours;
+
+	/**
+	 * Build the topology from the adjacency lists of the graph.
+	 *
+	 * @param countries
+	 *            countries indexed by their id
+	 * @param adjListHashMap
+	 *            adjacency lists of the graph
+	 * @param continentHashMap
+	 *            continents of the graph by name
+	 */
+	MapTopology(Country[] countries, HashMap<Country, LinkedList<Country>> adjListHashMap,
+			Map<String, Continent> continentHashMap) {
+		this.countries = countries;
+		continentOf = new int[countries.length];
+		offsets = new int[countries.length + 1];
+		HashMap<String, Integer> continentIndexes = new HashMap<>();
+		for (int id = 0; id < countries.length; id++) {
+			continentOf[id] = -1;
+			Country country = countries[id];
+			if (country == null) {
+				continue;
+			}
+			String continentName = country.getContinentName();
+			if (continentName != null) {
+				Integer index = continentIndexes.get(continentName);
+				if (index == null) {
+					index = continentIndexes.size();
+					continentIndexes.put(continentName, index);
+				}
+				continentOf[id] = index;
+			}
+			LinkedList<Country> adjCountries = adjListHashMap.get(country);
+			offsets[id + 1] = adjCountries == null ? 0 : adjCountries.size();
+		}
+		for (int id = 0; id < countries.length; id++) {
+			offsets[id + 1] += offsets[id];
+		}
+		neighbours = new int[offsets[countries.length]];
+		for (Map.Entry<Country, LinkedList<Country>> entry : adjListHashMap.entrySet()) {
+			int edge = offsets[entry.getKey().getId()];
+			for (Country adjCountry : entry.getValue()) {
+				neighbours[edge++] = adjCountry.getId();
+			}
+		}
+		reverseOffsets = new int[countries.length + 1];
+		for (int neighbour : neighbours) {
+			reverseOffsets[neighbour + 1]++;
+		}
+		for (int id = 0; id < countries.length; id++) {
+			reverseOffsets[id + 1] += reverseOffsets[id];
+		}
+		reverseNeighbours = new int[neighbours.length];
+		int[] reverseEdges = Arrays.copyOf(reverseOffsets, countries.length);
+		for (int id = 0; id < countries.length; id++) {
+			for (int edge = offsets[id]; edge < offsets[id + 1]; edge++) {
+				reverseNeighbours[reverseEdges[neighbours[edge]]++] = id;
+			}
+		}
+		continentNames = new String[continentIndexes.size()];
+		continents = new Continent[continentIndexes.size()];
+		for (Map.Entry<String, Integer> entry : continentIndexes.entrySet()) {
+			continentNames[entry.getValue()] = entry.getKey();
+			continents[entry.getValue()] = continentHashMap.get(entry.getKey());
+		}
+		continentSizes = new int[continentIndexes.size()];
+		for (int id = 0; id < countries.length; id++) {
+			if (continentOf[id] >= 0) {
+				continentSizes[continentOf[id]]++;
+			}
+		}
+	}
+
+	/**
+	 * Get the size of the id space, which is one more than the highest id.
+	 *
+	 * @return the size
+	 */
+	public int size() {
+		return countries.length;
+	}
+
+	/**
+	 * Get the country with the given id.
+	 *
+	 * @param id
+	 *            the id
+	 * @return the country, null if the id is a hole
+	 */
+	public Country getCountry(int id) {
+		return countries[id];
+	}
+
+	/**
+	 * Check whether a country belongs to this topology.
+	 *
+	 * @param country
+	 *            the country
+	 * @return true if present
+	 */
+	public boolean contains(Country country) {
+		int id = country.getId();
+		return id >= 0 && id < countries.length && countries[id] == country;
+	}
+
+	/**
+	 * Get the offsets of each country into the neighbours array. The array has
+	 * {@link #size()} + 1 entries and must not be modified.
+	 *
+	 * @return the offsets
+	 */
+	public int[] getOffsets() {
+		return offsets;
+	}
+
+	/**
+	 * Get the ids of the adjacent countries of all the countries. The array must
+	 * not be modified.
+	 *
+	 * @return the neighbours
+	 */
+	public int[] getNeighbours() {
+		return neighbours;
+	}
+
+	/**
+	 * Get the offsets of each country into the reverse neighbours array. The array
+	 * has {@link #size()} + 1 entries and must not be modified.
+	 *
+	 * @return the reverse offsets
+	 */
+	public int[] getReverseOffsets() {
+		return reverseOffsets;
+	}
+
+	/**
+	 * Get the ids of the countries having each country as adjacent country. The
+	 * array must not be modified.
+	 *
+	 * @return the reverse neighbours
+	 */
+	public int[] getReverseNeighbours() {
+		return reverseNeighbours;
+	}
+
+	/**
+	 * Get the number of adjacent countries of a country.
+	 *
+	 * @param id
+	 *            id of the country
+	 * @return the degree
+	 */
+	public int getDegree(int id) {
+		return offsets[id + 1] - offsets[id];
+	}
+
+	/**
+	 * Get the total number of adjacency entries.
+	 *
+	 * @return the edges count
+	 */
+	public int getEdgesCount() {
+		return neighbours.length;
+	}
+
+	/**
+	 * Get the continent index of a country.
+	 *
+	 * @param id
+	 *            id of the country
+	 * @return the continent index, -1 if the country has no continent
+	 */
+	public int getContinent(int id) {
+		return continentOf[id];
+	}
+
+	/**
+	 * Get the number of continents of the countries.
+	 *
+	 * @return the continents count
+	 */
+	public int getContinentsCount() {
+		return continentNames.length;
+	}
+
+	/**
+	 * Get the name of a continent.
+	 *
+	 * @param index
+	 *            the continent index
+	 * @return the continent name
+	 */
+	public String getContinentName(int index) {
+		return continentNames[index];
+	}
+
+	/**
+	 * Get a continent.
+	 *
+	 * @param index
+	 *            the continent index
+	 * @return the continent, null if it is not defined in the graph
+	 */
+	public Continent getContinentByIndex(int index) {
+		return continents[index];
+	}
+
+	/**
+	 * Get the number of countries of a continent.
+	 *
+	 * @param index
+	 *            the continent index
+	 * @return the countries count
+	 */
+	public int getContinentSize(int index) {
+		return continentSizes[index];
+	}
+
+	/**
+	 * Get the control value of a continent, the armies given to the player
+	 * owning all its countries.
+	 *
+	 * @param index
+	 *            the continent index
+	 * @return the control value, 0 if the continent is not defined in the graph
+	 */
+	public int getControlValue(int index) {
+		return continents[index] == null ? 0 : continents[index].getControlValue();
+	}
+}
@@ -120,6 +120,7 @@ public class StartUpPhase {
 			Player player = playersList.get(i);
 			player.addCountry(mapFileReader.getCountriesHashMap().get(key));
 			mapFileReader.getCountriesHashMap().get(key).setPlayerName(player.getPlayerName());
+			mapFileReader.getCountriesGraph().ownerChanged(mapFileReader.getCountriesHashMap().get(key));
 			i++;
 			LoggingUtil.logMessage(key + " country has been assigned to " + player.getPlayerName());
 		}
@@ -182,7 +183,12 @@ public class StartUpPhase {
 
 	/**
 	 * Populate current domination percentage to players.
+	 *
+	 * @deprecated the game publishes the domination of the players with a
+	 *             {@link DominationTracker}, and bound players read it from the
+	 *             game state.
 	 */
+	@Deprecated
 	public void populateDominationPercentage() {
 		for (Player player : playersList) {
 			int countriesOwned = player.getNumberOfCountriesOwned();
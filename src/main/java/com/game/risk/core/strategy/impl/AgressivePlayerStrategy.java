@@ -1,11 +1,10 @@
 package com.game.risk.core.strategy.impl;
 
 import java.util.ArrayList;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.Random;
 import com.game.risk.RiskGamePhases;
 import com.game.risk.core.CountriesGraph;
+import com.game.risk.core.MapTopology;
 import com.game.risk.core.strategy.PlayerStrategy;
 import com.game.risk.core.util.AttackPhaseUtil;
 import com.game.risk.core.util.FortificationPhaseUtil;
@@ -90,15 +89,12 @@ public class AgressivePlayerStrategy implements PlayerStrategy {
 			System.out.println("Attacker Armies: " + attacker.getCurrentNumberOfArmies());
 			System.out.println("Defender Armies: " + defender.getCurrentNumberOfArmies());
 
-			while (defender.getCurrentNumberOfArmies() > 0 && attacker.getCurrentNumberOfArmies() > 1) {
-				int diceAttacker = getRandomDice(attacker, 3);
-				int diceDefender = getRandomDice(attacker, 2);
-				AttackPhaseUtil.startBattle(attacker, defender, diceAttacker, diceDefender);
-			}
+			// Attacking with all the dice until one of the countries is exhausted
+			AttackPhaseUtil.startBlitz(attacker, defender, player.getRandom());
 
 			if (defender.getCurrentNumberOfArmies() == 0) {
 				System.out.println("Aggressive Player captured " + defender.getCountryName());
-				updateCountryToPlayer(defender, attacker);
+				AttackPhaseUtil.captureCountry(defender, attacker, gamePhases.getPlayerList(), countriesGraph);
 				player.setWinner(true);
 			}
 			if (attacker.getCurrentNumberOfArmies() == 1) {
@@ -119,10 +115,15 @@ public class AgressivePlayerStrategy implements PlayerStrategy {
 		Country selectedCountry = null;
 		int sumMaxArmies = 0;
 		int sum = 0;
-		for (Country country : countriesGraph.getAdjListHashMap().keySet()) {
-			if (country.getPlayerName().equals(player.getPlayerName())) {
+		MapTopology topology = countriesGraph.getTopology();
+		int[] offsets = topology.getOffsets();
+		int[] neighbours = topology.getNeighbours();
+		for (Country country : player.getCountriesOwned()) {
+			if (topology.contains(country)) {
+				int id = country.getId();
 				sum = country.getCurrentNumberOfArmies();
-				for (Country adjCountry : countriesGraph.getAdjListHashMap().get(country)) {
+				for (int i = offsets[id]; i < offsets[id + 1]; i++) {
+					Country adjCountry = topology.getCountry(neighbours[i]);
 					sum += ((adjCountry.getCurrentNumberOfArmies() > 1
 							&& adjCountry.getPlayerName().equals(player.getPlayerName()))
 									? adjCountry.getCurrentNumberOfArmies()
@@ -136,14 +137,15 @@ public class AgressivePlayerStrategy implements PlayerStrategy {
 			}
 		}
 		if (selectedCountry != null) {
-			for (Country select : countriesGraph.getAdjListHashMap().get(selectedCountry)) {
+			for (int i = offsets[selectedCountry.getId()]; i < offsets[selectedCountry.getId() + 1]; i++) {
+				Country select = topology.getCountry(neighbours[i]);
 				if (select.getPlayerName().equals(player.getPlayerName())) {
 					int fortificationArmies = (select.getCurrentNumberOfArmies() > 1
 							? select.getCurrentNumberOfArmies() - 1
 							: 0);
 					if (select.getCurrentNumberOfArmies() - fortificationArmies > 0) {
 						FortificationPhaseUtil.moveArmiesBetweenCountries(select, selectedCountry, fortificationArmies,
-								countriesGraph.getAdjListHashMap());
+								countriesGraph);
 						LoggingUtil.logMessage(fortificationArmies + " Armies have been moved from "
 								+ select.getCountryName() + " to " + selectedCountry.getCountryName());
 					}
@@ -156,61 +158,12 @@ public class AgressivePlayerStrategy implements PlayerStrategy {
 	}
 
 	/**
-	 * Find strongest country.
+	 * Find strongest country, from the army index of the player.
 	 *
 	 * @return the country
 	 */
 	private Country findStrongestCountry() {
-		Country strongestCountry = player.getCountriesOwned().get(0);
-		for (Country country : player.getCountriesOwned()) {
-			if (country.getCurrentNumberOfArmies() > strongestCountry.getCurrentNumberOfArmies()) {
-				strongestCountry = country;
-			}
-		}
-		return strongestCountry;
-	}
-
-	/**
-	 * Gets the random dice.
-	 *
-	 * @param attacker
-	 *            the attacker
-	 * @param maxDice
-	 *            the max dice
-	 * @return the random dice
-	 */
-	private int getRandomDice(Country attacker, int maxDice) {
-		int attackerArmies = attacker.getCurrentNumberOfArmies();
-		Random random;
-		int diceCount;
-		if (attackerArmies <= maxDice) {
-			random = new Random();
-			diceCount = 1 + random.nextInt(attackerArmies - 1);
-		} else {
-			random = new Random();
-			diceCount = 1 + random.nextInt(maxDice);
-		}
-		return diceCount;
-	}
-
-	/**
-	 * Update country to player.
-	 *
-	 * @param defender
-	 *            the defender
-	 * @param attacker
-	 *            the attacker
-	 */
-	private void updateCountryToPlayer(Country defender, Country attacker) {
-		List<Player> playerList = gamePhases.getPlayerList();
-		for (int i = 0; i < playerList.size(); i++) {
-			if (playerList.get(i).getPlayerName().equals(defender.getPlayerName())) {
-				playerList.get(i).removeCountry(defender);
-			} else if (playerList.get(i).getPlayerName().equals(attacker.getPlayerName())) {
-				playerList.get(i).addCountry(defender);
-			}
-		}
-		defender.setPlayerName(attacker.getPlayerName());
+		return player.getStrongestCountry();
 	}
 
 	/**
@@ -219,14 +172,8 @@ public class AgressivePlayerStrategy implements PlayerStrategy {
 	 * @return the list
 	 */
 	private List<Country> findingDefenderListToAttack() {
-		LinkedList<Country> adjCountries = countriesGraph.getAdjListHashMap().get(strongestCountry);
-		for (int i = 0; i < adjCountries.size(); i++) {
-			Country adjacentCountry = adjCountries.get(i);
-			// Ignoring the player owned countries and finding the opponent
-			if (!adjacentCountry.getPlayerName().equals(player.getPlayerName())) {
-				defenderCountries.add(adjacentCountry);
-			}
-		}
+		defenderCountries.clear();
+		defenderCountries.addAll(countriesGraph.getFrontierIndex().getEnemyNeighbours(strongestCountry));
 		return defenderCountries;
 	}
 
@@ -40,12 +40,10 @@ public class BenevolentPlayerStrategy implements PlayerStrategy {
 	public void reinforce() {
 		System.out.println("Reinforcement phase begins for Benevolent player");
 		LoggingUtil.logMessage("Reinforcement phase begins for Benevolent player");
-		List<Country> countriesOwned = player.getCountriesOwned();
-		Collections.sort(countriesOwned, Country.ArmyComparator);
+		Country weakestCountry = player.getWeakestCountry();
 		System.out.println("Total number of reinforcement armies calculated for Benevolent player is "
 				+ player.findReinforcementArmies());
 		player.setNumberOfArmies(player.getNumberOfArmies() + player.findReinforcementArmies());
-		Country weakestCountry = countriesOwned.get(0);
 		System.out.println("Benevolent player " + player.getNumberOfArmies() + " armies to weak country "
 				+ weakestCountry.getCountryName());
 		LoggingUtil.logMessage("Benevolent player " + player.getNumberOfArmies() + " armies to weak country "
@@ -62,10 +60,8 @@ public class BenevolentPlayerStrategy implements PlayerStrategy {
 
 	@Override
 	public void fortify() {
-		List<Country> countriesOwned = player.getCountriesOwned();
-		Collections.sort(countriesOwned, Country.ArmyComparator);
-		Country weakestCountry = countriesOwned.get(0);
-		Country adjacentStrongCountry = getStrongestCountryAdjacent(weakestCountry, countriesOwned);
+		Country weakestCountry = player.getWeakestCountry();
+		Country adjacentStrongCountry = getStrongestCountryAdjacent(weakestCountry, player.getCountriesOwned());
 		if (adjacentStrongCountry != null) {
 			int fortificationArmies = (adjacentStrongCountry.getCurrentNumberOfArmies()
 					- weakestCountry.getCurrentNumberOfArmies()) / 2;
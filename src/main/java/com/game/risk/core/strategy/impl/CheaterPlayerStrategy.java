@@ -1,13 +1,13 @@
 package com.game.risk.core.strategy.impl;
 
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 import com.game.risk.RiskGamePhases;
 import com.game.risk.core.CountriesGraph;
 import com.game.risk.core.strategy.PlayerStrategy;
+import com.game.risk.core.util.AttackPhaseUtil;
 import com.game.risk.model.Country;
 import com.game.risk.model.Player;
 
@@ -62,18 +62,12 @@ public class CheaterPlayerStrategy implements PlayerStrategy {
 	 */
 	@Override
 	public void attack() {
-		List<Country> countries = new ArrayList<>();
-		for (Country country : player.getCountriesOwned()) {
-			countries.add(country);
-		}
+		List<Country> countries = countriesGraph.getFrontierIndex().getFrontierCountries(player.getPlayerName());
+		Set<Country> defenders = new LinkedHashSet<>();
 		for (Country attacker : countries) {
-			List<Country> defenderList = findingNeighboursOfOtherPlayers(attacker);
-			if (!defenderList.isEmpty()) {
-				for (Country defender : defenderList) {
-					updateCountryToPlayer(defender, attacker);
-				}
-			}
+			defenders.addAll(findingNeighboursOfOtherPlayers(attacker));
 		}
+		AttackPhaseUtil.transferOwnership(defenders, player, gamePhases.getPlayerList(), countriesGraph);
 	}
 
 	/*
@@ -83,37 +77,12 @@ public class CheaterPlayerStrategy implements PlayerStrategy {
 	 */
 	@Override
 	public void fortify() {
-		for (Country country : player.getCountriesOwned()) {
-			List<Country> defenderList = findingNeighboursOfOtherPlayers(country);
-			if (!defenderList.isEmpty()) {
-				country.setCurrentNumberOfArmies(2 * country.getCurrentNumberOfArmies());
-			}
+		for (Country country : countriesGraph.getFrontierIndex().getFrontierCountries(player.getPlayerName())) {
+			country.setCurrentNumberOfArmies(2 * country.getCurrentNumberOfArmies());
 		}
 
 	}
 
-	/**
-	 * Update country to player.
-	 *
-	 * @param defender
-	 *            the defender
-	 * @param attacker
-	 *            the attacker
-	 */
-	private void updateCountryToPlayer(Country defender, Country attacker) {
-		List<Player> playerList = gamePhases.getPlayerList();
-		Iterator<Player> playerIterator = playerList.iterator();
-		while (playerIterator.hasNext()) {
-			Player aplayer = playerIterator.next();
-			if (aplayer.getPlayerName().equals(defender.getPlayerName())) {
-				aplayer.removeCountry(defender);
-			} else if (aplayer.getPlayerName().equals(attacker.getPlayerName())) {
-				aplayer.addCountry(defender);
-			}
-		}
-		defender.setPlayerName(attacker.getPlayerName());
-	}
-
 	/**
 	 * Finding neighbours of other players.
 	 *
@@ -122,17 +91,6 @@ public class CheaterPlayerStrategy implements PlayerStrategy {
 	 * @return the list
 	 */
 	private List<Country> findingNeighboursOfOtherPlayers(Country attacker) {
-		LinkedList<Country> adjCountries = countriesGraph.getAdjListHashMap().get(attacker);
-		List<Country> defenderCountries = new ArrayList<>();
-		if (adjCountries != null) {
-			for (int i = 0; i < adjCountries.size(); i++) {
-				Country adjacentCountry = adjCountries.get(i);
-				// Ignoring the player owned countries and finding the opponent
-				if (!adjacentCountry.getPlayerName().equals(attacker.getPlayerName())) {
-					defenderCountries.add(adjacentCountry);
-				}
-			}
-		}
-		return defenderCountries;
+		return countriesGraph.getFrontierIndex().getEnemyNeighbours(attacker);
 	}
 }
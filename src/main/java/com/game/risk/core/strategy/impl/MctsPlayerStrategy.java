@@ -0,0 +1,321 @@
+package com.game.risk.core.strategy.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import com.game.risk.RiskGamePhases;
+import com.game.risk.core.CountriesGraph;
+import com.game.risk.core.GameState;
+import com.game.risk.core.MapTopology;
+import com.game.risk.core.strategy.PlayerStrategy;
+import com.game.risk.core.util.AttackPhaseUtil;
+import com.game.risk.core.util.FortificationPhaseUtil;
+import com.game.risk.core.util.LoggingUtil;
+import com.game.risk.core.util.ReinforcementPhaseUtil;
+import com.game.risk.model.Country;
+import com.game.risk.model.Player;
+
+/**
+ * The Class MctsPlayerStrategy, planning each move with a Monte Carlo tree
+ * search.
+ * <p>
+ * The reinforcement, every attack and the fortification are decisions
+ * searched by {@link MctsSearch}: the candidate moves are tried on copies of
+ * the {@link GameState} followed by playouts of the next turns, in parallel on
+ * a fork-join pool, within a rollout budget and a time budget per decision.
+ */
+public class MctsPlayerStrategy implements PlayerStrategy {
+
+	/** Default maximum number of rollouts of a decision. */
+	public static final int DEFAULT_ROLLOUT_BUDGET = 512;
+
+	/** Default maximum duration of a decision in milliseconds. */
+	public static final long DEFAULT_TIME_BUDGET_MILLIS = 200;
+
+	/** Number of rounds of turns of each playout. */
+	private static final int PLAYOUT_ROUNDS = 2;
+
+	/** Maximum number of candidate moves of a decision. */
+	private static final int MAX_MOVES = 12;
+
+	/** Maximum number of attacks in a turn. */
+	private static final int MAX_ATTACKS = 32;
+
+	/** The player. */
+	Player player;
+
+	/** The countries graph. */
+	private CountriesGraph countriesGraph;
+
+	/** The game phases. */
+	private RiskGamePhases gamePhases;
+
+	/** The search of the decisions. */
+	private MctsSearch search;
+
+	/**
+	 * Instantiates a new MCTS player strategy with the default budgets, searching
+	 * on the common fork-join pool.
+	 *
+	 * @param player
+	 *            the player
+	 * @param countriesGraph
+	 *            the countries graph
+	 * @param gamePhases
+	 *            the game phases
+	 */
+	public MctsPlayerStrategy(Player player, CountriesGraph countriesGraph, RiskGamePhases gamePhases) {
+		this(player, countriesGraph, gamePhases, ForkJoinPool.commonPool(), DEFAULT_ROLLOUT_BUDGET,
+				DEFAULT_TIME_BUDGET_MILLIS);
+	}
+
+	/**
+	 * Instantiates a new MCTS player strategy.
+	 *
+	 * @param player
+	 *            the player
+	 * @param countriesGraph
+	 *            the countries graph
+	 * @param gamePhases
+	 *            the game phases
+	 * @param pool
+	 *            pool running the rollouts
+	 * @param rolloutBudget
+	 *            maximum number of rollouts of a decision, 0 for no limit
+	 * @param timeBudgetMillis
+	 *            maximum duration of a decision in milliseconds, 0 for no limit
+	 */
+	public MctsPlayerStrategy(Player player, CountriesGraph countriesGraph, RiskGamePhases gamePhases,
+			ForkJoinPool pool, int rolloutBudget, long timeBudgetMillis) {
+		this.player = player;
+		this.countriesGraph = countriesGraph;
+		this.gamePhases = gamePhases;
+		this.search = new MctsSearch(pool, rolloutBudget, timeBudgetMillis, PLAYOUT_ROUNDS);
+	}
+
+	@Override
+	public void reinforce() {
+		System.out.println("\nReinforcement Phase begins for Mcts Player \n");
+		LoggingUtil.logMessage("\nReinforcement Phase begins for Mcts Player \n");
+		player.setNumberOfArmies(
+				player.getNumberOfArmies() + ReinforcementPhaseUtil.calculateReinforcementArmies(player));
+		final int armies = player.getNumberOfArmies();
+		List<Country> candidates = countriesGraph.getFrontierIndex().getFrontierCountries(player.getPlayerName());
+		if (candidates.isEmpty()) {
+			candidates = new ArrayList<>(player.getCountriesOwned());
+		}
+		Collections.sort(candidates, Collections.reverseOrder(Country.ArmyComparator));
+		if (candidates.size() > MAX_MOVES) {
+			candidates = candidates.subList(0, MAX_MOVES);
+		}
+		List<MctsSearch.Move> moves = new ArrayList<>();
+		for (final Country country : candidates) {
+			moves.add(new MctsSearch.Move() {
+				@Override
+				public void apply(Playout playout) {
+					playout.place(country.getId(), armies);
+				}
+			});
+		}
+		Country country = candidates.get(searchMove(moves, true));
+		country.setCurrentNumberOfArmies(country.getCurrentNumberOfArmies() + armies);
+		player.setNumberOfArmies(0);
+		String message = "Mcts Player assigned " + armies + " Armies to " + country.getCountryName();
+		System.out.println(message);
+		LoggingUtil.logMessage(message);
+	}
+
+	@Override
+	public void attack() {
+		System.out.println("\n:: Attack Phase ::\n");
+		LoggingUtil.logMessage("Attack Phase begins for Mcts Player.");
+		for (int attacks = 0; attacks < MAX_ATTACKS; attacks++) {
+			final List<Country[]> engagements = findEngagements();
+			if (engagements.isEmpty()) {
+				break;
+			}
+			List<MctsSearch.Move> moves = new ArrayList<>();
+			for (final Country[] engagement : engagements) {
+				moves.add(new MctsSearch.Move() {
+					@Override
+					public void apply(Playout playout) {
+						playout.attack(engagement[0].getId(), engagement[1].getId());
+					}
+				});
+			}
+			// Ending the attack phase
+			moves.add(new MctsSearch.Move() {
+				@Override
+				public void apply(Playout playout) {
+				}
+			});
+			int move = searchMove(moves, false);
+			if (move == engagements.size()) {
+				break;
+			}
+			Country attacker = engagements.get(move)[0];
+			Country defender = engagements.get(move)[1];
+			String attackMessage = "[Attacker] " + attacker.getCountryName() + "("
+					+ attacker.getCurrentNumberOfArmies() + ") vs (" + defender.getCurrentNumberOfArmies() + ") "
+					+ defender.getCountryName() + " [Defender]";
+			System.out.println(attackMessage);
+			LoggingUtil.logMessage(attackMessage);
+			AttackPhaseUtil.startBlitz(attacker, defender, player.getRandom());
+			if (defender.getCurrentNumberOfArmies() == 0) {
+				System.out.println("Mcts Player captured " + defender.getCountryName());
+				AttackPhaseUtil.captureCountry(defender, attacker, gamePhases.getPlayerList(), countriesGraph);
+				FortificationPhaseUtil.moveArmiesBetweenCountries(attacker, defender,
+						attacker.getCurrentNumberOfArmies() - 1, countriesGraph);
+				player.setWinner(true);
+			}
+		}
+	}
+
+	@Override
+	public void fortify() {
+		System.out.println("\n:: Fortification Phase ::\n");
+		LoggingUtil.logMessage("Fortification Phase begins for Mcts Player.");
+		final List<Country[]> transfers = findTransfers();
+		if (!transfers.isEmpty()) {
+			List<MctsSearch.Move> moves = new ArrayList<>();
+			for (final Country[] transfer : transfers) {
+				moves.add(new MctsSearch.Move() {
+					@Override
+					public void apply(Playout playout) {
+						playout.move(transfer[0].getId(), transfer[1].getId(),
+								transfer[0].getCurrentNumberOfArmies() - 1);
+					}
+				});
+			}
+			// Skipping the fortification
+			moves.add(new MctsSearch.Move() {
+				@Override
+				public void apply(Playout playout) {
+				}
+			});
+			int move = searchMove(moves, false);
+			if (move < transfers.size()) {
+				Country from = transfers.get(move)[0];
+				Country to = transfers.get(move)[1];
+				int fortificationArmies = from.getCurrentNumberOfArmies() - 1;
+				FortificationPhaseUtil.moveArmiesBetweenCountries(from, to, fortificationArmies, countriesGraph);
+				LoggingUtil.logMessage(fortificationArmies + " Armies have been moved from " + from.getCountryName()
+						+ " to " + to.getCountryName());
+			} else {
+				LoggingUtil.logMessage("No Armies have been moved in Fortification Phase");
+			}
+		}
+		String message = String.format("Mcts Player searched %d rollouts at %.0f rollouts/s", getRolloutsCount(),
+				getRolloutsPerSecond());
+		System.out.println(message);
+		LoggingUtil.logMessage(message);
+	}
+
+	/**
+	 * Get the number of rollouts per second of the searches of the player so far.
+	 *
+	 * @return the rollouts per second
+	 */
+	public double getRolloutsPerSecond() {
+		return search.getRolloutsPerSecond();
+	}
+
+	/**
+	 * Get the number of rollouts of the searches of the player so far.
+	 *
+	 * @return the rollouts count
+	 */
+	public long getRolloutsCount() {
+		return search.getRolloutsCount();
+	}
+
+	/**
+	 * Search the best of the moves from the current state of the game.
+	 *
+	 * @param moves
+	 *            the moves
+	 * @param attackPending
+	 *            whether the player still attacks after the move
+	 * @return index of the best move
+	 */
+	private int searchMove(List<MctsSearch.Move> moves, boolean attackPending) {
+		GameState root = gamePhases.getGameState();
+		if (root == null) {
+			root = GameState.snapshot(countriesGraph.getTopology(), gamePhases.getPlayerList());
+		}
+		return search.search(root, root.getPlayerIndex(player.getPlayerName()), moves, attackPending,
+				player.getRandom());
+	}
+
+	/**
+	 * Find the engagements the player can start, the most favourable first.
+	 *
+	 * @return attacker and defender of each engagement
+	 */
+	private List<Country[]> findEngagements() {
+		List<Country[]> engagements = new ArrayList<>();
+		for (Country attacker : countriesGraph.getFrontierIndex().getFrontierCountries(player.getPlayerName())) {
+			if (attacker.getCurrentNumberOfArmies() > 1) {
+				for (Country defender : countriesGraph.getFrontierIndex().getEnemyNeighbours(attacker)) {
+					engagements.add(new Country[] { attacker, defender });
+				}
+			}
+		}
+		return keepBest(engagements, new Comparator<Country[]>() {
+			@Override
+			public int compare(Country[] engagement1, Country[] engagement2) {
+				return Integer.compare(
+						engagement2[0].getCurrentNumberOfArmies() - engagement2[1].getCurrentNumberOfArmies(),
+						engagement1[0].getCurrentNumberOfArmies() - engagement1[1].getCurrentNumberOfArmies());
+			}
+		});
+	}
+
+	/**
+	 * Find the transfers of all but one army from a country to an adjacent
+	 * country of the player, the largest first.
+	 *
+	 * @return source and destination of each transfer
+	 */
+	private List<Country[]> findTransfers() {
+		List<Country[]> transfers = new ArrayList<>();
+		MapTopology topology = countriesGraph.getTopology();
+		int[] offsets = topology.getOffsets();
+		int[] neighbours = topology.getNeighbours();
+		for (Country from : player.getCountriesOwned()) {
+			if (from.getCurrentNumberOfArmies() > 1 && topology.contains(from)) {
+				for (int i = offsets[from.getId()]; i < offsets[from.getId() + 1]; i++) {
+					Country to = topology.getCountry(neighbours[i]);
+					if (player.getPlayerName().equals(to.getPlayerName())) {
+						transfers.add(new Country[] { from, to });
+					}
+				}
+			}
+		}
+		return keepBest(transfers, new Comparator<Country[]>() {
+			@Override
+			public int compare(Country[] transfer1, Country[] transfer2) {
+				return Integer.compare(transfer2[0].getCurrentNumberOfArmies(),
+						transfer1[0].getCurrentNumberOfArmies());
+			}
+		});
+	}
+
+	/**
+	 * Sort candidate moves and keep the first ones, leaving room for the move
+	 * ending the phase.
+	 *
+	 * @param candidates
+	 *            the candidate moves
+	 * @param comparator
+	 *            comparator putting the best moves first
+	 * @return the best moves
+	 */
+	private static List<Country[]> keepBest(List<Country[]> candidates, Comparator<Country[]> comparator) {
+		Collections.sort(candidates, comparator);
+		return candidates.size() < MAX_MOVES ? candidates : new ArrayList<>(candidates.subList(0, MAX_MOVES - 1));
+	}
+}
@@ -0,0 +1,248 @@
+package com.game.risk.core.strategy.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import com.game.risk.core.GameState;
+import com.game.risk.core.util.FastRandom;
+
+/**
+ * Monte Carlo tree search over the moves of a decision, with root
+ * parallelization.
+ * <p>
+ * The search is split into a fixed number of logical workers, run by the
+ * fork-join pool whatever its parallelism. Each worker grows its own
+ * statistics of the moves, choosing the move of each rollout with UCB1,
+ * applying it to its own copy of the state and finishing the rollout with a
+ * {@link Playout}. The statistics of the workers are merged at the end and the
+ * most visited move is chosen. The search stops when the rollout budget or the
+ * time budget is spent, whichever comes first. The rollout budget is shared
+ * evenly between the workers, each with its own random number generator split
+ * from the one of the player, so a search without time budget gives the same
+ * move on any pool and any machine.
+ */
+class MctsSearch {
+
+	/** Exploration constant of UCB1. */
+	private static final double EXPLORATION = Math.sqrt(2);
+
+	/** Number of logical workers of a search, independent of the pool. */
+	private static final int WORKERS_COUNT = 4;
+
+	/**
+	 * A move of the searched decision, applied to the state of a rollout.
+	 */
+	interface Move {
+
+		/**
+		 * Apply the move.
+		 *
+		 * @param playout
+		 *            the playout of the rollout, on its reset state
+		 */
+		void apply(Playout playout);
+	}
+
+	/** Pool running the workers. */
+	private final ForkJoinPool pool;
+
+	/** Maximum number of rollouts of a search, 0 for no limit. */
+	private final int rolloutBudget;
+
+	/** Maximum duration of a search in milliseconds, 0 for no limit. */
+	private final long timeBudgetMillis;
+
+	/** Number of rounds of turns of each playout. */
+	private final int rounds;
+
+	/** Total number of rollouts of the searches. */
+	private long rolloutsCount;
+
+	/** Total duration of the searches in nanoseconds. */
+	private long elapsedNanos;
+
+	/**
+	 * Instantiates a new search.
+	 *
+	 * @param pool
+	 *            pool running the workers
+	 * @param rolloutBudget
+	 *            maximum number of rollouts of a search, 0 for no limit
+	 * @param timeBudgetMillis
+	 *            maximum duration of a search in milliseconds, 0 for no limit
+	 * @param rounds
+	 *            number of rounds of turns of each playout
+	 */
+	MctsSearch(ForkJoinPool pool, int rolloutBudget, long timeBudgetMillis, int rounds) {
+		if (rolloutBudget <= 0 && timeBudgetMillis <= 0) {
+			throw new IllegalArgumentException("A rollout budget or a time budget is required");
+		}
+		this.pool = pool;
+		this.rolloutBudget = rolloutBudget;
+		this.timeBudgetMillis = timeBudgetMillis;
+		this.rounds = rounds;
+	}
+
+	/**
+	 * Search the best move of a player.
+	 *
+	 * @param root
+	 *            current state of the game, not modified
+	 * @param player
+	 *            index of the player
+	 * @param moves
+	 *            the moves, at least one
+	 * @param attackPending
+	 *            whether the player still attacks after the move
+	 * @param random
+	 *            random number generator of the player, split for the workers
+	 * @return index of the best move
+	 * @throws RuntimeException
+	 *             the failure of a worker, rethrown
+	 */
+	int search(final GameState root, final int player, final List<Move> moves, final boolean attackPending,
+			FastRandom random) {
+		if (moves.size() == 1) {
+			return 0;
+		}
+		long start = System.nanoTime();
+		final long deadline = timeBudgetMillis > 0 ? start + timeBudgetMillis * 1000000 : Long.MAX_VALUE;
+		List<Callable<double[]>> workers = new ArrayList<>();
+		for (int i = 0; i < WORKERS_COUNT; i++) {
+			final int rollouts = rolloutBudget <= 0 ? Integer.MAX_VALUE
+					: rolloutBudget / WORKERS_COUNT + (i < rolloutBudget % WORKERS_COUNT ? 1 : 0);
+			final FastRandom workerRandom = random.split();
+			workers.add(new Callable<double[]>() {
+				@Override
+				public double[] call() {
+					return runWorker(root, player, moves, attackPending, rollouts, deadline, workerRandom);
+				}
+			});
+		}
+		int size = moves.size();
+		double[] visits = new double[size];
+		double[] rewards = new double[size];
+		try {
+			for (Future<double[]> future : pool.invokeAll(workers)) {
+				double[] statistics = future.get();
+				for (int move = 0; move < size; move++) {
+					visits[move] += statistics[move];
+					rewards[move] += statistics[size + move];
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			// A failed worker fails the move, so that the game fails too
+			if (e.getCause() instanceof Error) {
+				throw (Error) e.getCause();
+			}
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IllegalStateException(e.getCause());
+		}
+		int best = 0;
+		for (int move = 1; move < size; move++) {
+			if (visits[move] > visits[best]
+					|| (visits[move] == visits[best] && rewards[move] > rewards[best])) {
+				best = move;
+			}
+		}
+		synchronized (this) {
+			for (double visit : visits) {
+				rolloutsCount += (long) visit;
+			}
+			elapsedNanos += System.nanoTime() - start;
+		}
+		return best;
+	}
+
+	/**
+	 * Run rollouts until the budget is spent.
+	 *
+	 * @param root
+	 *            current state of the game
+	 * @param player
+	 *            index of the player
+	 * @param moves
+	 *            the moves
+	 * @param attackPending
+	 *            whether the player still attacks after the move
+	 * @param maxRollouts
+	 *            maximum number of rollouts of the worker
+	 * @param deadline
+	 *            time at which the search stops, in nanoseconds
+	 * @param random
+	 *            random number generator of the worker
+	 * @return visits of each move followed by their total reward
+	 */
+	private double[] runWorker(GameState root, int player, List<Move> moves, boolean attackPending,
+			int maxRollouts, long deadline, FastRandom random) {
+		int size = moves.size();
+		double[] statistics = new double[2 * size];
+		GameState state = root.copy();
+		Playout playout = new Playout(state, random);
+		int rollouts = 0;
+		while (rollouts < maxRollouts && System.nanoTime() < deadline) {
+			int move = selectMove(statistics, size, rollouts);
+			state.copyFrom(root);
+			moves.get(move).apply(playout);
+			statistics[move]++;
+			statistics[size + move] += playout.play(player, attackPending, rounds);
+			rollouts++;
+		}
+		return statistics;
+	}
+
+	/**
+	 * Select the move of a rollout with UCB1, trying every move once first.
+	 *
+	 * @param statistics
+	 *            visits of each move followed by their total reward
+	 * @param size
+	 *            number of moves
+	 * @param rollouts
+	 *            number of rollouts of the worker
+	 * @return the move
+	 */
+	private static int selectMove(double[] statistics, int size, int rollouts) {
+		int best = 0;
+		double bestValue = Double.NEGATIVE_INFINITY;
+		double logRollouts = Math.log(rollouts);
+		for (int move = 0; move < size; move++) {
+			double visits = statistics[move];
+			if (visits == 0) {
+				return move;
+			}
+			double value = statistics[size + move] / visits + EXPLORATION * Math.sqrt(logRollouts / visits);
+			if (value > bestValue) {
+				bestValue = value;
+				best = move;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Get the number of rollouts per second of the searches so far.
+	 *
+	 * @return the rollouts per second, 0 before the first search
+	 */
+	synchronized double getRolloutsPerSecond() {
+		return elapsedNanos == 0 ? 0 : rolloutsCount * 1e9 / elapsedNanos;
+	}
+
+	/**
+	 * Get the total number of rollouts of the searches so far.
+	 *
+	 * @return the rollouts count
+	 */
+	synchronized long getRolloutsCount() {
+		return rolloutsCount;
+	}
+}
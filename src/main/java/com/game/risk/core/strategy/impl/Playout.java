@@ -0,0 +1,244 @@
+package com.game.risk.core.strategy.impl;
+
+import java.util.Random;
+
+import com.game.risk.core.GameState;
+import com.game.risk.core.MapTopology;
+import com.game.risk.core.util.BlitzTable;
+import com.game.risk.core.util.ReinforcementPhaseUtil;
+
+/**
+ * Fast playout of a game on a {@link GameState}, used by
+ * {@link MctsPlayerStrategy} to evaluate its moves.
+ * <p>
+ * Every player follows the same randomized greedy policy: it places its
+ * reinforcements on its strongest frontier country or on a random one, then
+ * attacks every weaker adjacent enemy from its frontier, resolving each
+ * engagement with a {@link BlitzTable} and moving all but one army into the
+ * captured countries. The playout works on the arrays of the state only, and
+ * one instance must be used by a single thread.
+ */
+class Playout {
+
+	/** Weight of the countries share in the evaluation, the rest is the armies share. */
+	private static final double COUNTRIES_WEIGHT = 0.5;
+
+	/** State the playout is played on. */
+	private final GameState state;
+
+	/** Topology of the map. */
+	private final MapTopology topology;
+
+	/** Random number generator of the playout. */
+	private final Random random;
+
+	/** Ids of the countries a player attacks from during its turn. */
+	private final int[] attackers;
+
+	/**
+	 * Instantiates a new playout.
+	 *
+	 * @param state
+	 *            state the playout is played on
+	 * @param random
+	 *            random number generator of the playout
+	 */
+	Playout(GameState state, Random random) {
+		this.state = state;
+		this.topology = state.getTopology();
+		this.random = random;
+		attackers = new int[topology.size()];
+	}
+
+	/**
+	 * Play the end of the attack phase of a player if pending, then rounds of
+	 * turns starting with the next player, and evaluate the result.
+	 *
+	 * @param player
+	 *            index of the player the result is evaluated for
+	 * @param attackPending
+	 *            whether the player still has to attack
+	 * @param rounds
+	 *            number of rounds of turns
+	 * @return the result, 1 for a win and 0 for a loss
+	 */
+	double play(int player, boolean attackPending, int rounds) {
+		if (attackPending) {
+			playAttacks(player);
+		}
+		int playersCount = state.getPlayersCount();
+		for (int turn = 1; turn <= rounds * playersCount; turn++) {
+			int current = (player + turn) % playersCount;
+			int countries = state.getCountriesCount(player);
+			if (countries == 0 || countries == state.getTotalCountries()) {
+				break;
+			}
+			if (state.getCountriesCount(current) > 0) {
+				reinforce(current);
+				playAttacks(current);
+			}
+		}
+		return evaluate(player);
+	}
+
+	/**
+	 * Evaluate the state for a player from its share of the countries and of the
+	 * armies of the players, read from the running totals of the state.
+	 *
+	 * @param player
+	 *            index of the player
+	 * @return the result, 1 for a win and 0 for a loss
+	 */
+	double evaluate(int player) {
+		int countries = state.getCountriesCount(player);
+		if (countries == state.getTotalCountries()) {
+			return 1;
+		}
+		if (countries == 0) {
+			return 0;
+		}
+		long totalArmies = 0;
+		for (int index = 0; index < state.getPlayersCount(); index++) {
+			totalArmies += state.getArmiesCount(index);
+		}
+		double armiesShare = totalArmies == 0 ? 0 : (double) state.getArmiesCount(player) / totalArmies;
+		return COUNTRIES_WEIGHT * countries / state.getTotalCountries() + (1 - COUNTRIES_WEIGHT) * armiesShare;
+	}
+
+	/**
+	 * Place armies on a country.
+	 *
+	 * @param id
+	 *            id of the country
+	 * @param armies
+	 *            the armies
+	 */
+	void place(int id, int armies) {
+		state.setArmies(id, state.getArmies(id) + armies);
+	}
+
+	/**
+	 * Resolve an engagement between two countries, capturing the defender if it
+	 * has no army left.
+	 *
+	 * @param attacker
+	 *            id of the attacker
+	 * @param defender
+	 *            id of the defender
+	 * @return true if the defender has been captured
+	 */
+	boolean attack(int attacker, int defender) {
+		if (state.getArmies(attacker) < 2 || state.getArmies(defender) < 1) {
+			return false;
+		}
+		BlitzTable table = BlitzTable.getTable(state.getArmies(attacker), state.getArmies(defender));
+		int outcome = table.sample(random);
+		state.setArmies(attacker, table.getAttackerArmies(outcome));
+		state.setArmies(defender, table.getDefenderArmies(outcome));
+		if (state.getArmies(defender) > 0) {
+			return false;
+		}
+		state.setOwner(defender, state.getOwner(attacker));
+		move(attacker, defender, state.getArmies(attacker) - 1);
+		return true;
+	}
+
+	/**
+	 * Move armies between two countries.
+	 *
+	 * @param from
+	 *            id of the country the armies leave
+	 * @param to
+	 *            id of the country the armies join
+	 * @param armies
+	 *            the armies
+	 */
+	void move(int from, int to, int armies) {
+		state.setArmies(from, state.getArmies(from) - armies);
+		state.setArmies(to, state.getArmies(to) + armies);
+	}
+
+	/**
+	 * Place the reinforcements of a player on its strongest frontier country or,
+	 * one time out of two, on a random frontier country.
+	 *
+	 * @param player
+	 *            index of the player
+	 */
+	private void reinforce(int player) {
+		int strongest = -1;
+		int chosen = -1;
+		int frontierSize = 0;
+		for (int id = 0; id < topology.size(); id++) {
+			if (state.getOwner(id) == player && topology.getCountry(id) != null && hasEnemy(id)) {
+				if (strongest < 0 || state.getArmies(id) > state.getArmies(strongest)) {
+					strongest = id;
+				}
+				// Reservoir sampling of a random frontier country
+				if (random.nextInt(++frontierSize) == 0) {
+					chosen = id;
+				}
+			}
+		}
+		if (strongest >= 0) {
+			place(random.nextBoolean() ? strongest : chosen,
+					ReinforcementPhaseUtil.calculateReinforcementArmies(state.getCountriesCount(player))
+							+ state.getContinentBonus(player));
+		}
+	}
+
+	/**
+	 * Attack from the frontier of a player every adjacent enemy weaker than the
+	 * attacking country, going on from the captured countries.
+	 *
+	 * @param player
+	 *            index of the player
+	 */
+	private void playAttacks(int player) {
+		int count = 0;
+		for (int id = 0; id < topology.size(); id++) {
+			if (state.getOwner(id) == player && state.getArmies(id) > 2 && topology.getCountry(id) != null) {
+				attackers[count++] = id;
+			}
+		}
+		int[] offsets = topology.getOffsets();
+		int[] neighbours = topology.getNeighbours();
+		for (int i = 0; i < count; i++) {
+			int attacker = attackers[i];
+			boolean attacking = true;
+			while (attacking && state.getArmies(attacker) > 2) {
+				int weakest = -1;
+				for (int edge = offsets[attacker]; edge < offsets[attacker + 1]; edge++) {
+					int adjacent = neighbours[edge];
+					if (state.getOwner(adjacent) != player
+							&& (weakest < 0 || state.getArmies(adjacent) < state.getArmies(weakest))) {
+						weakest = adjacent;
+					}
+				}
+				attacking = weakest >= 0 && state.getArmies(weakest) < state.getArmies(attacker) - 1
+						&& attack(attacker, weakest);
+				if (attacking && count < attackers.length) {
+					attackers[count++] = weakest;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Check whether a country has an adjacent country owned by another player.
+	 *
+	 * @param id
+	 *            id of the country
+	 * @return true if on the frontier
+	 */
+	private boolean hasEnemy(int id) {
+		int[] offsets = topology.getOffsets();
+		int[] neighbours = topology.getNeighbours();
+		for (int edge = offsets[id]; edge < offsets[id + 1]; edge++) {
+			if (state.getOwner(neighbours[edge]) != state.getOwner(id)) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -1,12 +1,12 @@
 package com.game.risk.core.strategy.impl;
 
 import java.util.ArrayList;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Random;
 
 import com.game.risk.RiskGamePhases;
 import com.game.risk.core.CountriesGraph;
+import com.game.risk.core.MapTopology;
 import com.game.risk.core.strategy.PlayerStrategy;
 import com.game.risk.core.util.AttackPhaseUtil;
 import com.game.risk.core.util.LoggingUtil;
@@ -52,12 +52,11 @@ public class RandomPlayerStrategy implements PlayerStrategy {
 		System.out.println("\n:: Reinforcement Phase ::\n");
 		LoggingUtil.logMessage("Reinforcement Phase begins for Random Player.");
 
-		Random random = new Random();
+		Random random = player.getRandom();
 		int randomArmies = random.nextInt(1000);
 		String message = "Random Player reinforced with Random Armies count (" + randomArmies + ")\n";
 		System.out.println(message);
-		Random countryRandom = new Random();
-		int randomCountryIndex = countryRandom.nextInt(player.getCountriesOwned().size());
+		int randomCountryIndex = random.nextInt(player.getCountriesOwned().size());
 		Country country = player.getCountriesOwned().get(randomCountryIndex);
 		LoggingUtil.logMessage(message);
 		country.setCurrentNumberOfArmies(country.getCurrentNumberOfArmies() + randomArmies);
@@ -72,7 +71,7 @@ public class RandomPlayerStrategy implements PlayerStrategy {
 		System.out.println("\n:: Attack Phase ::\n");
 		LoggingUtil.logMessage("Attack Phase begins for Random Player.");
 
-		Random random = new Random();
+		Random random = player.getRandom();
 		Country attacker = player.getCountriesOwned().get(random.nextInt(player.getCountriesOwned().size()));
 		List<Country> defenderList = new ArrayList<>();
 		defenderList.clear();
@@ -81,11 +80,9 @@ public class RandomPlayerStrategy implements PlayerStrategy {
 		if (attacker.getCurrentNumberOfArmies() >= 2) {
 
 			if (!defenderList.isEmpty()) {
-				Random random1 = new Random();
-				Country defender = defenderList.get(random1.nextInt(defenderList.size()));
-				Random randomAttacks = new Random();
+				Country defender = defenderList.get(random.nextInt(defenderList.size()));
 				System.err.println(defender.getCurrentNumberOfArmies());
-				int attacksMaxCount = randomAttacks
+				int attacksMaxCount = random
 						.nextInt(defender.getCurrentNumberOfArmies() > 0 ? defender.getCurrentNumberOfArmies()
 								: attacker.getCurrentNumberOfArmies())
 						+ 1;
@@ -101,7 +98,7 @@ public class RandomPlayerStrategy implements PlayerStrategy {
 					int diceAttacker = getRandomDice(attacker, 3);
 					int diceDefender = getRandomDice(attacker, 2);
 
-					AttackPhaseUtil.startBattle(attacker, defender, diceAttacker, diceDefender);
+					AttackPhaseUtil.startBattle(attacker, defender, diceAttacker, diceDefender, random);
 					System.out.println("\n:: Armies Count after Attack ::");
 					System.out.println("[Attacker] " + attacker.getCountryName() + "("
 							+ attacker.getCurrentNumberOfArmies() + ")");
@@ -110,7 +107,7 @@ public class RandomPlayerStrategy implements PlayerStrategy {
 				}
 
 				if (defender.getCurrentNumberOfArmies() == 0) {
-					updateCountryToPlayer(defender, attacker);
+					AttackPhaseUtil.captureCountry(defender, attacker, gamePhases.getPlayerList(), countriesGraph);
 					moveArmiesToDefender(defender, attacker);
 				}
 
@@ -128,7 +125,7 @@ public class RandomPlayerStrategy implements PlayerStrategy {
 	 *            the attacker Country
 	 */
 	private void moveArmiesToDefender(Country defender, Country attacker) {
-		int randomArmies = new Random().nextInt(attacker.getCurrentNumberOfArmies());
+		int randomArmies = player.getRandom().nextInt(attacker.getCurrentNumberOfArmies());
 		if (randomArmies == attacker.getCurrentNumberOfArmies())
 			randomArmies--;
 		int defenderArmies = defender.getCurrentNumberOfArmies() + randomArmies;
@@ -143,7 +140,7 @@ public class RandomPlayerStrategy implements PlayerStrategy {
 		System.out.println("\n:: Fortify Phase ::\n");
 		LoggingUtil.logMessage("Fortify Phase begins for Random Player.");
 
-		Random random = new Random();
+		Random random = player.getRandom();
 		int randomCountry1Index = random.nextInt(player.getCountriesOwned().size());
 		Country country1 = player.getCountriesOwned().get(randomCountry1Index);
 		List<Country> adjPlayerCountries = findPlayerAdjacentCountries(country1);
@@ -181,36 +178,16 @@ public class RandomPlayerStrategy implements PlayerStrategy {
 	 */
 	private int getRandomDice(Country attacker, int maxDice) {
 		int attackerArmies = attacker.getCurrentNumberOfArmies();
-		Random random;
+		Random random = player.getRandom();
 		int diceCount;
 		if (attackerArmies <= maxDice) {
-			random = new Random();
 			diceCount = 1 + random.nextInt(attackerArmies - 1);
 		} else {
-			random = new Random();
 			diceCount = 1 + random.nextInt(maxDice);
 		}
 		return diceCount;
 	}
 
-	/**
-	 * Update country to player after defender has lost battle.
-	 *
-	 * @param defender            the defender Country
-	 * @param attacker            the attacker Country
-	 */
-	private void updateCountryToPlayer(Country defender, Country attacker) {
-		List<Player> playerList = gamePhases.getPlayerList();
-		for (int i = 0; i < playerList.size(); i++) {
-			if (playerList.get(i).getPlayerName().equals(defender.getPlayerName())) {
-				playerList.get(i).removeCountry(defender);
-			} else if (playerList.get(i).getPlayerName().equals(attacker.getPlayerName())) {
-				playerList.get(i).addCountry(defender);
-			}
-		}
-		defender.setPlayerName(attacker.getPlayerName());
-	}
-
 	/**
 	 * Finding defender list to attack.
 	 *
@@ -219,18 +196,7 @@ public class RandomPlayerStrategy implements PlayerStrategy {
 	 * @return the list
 	 */
 	private List<Country> findingDefenderListToAttack(Country attacker) {
-		LinkedList<Country> adjCountries = new LinkedList<>();
-		adjCountries.clear();
-		adjCountries = countriesGraph.getAdjListHashMap().get(attacker);
-		List<Country> defenderCountries = new ArrayList<>();
-		for (int i = 0; i < adjCountries.size(); i++) {
-			Country adjacentCountry = adjCountries.get(i);
-			// Ignoring the player owned countries and finding the opponent
-			if (!adjacentCountry.getPlayerName().equals(player.getPlayerName())) {
-				defenderCountries.add(adjacentCountry);
-			}
-		}
-		return defenderCountries;
+		return countriesGraph.getFrontierIndex().getEnemyNeighbours(attacker);
 	}
 
 	/**
@@ -241,9 +207,15 @@ public class RandomPlayerStrategy implements PlayerStrategy {
 	 * @return the list
 	 */
 	private List<Country> findPlayerAdjacentCountries(Country country) {
-		LinkedList<Country> adjCountries = countriesGraph.getAdjListHashMap().get(country);
 		List<Country> adjPlayerCountries = new ArrayList<>();
-		for (Country selectedCountry : adjCountries) {
+		MapTopology topology = countriesGraph.getTopology();
+		if (!topology.contains(country)) {
+			return adjPlayerCountries;
+		}
+		int[] offsets = topology.getOffsets();
+		int[] neighbours = topology.getNeighbours();
+		for (int i = offsets[country.getId()]; i < offsets[country.getId() + 1]; i++) {
+			Country selectedCountry = topology.getCountry(neighbours[i]);
 			if (selectedCountry.getPlayerName().equals(country.getPlayerName())) {
 				adjPlayerCountries.add(selectedCountry);
 			}
@@ -1,9 +1,14 @@
 package com.game.risk.core.util;
 
-import java.util.Arrays;
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Random;
 
+import com.game.risk.core.CountriesGraph;
+import com.game.risk.core.GameState;
 import com.game.risk.model.Country;
 import com.game.risk.model.Player;
 
@@ -16,6 +21,14 @@ import com.game.risk.model.Player;
  */
 public class AttackPhaseUtil {
 
+	/** Random number generator of each thread used when none is given. */
+	private static final ThreadLocal<Random> RANDOM = new ThreadLocal<Random>() {
+		@Override
+		protected Random initialValue() {
+			return new FastRandom();
+		}
+	};
+
 	/**
 	 * Start the battle.
 	 * 
@@ -29,61 +42,297 @@ public class AttackPhaseUtil {
 	 *            the defender dice Roll
 	 */
 	public static void startBattle(Country attacker, Country defender, int attackDiceRoll, int defendDiceRoll) {
-		Integer[] attackDice = new Integer[attackDiceRoll];
-		Integer[] defendDice = new Integer[defendDiceRoll];
-		Random random = new Random();
-
-		for (int i = 0; i < attackDiceRoll; i++)
-			attackDice[i] = random.nextInt(6) + 1;
-		for (int i = 0; i < defendDiceRoll; i++)
-			defendDice[i] = random.nextInt(6) + 1;
-
-		// Sort in descending order to find their respective best dice roll
-		Arrays.sort(attackDice, Collections.reverseOrder());
-		Arrays.sort(defendDice, Collections.reverseOrder());
-		String message = "Caclulating the highest dice roll";
-		LoggingUtil.logMessage(message);
-
-		if (attackDiceRoll == 1) {
-			// Comparing the best dice roll
-			LoggingUtil.logMessage("1 Attacker Dice Roll Chosen");
-			LoggingUtil.logMessage("Comparing the best dice roll of attacker [" + attackDice[0] + "] vs defender ["
-					+ defendDice[0] + "]");
-			if (attackDice[0] > defendDice[0]) {
-				LoggingUtil.logMessage("Defender Looses an army");
+		startBattle(attacker, defender, attackDiceRoll, defendDiceRoll, RANDOM.get());
+	}
+
+	/**
+	 * Start the battle, rolling the dice with the given random number generator.
+	 * 
+	 * @param attacker
+	 *            the attacker
+	 * @param defender
+	 *            the defender
+	 * @param attackDiceRoll
+	 *            the attacker Dice Roll
+	 * @param defendDiceRoll
+	 *            the defender dice Roll
+	 * @param random
+	 *            the random number generator
+	 */
+	public static void startBattle(Country attacker, Country defender, int attackDiceRoll, int defendDiceRoll,
+			Random random) {
+		if (attackDiceRoll < 1) {
+			return;
+		}
+		int attackDice = rollBestDice(attackDiceRoll, random);
+		int defendDice = rollBestDice(defendDiceRoll, random);
+		int comparisons = getComparisonsCount(attackDiceRoll, defendDiceRoll);
+		int defenderLosses = countDefenderLosses(attackDice, defendDice, comparisons);
+		if (LoggingUtil.isLoggable(LogLevel.DEBUG)) {
+			logBattle(attackDiceRoll, attackDice, defendDice, comparisons);
+		}
+		for (int i = 0; i < comparisons; i++) {
+			if (i < defenderLosses) {
 				defender.looseArmy();
 			} else {
-				LoggingUtil.logMessage("Attacker looses an army");
 				attacker.looseArmy();
 			}
-		} else if (attackDiceRoll > 1) {
-			// Comparing the best dice roll
-			LoggingUtil.logMessage(attackDiceRoll + " Attacker Dice Roll Chosen");
-			LoggingUtil.logMessage("Comparing the best dice roll of attacker [" + attackDice[0] + "] vs defender ["
-					+ defendDice[0] + "]");
-			if (attackDice[0] > defendDice[0]) {
-				LoggingUtil.logMessage("Defender Looses an army");
-				defender.looseArmy();
-			} else {
-				LoggingUtil.logMessage("Attacker Looses an army");
-				attacker.looseArmy();
+		}
+	}
+
+	/**
+	 * Resolve a whole engagement at once, both players rolling as many dice as
+	 * they may until the defender has no army left or the attacker has a single
+	 * one.
+	 *
+	 * @param attacker
+	 *            the attacker
+	 * @param defender
+	 *            the defender
+	 */
+	public static void startBlitz(Country attacker, Country defender) {
+		startBlitz(attacker, defender, RANDOM.get());
+	}
+
+	/**
+	 * Resolve a whole engagement at once with the given random number generator.
+	 * The outcome has the same distribution as calling
+	 * {@link #startBattle(Country, Country, int, int, Random)} in a loop with the
+	 * most dice, but is sampled from a {@link BlitzTable} in constant time.
+	 *
+	 * @param attacker
+	 *            the attacker
+	 * @param defender
+	 *            the defender
+	 * @param random
+	 *            the random number generator
+	 */
+	public static void startBlitz(Country attacker, Country defender, Random random) {
+		if (attacker.getCurrentNumberOfArmies() < 2 || defender.getCurrentNumberOfArmies() < 1) {
+			return;
+		}
+		BlitzTable table = BlitzTable.getTable(attacker.getCurrentNumberOfArmies(),
+				defender.getCurrentNumberOfArmies());
+		int outcome = table.sample(random);
+		attacker.setCurrentNumberOfArmies(table.getAttackerArmies(outcome));
+		defender.setCurrentNumberOfArmies(table.getDefenderArmies(outcome));
+		if (LoggingUtil.isLoggable(LogLevel.DEBUG)) {
+			LoggingUtil.logMessage(LogLevel.DEBUG, "Blitz ends with attacker [" + attacker.getCurrentNumberOfArmies()
+					+ "] vs defender [" + defender.getCurrentNumberOfArmies() + "]");
+		}
+	}
+
+	/**
+	 * Roll the dice of a battle and count the armies lost by the defender. The
+	 * attacker loses the other compared dice, see
+	 * {@link #getComparisonsCount(int, int)}.
+	 *
+	 * @param attackDiceRoll
+	 *            the attacker dice roll, at least 1
+	 * @param defendDiceRoll
+	 *            the defender dice roll
+	 * @param random
+	 *            the random number generator
+	 * @return number of armies lost by the defender
+	 */
+	public static int rollDefenderLosses(int attackDiceRoll, int defendDiceRoll, Random random) {
+		int attackDice = rollBestDice(attackDiceRoll, random);
+		int defendDice = rollBestDice(defendDiceRoll, random);
+		return countDefenderLosses(attackDice, defendDice, getComparisonsCount(attackDiceRoll, defendDiceRoll));
+	}
+
+	/**
+	 * Get the number of dice compared in a battle, which is the number of armies
+	 * lost by both players together. The second best dice are only compared when
+	 * the attacker rolls more than one dice and the defender rolls two.
+	 *
+	 * @param attackDiceRoll
+	 *            the attacker dice roll
+	 * @param defendDiceRoll
+	 *            the defender dice roll
+	 * @return the comparisons count
+	 */
+	public static int getComparisonsCount(int attackDiceRoll, int defendDiceRoll) {
+		if (attackDiceRoll < 1) {
+			return 0;
+		}
+		return attackDiceRoll > 1 && defendDiceRoll == 2 ? 2 : 1;
+	}
+
+	/**
+	 * Roll the dice and keep the two best ones, without sorting.
+	 *
+	 * @param diceRoll
+	 *            number of dice
+	 * @param random
+	 *            the random number generator
+	 * @return best dice in bits 3 to 5 and second best dice in bits 0 to 2, 0 for
+	 *         a missing dice
+	 */
+	private static int rollBestDice(int diceRoll, Random random) {
+		int best = 0;
+		int second = 0;
+		for (int i = 0; i < diceRoll; i++) {
+			int dice = random.nextInt(6) + 1;
+			if (dice > best) {
+				second = best;
+				best = dice;
+			} else if (dice > second) {
+				second = dice;
+			}
+		}
+		return (best << 3) | second;
+	}
+
+	/**
+	 * Compare the best dice of both players, ties going to the defender.
+	 *
+	 * @param attackDice
+	 *            best dice of the attacker
+	 * @param defendDice
+	 *            best dice of the defender
+	 * @param comparisons
+	 *            number of dice to compare
+	 * @return number of armies lost by the defender
+	 */
+	private static int countDefenderLosses(int attackDice, int defendDice, int comparisons) {
+		int losses = (attackDice >>> 3) > (defendDice >>> 3) ? 1 : 0;
+		if (comparisons == 2 && (attackDice & 7) > (defendDice & 7)) {
+			losses++;
+		}
+		return losses;
+	}
+
+	/**
+	 * Log the comparisons of a battle.
+	 *
+	 * @param attackDiceRoll
+	 *            the attacker dice roll
+	 * @param attackDice
+	 *            best dice of the attacker
+	 * @param defendDice
+	 *            best dice of the defender
+	 * @param comparisons
+	 *            number of dice compared
+	 */
+	private static void logBattle(int attackDiceRoll, int attackDice, int defendDice, int comparisons) {
+		LoggingUtil.logMessage(LogLevel.DEBUG, "Caclulating the highest dice roll");
+		LoggingUtil.logMessage(LogLevel.DEBUG, attackDiceRoll + " Attacker Dice Roll Chosen");
+		LoggingUtil.logMessage(LogLevel.DEBUG, "Comparing the best dice roll of attacker [" + (attackDice >>> 3)
+				+ "] vs defender [" + (defendDice >>> 3) + "]");
+		LoggingUtil.logMessage(LogLevel.DEBUG,
+				(attackDice >>> 3) > (defendDice >>> 3) ? "Defender Looses an army" : "Attacker Looses an army");
+		if (comparisons == 2) {
+			LoggingUtil.logMessage(LogLevel.DEBUG, "Defender has 2 Dice Roll, 2nd Highest Dice Roll is Compared");
+			LoggingUtil.logMessage(LogLevel.DEBUG,
+					"Attack Dice Roll [" + (attackDice & 7) + "] vs Defender Dice Roll [" + (defendDice & 7) + "]");
+			LoggingUtil.logMessage(LogLevel.DEBUG,
+					(attackDice & 7) > (defendDice & 7) ? "Defender looses an army" : "Attacker looses an army");
+		}
+	}
+
+	/**
+	 * Capture a country: move it from the countries of its owner to the ones of
+	 * the owner of the attacker, give it to this owner and update the frontier
+	 * index of the graph.
+	 *
+	 * @param defender
+	 *            the captured country
+	 * @param attacker
+	 *            the attacking country
+	 * @param players
+	 *            the players, used if the countries are not bound to a game state
+	 * @param countriesGraph
+	 *            the countries graph
+	 */
+	public static void captureCountry(Country defender, Country attacker, List<Player> players,
+			CountriesGraph countriesGraph) {
+		Player defendingPlayer = findOwner(defender, players);
+		Player attackingPlayer = findOwner(attacker, players);
+		if (defendingPlayer != attackingPlayer) {
+			if (defendingPlayer != null) {
+				defendingPlayer.removeCountry(defender);
 			}
-			// If defender rolled 2 dices
-			if (defendDiceRoll == 2) {
-				LoggingUtil.logMessage("Defender has 2 Dice Roll, 2nd Highest Dice Roll is Compared");
-				LoggingUtil.logMessage(
-						"Attack Dice Roll [" + attackDice[1] + "] vs Defender Dice Roll [" + defendDice[1] + "]");
-				// Comparing 2nd best dice roll
-				if (attackDice[1] > defendDice[1]) {
-					LoggingUtil.logMessage("Defender looses an army");
-					defender.looseArmy();
-				} else {
-					LoggingUtil.logMessage("Attacker looses an army");
-					attacker.looseArmy();
+			if (attackingPlayer != null) {
+				attackingPlayer.addCountry(defender);
+			}
+		}
+		defender.setPlayerName(attacker.getPlayerName());
+		countriesGraph.ownerChanged(defender);
+	}
+
+	/**
+	 * Transfer the ownership of countries to a player at once. The countries are
+	 * grouped by previous owner, so each losing player removes its countries in
+	 * one pass, and the frontier index and the observers of the new owner are
+	 * notified once for all the captured countries.
+	 *
+	 * @param countries
+	 *            the countries, the ones already owned by the new owner are
+	 *            ignored
+	 * @param newOwner
+	 *            the new owner
+	 * @param players
+	 *            the players, used if the countries are not bound to a game state
+	 * @param countriesGraph
+	 *            the countries graph
+	 * @return the captured countries
+	 */
+	public static List<Country> transferOwnership(Collection<Country> countries, Player newOwner,
+			List<Player> players, CountriesGraph countriesGraph) {
+		Map<Player, List<Country>> lostCountries = new LinkedHashMap<>();
+		List<Country> captured = new ArrayList<>(countries.size());
+		for (Country country : countries) {
+			Player owner = findOwner(country, players);
+			if (owner == newOwner) {
+				continue;
+			}
+			if (owner != null) {
+				List<Country> lost = lostCountries.get(owner);
+				if (lost == null) {
+					lost = new ArrayList<>();
+					lostCountries.put(owner, lost);
 				}
+				lost.add(country);
 			}
+			captured.add(country);
+		}
+		if (captured.isEmpty()) {
+			return captured;
 		}
+		for (Map.Entry<Player, List<Country>> entry : lostCountries.entrySet()) {
+			entry.getKey().removeCountries(entry.getValue());
+		}
+		newOwner.addCountries(captured);
+		for (Country country : captured) {
+			country.setPlayerName(newOwner.getPlayerName());
+		}
+		countriesGraph.ownersChanged(captured);
+		newOwner.notifyCountriesCaptured(captured);
+		return captured;
+	}
 
+	/**
+	 * Find the owner of a country, by its player index in the game state the
+	 * country is bound to, or else by its name in the players.
+	 *
+	 * @param country
+	 *            the country
+	 * @param players
+	 *            the players
+	 * @return the owner, null if not found
+	 */
+	public static Player findOwner(Country country, List<Player> players) {
+		GameState gameState = country.getGameState();
+		if (gameState != null && gameState.isBound()) {
+			return gameState.getPlayer(gameState.getOwner(country.getId()));
+		}
+		for (Player player : players) {
+			if (player.getPlayerName().equals(country.getPlayerName())) {
+				return player;
+			}
+		}
+		return null;
 	}
 
 	/**
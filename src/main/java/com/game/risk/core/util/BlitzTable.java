@@ -0,0 +1,340 @@
+package com.game.risk.core.util;
+
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Distribution of the outcomes of a whole engagement between an attacker and a
+ * defender, both rolling as many dice as they may until the defender has no
+ * army left or the attacker has a single one.
+ * <p>
+ * The engagement is an absorbing Markov chain on the armies of both countries.
+ * The attacker rolls <code>min(3, attacker - 1)</code> dice and the defender
+ * <code>min(2, defender)</code>, with the probabilities of each roll computed
+ * from the rules of {@link AttackPhaseUtil}, so sampling a table gives the
+ * same distribution as calling {@link AttackPhaseUtil#startBattle} in a loop.
+ * The absorption probabilities are computed one diagonal of constant total
+ * armies at a time, and sampled in constant time with an alias table.
+ * <p>
+ * Tables are computed on first use and cached. A miss costs O(a * d) time and
+ * O(a + d) memory for <code>a</code> attacker and <code>d</code> defender
+ * armies, about a millisecond for a hundred armies on each side. The cache
+ * keeps two generations of tables: when the recent generation is full it
+ * replaces the old one, and a table found in the old generation is moved back
+ * to the recent one, so the tables still in use survive and only the ones
+ * unused for a whole generation are dropped.
+ */
+public class BlitzTable {
+
+	/** Number of tables of the recent generation of the cache. */
+	private static final int GENERATION_SIZE = 2048;
+
+	/** Tables used since the last rotation, by attacker and defender armies. */
+	private static volatile ConcurrentHashMap<Long, BlitzTable> recentTables = new ConcurrentHashMap<>();
+
+	/** Tables of the previous generation, dropped at the next rotation. */
+	private static volatile ConcurrentHashMap<Long, BlitzTable> oldTables = new ConcurrentHashMap<>();
+
+	/**
+	 * Probability that the defender loses the single compared dice, by attacker
+	 * and defender dice roll.
+	 */
+	private static final double[][] ONE_LOSS = new double[4][3];
+
+	/**
+	 * Probability that the defender loses 0, 1 or 2 armies when 3 or 2 attacker
+	 * dice are compared to 2 defender dice, by attacker dice roll.
+	 */
+	private static final double[][] TWO_LOSSES = new double[4][3];
+
+	static {
+		for (int attackDiceRoll = 1; attackDiceRoll <= 3; attackDiceRoll++) {
+			for (int defendDiceRoll = 1; defendDiceRoll <= 2; defendDiceRoll++) {
+				double[] losses = enumerateLosses(attackDiceRoll, defendDiceRoll);
+				if (AttackPhaseUtil.getComparisonsCount(attackDiceRoll, defendDiceRoll) == 1) {
+					ONE_LOSS[attackDiceRoll][defendDiceRoll] = losses[1];
+				} else {
+					TWO_LOSSES[attackDiceRoll] = losses;
+				}
+			}
+		}
+	}
+
+	/** Attacker armies at the start of the engagement. */
+	private final int attackerArmies;
+
+	/** Probability of each outcome kept in its own slot of the alias table. */
+	private final double[] thresholds;
+
+	/** Alternative outcome of each slot of the alias table. */
+	private final int[] aliases;
+
+	/** Probability of each outcome. */
+	private final double[] probabilities;
+
+	/**
+	 * Compute the outcomes table of an engagement.
+	 *
+	 * @param attackerArmies
+	 *            attacker armies, at least 2
+	 * @param defenderArmies
+	 *            defender armies, at least 1
+	 */
+	private BlitzTable(int attackerArmies, int defenderArmies) {
+		this.attackerArmies = attackerArmies;
+		probabilities = computeProbabilities(attackerArmies, defenderArmies);
+		thresholds = new double[probabilities.length];
+		aliases = new int[probabilities.length];
+		buildAliasTable();
+	}
+
+	/**
+	 * Get the outcomes table of an engagement.
+	 *
+	 * @param attackerArmies
+	 *            attacker armies, at least 2
+	 * @param defenderArmies
+	 *            defender armies, at least 1
+	 * @return the table
+	 */
+	public static BlitzTable getTable(int attackerArmies, int defenderArmies) {
+		if (attackerArmies < 2 || defenderArmies < 1) {
+			throw new IllegalArgumentException(
+					"No engagement between " + attackerArmies + " attacker and " + defenderArmies + " defender armies");
+		}
+		Long key = ((long) attackerArmies << 32) | defenderArmies;
+		ConcurrentHashMap<Long, BlitzTable> recent = recentTables;
+		BlitzTable table = recent.get(key);
+		if (table == null) {
+			table = oldTables.get(key);
+			if (table == null) {
+				table = new BlitzTable(attackerArmies, defenderArmies);
+			}
+			if (recent.size() >= GENERATION_SIZE) {
+				recent = rotate(recent);
+			}
+			recent.put(key, table);
+		}
+		return table;
+	}
+
+	/**
+	 * Make a full recent generation of the cache the old one, dropping the
+	 * previous old generation, unless another thread already has.
+	 *
+	 * @param recent
+	 *            the full recent generation
+	 * @return the current recent generation
+	 */
+	private static synchronized ConcurrentHashMap<Long, BlitzTable> rotate(
+			ConcurrentHashMap<Long, BlitzTable> recent) {
+		if (recentTables == recent) {
+			oldTables = recent;
+			recentTables = new ConcurrentHashMap<>();
+		}
+		return recentTables;
+	}
+
+	/**
+	 * Get the number of possible outcomes. Outcome <code>i</code> below
+	 * <code>attackerArmies - 1</code> is the attacker winning with
+	 * <code>i + 2</code> armies left, and the following ones are the attacker
+	 * losing with <code>i - attackerArmies + 2</code> defender armies left.
+	 *
+	 * @return the outcomes count
+	 */
+	public int getOutcomesCount() {
+		return probabilities.length;
+	}
+
+	/**
+	 * Get the probability of an outcome.
+	 *
+	 * @param outcome
+	 *            the outcome
+	 * @return the probability
+	 */
+	public double getProbability(int outcome) {
+		return probabilities[outcome];
+	}
+
+	/**
+	 * Get the probability that the attacker captures the defender.
+	 *
+	 * @return the probability
+	 */
+	public double getWinProbability() {
+		double probability = 0;
+		for (int outcome = 0; outcome < attackerArmies - 1; outcome++) {
+			probability += probabilities[outcome];
+		}
+		return probability;
+	}
+
+	/**
+	 * Sample an outcome.
+	 *
+	 * @param random
+	 *            the random number generator
+	 * @return the outcome
+	 */
+	public int sample(Random random) {
+		int slot = random.nextInt(thresholds.length);
+		return random.nextDouble() < thresholds[slot] ? slot : aliases[slot];
+	}
+
+	/**
+	 * Get the attacker armies left after an outcome.
+	 *
+	 * @param outcome
+	 *            the outcome
+	 * @return the attacker armies
+	 */
+	public int getAttackerArmies(int outcome) {
+		return outcome < attackerArmies - 1 ? outcome + 2 : 1;
+	}
+
+	/**
+	 * Get the defender armies left after an outcome.
+	 *
+	 * @param outcome
+	 *            the outcome
+	 * @return the defender armies
+	 */
+	public int getDefenderArmies(int outcome) {
+		return outcome < attackerArmies - 1 ? 0 : outcome - attackerArmies + 2;
+	}
+
+	/**
+	 * Compute the absorption probabilities of the engagement, walking the
+	 * diagonals of constant total armies from the start state down. A roll
+	 * removes one or two armies, so only three diagonals are kept.
+	 *
+	 * @param attackerArmies
+	 *            attacker armies
+	 * @param defenderArmies
+	 *            defender armies
+	 * @return probability of each outcome
+	 */
+	private static double[] computeProbabilities(int attackerArmies, int defenderArmies) {
+		double[] outcomes = new double[attackerArmies - 1 + defenderArmies];
+		double[][] diagonals = new double[3][attackerArmies + 1];
+		int total = attackerArmies + defenderArmies;
+		diagonals[total % 3][attackerArmies] = 1;
+		for (; total >= 1; total--) {
+			double[] diagonal = diagonals[total % 3];
+			double[] next = diagonals[(total - 1) % 3];
+			double[] afterNext = diagonals[(total + 1) % 3];
+			for (int attacker = Math.max(1, total - defenderArmies); attacker <= Math.min(attackerArmies,
+					total); attacker++) {
+				double probability = diagonal[attacker];
+				if (probability == 0) {
+					continue;
+				}
+				diagonal[attacker] = 0;
+				int defender = total - attacker;
+				if (defender == 0) {
+					outcomes[attacker - 2] += probability;
+				} else if (attacker == 1) {
+					outcomes[attackerArmies - 2 + defender] += probability;
+				} else {
+					int attackDiceRoll = Math.min(3, attacker - 1);
+					int defendDiceRoll = Math.min(2, defender);
+					if (AttackPhaseUtil.getComparisonsCount(attackDiceRoll, defendDiceRoll) == 1) {
+						double defenderLoss = ONE_LOSS[attackDiceRoll][defendDiceRoll];
+						next[attacker] += probability * defenderLoss;
+						next[attacker - 1] += probability * (1 - defenderLoss);
+					} else {
+						double[] losses = TWO_LOSSES[attackDiceRoll];
+						afterNext[attacker] += probability * losses[2];
+						afterNext[attacker - 1] += probability * losses[1];
+						afterNext[attacker - 2] += probability * losses[0];
+					}
+				}
+			}
+		}
+		return outcomes;
+	}
+
+	/**
+	 * Build the alias table of the outcomes with Vose's method.
+	 */
+	private void buildAliasTable() {
+		int count = probabilities.length;
+		double[] scaled = new double[count];
+		int[] small = new int[count];
+		int[] large = new int[count];
+		int smallCount = 0;
+		int largeCount = 0;
+		for (int outcome = 0; outcome < count; outcome++) {
+			scaled[outcome] = probabilities[outcome] * count;
+			if (scaled[outcome] < 1) {
+				small[smallCount++] = outcome;
+			} else {
+				large[largeCount++] = outcome;
+			}
+		}
+		while (smallCount > 0 && largeCount > 0) {
+			int less = small[--smallCount];
+			int more = large[--largeCount];
+			thresholds[less] = scaled[less];
+			aliases[less] = more;
+			scaled[more] = scaled[more] + scaled[less] - 1;
+			if (scaled[more] < 1) {
+				small[smallCount++] = more;
+			} else {
+				large[largeCount++] = more;
+			}
+		}
+		// Remaining slots are full up to rounding errors
+		while (largeCount > 0) {
+			thresholds[large[--largeCount]] = 1;
+		}
+		while (smallCount > 0) {
+			thresholds[small[--smallCount]] = 1;
+		}
+	}
+
+	/**
+	 * Enumerate every roll of the dice and compute the distribution of the
+	 * defender losses.
+	 *
+	 * @param attackDiceRoll
+	 *            the attacker dice roll
+	 * @param defendDiceRoll
+	 *            the defender dice roll
+	 * @return probability of the defender losing 0, 1 or 2 armies
+	 */
+	private static double[] enumerateLosses(int attackDiceRoll, int defendDiceRoll) {
+		int diceCount = attackDiceRoll + defendDiceRoll;
+		int rolls = 1;
+		for (int i = 0; i < diceCount; i++) {
+			rolls *= 6;
+		}
+		final int[] dice = new int[diceCount];
+		Random enumeration = new Random() {
+			private static final long serialVersionUID = 1L;
+
+			/** Index of the next dice. */
+			private int index;
+
+			@Override
+			public int nextInt(int bound) {
+				return dice[index++ % dice.length];
+			}
+		};
+		double[] losses = new double[3];
+		for (int roll = 0; roll < rolls; roll++) {
+			int value = roll;
+			for (int i = 0; i < diceCount; i++) {
+				dice[i] = value % 6;
+				value /= 6;
+			}
+			losses[AttackPhaseUtil.rollDefenderLosses(attackDiceRoll, defendDiceRoll, enumeration)]++;
+		}
+		for (int i = 0; i < losses.length; i++) {
+			losses[i] /= rolls;
+		}
+		return losses;
+	}
+}
@@ -0,0 +1,178 @@
+package com.game.risk.core.util;
+
+import com.game.risk.core.MapTopology;
+import com.game.risk.model.Country;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Connectivity of the whole map and of each continent, computed with
+ * union-find in a single pass over the edges of the topology.
+ * <p>
+ * Adjacency may be defined one way only, so edges are considered undirected:
+ * two countries are connected if there is a path between them whatever the
+ * direction of the edges. The countries of a continent that are not in its
+ * largest connected component are reported as disconnected.
+ */
+public class ConnectivityAnalysis {
+
+	/** Number of connected components of the whole map. */
+	private int componentsCount;
+
+	/** Disconnected countries of each continent, by continent name. */
+	private Map<String, List<Country>> disconnectedCountries;
+
+	/**
+	 * Analyze the connectivity of a topology.
+	 *
+	 * @param topology
+	 *            the topology
+	 */
+	public ConnectivityAnalysis(MapTopology topology) {
+		int size = topology.size();
+		int[] parent = new int[size];
+		int[] componentSize = new int[size];
+		int[] continentParent = new int[size];
+		int[] continentSize = new int[size];
+		for (int id = 0; id < size; id++) {
+			parent[id] = id;
+			componentSize[id] = 1;
+			continentParent[id] = id;
+			continentSize[id] = 1;
+		}
+
+		int[] offsets = topology.getOffsets();
+		int[] neighbours = topology.getNeighbours();
+		for (int id = 0; id < size; id++) {
+			int continent = topology.getContinent(id);
+			for (int i = offsets[id]; i < offsets[id + 1]; i++) {
+				int adjacent = neighbours[i];
+				union(parent, componentSize, id, adjacent);
+				if (continent >= 0 && topology.getContinent(adjacent) == continent) {
+					union(continentParent, continentSize, id, adjacent);
+				}
+			}
+		}
+
+		// Largest component of each continent
+		int[] largestRoot = new int[topology.getContinentsCount()];
+		Arrays.fill(largestRoot, -1);
+		for (int id = 0; id < size; id++) {
+			if (topology.getCountry(id) == null) {
+				continue;
+			}
+			if (find(parent, id) == id) {
+				componentsCount++;
+			}
+			int continent = topology.getContinent(id);
+			if (continent >= 0) {
+				int root = find(continentParent, id);
+				int largest = largestRoot[continent];
+				if (largest < 0 || continentSize[root] > continentSize[largest]) {
+					largestRoot[continent] = root;
+				}
+			}
+		}
+
+		disconnectedCountries = new LinkedHashMap<>();
+		for (int id = 0; id < size; id++) {
+			int continent = topology.getContinent(id);
+			if (topology.getCountry(id) != null && continent >= 0
+					&& find(continentParent, id) != largestRoot[continent]) {
+				String continentName = topology.getContinentName(continent);
+				List<Country> countries = disconnectedCountries.get(continentName);
+				if (countries == null) {
+					countries = new ArrayList<>();
+					disconnectedCountries.put(continentName, countries);
+				}
+				countries.add(topology.getCountry(id));
+			}
+		}
+	}
+
+	/**
+	 * Check whether the whole map is connected.
+	 *
+	 * @return true if connected
+	 */
+	public boolean isConnected() {
+		return componentsCount == 1;
+	}
+
+	/**
+	 * Get the number of connected components of the whole map.
+	 *
+	 * @return the components count
+	 */
+	public int getComponentsCount() {
+		return componentsCount;
+	}
+
+	/**
+	 * Check whether every continent is a connected subgraph.
+	 *
+	 * @return true if connected
+	 */
+	public boolean isContinentsConnected() {
+		return disconnectedCountries.isEmpty();
+	}
+
+	/**
+	 * Get the countries of each continent which are not connected to the largest
+	 * component of their continent. Connected continents are not present.
+	 *
+	 * @return disconnected countries by continent name
+	 */
+	public Map<String, List<Country>> getDisconnectedCountries() {
+		return Collections.unmodifiableMap(disconnectedCountries);
+	}
+
+	/**
+	 * Find the root of a country, halving the path on the way.
+	 *
+	 * @param parent
+	 *            parent of each country
+	 * @param id
+	 *            id of the country
+	 * @return the root
+	 */
+	private static int find(int[] parent, int id) {
+		while (parent[id] != id) {
+			parent[id] = parent[parent[id]];
+			id = parent[id];
+		}
+		return id;
+	}
+
+	/**
+	 * Merge the components of two countries.
+	 *
+	 * @param parent
+	 *            parent of each country
+	 * @param size
+	 *            size of each component
+	 * @param first
+	 *            id of the first country
+	 * @param second
+	 *            id of the second country
+	 */
+	private static void union(int[] parent, int[] size, int first, int second) {
+		int firstRoot = find(parent, first);
+		int secondRoot = find(parent, second);
+		if (firstRoot == secondRoot) {
+			return;
+		}
+		if (size[firstRoot] >= size[secondRoot]) {
+			parent[secondRoot] = firstRoot;
+			size[firstRoot] += size[secondRoot];
+		} else {
+			parent[firstRoot] = secondRoot;
+			size[secondRoot] += size[firstRoot];
+		}
+	}
+}
@@ -0,0 +1,776 @@
+package com.game.risk.core.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Fully dynamic connectivity of an undirected graph, with the algorithm of
+ * Holm, de Lichtenberg and Thorup.
+ * <p>
+ * Every edge has a level, 0 when inserted. The forest <code>F_i</code> is the
+ * spanning forest of the edges of level <code>i</code> and above, and each of
+ * its trees is stored as an Euler tour in a treap, so linking, cutting and
+ * finding the tree of a vertex are logarithmic. When a tree edge is deleted, a
+ * replacement is searched from the smaller of the two trees, level by level,
+ * and the edges scanned without success are promoted one level up. An edge is
+ * promoted at most <code>log n</code> times, which bounds the amortized cost of
+ * an update to <code>O(log^2 n)</code>, while a query is <code>O(log n)</code>.
+ * <p>
+ * Vertices are ints, from 0, and the graph grows as vertices are used. An edge
+ * must not be inserted twice.
+ */
+public class DynamicConnectivity {
+
+	/** Maximum number of levels, more than the logarithm of any vertices count. */
+	private static final int MAX_LEVELS = 32;
+
+	/** Number of non-tree edges checked before promoting the edges of a tree. */
+	private static final int SAMPLE_SIZE = 16;
+
+	/**
+	 * Node of an Euler tour: either the single occurrence of a vertex or the
+	 * traversal of a tree edge in one direction.
+	 */
+	private static final class Node {
+
+		/** Left child in the treap. */
+		private Node left;
+
+		/** Right child in the treap. */
+		private Node right;
+
+		/** Parent in the treap. */
+		private Node parent;
+
+		/** Priority in the treap. */
+		private final int priority;
+
+		/** Vertex of a vertex node, -1 for an edge node. */
+		private final int vertex;
+
+		/** Edge of an edge node, null for a vertex node. */
+		private final Edge edge;
+
+		/** Number of nodes of the subtree. */
+		private int count = 1;
+
+		/** Number of vertex nodes of the subtree. */
+		private int size;
+
+		/** Edge node of a tree edge whose level is the level of the forest. */
+		private boolean treeEdge;
+
+		/** Vertex node of a vertex having non-tree edges at the level of the forest. */
+		private boolean nonTreeEdges;
+
+		/** Whether the subtree has a node with {@link #treeEdge}. */
+		private boolean subtreeTreeEdge;
+
+		/** Whether the subtree has a node with {@link #nonTreeEdges}. */
+		private boolean subtreeNonTreeEdges;
+
+		/**
+		 * Instantiates a new node.
+		 *
+		 * @param priority
+		 *            priority in the treap
+		 * @param vertex
+		 *            vertex of a vertex node, -1 for an edge node
+		 * @param edge
+		 *            edge of an edge node, null for a vertex node
+		 */
+		private Node(int priority, int vertex, Edge edge) {
+			this.priority = priority;
+			this.vertex = vertex;
+			this.edge = edge;
+			size = vertex >= 0 ? 1 : 0;
+		}
+	}
+
+	/**
+	 * Edge of the graph.
+	 */
+	private static final class Edge {
+
+		/** First vertex. */
+		private final int u;
+
+		/** Second vertex. */
+		private final int v;
+
+		/** Level of the edge. */
+		private int level;
+
+		/** Whether the edge is in the spanning forests. */
+		private boolean tree;
+
+		/** Nodes of the traversal from u to v, by level, for a tree edge. */
+		private Node[] forward = new Node[0];
+
+		/** Nodes of the traversal from v to u, by level, for a tree edge. */
+		private Node[] backward = new Node[0];
+
+		/**
+		 * Instantiates a new edge.
+		 *
+		 * @param u
+		 *            first vertex
+		 * @param v
+		 *            second vertex
+		 */
+		private Edge(int u, int v) {
+			this.u = u;
+			this.v = v;
+		}
+
+		/**
+		 * Get the other vertex of the edge.
+		 *
+		 * @param vertex
+		 *            one vertex of the edge
+		 * @return the other vertex
+		 */
+		private int other(int vertex) {
+			return vertex == u ? v : u;
+		}
+	}
+
+	/** Edges by key of their vertices. */
+	private final Map<Long, Edge> edges = new HashMap<>();
+
+	/** Vertex nodes by level and vertex, created when first needed. */
+	private final Node[][] vertexNodes = new Node[MAX_LEVELS][];
+
+	/** Non-tree edges by level and vertex, created when first needed. */
+	private final List<List<Set<Edge>>> nonTreeEdges = new ArrayList<>();
+
+	/** Random number generator of the priorities of the treaps. */
+	private final FastRandom random = new FastRandom(0x5EEDL);
+
+	/** Number of edges in the spanning forest. */
+	private int treeEdgesCount;
+
+	/**
+	 * Instantiates a new, empty, graph.
+	 */
+	public DynamicConnectivity() {
+		for (int level = 0; level < MAX_LEVELS; level++) {
+			vertexNodes[level] = new Node[0];
+			nonTreeEdges.add(new ArrayList<Set<Edge>>());
+		}
+	}
+
+	/**
+	 * Check whether two vertices are connected.
+	 *
+	 * @param u
+	 *            first vertex
+	 * @param v
+	 *            second vertex
+	 * @return true if connected
+	 */
+	public boolean isConnected(int u, int v) {
+		return u == v || findRoot(getVertexNode(0, u)) == findRoot(getVertexNode(0, v));
+	}
+
+	/**
+	 * Check whether an edge is in the graph.
+	 *
+	 * @param u
+	 *            first vertex
+	 * @param v
+	 *            second vertex
+	 * @return true if present
+	 */
+	public boolean hasEdge(int u, int v) {
+		return edges.containsKey(getKey(u, v));
+	}
+
+	/**
+	 * Get the number of edges of the spanning forest. The number of connected
+	 * components of a set of vertices is the number of vertices minus this
+	 * count.
+	 *
+	 * @return the tree edges count
+	 */
+	public int getTreeEdgesCount() {
+		return treeEdgesCount;
+	}
+
+	/**
+	 * Get the number of vertices of the connected component of a vertex.
+	 *
+	 * @param vertex
+	 *            the vertex
+	 * @return the component size
+	 */
+	public int getComponentSize(int vertex) {
+		return findRoot(getVertexNode(0, vertex)).size;
+	}
+
+	/**
+	 * Insert an edge.
+	 *
+	 * @param u
+	 *            first vertex
+	 * @param v
+	 *            second vertex
+	 * @return true if the edge joins two connected components
+	 */
+	public boolean addEdge(int u, int v) {
+		if (u == v) {
+			throw new IllegalArgumentException("Self loop on vertex " + u);
+		}
+		long key = getKey(u, v);
+		if (edges.containsKey(key)) {
+			throw new IllegalArgumentException("Edge " + u + " - " + v + " is already present");
+		}
+		Edge edge = new Edge(u, v);
+		edges.put(key, edge);
+		if (isConnected(u, v)) {
+			addNonTreeEdge(edge);
+			return false;
+		}
+		edge.tree = true;
+		link(edge, 0);
+		setTreeEdgeFlag(edge, true);
+		treeEdgesCount++;
+		return true;
+	}
+
+	/**
+	 * Delete an edge.
+	 *
+	 * @param u
+	 *            first vertex
+	 * @param v
+	 *            second vertex
+	 * @return true if the deletion splits a connected component in two
+	 */
+	public boolean removeEdge(int u, int v) {
+		Edge edge = edges.remove(getKey(u, v));
+		if (edge == null) {
+			throw new IllegalArgumentException("Edge " + u + " - " + v + " is not present");
+		}
+		if (!edge.tree) {
+			removeNonTreeEdge(edge);
+			return false;
+		}
+		setTreeEdgeFlag(edge, false);
+		for (int level = 0; level <= edge.level; level++) {
+			cut(edge, level);
+		}
+		treeEdgesCount--;
+		for (int level = edge.level; level >= 0; level--) {
+			if (replace(edge.u, edge.v, level)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Search a replacement edge at a level for a deleted tree edge, after
+	 * promoting the tree edges of the smaller tree.
+	 *
+	 * @param u
+	 *            first vertex of the deleted edge
+	 * @param v
+	 *            second vertex of the deleted edge
+	 * @param level
+	 *            the level
+	 * @return true if a replacement edge has been found
+	 */
+	private boolean replace(int u, int v, int level) {
+		Node rootU = findRoot(getVertexNode(level, u));
+		Node rootV = findRoot(getVertexNode(level, v));
+		Node smaller = rootU.size <= rootV.size ? rootU : rootV;
+		Edge sampled = sampleReplacement(level, smaller, smaller == rootU ? u : v);
+		if (sampled != null) {
+			removeNonTreeEdge(sampled);
+			useReplacement(sampled, level);
+			return true;
+		}
+		// Promote the tree edges of the smaller tree, which stays small enough
+		List<Node> flagged = new ArrayList<>();
+		collectTreeEdges(smaller, flagged);
+		for (Node node : flagged) {
+			Edge treeEdge = node.edge;
+			setTreeEdgeFlag(treeEdge, false);
+			treeEdge.level = level + 1;
+			link(treeEdge, level + 1);
+			setTreeEdgeFlag(treeEdge, true);
+		}
+		flagged.clear();
+		collectNonTreeEdges(smaller, flagged, Integer.MAX_VALUE);
+		for (Node node : flagged) {
+			Set<Edge> vertexEdges = getNonTreeEdges(level, node.vertex);
+			while (!vertexEdges.isEmpty()) {
+				Edge candidate = vertexEdges.iterator().next();
+				removeNonTreeEdge(candidate);
+				if (findRoot(getVertexNode(level, candidate.other(node.vertex))) != smaller) {
+					useReplacement(candidate, level);
+					return true;
+				}
+				candidate.level = level + 1;
+				addNonTreeEdge(candidate);
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Look for a replacement edge among a few non-tree edges of a tree, starting
+	 * with the edges of the vertex of the deleted edge, without promoting any
+	 * edge. The deleted edge often has a replacement close to it, which is then
+	 * found without scanning the whole tree.
+	 *
+	 * @param level
+	 *            the level
+	 * @param tree
+	 *            root of the tree
+	 * @param vertex
+	 *            vertex of the deleted edge in the tree
+	 * @return the replacement edge, null if none found
+	 */
+	private Edge sampleReplacement(int level, Node tree, int vertex) {
+		List<Node> sampled = new ArrayList<>();
+		sampled.add(getVertexNode(level, vertex));
+		collectNonTreeEdges(tree, sampled, SAMPLE_SIZE);
+		int budget = SAMPLE_SIZE;
+		for (Node node : sampled) {
+			for (Edge candidate : getNonTreeEdges(level, node.vertex)) {
+				if (budget-- == 0) {
+					return null;
+				}
+				if (findRoot(getVertexNode(level, candidate.other(node.vertex))) != tree) {
+					return candidate;
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Make a non-tree edge the replacement of a deleted tree edge, joining the
+	 * two trees at its level and below.
+	 *
+	 * @param edge
+	 *            the edge, removed from the non-tree edges
+	 * @param level
+	 *            level of the edge
+	 */
+	private void useReplacement(Edge edge, int level) {
+		edge.tree = true;
+		for (int i = 0; i <= level; i++) {
+			link(edge, i);
+		}
+		setTreeEdgeFlag(edge, true);
+		treeEdgesCount++;
+	}
+
+	/**
+	 * Add a non-tree edge to the sets of its vertices at its level.
+	 *
+	 * @param edge
+	 *            the edge
+	 */
+	private void addNonTreeEdge(Edge edge) {
+		for (int vertex : new int[] { edge.u, edge.v }) {
+			Set<Edge> vertexEdges = getNonTreeEdges(edge.level, vertex);
+			vertexEdges.add(edge);
+			if (vertexEdges.size() == 1) {
+				setNonTreeEdgesFlag(getVertexNode(edge.level, vertex), true);
+			}
+		}
+	}
+
+	/**
+	 * Remove a non-tree edge from the sets of its vertices at its level.
+	 *
+	 * @param edge
+	 *            the edge
+	 */
+	private void removeNonTreeEdge(Edge edge) {
+		for (int vertex : new int[] { edge.u, edge.v }) {
+			Set<Edge> vertexEdges = getNonTreeEdges(edge.level, vertex);
+			vertexEdges.remove(edge);
+			if (vertexEdges.isEmpty()) {
+				setNonTreeEdgesFlag(getVertexNode(edge.level, vertex), false);
+			}
+		}
+	}
+
+	/**
+	 * Get the non-tree edges of a vertex at a level.
+	 *
+	 * @param level
+	 *            the level
+	 * @param vertex
+	 *            the vertex
+	 * @return the edges
+	 */
+	private Set<Edge> getNonTreeEdges(int level, int vertex) {
+		List<Set<Edge>> levelEdges = nonTreeEdges.get(level);
+		while (levelEdges.size() <= vertex) {
+			levelEdges.add(null);
+		}
+		Set<Edge> vertexEdges = levelEdges.get(vertex);
+		if (vertexEdges == null) {
+			vertexEdges = new LinkedHashSet<>();
+			levelEdges.set(vertex, vertexEdges);
+		}
+		return vertexEdges;
+	}
+
+	/**
+	 * Get the node of a vertex at a level, creating it as a single vertex tree
+	 * if needed.
+	 *
+	 * @param level
+	 *            the level
+	 * @param vertex
+	 *            the vertex
+	 * @return the node
+	 */
+	private Node getVertexNode(int level, int vertex) {
+		if (vertex < 0) {
+			throw new IllegalArgumentException("Negative vertex " + vertex);
+		}
+		Node[] nodes = vertexNodes[level];
+		if (vertex >= nodes.length) {
+			nodes = Arrays.copyOf(nodes, Math.max(vertex + 1, nodes.length * 2));
+			vertexNodes[level] = nodes;
+		}
+		if (nodes[vertex] == null) {
+			nodes[vertex] = new Node(random.nextInt(), vertex, null);
+		}
+		return nodes[vertex];
+	}
+
+	/**
+	 * Link the trees of the vertices of an edge in the forest of a level.
+	 *
+	 * @param edge
+	 *            the edge
+	 * @param level
+	 *            the level
+	 */
+	private void link(Edge edge, int level) {
+		if (edge.forward.length <= level) {
+			edge.forward = Arrays.copyOf(edge.forward, level + 1);
+			edge.backward = Arrays.copyOf(edge.backward, level + 1);
+		}
+		edge.forward[level] = new Node(random.nextInt(), -1, edge);
+		edge.backward[level] = new Node(random.nextInt(), -1, edge);
+		Node tourU = reroot(getVertexNode(level, edge.u));
+		Node tourV = reroot(getVertexNode(level, edge.v));
+		Node tour = merge(merge(tourU, edge.forward[level]), merge(tourV, edge.backward[level]));
+		tour.parent = null;
+	}
+
+	/**
+	 * Cut an edge from the forest of a level.
+	 *
+	 * @param edge
+	 *            the edge
+	 * @param level
+	 *            the level
+	 */
+	private void cut(Edge edge, int level) {
+		Node first = edge.forward[level];
+		Node second = edge.backward[level];
+		if (getPosition(first) > getPosition(second)) {
+			Node swap = first;
+			first = second;
+			second = swap;
+		}
+		Node[] parts = new Node[2];
+		int firstPosition = getPosition(first);
+		split(findRoot(first), firstPosition, parts);
+		Node before = parts[0];
+		split(parts[1], 1, parts);
+		int secondPosition = getPosition(second);
+		split(parts[1], secondPosition, parts);
+		Node inside = parts[0];
+		split(parts[1], 1, parts);
+		Node after = parts[1];
+		if (inside != null) {
+			inside.parent = null;
+		}
+		Node outside = merge(before, after);
+		if (outside != null) {
+			outside.parent = null;
+		}
+		edge.forward[level] = null;
+		edge.backward[level] = null;
+	}
+
+	/**
+	 * Rotate the Euler tour containing a vertex so that it starts at the vertex.
+	 *
+	 * @param vertexNode
+	 *            node of the vertex
+	 * @return root of the rotated tour
+	 */
+	private Node reroot(Node vertexNode) {
+		int position = getPosition(vertexNode);
+		Node[] parts = new Node[2];
+		split(findRoot(vertexNode), position, parts);
+		Node tour = merge(parts[1], parts[0]);
+		tour.parent = null;
+		return tour;
+	}
+
+	/**
+	 * Set the flag of the tree edge at its own level, on its forward node.
+	 *
+	 * @param edge
+	 *            the edge
+	 * @param value
+	 *            the flag
+	 */
+	private static void setTreeEdgeFlag(Edge edge, boolean value) {
+		Node node = edge.forward[edge.level];
+		node.treeEdge = value;
+		updateToRoot(node);
+	}
+
+	/**
+	 * Set the flag of a vertex node having non-tree edges.
+	 *
+	 * @param node
+	 *            the vertex node
+	 * @param value
+	 *            the flag
+	 */
+	private static void setNonTreeEdgesFlag(Node node, boolean value) {
+		node.nonTreeEdges = value;
+		updateToRoot(node);
+	}
+
+	/**
+	 * Collect the nodes flagged as tree edges of a tree.
+	 *
+	 * @param node
+	 *            root of the subtree
+	 * @param result
+	 *            list receiving the nodes
+	 */
+	private static void collectTreeEdges(Node node, List<Node> result) {
+		if (node == null || !node.subtreeTreeEdge) {
+			return;
+		}
+		collectTreeEdges(node.left, result);
+		if (node.treeEdge) {
+			result.add(node);
+		}
+		collectTreeEdges(node.right, result);
+	}
+
+	/**
+	 * Collect the vertex nodes flagged as having non-tree edges of a tree.
+	 *
+	 * @param node
+	 *            root of the subtree
+	 * @param result
+	 *            list receiving the nodes
+	 * @param limit
+	 *            maximum size of the list
+	 */
+	private static void collectNonTreeEdges(Node node, List<Node> result, int limit) {
+		if (node == null || !node.subtreeNonTreeEdges || result.size() >= limit) {
+			return;
+		}
+		collectNonTreeEdges(node.left, result, limit);
+		if (node.nonTreeEdges && result.size() < limit) {
+			result.add(node);
+		}
+		collectNonTreeEdges(node.right, result, limit);
+	}
+
+	/**
+	 * Find the root of the treap of a node.
+	 *
+	 * @param node
+	 *            the node
+	 * @return the root
+	 */
+	private static Node findRoot(Node node) {
+		while (node.parent != null) {
+			node = node.parent;
+		}
+		return node;
+	}
+
+	/**
+	 * Get the position of a node in its Euler tour.
+	 *
+	 * @param node
+	 *            the node
+	 * @return number of nodes before it
+	 */
+	private static int getPosition(Node node) {
+		int position = count(node.left);
+		while (node.parent != null) {
+			if (node.parent.right == node) {
+				position += count(node.parent.left) + 1;
+			}
+			node = node.parent;
+		}
+		return position;
+	}
+
+	/**
+	 * Split a treap after its first nodes.
+	 *
+	 * @param root
+	 *            root of the treap
+	 * @param position
+	 *            number of nodes of the first part
+	 * @param parts
+	 *            array receiving the roots of both parts
+	 */
+	private static void split(Node root, int position, Node[] parts) {
+		splitRecursive(root, position, parts);
+		if (parts[0] != null) {
+			parts[0].parent = null;
+		}
+		if (parts[1] != null) {
+			parts[1].parent = null;
+		}
+	}
+
+	/**
+	 * Split a subtree after its first nodes.
+	 *
+	 * @param node
+	 *            root of the subtree
+	 * @param position
+	 *            number of nodes of the first part
+	 * @param parts
+	 *            array receiving the roots of both parts
+	 */
+	private static void splitRecursive(Node node, int position, Node[] parts) {
+		if (node == null) {
+			parts[0] = null;
+			parts[1] = null;
+			return;
+		}
+		if (position <= count(node.left)) {
+			splitRecursive(node.left, position, parts);
+			node.left = parts[1];
+			if (node.left != null) {
+				node.left.parent = node;
+			}
+			update(node);
+			parts[1] = node;
+		} else {
+			splitRecursive(node.right, position - count(node.left) - 1, parts);
+			node.right = parts[0];
+			if (node.right != null) {
+				node.right.parent = node;
+			}
+			update(node);
+			parts[0] = node;
+		}
+	}
+
+	/**
+	 * Concatenate two treaps.
+	 *
+	 * @param first
+	 *            root of the first treap
+	 * @param second
+	 *            root of the second treap
+	 * @return root of the concatenation
+	 */
+	private static Node merge(Node first, Node second) {
+		if (first == null) {
+			return second;
+		}
+		if (second == null) {
+			return first;
+		}
+		if (first.priority > second.priority) {
+			first.right = merge(first.right, second);
+			first.right.parent = first;
+			update(first);
+			return first;
+		}
+		second.left = merge(first, second.left);
+		second.left.parent = second;
+		update(second);
+		return second;
+	}
+
+	/**
+	 * Update the aggregates of a node and of its ancestors.
+	 *
+	 * @param node
+	 *            the node
+	 */
+	private static void updateToRoot(Node node) {
+		while (node != null) {
+			update(node);
+			node = node.parent;
+		}
+	}
+
+	/**
+	 * Update the aggregates of a node from its children.
+	 *
+	 * @param node
+	 *            the node
+	 */
+	private static void update(Node node) {
+		node.count = 1 + count(node.left) + count(node.right);
+		node.size = (node.vertex >= 0 ? 1 : 0) + size(node.left) + size(node.right);
+		node.subtreeTreeEdge = node.treeEdge || (node.left != null && node.left.subtreeTreeEdge)
+				|| (node.right != null && node.right.subtreeTreeEdge);
+		node.subtreeNonTreeEdges = node.nonTreeEdges || (node.left != null && node.left.subtreeNonTreeEdges)
+				|| (node.right != null && node.right.subtreeNonTreeEdges);
+	}
+
+	/**
+	 * Get the number of nodes of a subtree.
+	 *
+	 * @param node
+	 *            root of the subtree, may be null
+	 * @return the count
+	 */
+	private static int count(Node node) {
+		return node == null ? 0 : node.count;
+	}
+
+	/**
+	 * Get the number of vertex nodes of a subtree.
+	 *
+	 * @param node
+	 *            root of the subtree, may be null
+	 * @return the size
+	 */
+	private static int size(Node node) {
+		return node == null ? 0 : node.size;
+	}
+
+	/**
+	 * Get the key of an edge, the same for both directions. The packed vertices
+	 * are mixed with a bijection, as the hash code of the packed value would
+	 * collide for all the edges having the same exclusive or of vertices.
+	 *
+	 * @param u
+	 *            first vertex
+	 * @param v
+	 *            second vertex
+	 * @return the key
+	 */
+	private static long getKey(int u, int v) {
+		return FastRandom.mix64(u < v ? ((long) u << 32) | v : ((long) v << 32) | u);
+	}
+}
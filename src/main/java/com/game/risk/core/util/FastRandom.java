@@ -0,0 +1,136 @@
+package com.game.risk.core.util;
+
+import java.util.Random;
+
+/**
+ * Fast non thread-safe random number generator based on SplitMix64.
+ * <p>
+ * It can be used wherever a {@link Random} is expected, but unlike
+ * {@link Random} its state is a plain long instead of an atomic one, and
+ * {@link #nextInt(int)} uses a multiply and shift instead of a division, while
+ * staying exactly uniform. Each thread must use its own instance.
+ * <p>
+ * Like {@link java.util.SplittableRandom}, a generator can be split into an
+ * independent one with its own seed and increment, so a single seed gives
+ * reproducible streams to every game and player without sharing state.
+ */
+public class FastRandom extends Random {
+
+	/** Serial version UID. */
+	private static final long serialVersionUID = 1L;
+
+	/** Increment of the state, the golden ratio in 64 bits. */
+	private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+	/** State of the generator. */
+	private long state;
+
+	/** Increment of the state, odd. */
+	private long gamma = GOLDEN_GAMMA;
+
+	/**
+	 * Instantiates a new random number generator with a seed different from the
+	 * seeds of the other instances.
+	 */
+	public FastRandom() {
+		super();
+	}
+
+	/**
+	 * Instantiates a new random number generator with the given seed.
+	 *
+	 * @param seed
+	 *            the seed
+	 */
+	public FastRandom(long seed) {
+		super(seed);
+	}
+
+	/**
+	 * Instantiates a new random number generator with the given seed and
+	 * increment.
+	 *
+	 * @param seed
+	 *            the seed
+	 * @param gamma
+	 *            the increment, odd
+	 */
+	private FastRandom(long seed, long gamma) {
+		super(seed);
+		this.gamma = gamma;
+	}
+
+	/**
+	 * Split off a new generator, whose sequence is independent of the rest of
+	 * the sequence of this one. Both generators are fully determined by the seed
+	 * of this one and the number of values drawn before the split.
+	 *
+	 * @return the new generator
+	 */
+	public FastRandom split() {
+		return new FastRandom(nextLong(), mixGamma(nextLong()));
+	}
+
+	@Override
+	public void setSeed(long seed) {
+		super.setSeed(seed);
+		state = seed;
+	}
+
+	@Override
+	protected int next(int bits) {
+		return (int) (nextLong() >>> (64 - bits));
+	}
+
+	@Override
+	public long nextLong() {
+		return mix64(state += gamma);
+	}
+
+	@Override
+	public int nextInt(int bound) {
+		if (bound <= 0) {
+			throw new IllegalArgumentException("bound must be positive");
+		}
+		// The high 32 bits of a 32 x 32 bits product are uniform once the few
+		// low values which would bias the result are rejected
+		long product = (nextLong() >>> 32) * bound;
+		if ((product & 0xFFFFFFFFL) < bound) {
+			long threshold = (0x100000000L - bound) % bound;
+			while ((product & 0xFFFFFFFFL) < threshold) {
+				product = (nextLong() >>> 32) * bound;
+			}
+		}
+		return (int) (product >>> 32);
+	}
+
+	/**
+	 * Mix the bits of a value into a random looking one, the output function of
+	 * SplitMix64. It is a bijection, so distinct values give distinct results,
+	 * and it can be used as a stateless hash of a key.
+	 *
+	 * @param z
+	 *            the value
+	 * @return the mixed value
+	 */
+	public static long mix64(long z) {
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+
+	/**
+	 * Turn a random value into an increment of the state: odd, and with enough
+	 * bit transitions to give a good sequence.
+	 *
+	 * @param z
+	 *            the random value
+	 * @return the increment
+	 */
+	private static long mixGamma(long z) {
+		z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+		z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+		z = (z ^ (z >>> 33)) | 1L;
+		return Long.bitCount(z ^ (z >>> 1)) < 24 ? z ^ 0xAAAAAAAAAAAAAAAAL : z;
+	}
+}
@@ -5,6 +5,7 @@ import java.io.IOException;
 import java.util.HashMap;
 import java.util.LinkedList;
 
+import com.game.risk.core.CountriesGraph;
 import com.game.risk.core.MapFileReader;
 import com.game.risk.model.Country;
 
@@ -42,6 +43,27 @@ public class FortificationPhaseUtil {
 
 	}
 
+	/**
+	 * Method to move armies between countries owned by particular player, checking
+	 * the adjacency with the edge index of the graph.
+	 * 
+	 * @param country1
+	 *            country from where army to be moved
+	 * @param country2
+	 *            country to which army to be moved.
+	 * @param numberOfArmies
+	 *            number of armies to move
+	 * @param countriesGraph
+	 *            countries graph to check adjacency between countries
+	 */
+	public static void moveArmiesBetweenCountries(Country country1, Country country2, int numberOfArmies,
+			CountriesGraph countriesGraph) {
+		if (countriesGraph.isAdjacent(country1, country2)) {
+			country1.setCurrentNumberOfArmies(country1.getCurrentNumberOfArmies() - numberOfArmies);
+			country2.setCurrentNumberOfArmies(country2.getCurrentNumberOfArmies() + numberOfArmies);
+		}
+	}
+
 	/**
 	 * Retrieve its adjacent countries and ask the user for input
 	 * 
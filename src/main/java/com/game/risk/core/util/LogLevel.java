@@ -0,0 +1,30 @@
+package com.game.risk.core.util;
+
+/**
+ * Levels of the log messages, from the most to the least detailed.
+ */
+public enum LogLevel {
+
+	/** Details of every action, such as the dice of each battle. */
+	DEBUG,
+
+	/** Progress of the game. */
+	INFO,
+
+	/** Problems which do not stop the game. */
+	WARNING,
+
+	/** Threshold disabling every message. */
+	OFF;
+
+	/**
+	 * Check whether messages of this level pass a threshold.
+	 *
+	 * @param threshold
+	 *            the threshold
+	 * @return true if the messages are logged
+	 */
+	public boolean isLoggable(LogLevel threshold) {
+		return this != OFF && compareTo(threshold) >= 0;
+	}
+}
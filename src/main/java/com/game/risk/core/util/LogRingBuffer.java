@@ -0,0 +1,137 @@
+package com.game.risk.core.util;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free queue of log messages, with any number of producers and a
+ * single consumer.
+ * <p>
+ * Each slot carries a sequence number telling whether it is free for the
+ * producer of a given position or filled for the consumer, so producers only
+ * contend on a compare-and-set of the tail and never wait for each other. When
+ * the buffer is full the message is dropped and counted instead of blocking
+ * the producer.
+ */
+public class LogRingBuffer {
+
+	/** Messages of each slot. */
+	private final AtomicReferenceArray<String> messages;
+
+	/** Sequence number of each slot. */
+	private final AtomicLongArray sequences;
+
+	/** Mask of a position into the slots. */
+	private final int mask;
+
+	/** Next position claimed by a producer. */
+	private final AtomicLong tail = new AtomicLong();
+
+	/** Next position read by the consumer. */
+	private volatile long head;
+
+	/** Number of messages dropped because the buffer was full. */
+	private final AtomicLong dropped = new AtomicLong();
+
+	/**
+	 * Instantiates a new ring buffer.
+	 *
+	 * @param capacity
+	 *            minimum number of messages held, rounded up to a power of two
+	 */
+	public LogRingBuffer(int capacity) {
+		int size = 2;
+		while (size < capacity) {
+			size <<= 1;
+		}
+		messages = new AtomicReferenceArray<>(size);
+		sequences = new AtomicLongArray(size);
+		for (int slot = 0; slot < size; slot++) {
+			sequences.set(slot, slot);
+		}
+		mask = size - 1;
+	}
+
+	/**
+	 * Add a message without blocking.
+	 *
+	 * @param message
+	 *            the message
+	 * @return true if added, false if dropped because the buffer is full
+	 */
+	public boolean offer(String message) {
+		while (true) {
+			long position = tail.get();
+			int slot = (int) (position & mask);
+			long sequence = sequences.get(slot);
+			if (sequence == position) {
+				if (tail.compareAndSet(position, position + 1)) {
+					messages.set(slot, message);
+					sequences.set(slot, position + 1);
+					return true;
+				}
+			} else if (sequence < position) {
+				dropped.incrementAndGet();
+				return false;
+			}
+		}
+	}
+
+	/**
+	 * Move the available messages to a list. Must only be called by the consumer.
+	 *
+	 * @param batch
+	 *            list receiving the messages
+	 * @param maxMessages
+	 *            maximum number of messages moved
+	 * @return number of messages moved
+	 */
+	public int drain(List<String> batch, int maxMessages) {
+		long position = head;
+		int count = 0;
+		while (count < maxMessages) {
+			int slot = (int) (position & mask);
+			if (sequences.get(slot) != position + 1) {
+				break;
+			}
+			batch.add(messages.get(slot));
+			messages.set(slot, null);
+			sequences.set(slot, position + mask + 1);
+			position++;
+			count++;
+		}
+		head = position;
+		return count;
+	}
+
+	/**
+	 * Check whether a message is ready to be moved. Must only be called by the
+	 * consumer.
+	 *
+	 * @return true if the next message has been written by its producer
+	 */
+	public boolean hasMessage() {
+		long position = head;
+		return sequences.get((int) (position & mask)) == position + 1;
+	}
+
+	/**
+	 * Get the number of messages added so far.
+	 *
+	 * @return the added count
+	 */
+	public long getAddedCount() {
+		return tail.get();
+	}
+
+	/**
+	 * Get the number of messages dropped so far.
+	 *
+	 * @return the dropped count
+	 */
+	public long getDroppedCount() {
+		return dropped.get();
+	}
+}
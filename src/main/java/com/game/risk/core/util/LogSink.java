@@ -0,0 +1,23 @@
+package com.game.risk.core.util;
+
+import java.util.List;
+
+/**
+ * Destination of the log messages. Sinks are only called from the logging
+ * thread, with the messages in batches.
+ */
+public interface LogSink {
+
+	/**
+	 * Write a batch of messages.
+	 *
+	 * @param messages
+	 *            the messages, only valid during the call
+	 */
+	void write(List<String> messages);
+
+	/**
+	 * Release the resources of the sink. No message is written afterwards.
+	 */
+	void close();
+}
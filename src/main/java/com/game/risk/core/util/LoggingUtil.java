@@ -1,5 +1,12 @@
 package com.game.risk.core.util;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
 import javax.swing.JFrame;
 import javax.swing.JScrollPane;
 import javax.swing.JTextArea;
@@ -7,13 +14,51 @@ import javax.swing.JTextArea;
 /**
  * Logging utility class for showing logging view of the actions performed in
  * the game.
+ * <p>
+ * Messages are put in a {@link LogRingBuffer} without blocking, and a
+ * background thread writes them in batches to the registered {@link LogSink}s.
+ * Messages below the level or logged while no sink is registered, as in
+ * headless tournaments, are discarded right away.
  * 
  * @author sohrab_singh
  */
 public class LoggingUtil {
 
+	/** Minimum number of messages waiting to be written. */
+	private static final int BUFFER_CAPACITY = 8192;
+
+	/** Maximum number of messages written to the sinks at once. */
+	private static final int BATCH_SIZE = 512;
+
+	/** Number of lines kept by the logging window. */
+	private static final int SCROLLBACK_LINES = 5000;
+
+	/** Pause between two checks of a flush, in nanoseconds. */
+	private static final long FLUSH_POLL_NANOS = 1000000L;
+
+	/** Maximum wait of a flush, in milliseconds. */
+	private static final long FLUSH_TIMEOUT_MILLIS = 5000L;
+
+	/** Messages waiting to be written. */
+	private static final LogRingBuffer BUFFER = new LogRingBuffer(BUFFER_CAPACITY);
+
+	/** Registered sinks. */
+	private static final List<LogSink> SINKS = new CopyOnWriteArrayList<>();
+
+	/** Number of messages written to the sinks. */
+	private static final AtomicLong WRITTEN_COUNT = new AtomicLong();
+
+	/** Minimum level of the logged messages. */
+	private static volatile LogLevel level = LogLevel.DEBUG;
+
+	/** Thread writing the messages to the sinks, started with the first sink. */
+	private static volatile Thread loggingThread;
+
+	/** True while the logging thread waits for messages. */
+	private static volatile boolean writerWaiting;
+
 	/** Text area for displaying logs. */
-	private static JTextArea textArea;
+	private JTextArea textArea;
 
 	/** Frame window */
 	private JFrame frame;
@@ -36,17 +81,196 @@ public class LoggingUtil {
 		frame.pack();
 		frame.setVisible(true);
 		frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+		addSink(new TextAreaLogSink(textArea, SCROLLBACK_LINES));
 	}
 
 	/**
-	 * Method to append log message to textArea.
+	 * Method to append log message at the info level.
 	 * 
 	 * @param message
 	 *            message to be appended.
 	 */
-	public static  void logMessage(String message) {
-		textArea.append(message);
-		textArea.append("\n");
+	public static void logMessage(String message) {
+		logMessage(LogLevel.INFO, message);
+	}
+
+	/**
+	 * Method to append log message at the given level.
+	 * 
+	 * @param messageLevel
+	 *            level of the message
+	 * @param message
+	 *            message to be appended.
+	 */
+	public static void logMessage(LogLevel messageLevel, String message) {
+		if (isLoggable(messageLevel)) {
+			offer(String.valueOf(message));
+		}
+	}
+
+	/**
+	 * Method to append log message at the given level, the message being only
+	 * built if it is logged.
+	 * 
+	 * @param messageLevel
+	 *            level of the message
+	 * @param message
+	 *            supplier of the message, called on the current thread
+	 */
+	public static void logMessage(LogLevel messageLevel, Supplier<String> message) {
+		if (isLoggable(messageLevel)) {
+			offer(String.valueOf(message.get()));
+		}
+	}
+
+	/**
+	 * Put a message in the buffer and wake up the logging thread if it waits
+	 * for messages.
+	 *
+	 * @param message
+	 *            the message
+	 */
+	private static void offer(String message) {
+		BUFFER.offer(message);
+		if (writerWaiting) {
+			LockSupport.unpark(loggingThread);
+		}
+	}
+
+	/**
+	 * Check whether messages of a level are logged, so that callers can skip
+	 * building messages nobody will read.
+	 *
+	 * @param messageLevel
+	 *            level of the messages
+	 * @return true if a sink is registered and the level is enabled
+	 */
+	public static boolean isLoggable(LogLevel messageLevel) {
+		return !SINKS.isEmpty() && messageLevel.isLoggable(level);
+	}
+
+	/**
+	 * Get the minimum level of the logged messages.
+	 *
+	 * @return the level
+	 */
+	public static LogLevel getLevel() {
+		return level;
+	}
+
+	/**
+	 * Set the minimum level of the logged messages.
+	 *
+	 * @param level
+	 *            the level
+	 */
+	public static void setLevel(LogLevel level) {
+		LoggingUtil.level = level;
+	}
+
+	/**
+	 * Register a sink, starting the logging thread if needed.
+	 *
+	 * @param sink
+	 *            the sink
+	 */
+	public static synchronized void addSink(LogSink sink) {
+		SINKS.add(sink);
+		if (loggingThread == null) {
+			loggingThread = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					writeMessages();
+				}
+			}, "risk-logging");
+			loggingThread.setDaemon(true);
+			loggingThread.start();
+		}
+	}
+
+	/**
+	 * Unregister a sink after writing the waiting messages, and close it once
+	 * the logging thread has finished the batch it may be writing to it.
+	 *
+	 * @param sink
+	 *            the sink
+	 */
+	public static synchronized void removeSink(LogSink sink) {
+		flush();
+		if (SINKS.remove(sink)) {
+			// The batches drained from now on are no longer written to the sink
+			flush();
+			sink.close();
+		}
+	}
+
+	/**
+	 * Wait until the messages logged so far have been written to the sinks, for
+	 * at most the default timeout.
+	 *
+	 * @return true if written, false if the timeout has elapsed or the logging
+	 *         thread is not running
+	 */
+	public static boolean flush() {
+		return flush(FLUSH_TIMEOUT_MILLIS);
+	}
+
+	/**
+	 * Wait until the messages logged so far have been written to the sinks.
+	 *
+	 * @param timeoutMillis
+	 *            maximum wait in milliseconds
+	 * @return true if written, false if the timeout has elapsed or the logging
+	 *         thread is not running
+	 */
+	public static boolean flush(long timeoutMillis) {
+		long addedCount = BUFFER.getAddedCount();
+		long deadline = System.nanoTime() + timeoutMillis * 1000000L;
+		while (WRITTEN_COUNT.get() < addedCount) {
+			Thread thread = loggingThread;
+			if (thread == null || !thread.isAlive() || System.nanoTime() - deadline >= 0) {
+				return false;
+			}
+			LockSupport.parkNanos(FLUSH_POLL_NANOS);
+		}
+		return true;
+	}
+
+	/**
+	 * Get the number of messages dropped because the sinks could not keep up.
+	 *
+	 * @return the dropped count
+	 */
+	public static long getDroppedCount() {
+		return BUFFER.getDroppedCount();
+	}
+
+	/**
+	 * Loop of the logging thread, writing the waiting messages in batches and
+	 * parking until a producer wakes it up when there are none. A failing sink,
+	 * even with an {@link Error}, does not stop the thread.
+	 */
+	private static void writeMessages() {
+		List<String> batch = new ArrayList<>(BATCH_SIZE);
+		while (true) {
+			if (BUFFER.drain(batch, BATCH_SIZE) == 0) {
+				writerWaiting = true;
+				if (!BUFFER.hasMessage()) {
+					LockSupport.park();
+				}
+				writerWaiting = false;
+				continue;
+			}
+			for (LogSink sink : SINKS) {
+				try {
+					sink.write(batch);
+				} catch (Throwable e) {
+					e.printStackTrace();
+				}
+			}
+			WRITTEN_COUNT.addAndGet(batch.size());
+			batch.clear();
+		}
 	}
 
 }
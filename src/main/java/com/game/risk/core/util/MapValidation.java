@@ -1,11 +1,18 @@
 package com.game.risk.core.util;
 
 import com.game.risk.core.CountriesGraph;
-import com.game.risk.model.Continent;
+import com.game.risk.core.InvalidMapFileException;
+import com.game.risk.core.MapFileReader;
+import com.game.risk.core.MapTopology;
 import com.game.risk.model.Country;
 
 import java.io.*;
+import java.nio.charset.Charset;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 /**
  * Map Validation class is implemented for data validation before loading it
@@ -66,14 +73,10 @@ public class MapValidation {
 	 */
 	public boolean validateFile(File file) throws IOException {
 
-		BufferedReader bufferedReader = new BufferedReader(new FileReader(file));
 		boolean isValid = true;
-		FileInputStream fis = new FileInputStream(file);
-		byte[] data = new byte[(int) file.length()];
-		fis.read(data);
-		fis.close();
-
-		String str = new String(data, "UTF-8");
+		// Read the file once, uncompressed if written with gzip, and reuse its content
+		String str = new String(MapFileReader.readContent(file), Charset.defaultCharset());
+		BufferedReader bufferedReader = new BufferedReader(new StringReader(str));
 		// Check to see whether all the tags are defined in the file
 		isValid = (checkMandatoryTags(str) && checkFileFormatValid(bufferedReader));
 
@@ -88,9 +91,10 @@ public class MapValidation {
 		// country Y may or may not have country X as its adjacent
 		isValid = isValid && checkCountryAdjacentOneWay();
 
-		isValid = isValid && checkConnectedGraph(countriesGraph);
-
-		isValid = isValid && checkConnectedContinent(countriesGraph);
+		if (isValid) {
+			ConnectivityAnalysis connectivity = checkConnectivity(countriesGraph);
+			isValid = connectivity.isConnected() && connectivity.isContinentsConnected();
+		}
 
 		bufferedReader.close();
 
@@ -294,7 +298,7 @@ public class MapValidation {
 	}
 
 	/**
-	 * Check to see whether the garph is a connected graph (DFS).
+	 * Check to see whether the garph is a connected graph (BFS on the topology).
 	 *
 	 * @param countriesGraph
 	 *            the countries graph
@@ -303,79 +307,135 @@ public class MapValidation {
 	public boolean checkConnectedGraph(CountriesGraph countriesGraph) {
 
 		HashMap<Country, LinkedList<Country>> countries = countriesGraph.getAdjListHashMap();
-		Country parent = countries.keySet().iterator().next();
-
-		Queue<Country> queue = new LinkedList<Country>();
-		queue.add(parent);
-		parent.setVisited(true);
-
-		while (!queue.isEmpty()) {
-			Country rootCountry = queue.remove();
-			if (countries.get(rootCountry) != null) {
-				for (Country adjacent : countries.get(rootCountry)) {
-					if (!adjacent.isVisited()) {
-						queue.add(adjacent);
-						adjacent.setVisited(true);
-					}
+		MapTopology topology = countriesGraph.getTopology();
+
+		isConnectedGraph = !countries.isEmpty();
+		if (isConnectedGraph) {
+			TraversalState state = TraversalState.begin(topology.size());
+			traverse(topology, state, countries.keySet().iterator().next().getId());
+
+			for (Country country : countries.keySet()) {
+				if (!state.isVisited(country.getId())) {
+					isConnectedGraph = false;
+					break;
 				}
 			}
 		}
-
-		for (Country country : countries.keySet()) {
-			if (country.isVisited()) {
-				isConnectedGraph = true;
-			} else {
-				isConnectedGraph = false;
-				break;
-			}
+		if (LoggingUtil.isLoggable(LogLevel.DEBUG)) {
+			LoggingUtil.logMessage(LogLevel.DEBUG, "Graph Connected Status: " + isConnectedGraph);
 		}
-		System.out.println("Graph Connected Status: " + isConnectedGraph);
 		return isConnectedGraph;
 
 	}
 
 	/**
-	 * Check connected continent.
+	 * Check the connectivity of the whole graph and of each continent in a single
+	 * union-find pass. The result is logged at the debug level, the disconnected
+	 * countries being returned with the analysis.
+	 *
+	 * @param countriesGraph
+	 *            the countries graph
+	 * @return the connectivity analysis
+	 */
+	public ConnectivityAnalysis checkConnectivity(CountriesGraph countriesGraph) {
+		ConnectivityAnalysis connectivity = new ConnectivityAnalysis(countriesGraph.getTopology());
+		isConnectedGraph = connectivity.isConnected();
+		checkConnectedContinent = connectivity.isContinentsConnected();
+		isConnectedContinent = checkConnectedContinent;
+		if (LoggingUtil.isLoggable(LogLevel.DEBUG)) {
+			LoggingUtil.logMessage(LogLevel.DEBUG, "Graph Connected Status: " + isConnectedGraph);
+			for (Map.Entry<String, List<Country>> entry : connectivity.getDisconnectedCountries().entrySet()) {
+				LoggingUtil.logMessage(LogLevel.DEBUG,
+						entry.getKey() + ": " + entry.getValue().size() + " disconnected countries");
+			}
+			LoggingUtil.logMessage(LogLevel.DEBUG, "Continent Connected Status:" + checkConnectedContinent);
+		}
+		return connectivity;
+	}
+
+	/**
+	 * Check connected continent, with the union-find analysis of the topology.
 	 *
 	 * @param countriesGraph
 	 *            the countries graph
 	 * @return true, if successful
 	 */
 	public boolean checkConnectedContinent(CountriesGraph countriesGraph) {
-		HashMap<Country, LinkedList<Country>> countries = countriesGraph.getAdjListHashMap();
+		checkConnectedContinent = new ConnectivityAnalysis(countriesGraph.getTopology()).isContinentsConnected();
+		isConnectedContinent = checkConnectedContinent;
+		if (LoggingUtil.isLoggable(LogLevel.DEBUG)) {
+			LoggingUtil.logMessage(LogLevel.DEBUG, "Continent Connected Status:" + checkConnectedContinent);
+		}
+		return checkConnectedContinent;
 
-		for (Continent continent : countriesGraph.getContinentHashMap().values()) {
-			Queue<Country> countryQueue = new LinkedList<Country>();
-			int i = 0;
-			Country parentCountry = continent.getCountries().get(i);
-			countryQueue.add(parentCountry);
-			parentCountry.setVisited(true);
-			while (!countryQueue.isEmpty()) {
-				Country rootCountry = countryQueue.remove();
-				for (Country adjacent : countries.get(rootCountry)) {
-					if (rootCountry.getContinentName().equals(adjacent.getContinentName())) {
-						if (!adjacent.isVisited()) {
-							countryQueue.add(adjacent);
-							adjacent.setVisited(true);
-						}
-					}
-				}
-			}
+	}
 
-			for (Country country : continent.getCountries()) {
-				if (country.isVisited()) {
-					isConnectedContinent = true;
+	/**
+	 * Breadth first traversal of the topology from a country.
+	 *
+	 * @param topology
+	 *            the topology
+	 * @param state
+	 *            traversal state, updated with the visited countries
+	 * @param start
+	 *            id of the start country
+	 */
+	private static void traverse(MapTopology topology, TraversalState state, int start) {
+		int[] offsets = topology.getOffsets();
+		int[] neighbours = topology.getNeighbours();
+		int[] queue = state.getQueue();
+		int head = 0;
+		int tail = 0;
+		queue[tail++] = start;
+		state.visit(start);
+		while (head < tail) {
+			int root = queue[head++];
+			for (int i = offsets[root]; i < offsets[root + 1]; i++) {
+				int adjacent = neighbours[i];
+				if (state.visit(adjacent)) {
+					queue[tail++] = adjacent;
 				}
 			}
+		}
+	}
 
-			if (!isConnectedContinent) {
-				checkConnectedContinent = false;
+	/**
+	 * Read and validate map files in parallel.
+	 *
+	 * @param files
+	 *            the map files
+	 * @param pool
+	 *            fork join pool running the validations
+	 * @return errors of each file, in the order of the files, empty if the file is
+	 *         valid
+	 */
+	public static Map<File, List<String>> validateMapFiles(Collection<File> files, ForkJoinPool pool) {
+		Map<File, ForkJoinTask<List<String>>> tasks = new LinkedHashMap<>();
+		for (final File file : files) {
+			tasks.put(file, pool.submit(new Callable<List<String>>() {
+				@Override
+				public List<String> call() throws IOException {
+					try {
+						new MapFileReader(file).readValidatedFile();
+						return Collections.emptyList();
+					} catch (InvalidMapFileException e) {
+						return e.getErrors();
+					}
+				}
+			}));
+		}
+		Map<File, List<String>> errors = new LinkedHashMap<>();
+		for (Map.Entry<File, ForkJoinTask<List<String>>> task : tasks.entrySet()) {
+			try {
+				errors.put(task.getKey(), task.getValue().get());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				errors.put(task.getKey(), Collections.singletonList("* Validation interrupted"));
+			} catch (ExecutionException e) {
+				errors.put(task.getKey(), Collections.singletonList("* " + e.getCause().getMessage()));
 			}
-			i++;
 		}
-		System.out.println("Continent Connected Status:" + checkConnectedContinent);
-		return checkConnectedContinent;
-
+		return errors;
 	}
 
 }
\ No newline at end of file
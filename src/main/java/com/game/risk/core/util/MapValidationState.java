@@ -0,0 +1,378 @@
+package com.game.risk.core.util;
+
+import com.game.risk.core.CountriesGraph;
+import com.game.risk.core.MapTopology;
+import com.game.risk.model.Continent;
+import com.game.risk.model.Country;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Live validation state of a map being edited, updated with each change of
+ * the map instead of validating the whole map again.
+ * <p>
+ * The connectivity of the whole map and of the countries of each continent is
+ * kept in two {@link DynamicConnectivity} structures, the second one having
+ * only the edges between countries of the same continent. The number of
+ * connected components of a set of countries is its number of countries minus
+ * the number of edges of its spanning forest, so the components counts are
+ * maintained from the links and cuts of the forests. As in
+ * {@link ConnectivityAnalysis}, edges are undirected. A continent is valid when
+ * it is declared and its countries form exactly one component, and a country
+ * without any adjacent country is an orphan.
+ */
+public class MapValidationState {
+
+	/**
+	 * Countries count and spanning forest edges count of a continent.
+	 */
+	private static final class ContinentState {
+
+		/** Whether the continent is declared in the map. */
+		private boolean declared;
+
+		/** Number of countries of the continent. */
+		private int countriesCount;
+
+		/** Number of edges of the spanning forest of the continent. */
+		private int treeEdgesCount;
+
+		/**
+		 * Get the number of connected components of the continent.
+		 *
+		 * @return the components count
+		 */
+		private int getComponentsCount() {
+			return countriesCount - treeEdgesCount;
+		}
+
+		/**
+		 * Check whether the continent is valid.
+		 *
+		 * @return true if declared and connected
+		 */
+		private boolean isValid() {
+			return declared && getComponentsCount() == 1;
+		}
+	}
+
+	/** Connectivity of the whole map. */
+	private final DynamicConnectivity mapConnectivity = new DynamicConnectivity();
+
+	/** Connectivity of the edges between countries of the same continent. */
+	private final DynamicConnectivity continentsConnectivity = new DynamicConnectivity();
+
+	/** Undirected adjacent countries of each country. */
+	private final Map<Country, Set<Country>> adjacentCountries = new HashMap<>();
+
+	/** State of each continent, by continent name. */
+	private final Map<String, ContinentState> continents = new HashMap<>();
+
+	/** Names of the invalid continents. */
+	private final Set<String> invalidContinents = new LinkedHashSet<>();
+
+	/** Countries without any adjacent country. */
+	private final Set<Country> orphans = new LinkedHashSet<>();
+
+	/**
+	 * Build the validation state of the current map of a graph.
+	 *
+	 * @param countriesGraph
+	 *            the countries graph
+	 */
+	public MapValidationState(CountriesGraph countriesGraph) {
+		for (Continent continent : countriesGraph.getContinentHashMap().values()) {
+			addContinent(continent);
+		}
+		MapTopology topology = countriesGraph.getTopology();
+		for (int id = 0; id < topology.size(); id++) {
+			if (topology.getCountry(id) != null) {
+				addCountry(topology.getCountry(id));
+			}
+		}
+		int[] offsets = topology.getOffsets();
+		int[] neighbours = topology.getNeighbours();
+		for (int id = 0; id < topology.size(); id++) {
+			for (int i = offsets[id]; i < offsets[id + 1]; i++) {
+				addEdge(topology.getCountry(id), topology.getCountry(neighbours[i]));
+			}
+		}
+	}
+
+	/**
+	 * Declare a continent.
+	 *
+	 * @param continent
+	 *            the continent
+	 */
+	public void addContinent(Continent continent) {
+		ContinentState state = getContinentState(continent.getContinentName());
+		state.declared = true;
+		refresh(continent.getContinentName(), state);
+	}
+
+	/**
+	 * Remove a continent and its countries.
+	 *
+	 * @param continent
+	 *            the continent
+	 */
+	public void removeContinent(Continent continent) {
+		for (Country country : continent.getCountries()) {
+			removeCountry(country);
+		}
+		ContinentState state = getContinentState(continent.getContinentName());
+		state.declared = false;
+		refresh(continent.getContinentName(), state);
+	}
+
+	/**
+	 * Add a country, without adjacent countries.
+	 *
+	 * @param country
+	 *            the country
+	 */
+	public void addCountry(Country country) {
+		if (adjacentCountries.containsKey(country)) {
+			return;
+		}
+		adjacentCountries.put(country, new LinkedHashSet<Country>());
+		orphans.add(country);
+		ContinentState state = getContinentState(country.getContinentName());
+		state.countriesCount++;
+		refresh(country.getContinentName(), state);
+	}
+
+	/**
+	 * Remove a country and its edges.
+	 *
+	 * @param country
+	 *            the country
+	 */
+	public void removeCountry(Country country) {
+		Set<Country> adjacent = adjacentCountries.get(country);
+		if (adjacent == null) {
+			return;
+		}
+		for (Country adjCountry : adjacent.toArray(new Country[adjacent.size()])) {
+			removeEdge(country, adjCountry);
+		}
+		adjacentCountries.remove(country);
+		orphans.remove(country);
+		ContinentState state = getContinentState(country.getContinentName());
+		state.countriesCount--;
+		refresh(country.getContinentName(), state);
+	}
+
+	/**
+	 * Add an edge between two countries, in both directions. Adding an edge
+	 * already present in one direction does nothing.
+	 *
+	 * @param country
+	 *            first country
+	 * @param country2
+	 *            second country
+	 */
+	public void addEdge(Country country, Country country2) {
+		if (country == country2) {
+			return;
+		}
+		addCountry(country);
+		addCountry(country2);
+		if (!adjacentCountries.get(country).add(country2)) {
+			return;
+		}
+		adjacentCountries.get(country2).add(country);
+		orphans.remove(country);
+		orphans.remove(country2);
+		mapConnectivity.addEdge(country.getId(), country2.getId());
+		if (isSameContinent(country, country2)
+				&& continentsConnectivity.addEdge(country.getId(), country2.getId())) {
+			ContinentState state = getContinentState(country.getContinentName());
+			state.treeEdgesCount++;
+			refresh(country.getContinentName(), state);
+		}
+	}
+
+	/**
+	 * Remove the edge between two countries, in both directions.
+	 *
+	 * @param country
+	 *            first country
+	 * @param country2
+	 *            second country
+	 */
+	public void removeEdge(Country country, Country country2) {
+		Set<Country> adjacent = adjacentCountries.get(country);
+		if (adjacent == null || !adjacent.remove(country2)) {
+			return;
+		}
+		Set<Country> adjacent2 = adjacentCountries.get(country2);
+		adjacent2.remove(country);
+		if (adjacent.isEmpty()) {
+			orphans.add(country);
+		}
+		if (adjacent2.isEmpty()) {
+			orphans.add(country2);
+		}
+		mapConnectivity.removeEdge(country.getId(), country2.getId());
+		if (isSameContinent(country, country2)
+				&& continentsConnectivity.removeEdge(country.getId(), country2.getId())) {
+			ContinentState state = getContinentState(country.getContinentName());
+			state.treeEdgesCount--;
+			refresh(country.getContinentName(), state);
+		}
+	}
+
+	/**
+	 * Check whether the map is valid: at least one country, connected, with all
+	 * its continents valid and no orphan country.
+	 *
+	 * @return true if valid
+	 */
+	public boolean isValid() {
+		return isConnected() && invalidContinents.isEmpty() && orphans.isEmpty();
+	}
+
+	/**
+	 * Check whether the map has countries and they are all connected.
+	 *
+	 * @return true if connected
+	 */
+	public boolean isConnected() {
+		return getComponentsCount() == 1;
+	}
+
+	/**
+	 * Get the number of connected components of the map.
+	 *
+	 * @return the components count
+	 */
+	public int getComponentsCount() {
+		return adjacentCountries.size() - mapConnectivity.getTreeEdgesCount();
+	}
+
+	/**
+	 * Check whether two countries are connected.
+	 *
+	 * @param country
+	 *            first country
+	 * @param country2
+	 *            second country
+	 * @return true if connected
+	 */
+	public boolean isConnected(Country country, Country country2) {
+		return adjacentCountries.containsKey(country) && adjacentCountries.containsKey(country2)
+				&& mapConnectivity.isConnected(country.getId(), country2.getId());
+	}
+
+	/**
+	 * Get the number of connected components of the countries of a continent.
+	 *
+	 * @param continentName
+	 *            name of the continent
+	 * @return the components count, 0 for a continent without country
+	 */
+	public int getContinentComponentsCount(String continentName) {
+		ContinentState state = continents.get(continentName);
+		return state == null ? 0 : state.getComponentsCount();
+	}
+
+	/**
+	 * Get the names of the invalid continents: not declared, without country or
+	 * not connected.
+	 *
+	 * @return the names, unmodifiable
+	 */
+	public Set<String> getInvalidContinents() {
+		return Collections.unmodifiableSet(invalidContinents);
+	}
+
+	/**
+	 * Get the countries without any adjacent country.
+	 *
+	 * @return the orphans, unmodifiable
+	 */
+	public Set<Country> getOrphans() {
+		return Collections.unmodifiableSet(orphans);
+	}
+
+	/**
+	 * Get a one line status of the validation.
+	 *
+	 * @return the status
+	 */
+	public String getStatus() {
+		if (isValid()) {
+			return "Map is valid";
+		}
+		StringBuilder builder = new StringBuilder("Map is invalid: ");
+		builder.append(getComponentsCount()).append(" connected component(s)");
+		if (!invalidContinents.isEmpty()) {
+			builder.append(", invalid continent(s) ").append(invalidContinents);
+		}
+		if (!orphans.isEmpty()) {
+			builder.append(", orphan countries [");
+			int i = 0;
+			for (Country country : orphans) {
+				builder.append(i++ > 0 ? ", " : "").append(country.getCountryName());
+			}
+			builder.append("]");
+		}
+		return builder.toString();
+	}
+
+	/**
+	 * Get the state of a continent, creating it if needed.
+	 *
+	 * @param continentName
+	 *            name of the continent
+	 * @return the state
+	 */
+	private ContinentState getContinentState(String continentName) {
+		ContinentState state = continents.get(continentName);
+		if (state == null) {
+			state = new ContinentState();
+			continents.put(continentName, state);
+		}
+		return state;
+	}
+
+	/**
+	 * Update the invalid continents with the state of a continent, and forget
+	 * the state of a continent neither declared nor having countries.
+	 *
+	 * @param continentName
+	 *            name of the continent
+	 * @param state
+	 *            the state
+	 */
+	private void refresh(String continentName, ContinentState state) {
+		if (!state.declared && state.countriesCount == 0) {
+			continents.remove(continentName);
+			invalidContinents.remove(continentName);
+		} else if (state.isValid()) {
+			invalidContinents.remove(continentName);
+		} else {
+			invalidContinents.add(continentName);
+		}
+	}
+
+	/**
+	 * Check whether two countries are in the same continent.
+	 *
+	 * @param country
+	 *            first country
+	 * @param country2
+	 *            second country
+	 * @return true if same continent
+	 */
+	private static boolean isSameContinent(Country country, Country country2) {
+		return country.getContinentName() != null
+				&& country.getContinentName().equals(country2.getContinentName());
+	}
+}
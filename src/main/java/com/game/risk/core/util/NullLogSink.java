@@ -0,0 +1,19 @@
+package com.game.risk.core.util;
+
+import java.util.List;
+
+/**
+ * Sink discarding every message.
+ */
+public class NullLogSink implements LogSink {
+
+	@Override
+	public void write(List<String> messages) {
+		// Discarded
+	}
+
+	@Override
+	public void close() {
+		// Nothing to release
+	}
+}
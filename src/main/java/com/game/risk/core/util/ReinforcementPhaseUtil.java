@@ -1,6 +1,5 @@
 package com.game.risk.core.util;
 
-import com.game.risk.model.Country;
 import com.game.risk.model.Player;
 
 /**
@@ -13,16 +12,26 @@ import com.game.risk.model.Player;
 public class ReinforcementPhaseUtil {
 
 	/**
-	 * 
+	 * Calculate the reinforcement armies of a player: armies for the countries it
+	 * owns and the control values of the continents it owns entirely.
+	 *
 	 * @param player
 	 *            current player
-	 * @param continent
-	 *            continent
 	 * @return reinforcement armies
-	 * 
 	 */
 	public static int calculateReinforcementArmies(Player player) {
-		int countriesOwned = player.getCountriesOwned().size();
+		return calculateReinforcementArmies(player.getCountriesOwned().size()) + player.getContinentBonus();
+	}
+
+	/**
+	 * Calculate the reinforcement armies of a player from the number of countries
+	 * it owns.
+	 *
+	 * @param countriesOwned
+	 *            number of countries owned
+	 * @return reinforcement armies
+	 */
+	public static int calculateReinforcementArmies(int countriesOwned) {
 		int reinfoArmies = (int) Math.floor(countriesOwned / 3);
 		
 		// Minimum number of armies for any player in case reinforcement armies are less
@@ -32,22 +41,4 @@ public class ReinforcementPhaseUtil {
 		}
 		return reinfoArmies;
 	}
-
-	/**
-	 * Method to check whether players owns whole continent or not.
-	 * 
-	 * @param player
-	 *            current player
-	 * @return true if player owns all the countries of continent.
-	 */
-	@SuppressWarnings("unused")
-	private static boolean checkPlayerOwnsWholeContinent(Player player) {
-		Country country1 = player.getCountriesOwned().get(0);
-		for (Country country : player.getCountriesOwned()) {
-			if (!country.getContinentName().equals(country1.getContinentName())) {
-				return false;
-			}
-		}
-		return true;
-	}
 }
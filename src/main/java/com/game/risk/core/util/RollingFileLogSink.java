@@ -0,0 +1,149 @@
+package com.game.risk.core.util;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Sink writing the messages to a file, which is rolled over to numbered
+ * backups once it reaches a maximum size.
+ * <p>
+ * When the file is rolled, <code>name.1</code> becomes <code>name.2</code> and
+ * so on up to the number of backups, the oldest one being deleted, and the
+ * current file becomes <code>name.1</code>.
+ */
+public class RollingFileLogSink implements LogSink {
+
+	/** Line separator written after each message. */
+	private static final String LINE_SEPARATOR = System.lineSeparator();
+
+	/** The log file. */
+	private final File file;
+
+	/** Size of the file from which it is rolled over. */
+	private final long maxBytes;
+
+	/** Number of backups kept. */
+	private final int backups;
+
+	/** Writer of the current file, null once closed or after an error. */
+	private Writer writer;
+
+	/** Number of bytes in the current file. */
+	private long size;
+
+	/**
+	 * Instantiates a new rolling file sink, appending to the file if it exists.
+	 *
+	 * @param file
+	 *            the log file
+	 * @param maxBytes
+	 *            size of the file from which it is rolled over
+	 * @param backups
+	 *            number of backups kept
+	 * @throws IOException
+	 *             if the file cannot be opened
+	 */
+	public RollingFileLogSink(File file, long maxBytes, int backups) throws IOException {
+		this.file = file;
+		this.maxBytes = maxBytes;
+		this.backups = backups;
+		open();
+	}
+
+	@Override
+	public void write(List<String> messages) {
+		if (writer == null) {
+			return;
+		}
+		try {
+			for (String message : messages) {
+				// Characters are counted as bytes, exact for ASCII messages
+				int length = message.length() + LINE_SEPARATOR.length();
+				if (size > 0 && size + length > maxBytes) {
+					roll();
+				}
+				writer.write(message);
+				writer.write(LINE_SEPARATOR);
+				size += length;
+			}
+			writer.flush();
+		} catch (IOException e) {
+			System.out.println("Logging to " + file + " stopped: " + e.getMessage());
+			close();
+		}
+	}
+
+	@Override
+	public void close() {
+		if (writer == null) {
+			return;
+		}
+		try {
+			writer.close();
+		} catch (IOException e) {
+			System.out.println("Closing " + file + " failed: " + e.getMessage());
+		}
+		writer = null;
+	}
+
+	/**
+	 * Open the current file for appending.
+	 *
+	 * @throws IOException
+	 *             if the file cannot be opened
+	 */
+	private void open() throws IOException {
+		File parent = file.getAbsoluteFile().getParentFile();
+		if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+			throw new IOException("Cannot create directory " + parent);
+		}
+		size = file.length();
+		writer = new BufferedWriter(
+				new OutputStreamWriter(new FileOutputStream(file, true), StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Shift the backups and start a new current file.
+	 *
+	 * @throws IOException
+	 *             if the files cannot be renamed or opened
+	 */
+	private void roll() throws IOException {
+		writer.close();
+		if (backups > 0) {
+			File oldest = backup(backups);
+			if (oldest.exists() && !oldest.delete()) {
+				throw new IOException("Cannot delete " + oldest);
+			}
+			for (int index = backups - 1; index >= 1; index--) {
+				File backup = backup(index);
+				if (backup.exists() && !backup.renameTo(backup(index + 1))) {
+					throw new IOException("Cannot rename " + backup);
+				}
+			}
+			if (!file.renameTo(backup(1))) {
+				throw new IOException("Cannot rename " + file);
+			}
+		} else if (!file.delete()) {
+			throw new IOException("Cannot delete " + file);
+		}
+		open();
+	}
+
+	/**
+	 * Get a backup file.
+	 *
+	 * @param index
+	 *            index of the backup, from 1
+	 * @return the backup file
+	 */
+	private File backup(int index) {
+		return new File(file.getPath() + "." + index);
+	}
+}
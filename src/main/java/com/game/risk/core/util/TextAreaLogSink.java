@@ -0,0 +1,69 @@
+package com.game.risk.core.util;
+
+import java.util.List;
+
+import javax.swing.JTextArea;
+import javax.swing.SwingUtilities;
+import javax.swing.text.BadLocationException;
+
+/**
+ * Sink appending the messages to a text area on the event dispatch thread,
+ * keeping only the last lines.
+ */
+public class TextAreaLogSink implements LogSink {
+
+	/** The text area. */
+	private final JTextArea textArea;
+
+	/** Maximum number of lines kept in the text area. */
+	private final int maxLines;
+
+	/**
+	 * Instantiates a new text area sink.
+	 *
+	 * @param textArea
+	 *            the text area
+	 * @param maxLines
+	 *            maximum number of lines kept in the text area
+	 */
+	public TextAreaLogSink(JTextArea textArea, int maxLines) {
+		this.textArea = textArea;
+		this.maxLines = maxLines;
+	}
+
+	@Override
+	public void write(List<String> messages) {
+		StringBuilder builder = new StringBuilder();
+		for (String message : messages) {
+			builder.append(message).append('\n');
+		}
+		final String text = builder.toString();
+		SwingUtilities.invokeLater(new Runnable() {
+			@Override
+			public void run() {
+				textArea.append(text);
+				trim();
+			}
+		});
+	}
+
+	/**
+	 * Remove the oldest lines above the maximum.
+	 */
+	private void trim() {
+		int excessLines = textArea.getLineCount() - maxLines;
+		if (excessLines <= 0) {
+			return;
+		}
+		try {
+			textArea.replaceRange(null, 0, textArea.getLineEndOffset(excessLines - 1));
+		} catch (BadLocationException e) {
+			e.printStackTrace();
+		}
+	}
+
+	@Override
+	public void close() {
+		// The text area belongs to the logging window
+	}
+}
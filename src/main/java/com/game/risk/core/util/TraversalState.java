@@ -0,0 +1,98 @@
+package com.game.risk.core.util;
+
+import java.util.Arrays;
+
+/**
+ * Visited state of a graph traversal, kept outside of the model classes so
+ * that traversals of the same graph can run concurrently.
+ * <p>
+ * Each thread reuses its own arrays. A country is visited in the current
+ * traversal if its stamp equals the epoch of the traversal, so starting a new
+ * traversal only increments the epoch instead of clearing the arrays.
+ */
+public class TraversalState {
+
+	/** Traversal state of each thread. */
+	private static final ThreadLocal<TraversalState> STATES = new ThreadLocal<TraversalState>() {
+		@Override
+		protected TraversalState initialValue() {
+			return new TraversalState();
+		}
+	};
+
+	/** Epoch in which each country has been visited, indexed by country id. */
+	private int[] stamps = new int[0];
+
+	/** Queue of country ids, large enough to hold all the countries. */
+	private int[] queue = new int[0];
+
+	/** Epoch of the current traversal. */
+	private int epoch;
+
+	/**
+	 * Begin a new traversal on the current thread. The returned state is only
+	 * valid until the next traversal begins on the same thread.
+	 *
+	 * @param size
+	 *            size of the id space of the graph
+	 * @return traversal state with no country visited
+	 */
+	public static TraversalState begin(int size) {
+		TraversalState state = STATES.get();
+		state.reset(size);
+		return state;
+	}
+
+	/**
+	 * Reset the state for a new traversal.
+	 *
+	 * @param size
+	 *            size of the id space of the graph
+	 */
+	private void reset(int size) {
+		if (stamps.length < size) {
+			stamps = new int[size];
+			queue = new int[size];
+			epoch = 0;
+		}
+		if (++epoch == 0) {
+			Arrays.fill(stamps, 0);
+			epoch = 1;
+		}
+	}
+
+	/**
+	 * Mark a country as visited.
+	 *
+	 * @param id
+	 *            id of the country
+	 * @return true if the country was not visited yet
+	 */
+	public boolean visit(int id) {
+		if (stamps[id] == epoch) {
+			return false;
+		}
+		stamps[id] = epoch;
+		return true;
+	}
+
+	/**
+	 * Check whether a country has been visited.
+	 *
+	 * @param id
+	 *            id of the country
+	 * @return true if visited
+	 */
+	public boolean isVisited(int id) {
+		return stamps[id] == epoch;
+	}
+
+	/**
+	 * Get the queue of the traversal.
+	 *
+	 * @return queue of country ids
+	 */
+	public int[] getQueue() {
+		return queue;
+	}
+}
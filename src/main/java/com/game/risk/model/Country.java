@@ -1,14 +1,22 @@
 package com.game.risk.model;
 
+import com.game.risk.core.GameState;
+
 import java.util.Comparator;
 
 /**
  * Country object for populating the data related to country.
+ * <p>
+ * Once bound to a {@link GameState}, the owner and armies of the country are
+ * read from and written to the state, and the country is a view of its id.
  *
  * @author sohrab_singh
  */
 public class Country {
 
+	/** Identifier of the country in the countries graph, -1 if not assigned. */
+	private int id = -1;
+
 	/** Country Name. */
 	private String countryName;
 
@@ -26,6 +34,9 @@ public class Country {
 	 */
 	private int currentNumberOfArmies;
 
+	/** State of the game holding the owner and armies, null if not bound. */
+	private GameState gameState;
+
 	/** Name of the continent it belongs to. */
 	private String continentName;
 
@@ -56,6 +67,25 @@ public class Country {
 		}
 	};
 
+	/**
+	 * Get the identifier of the country in the countries graph.
+	 *
+	 * @return the id, -1 if not assigned
+	 */
+	public int getId() {
+		return id;
+	}
+
+	/**
+	 * Set the identifier of the country in the countries graph.
+	 *
+	 * @param id
+	 *            the id
+	 */
+	public void setId(int id) {
+		this.id = id;
+	}
+
 	/**
 	 * Get the country name.
 	 *
@@ -81,6 +111,9 @@ public class Country {
 	 * @return the currentNumberOfArmies
 	 */
 	public int getCurrentNumberOfArmies() {
+		if (gameState != null) {
+			return gameState.getArmies(id);
+		}
 		return currentNumberOfArmies;
 	}
 
@@ -91,7 +124,35 @@ public class Country {
 	 *            the currentNumberOfArmies to set
 	 */
 	public void setCurrentNumberOfArmies(int currentNumberOfArmies) {
-		this.currentNumberOfArmies = currentNumberOfArmies;
+		if (gameState != null) {
+			gameState.setArmies(id, currentNumberOfArmies);
+		} else {
+			this.currentNumberOfArmies = currentNumberOfArmies;
+		}
+	}
+
+	/**
+	 * Get the state of the game the country is bound to.
+	 *
+	 * @return the game state, null if not bound
+	 */
+	public GameState getGameState() {
+		return gameState;
+	}
+
+	/**
+	 * Bind the country to a state of the game, or unbind it with null, keeping
+	 * its current owner and armies locally.
+	 *
+	 * @param gameState
+	 *            the game state, indexed by the id of the country
+	 */
+	public void setGameState(GameState gameState) {
+		if (this.gameState != null) {
+			currentNumberOfArmies = this.gameState.getArmies(id);
+			playerName = this.gameState.getPlayerName(this.gameState.getOwner(id));
+		}
+		this.gameState = gameState;
 	}
 
 	/**
@@ -157,6 +218,9 @@ public class Country {
 	 * @return the playerName
 	 */
 	public String getPlayerName() {
+		if (gameState != null) {
+			return gameState.getPlayerName(gameState.getOwner(id));
+		}
 		return playerName;
 	}
 
@@ -167,7 +231,11 @@ public class Country {
 	 *            the playerName to set
 	 */
 	public void setPlayerName(String playerName) {
-		this.playerName = playerName;
+		if (gameState != null) {
+			gameState.setOwner(id, gameState.getPlayerIndex(playerName));
+		} else {
+			this.playerName = playerName;
+		}
 	}
 
 	/**
@@ -175,7 +243,10 @@ public class Country {
 	 *
 	 * @param visited
 	 *            the new visited
+	 * @deprecated graph traversals keep their visited state in
+	 *             {@link com.game.risk.core.util.TraversalState}
 	 */
+	@Deprecated
 	public void setVisited(boolean visited) {
 		isVisited = visited;
 	}
@@ -184,8 +255,10 @@ public class Country {
 	 * get the is isVisited parameter.
 	 *
 	 * @return isVisited
+	 * @deprecated graph traversals keep their visited state in
+	 *             {@link com.game.risk.core.util.TraversalState}
 	 */
-
+	@Deprecated
 	public boolean isVisited() {
 		return isVisited;
 	}
@@ -194,13 +267,13 @@ public class Country {
 	 * Decrease an army in a battle lost.
 	 */
 	public void looseArmy() {
-		currentNumberOfArmies--;
+		setCurrentNumberOfArmies(getCurrentNumberOfArmies() - 1);
 	}
 
 	/**
 	 * Increase an army in a battle won.
 	 */
 	public void addArmy() {
-		currentNumberOfArmies++;
+		setCurrentNumberOfArmies(getCurrentNumberOfArmies() + 1);
 	}
 }
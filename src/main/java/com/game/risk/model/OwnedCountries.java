@@ -0,0 +1,280 @@
+package com.game.risk.model;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * Countries owned by a player, as a read-only list without duplicates indexed
+ * by country id and kept in the order the countries were added.
+ * <p>
+ * The slot of each country is kept in an array indexed by its id, so adding,
+ * removing and looking for a country are O(1). A removed country leaves an
+ * empty slot in its place, and the empty slots are compacted in one pass on
+ * the next read by position, or as soon as they outnumber the countries, so a
+ * run of removals costs a single O(n) pass and the order of the remaining
+ * countries never changes. The countries without an id, or sharing the id of
+ * another country of the list, are not indexed and are looked for by a scan
+ * of the list. The list is changed through {@link #addCountry(Country)},
+ * {@link #removeCountry(Country)} and {@link #removeCountries(Collection)}
+ * only; the mutators of {@link java.util.List} are not supported.
+ */
+public class OwnedCountries extends AbstractList<Country> implements RandomAccess {
+
+	/** Initial capacity of the list. */
+	private static final int INITIAL_CAPACITY = 8;
+
+	/** Marker of the slot of a removed country, until the next compaction. */
+	private static final Country REMOVED = new Country("");
+
+	/** Countries of the list, with the slots of the removed countries. */
+	private Country[] countries = new Country[INITIAL_CAPACITY];
+
+	/** Number of slots used, including the slots of the removed countries. */
+	private int end;
+
+	/** Number of countries of the list. */
+	private int size;
+
+	/** Slot plus one of each indexed country by id, 0 if absent. */
+	private int[] positions = new int[INITIAL_CAPACITY];
+
+	/** Number of countries of the list which are not indexed. */
+	private int unindexedCount;
+
+	/**
+	 * Instantiates a new empty list.
+	 */
+	public OwnedCountries() {
+	}
+
+	/**
+	 * Instantiates a new list with the countries of a collection, in its order
+	 * and without duplicates.
+	 *
+	 * @param countries
+	 *            the countries
+	 */
+	public OwnedCountries(Collection<Country> countries) {
+		for (Country country : countries) {
+			addCountry(country);
+		}
+	}
+
+	@Override
+	public Country get(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+		compact();
+		return countries[index];
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		return slotOf(o) >= 0;
+	}
+
+	@Override
+	public int indexOf(Object o) {
+		if (slotOf(o) < 0) {
+			return -1;
+		}
+		compact();
+		return slotOf(o);
+	}
+
+	@Override
+	public int lastIndexOf(Object o) {
+		return indexOf(o);
+	}
+
+	/**
+	 * Add a country at the end of the list, if not already present.
+	 *
+	 * @param country
+	 *            the country
+	 * @return true if added
+	 */
+	public boolean addCountry(Country country) {
+		if (contains(country)) {
+			return false;
+		}
+		if (end == countries.length) {
+			countries = Arrays.copyOf(countries, end * 2);
+		}
+		countries[end] = country;
+		index(country, end);
+		end++;
+		size++;
+		modCount++;
+		return true;
+	}
+
+	/**
+	 * Remove a country from the list, keeping the order of the other countries.
+	 *
+	 * @param country
+	 *            the country
+	 * @return true if removed
+	 */
+	public boolean removeCountry(Country country) {
+		if (!release(country)) {
+			return false;
+		}
+		if (end - size > size) {
+			compact();
+		}
+		return true;
+	}
+
+	/**
+	 * Remove the countries of a collection, in one compaction pass keeping the
+	 * order of the remaining countries.
+	 *
+	 * @param countries
+	 *            the countries to remove
+	 * @return true if a country has been removed
+	 */
+	public boolean removeCountries(Collection<Country> countries) {
+		boolean changed = false;
+		for (Country country : countries) {
+			changed |= release(country);
+		}
+		compact();
+		return changed;
+	}
+
+	/**
+	 * Empty the slot of a country of the list.
+	 *
+	 * @param o
+	 *            the country
+	 * @return true if the country was in the list
+	 */
+	private boolean release(Object o) {
+		int slot = slotOf(o);
+		if (slot < 0) {
+			return false;
+		}
+		unindex(countries[slot], slot);
+		countries[slot] = REMOVED;
+		size--;
+		modCount++;
+		return true;
+	}
+
+	/**
+	 * Move the countries over the slots of the removed countries, in order, and
+	 * index them again.
+	 */
+	private void compact() {
+		if (end == size) {
+			return;
+		}
+		int newEnd = 0;
+		for (int i = 0; i < end; i++) {
+			if (countries[i] != REMOVED) {
+				countries[newEnd++] = countries[i];
+			}
+		}
+		Arrays.fill(countries, newEnd, end, null);
+		end = newEnd;
+		reindex();
+	}
+
+	/**
+	 * Get the slot of a country of the list.
+	 *
+	 * @param o
+	 *            the country, possibly null
+	 * @return the slot, -1 if absent
+	 */
+	private int slotOf(Object o) {
+		if (o != null && !(o instanceof Country) || o == REMOVED) {
+			return -1;
+		}
+		Country country = (Country) o;
+		int id = getId(country);
+		if (id >= 0 && id < positions.length && positions[id] > 0 && countries[positions[id] - 1] == country) {
+			return positions[id] - 1;
+		}
+		if (unindexedCount > 0) {
+			for (int i = 0; i < end; i++) {
+				if (countries[i] == country) {
+					return i;
+				}
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Record the slot of a country in the index, or count it as not indexed.
+	 *
+	 * @param country
+	 *            the country
+	 * @param slot
+	 *            its slot
+	 */
+	private void index(Country country, int slot) {
+		int id = getId(country);
+		if (id < 0) {
+			unindexedCount++;
+			return;
+		}
+		if (id >= positions.length) {
+			positions = Arrays.copyOf(positions, Math.max(id + 1, positions.length * 2));
+		}
+		if (positions[id] > 0) {
+			unindexedCount++;
+		} else {
+			positions[id] = slot + 1;
+		}
+	}
+
+	/**
+	 * Index the slots of all the countries of the list again.
+	 */
+	private void reindex() {
+		Arrays.fill(positions, 0);
+		unindexedCount = 0;
+		for (int i = 0; i < end; i++) {
+			index(countries[i], i);
+		}
+	}
+
+	/**
+	 * Forget the slot of a country in the index.
+	 *
+	 * @param country
+	 *            the country
+	 * @param slot
+	 *            its slot
+	 */
+	private void unindex(Country country, int slot) {
+		int id = getId(country);
+		if (id >= 0 && id < positions.length && positions[id] == slot + 1) {
+			positions[id] = 0;
+		} else {
+			unindexedCount--;
+		}
+	}
+
+	/**
+	 * Get the id of a country of the list.
+	 *
+	 * @param country
+	 *            the country, possibly null
+	 * @return the id, -1 for null or a country without id
+	 */
+	private static int getId(Country country) {
+		return country == null ? -1 : country.getId();
+	}
+}
@@ -3,19 +3,25 @@ package com.game.risk.model;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Observable;
-import java.util.Random;
 
+import com.game.risk.core.GameState;
 import com.game.risk.core.MapFileReader;
 import com.game.risk.core.strategy.PlayerStrategy;
 import com.game.risk.core.util.AttackPhaseUtil;
+import com.game.risk.core.util.FastRandom;
 import com.game.risk.core.util.FortificationPhaseUtil;
 import com.game.risk.core.util.LoggingUtil;
 import com.game.risk.core.util.ReinforcementPhaseUtil;
 
 /**
  * Player object for populating the data related to player.
+ * <p>
+ * Once bound to a {@link GameState}, the armies to place are read from and
+ * written to the state, and the state keeps the count of each card type of the
+ * hand, whose order stays in the card list.
  * 
  * @author sohrab_singh
  * @author Sarthak
@@ -25,8 +31,8 @@ public class Player extends Observable {
 	/** Player name. */
 	private String playerName;
 
-	/** Countries owned by the player. */
-	private List<Country> countriesOwned;
+	/** Countries owned by the player, indexed by country id. */
+	private OwnedCountries countriesOwned;
 
 	/** Card List. */
 	private List<CardType> cardList;
@@ -34,6 +40,12 @@ public class Player extends Observable {
 	/** Number of armies. */
 	private int numberOfArmies;
 
+	/** State of the game holding the armies and cards, null if not bound. */
+	private GameState gameState;
+
+	/** Index of the player in the game state. */
+	private int playerIndex = -1;
+
 	/** Current Domination Percentage for Player Domination View. */
 	private double currentDominationPercentage;
 
@@ -57,6 +69,9 @@ public class Player extends Observable {
 	/** Player Strategy. */
 	private PlayerStrategy playerStrategy;
 
+	/** Random number generator of the dice, cards and strategy of the player. */
+	private FastRandom random = new FastRandom();
+
 	/**
 	 * Sets the player strategy.
 	 *
@@ -71,7 +86,7 @@ public class Player extends Observable {
 	 * Player Constructor.
 	 */
 	public Player() {
-		countriesOwned = new ArrayList<>();
+		countriesOwned = new OwnedCountries();
 		continentsOwned = new ArrayList<>();
 		cardList = new ArrayList<>();
 	}
@@ -96,14 +111,27 @@ public class Player extends Observable {
 	}
 
 	/**
-	 * Gets the continents owned.
+	 * Gets the continents owned. Once the player is bound to a game state, they
+	 * are the continents it currently controls in the state.
 	 *
 	 * @return list of entire continents owned by the player (if any)
 	 */
 	public List<Continent> getContinentsOwned() {
+		if (gameState != null) {
+			return gameState.getControlledContinents(playerIndex);
+		}
 		return continentsOwned;
 	}
 
+	/**
+	 * Get the sum of the control values of the continents owned by the player.
+	 *
+	 * @return the continent bonus, 0 if the player is not bound to a game state
+	 */
+	public int getContinentBonus() {
+		return gameState != null ? gameState.getContinentBonus(playerIndex) : 0;
+	}
+
 	/**
 	 * Set the continentsOwned list.
 	 *
@@ -115,11 +143,15 @@ public class Player extends Observable {
 	}
 
 	/**
-	 * Gets the current domination percentage.
+	 * Gets the current domination percentage. Once the player is bound to a game
+	 * state, it is the share of the countries it currently owns in the state.
 	 *
 	 * @return the currentDominationPercentage
 	 */
 	public double getCurrentDominationPercentage() {
+		if (gameState != null) {
+			return gameState.getDominationPercentage(playerIndex);
+		}
 		return currentDominationPercentage;
 	}
 
@@ -155,7 +187,8 @@ public class Player extends Observable {
 	}
 
 	/**
-	 * Get the countries owned by player.
+	 * Get the countries owned by player, as a read-only list in the order they
+	 * were added, changed through the methods of the player.
 	 *
 	 * @return the countriesOwned
 	 */
@@ -164,13 +197,14 @@ public class Player extends Observable {
 	}
 
 	/**
-	 * Set the countries owned by player.
+	 * Set the countries owned by player. The countries are copied into the
+	 * indexed list of the player.
 	 *
 	 * @param countriesOwned
 	 *            the countriesOwned to set
 	 */
 	public void setCountriesOwned(List<Country> countriesOwned) {
-		this.countriesOwned = countriesOwned;
+		this.countriesOwned = new OwnedCountries(countriesOwned);
 	}
 
 	/**
@@ -190,6 +224,14 @@ public class Player extends Observable {
 	 */
 	public void setCardList(List<CardType> cardList) {
 		this.cardList = cardList;
+		if (gameState != null) {
+			for (CardType cardType : CardType.values()) {
+				gameState.setCardCount(playerIndex, cardType, 0);
+			}
+			for (CardType cardType : cardList) {
+				updateCardCount(cardType, 1);
+			}
+		}
 	}
 
 	/**
@@ -198,6 +240,9 @@ public class Player extends Observable {
 	 * @return the numberOfArmies
 	 */
 	public int getNumberOfArmies() {
+		if (gameState != null) {
+			return gameState.getArmiesToPlace(playerIndex);
+		}
 		return numberOfArmies;
 	}
 
@@ -208,7 +253,60 @@ public class Player extends Observable {
 	 *            the numberOfArmies to set
 	 */
 	public void setNumberOfArmies(int numberOfArmies) {
-		this.numberOfArmies = numberOfArmies;
+		if (gameState != null) {
+			gameState.setArmiesToPlace(playerIndex, numberOfArmies);
+		} else {
+			this.numberOfArmies = numberOfArmies;
+		}
+	}
+
+	/**
+	 * Get the state of the game the player is bound to.
+	 *
+	 * @return the game state, null if not bound
+	 */
+	public GameState getGameState() {
+		return gameState;
+	}
+
+	/**
+	 * Get the index of the player in the game state.
+	 *
+	 * @return the player index, -1 if not bound
+	 */
+	public int getPlayerIndex() {
+		return playerIndex;
+	}
+
+	/**
+	 * Bind the player to a state of the game, or unbind it with null, keeping
+	 * its current armies locally.
+	 *
+	 * @param gameState
+	 *            the game state
+	 * @param playerIndex
+	 *            index of the player in the game state
+	 */
+	public void setGameState(GameState gameState, int playerIndex) {
+		if (this.gameState != null) {
+			numberOfArmies = this.gameState.getArmiesToPlace(this.playerIndex);
+		}
+		this.gameState = gameState;
+		this.playerIndex = gameState == null ? -1 : playerIndex;
+	}
+
+	/**
+	 * Update the count of a card type in the game state, if bound.
+	 *
+	 * @param cardType
+	 *            the card type
+	 * @param delta
+	 *            the change of the count
+	 */
+	private void updateCardCount(CardType cardType, int delta) {
+		if (gameState != null) {
+			gameState.setCardCount(playerIndex, cardType, gameState.getCardCount(playerIndex, cardType) + delta);
+		}
 	}
 
 	/**
@@ -227,18 +325,128 @@ public class Player extends Observable {
 	 *            the country
 	 */
 	public void addCountry(Country country) {
-		this.countriesOwned.add(country);
+		this.countriesOwned.addCountry(country);
+	}
+
+	/**
+	 * Get the country of the player with the most armies. Once the player is
+	 * bound to a game state it is read from the index of the state in O(1),
+	 * otherwise the first one of the owned countries is found by a scan.
+	 *
+	 * @return the strongest country, null if the player owns no country
+	 */
+	public Country getStrongestCountry() {
+		if (gameState != null) {
+			int id = gameState.getStrongestCountry(playerIndex);
+			return id < 0 ? null : gameState.getTopology().getCountry(id);
+		}
+		Country strongestCountry = null;
+		for (Country country : countriesOwned) {
+			if (strongestCountry == null
+					|| country.getCurrentNumberOfArmies() > strongestCountry.getCurrentNumberOfArmies()) {
+				strongestCountry = country;
+			}
+		}
+		return strongestCountry;
+	}
+
+	/**
+	 * Get the country of the player with the fewest armies. Once the player is
+	 * bound to a game state it is read from the index of the state in O(1),
+	 * otherwise the first one of the owned countries is found by a scan.
+	 *
+	 * @return the weakest country, null if the player owns no country
+	 */
+	public Country getWeakestCountry() {
+		if (gameState != null) {
+			int id = gameState.getWeakestCountry(playerIndex);
+			return id < 0 ? null : gameState.getTopology().getCountry(id);
+		}
+		Country weakestCountry = null;
+		for (Country country : countriesOwned) {
+			if (weakestCountry == null
+					|| country.getCurrentNumberOfArmies() < weakestCountry.getCurrentNumberOfArmies()) {
+				weakestCountry = country;
+			}
+		}
+		return weakestCountry;
+	}
+
+	/**
+	 * Check whether the player owns a country, in O(1).
+	 *
+	 * @param country
+	 *            the country
+	 * @return true if owned
+	 */
+	public boolean ownsCountry(Country country) {
+		return countriesOwned.contains(country);
 	}
 
 	/**
-	 * Remove a country from the CountriesOwned list.
+	 * Remove a country from the CountriesOwned list, in O(1).
 	 *
 	 * @param country
 	 *            the country
 	 * @return true or false
 	 */
 	public boolean removeCountry(Country country) {
-		return countriesOwned.remove(country);
+		return countriesOwned.removeCountry(country);
+	}
+
+	/**
+	 * Add countries to the CountriesOwned list.
+	 *
+	 * @param countries
+	 *            the countries
+	 */
+	public void addCountries(Collection<Country> countries) {
+		for (Country country : countries) {
+			countriesOwned.addCountry(country);
+		}
+	}
+
+	/**
+	 * Remove countries from the CountriesOwned list, in one pass over the list.
+	 *
+	 * @param countries
+	 *            the countries
+	 * @return true if a country has been removed
+	 */
+	public boolean removeCountries(Collection<Country> countries) {
+		return countriesOwned.removeCountries(countries);
+	}
+
+	/**
+	 * Notify the observers of the player, once, of the countries it has just
+	 * captured.
+	 *
+	 * @param countries
+	 *            the captured countries
+	 */
+	public void notifyCountriesCaptured(List<Country> countries) {
+		setChanged();
+		notifyObservers(countries);
+	}
+
+	/**
+	 * Get the random number generator of the player.
+	 *
+	 * @return the random number generator
+	 */
+	public FastRandom getRandom() {
+		return random;
+	}
+
+	/**
+	 * Set the random number generator of the player, split from the one of the
+	 * game.
+	 *
+	 * @param random
+	 *            the random number generator
+	 */
+	public void setRandom(FastRandom random) {
+		this.random = random;
 	}
 
 	/**
@@ -289,7 +497,7 @@ public class Player extends Observable {
 		}
 
 		FortificationPhaseUtil.moveArmiesBetweenCountries(country1, country2, fortificationArmies,
-				fileParser.getCountriesGraph().getAdjListHashMap());
+				fileParser.getCountriesGraph());
 		LoggingUtil.logMessage(fortificationArmies + " armies has been moved from " + country1 + " to " + country2);
 
 	}
@@ -306,7 +514,7 @@ public class Player extends Observable {
 	public void assignArmiesToCountries(Country selectedCountry, int numberOfArmies) {
 
 		if ((this.getNumberOfArmies()) > 0 && this.getNumberOfArmies() >= numberOfArmies) {
-			if (this.getCountriesOwned().contains(selectedCountry)) {
+			if (ownsCountry(selectedCountry)) {
 				selectedCountry.setCurrentNumberOfArmies(selectedCountry.getCurrentNumberOfArmies() + numberOfArmies);
 				this.setNumberOfArmies(this.getNumberOfArmies() - numberOfArmies);
 			} else {
@@ -349,18 +557,18 @@ public class Player extends Observable {
 		System.out.println("\n:: Before Battle Start ::");
 		System.out.println("Attacker Armies: " + attacker.getCurrentNumberOfArmies());
 		System.out.println("Defender Armies: " + defender.getCurrentNumberOfArmies());
-		AttackPhaseUtil.startBattle(attacker, defender, diceAttacker, diceDefender);
+		AttackPhaseUtil.startBattle(attacker, defender, diceAttacker, diceDefender, random);
 	}
 
 	/**
 	 * Adds the card.
 	 */
 	public void addCard() {
-		Random random = new Random();
 		int randomCard = random.nextInt(3);
 		CardType cardType = CardType.values()[randomCard];
 
 		getCardList().add(cardType);
+		updateCardCount(cardType, 1);
 		LoggingUtil.logMessage("Added new " + cardType + " Card into Player " + getPlayerName());
 		setChanged();
 		if (getCardList().size() >= 3) {
@@ -387,9 +595,9 @@ public class Player extends Observable {
 	public void removeCardsFromDeck() {
 
 		if (isSameOrDifferentSort(0, 1, 2) == true) {
-			getCardList().remove(2);
-			getCardList().remove(1);
-			getCardList().remove(0);
+			updateCardCount(getCardList().remove(2), -1);
+			updateCardCount(getCardList().remove(1), -1);
+			updateCardCount(getCardList().remove(0), -1);
 
 		} else {
 			System.out.println("You must exchange three cards of the same sort or different sort.");
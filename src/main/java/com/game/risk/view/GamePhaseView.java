@@ -9,7 +9,6 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
 import java.util.Observable;
 import java.util.Observer;
 import javax.swing.JFrame;
@@ -18,17 +17,12 @@ import javax.swing.border.Border;
 import javax.swing.border.EmptyBorder;
 import javax.swing.filechooser.FileNameExtensionFilter;
 import com.game.risk.RiskGamePhases;
+import com.game.risk.SavedGame;
 import com.game.risk.core.MapFileReader;
 import com.game.risk.core.util.LoggingUtil;
 import com.game.risk.core.util.PhaseStates;
-import com.game.risk.model.CardType;
 import com.game.risk.model.Country;
 import com.game.risk.model.Player;
-import com.game.risk.model.autogen.GameStateDataProtos.Continent;
-import com.game.risk.model.autogen.GameStateDataProtos.CountriesGraph;
-import com.game.risk.model.autogen.GameStateDataProtos.CountriesGraph.CountryLinkedList;
-import com.game.risk.model.autogen.GameStateDataProtos.GameState;
-import com.game.risk.model.autogen.GameStateDataProtos.Player.Cards;
 
 import javax.swing.JLabel;
 import java.awt.Font;
@@ -143,12 +137,6 @@ public class GamePhaseView extends JFrame implements Observer, MouseListener {
 	/** Observable class for the Game Phase View Observer. */
 	private RiskGamePhases gamePhases;
 
-	/** The country protobuf map. */
-	private HashMap<String, com.game.risk.model.autogen.GameStateDataProtos.Country> countryProtobufMap;
-
-	/** The player protobuf map. */
-	private HashMap<String, com.game.risk.model.autogen.GameStateDataProtos.Player> playerProtobufMap;
-
 	/**
 	 * GamePhaseView Constructor.
 	 *
@@ -162,8 +150,6 @@ public class GamePhaseView extends JFrame implements Observer, MouseListener {
 		initializeView();
 		panelHashMap = new HashMap<>();
 		adjacentPanelHashMap = new HashMap<>();
-		countryProtobufMap = new HashMap<>();
-		playerProtobufMap = new HashMap<>();
 		this.gamePhases = gamePhases;
 
 	}
@@ -523,40 +509,18 @@ public class GamePhaseView extends JFrame implements Observer, MouseListener {
 	}
 
 	/**
-	 * Populate the Data Model classes generated by protoc compiler on Messages.
+	 * Write the game to the file chosen by the user with the Data Model classes
+	 * generated by protoc compiler on Messages.
 	 *
 	 * @param fileChooser
 	 *            JFileChooser type variable
 	 */
 	private void populateProtobufDataModel(JFileChooser fileChooser) {
-		com.game.risk.model.autogen.GameStateDataProtos.Player current = createProtobufPlayerInstance(currentPlayer);
-		GameState.Builder builder = GameState.newBuilder().setCurrentPlayer(current);
-		for (Player player : gamePhases.getPlayerList()) {
-			builder.addPlayersList(createProtobufPlayerInstance(player));
-		}
-		GameState gameState = builder.build();
-		CountriesGraph.Builder graphBuilder = CountriesGraph.newBuilder();
-		graphBuilder.putAllContinentMap(populateContinentProtobufMapInstance());
-		graphBuilder.setCountryCount(fileParser.getCountriesHashMap().size());
-		System.out.println(fileParser.getCountriesHashMap().size());
-		for (Country country : fileParser.getCountriesHashMap().values()) {
-			System.out.println(country.getCountryName());
-			graphBuilder.putCountryMap(country.getCountryName(), createAdjacentCountriesProtobufInstance(country));
-		}
-		CountriesGraph graph = graphBuilder.build();
-		com.game.risk.model.autogen.GameStateDataProtos.MapFileReader.Builder fileBuilder = com.game.risk.model.autogen.GameStateDataProtos.MapFileReader
-				.newBuilder();
-		fileBuilder.setGraphDataStructure(graph);
-		fileBuilder.putAllCountryMap(populateCountryProtobufMapInstance())
-				.putAllContinentMap(populateContinentProtobufMapInstance());
-		com.game.risk.model.autogen.GameStateDataProtos.MapFileReader mapFileReader = fileBuilder.build();
 		if (fileChooser.showSaveDialog(getRootPane()) == JFileChooser.APPROVE_OPTION) {
 
 			try {
 				output = new FileOutputStream(fileChooser.getSelectedFile());
-				graph.writeDelimitedTo(output);
-				mapFileReader.writeDelimitedTo(output);
-				gameState.writeDelimitedTo(output);
+				SavedGame.write(fileParser, gamePhases.getPlayerList(), currentPlayer, output);
 				System.out.println(output.toString());
 			} catch (IOException e1) {
 				e1.printStackTrace();
@@ -572,132 +536,6 @@ public class GamePhaseView extends JFrame implements Observer, MouseListener {
 
 	}
 
-	/**
-	 * Populate Continent Protobuf objects to a Map.
-	 *
-	 * @return Continent Protobuf Map object
-	 */
-	private Map<String, Continent> populateContinentProtobufMapInstance() {
-		Map<String, Continent> continentMap = new HashMap<>();
-		for (String continent : fileParser.getContinentHashMap().keySet()) {
-			continentMap.put(continent, createProtobufContinentInstance(continent));
-		}
-		return continentMap;
-	}
-
-	/**
-	 * Populate Country Protobuf objects to a Map.
-	 *
-	 * @return Country Protobuf Map object
-	 */
-	private Map<String, com.game.risk.model.autogen.GameStateDataProtos.Country> populateCountryProtobufMapInstance() {
-		Map<String, com.game.risk.model.autogen.GameStateDataProtos.Country> countryMap = new HashMap<>();
-		for (Country country : fileParser.getCountriesHashMap().values()) {
-			countryMap.put(country.getCountryName(), createCountryProtobufInstance(country));
-		}
-		return countryMap;
-	}
-
-	/**
-	 * Create an Adjacent Countries protobuf instance.
-	 *
-	 * @param selectedCountry
-	 *            the selected country
-	 * @return CountryLinkedList object
-	 */
-	private CountryLinkedList createAdjacentCountriesProtobufInstance(Country selectedCountry) {
-		LinkedList<Country> linkedList = new LinkedList<>();
-		linkedList.clear();
-		linkedList = fileParser.getCountriesGraph().getAdjListHashMap().get(selectedCountry);
-		List<com.game.risk.model.autogen.GameStateDataProtos.Country> list = new ArrayList<>();
-		for (Country country : linkedList) {
-			list.add(createCountryProtobufInstance(country));
-		}
-		return CountryLinkedList.newBuilder().addAllCountry(list).build();
-	}
-
-	/**
-	 * Creating a Continent protobuf instance and returning it to be writen to file
-	 * output stream.
-	 *
-	 * @param continent
-	 *            the continent
-	 * @return autogen.GameStateDataProtos.Country object
-	 */
-	private com.game.risk.model.autogen.GameStateDataProtos.Continent createProtobufContinentInstance(
-			String continent) {
-		Continent.Builder builder = Continent.newBuilder();
-		for (Country country : fileParser.getContinentHashMap().get(continent).getCountries()) {
-			builder.addBelongingCountry(createCountryProtobufInstance(country));
-		}
-		builder.setContinentName(fileParser.getContinentHashMap().get(continent).getContinentName())
-				.setControlValue(fileParser.getContinentHashMap().get(continent).getControlValue());
-		return builder.build();
-	}
-
-	/**
-	 * Creating a Player protobuf instance and returning it to be written to file
-	 * output stream.
-	 *
-	 * @param currentPlayer
-	 *            the current player
-	 * @return autogen.GameStateDataProtos.Player object
-	 */
-	private com.game.risk.model.autogen.GameStateDataProtos.Player createProtobufPlayerInstance(Player currentPlayer) {
-		com.game.risk.model.autogen.GameStateDataProtos.Player.Builder playerBuilder = com.game.risk.model.autogen.GameStateDataProtos.Player
-				.newBuilder();
-		System.out.println("CP: " + currentPlayer.getPlayerName());
-		if (playerProtobufMap.containsKey(currentPlayer.getPlayerName())) {
-			return playerProtobufMap.get(currentPlayer.getPlayerName());
-		} else {
-			for (int i = 0; i < currentPlayer.getCountriesOwned().size(); i++) {
-
-				playerBuilder.addCountryOwned(createCountryProtobufInstance(currentPlayer.getCountriesOwned().get(i)));
-			}
-
-			for (CardType cardType : currentPlayer.getCardList()) {
-				Cards.Builder builder = Cards.newBuilder();
-				if (cardType.equals(CardType.Infantry)) {
-					builder.setCard(com.game.risk.model.autogen.GameStateDataProtos.Player.CardType.INFANTRY);
-				} else if (cardType.equals(CardType.Artillery)) {
-					builder.setCard(com.game.risk.model.autogen.GameStateDataProtos.Player.CardType.ARTILLERY);
-				} else {
-					builder.setCard(com.game.risk.model.autogen.GameStateDataProtos.Player.CardType.CAVALRY);
-				}
-				playerBuilder.addCardList(builder.build());
-			}
-			com.game.risk.model.autogen.GameStateDataProtos.Player player = playerBuilder
-					.setPlayerName(currentPlayer.getPlayerName()).setNumberOfArmies(currentPlayer.getNumberOfArmies())
-					.setPercentageDomination(currentPlayer.getCurrentDominationPercentage())
-					.setIsAI(currentPlayer.isAI()).build();
-			System.out.println(player.getPlayerName());
-			playerProtobufMap.put(player.getPlayerName(), player);
-			return player;
-		}
-
-	}
-
-	/**
-	 * Create Country protobuf instance.
-	 *
-	 * @param country
-	 *            the country
-	 * @return autogen.GameStateDataProtos.Country object
-	 */
-	private com.game.risk.model.autogen.GameStateDataProtos.Country createCountryProtobufInstance(Country country) {
-		if (countryProtobufMap.containsKey(country.getCountryName())) {
-			return countryProtobufMap.get(country.getCountryName());
-		} else {
-			com.game.risk.model.autogen.GameStateDataProtos.Country newCountry = com.game.risk.model.autogen.GameStateDataProtos.Country
-					.newBuilder().setCountryName(country.getCountryName()).setContinentName(country.getContinentName())
-					.setXCoordinate(country.getxCoordinate()).setYCoordinate(country.getyCoordinate())
-					.setPlayerName(country.getPlayerName()).setCurrentArmiesCount(country.getCurrentNumberOfArmies())
-					.build();
-			countryProtobufMap.put(country.getCountryName(), newCountry);
-			return newCountry;
-		}
-	}
-
 	@Override
 	public void mouseEntered(MouseEvent e) {
 	}
@@ -16,6 +16,7 @@ import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.border.EmptyBorder;
 
+import com.game.risk.core.DominationSnapshot;
 import com.game.risk.model.Player;
 
 /**
@@ -106,7 +107,9 @@ public class PlayerDominationView extends JFrame implements Observer, MouseListe
 	@Override
 	public void update(Observable arg0, Object arg1) {
 		this.setVisible(true);
-		if (arg1.getClass().equals(String.class) && (String) arg1 != null) {
+		if (arg1 instanceof DominationSnapshot) {
+			updatePlayerDominationPanel();
+		} else if (arg1 instanceof String) {
 			if (arg1.equals("domination")) {
 				updatePlayerDominationPanel();
 			}
@@ -55,7 +55,7 @@ public class PlayerSelectionView extends JFrame implements MouseListener {
 	private JComboBox comboBox1;
 
 	/** The types. */
-	private String[] types = { "Human", "Aggressive", "Benevolent", "Random", "Cheater" };
+	private String[] types = { "Human", "Aggressive", "Benevolent", "Random", "Cheater", "Mcts" };
 
 	/** The player count types. */
 	private String[] playerCountTypes = { "2", "3", "4", "5", "6" };
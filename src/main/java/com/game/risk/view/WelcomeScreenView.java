@@ -7,6 +7,7 @@ import javax.swing.filechooser.FileNameExtensionFilter;
 import javax.swing.filechooser.FileSystemView;
 
 import com.game.risk.RiskGameDriver;
+import com.game.risk.core.InvalidMapFileException;
 import com.game.risk.core.MapEditor;
 import com.game.risk.core.MapFileReader;
 import com.game.risk.core.util.LoggingUtil;
@@ -21,6 +22,7 @@ import java.awt.event.MouseListener;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.util.Arrays;
 
 /**
  * View for the user to choose from loading a map file or creating a new map.
@@ -142,15 +144,16 @@ public class WelcomeScreenView extends JFrame implements MouseListener {
 				String filename = fileChooser.getSelectedFile().getAbsolutePath();
 				System.out.println("Path: " + filename);
 				try {
-					parser = new MapFileReader(new File(filename));
-					parser.readFile();
-					if (!parser.checkFileValidation()) {
-						System.out.println("Invalid File Selected!");
-						LoggingUtil.logMessage("Invalid File Selected!");
-						return;
-					}
+					parser = new MapFileReader(new File(filename)).readValidatedFile();
 					view = new MapEditor(parser);
 					isSaved = view.readMapEditor(false);
+				} catch (InvalidMapFileException e) {
+					for (String error : e.getErrors()) {
+						System.out.println(error);
+					}
+					System.out.println("Invalid File Selected!");
+					LoggingUtil.logMessage("Invalid File Selected!");
+					return;
 				} catch (IOException e) {
 					e.printStackTrace();
 				}
@@ -181,10 +184,18 @@ public class WelcomeScreenView extends JFrame implements MouseListener {
 
 			}
 		} else {
-			try {
-				RiskGameDriver.startTournamentMode();
-			} catch (IOException e) {
-				e.printStackTrace();
+			// Selecting the maps of the tournament
+			fileChooser = new JFileChooser(FileSystemView.getFileSystemView().getHomeDirectory());
+			fileChooser.setDialogTitle("Choose the Tournament Map Files");
+			fileChooser.setAcceptAllFileFilterUsed(false);
+			fileChooser.setMultiSelectionEnabled(true);
+			fileChooser.addChoosableFileFilter(new FileNameExtensionFilter("Map File Extensions", "map", "MAP"));
+			if (fileChooser.showOpenDialog(getRootPane()) == JFileChooser.APPROVE_OPTION) {
+				try {
+					RiskGameDriver.startTournamentMode(Arrays.asList(fileChooser.getSelectedFiles()));
+				} catch (IOException e) {
+					e.printStackTrace();
+				}
 			}
 		}
 		if (isSaved) {
@@ -0,0 +1,91 @@
+package com.game.risk;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.game.risk.core.MapFileCache;
+import com.game.risk.core.MapFileReader;
+import com.game.risk.model.CardType;
+import com.game.risk.model.Country;
+import com.game.risk.model.Player;
+
+/**
+ * Test class for the save and load of a game.
+ */
+public class SavedGameTest {
+
+	/** Map of the saved game. */
+	private MapFileReader fileParser;
+
+	/** Players of the saved game. */
+	private List<Player> players;
+
+	/**
+	 * Setup method for the test class.
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Before
+	public void setUp() throws IOException {
+		fileParser = new MapFileCache().load(new File("src//test//resources//World.map")).copyMap();
+		players = new ArrayList<>();
+		for (String name : new String[] { "Sohrab", "Sarthak" }) {
+			Player player = new Player();
+			player.setPlayerName(name);
+			players.add(player);
+		}
+		int i = 0;
+		for (Country country : fileParser.getCountriesHashMap().values()) {
+			Player owner = players.get(i % players.size());
+			country.setPlayerName(owner.getPlayerName());
+			country.setCurrentNumberOfArmies(1 + i % 5);
+			owner.addCountry(country);
+			i++;
+		}
+		List<CardType> cards = new ArrayList<>();
+		cards.add(CardType.Artillery);
+		cards.add(CardType.Infantry);
+		players.get(1).setCardList(cards);
+		players.get(1).setNumberOfArmies(4);
+	}
+
+	/**
+	 * Method to test that a loaded game matches the saved one.
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testRoundTrip() throws IOException {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		SavedGame.write(fileParser, players, players.get(1), output);
+		RiskGamePhases gamePhases = SavedGame.read(new ByteArrayInputStream(output.toByteArray()));
+		MapFileReader loaded = gamePhases.getFileParser();
+		assertEquals(fileParser.getCountriesHashMap().size(), loaded.getCountriesHashMap().size());
+		for (Country country : fileParser.getCountriesHashMap().values()) {
+			Country copy = loaded.getCountriesHashMap().get(country.getCountryName());
+			assertEquals(country.getPlayerName(), copy.getPlayerName());
+			assertEquals(country.getCurrentNumberOfArmies(), copy.getCurrentNumberOfArmies());
+			assertEquals(fileParser.getCountriesGraph().getAdjListHashMap().get(country).size(),
+					loaded.getCountriesGraph().getAdjListHashMap().get(copy).size());
+		}
+		List<Player> loadedPlayers = gamePhases.getPlayerList();
+		assertEquals(players.size(), loadedPlayers.size());
+		Player player = loadedPlayers.get(1);
+		assertEquals("Sarthak", player.getPlayerName());
+		assertEquals(players.get(1).getCountriesOwned().size(), player.getCountriesOwned().size());
+		assertEquals(players.get(1).getCardList(), player.getCardList());
+		assertEquals(4, player.getNumberOfArmies());
+		assertEquals("Sarthak", gamePhases.getCurrentPlayer().getPlayerName());
+	}
+}
@@ -0,0 +1,98 @@
+package com.game.risk;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.game.risk.core.MapFileCache;
+import com.game.risk.core.MapFileReader;
+import com.game.risk.core.util.FastRandom;
+import com.game.risk.model.Country;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for the tournament engine.
+ */
+public class TournamentEngineTest {
+
+	/** Executor running the games. */
+	private ExecutorService executor;
+
+	/** Strategies playing the games. */
+	private List<String> strategies;
+
+	/**
+	 * Setup method for the test class.
+	 */
+	@Before
+	public void setUp() {
+		executor = Executors.newFixedThreadPool(2);
+		strategies = new ArrayList<>();
+		strategies.add("Cheater");
+		strategies.add("Aggressive");
+		strategies.add("Benevolent");
+	}
+
+	/**
+	 * Shut down the executor.
+	 */
+	@After
+	public void tearDown() {
+		executor.shutdown();
+	}
+
+	/**
+	 * Method to test that every game of every map gets an outcome.
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 * @throws InterruptedException
+	 *             the interrupted exception
+	 */
+	@Test
+	public void testPlay() throws IOException, InterruptedException {
+		File map1 = new File("src//test//resources//3D Cliff.map");
+		File map2 = new File("src//test//resources//World.map");
+		TournamentResult result = new TournamentEngine(strategies, 3, 10, executor).play(Arrays.asList(map1, map2));
+		assertEquals(Arrays.asList(map1.getPath(), map2.getPath()), result.getMapNames());
+		assertEquals(6, result.getGamesCount());
+		int games = result.getTotalCount(TournamentResult.DRAW);
+		for (String strategy : strategies) {
+			games += result.getTotalCount(strategy);
+		}
+		assertEquals(6, games);
+		assertEquals(0, result.getTotalCount(TournamentResult.ERROR));
+	}
+
+	/**
+	 * Method to test that a seed reproduces a game, including the searches of
+	 * the Mcts strategy.
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testSeedReproducesGame() throws IOException {
+		strategies.add("Random");
+		strategies.add("Mcts");
+		TournamentEngine engine = new TournamentEngine(strategies, 1, 10, executor);
+		MapFileReader template = new MapFileCache().load(new File("src//test//resources//World.map"));
+		MapFileReader map1 = template.copyMap();
+		MapFileReader map2 = template.copyMap();
+		assertEquals(engine.playGame(map1, new FastRandom(42)), engine.playGame(map2, new FastRandom(42)));
+		for (Country country : map1.getCountriesHashMap().values()) {
+			Country copy = map2.getCountriesHashMap().get(country.getCountryName());
+			assertEquals(country.getPlayerName(), copy.getPlayerName());
+			assertEquals(country.getCurrentNumberOfArmies(), copy.getCurrentNumberOfArmies());
+		}
+	}
+}
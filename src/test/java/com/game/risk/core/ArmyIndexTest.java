@@ -0,0 +1,107 @@
+package com.game.risk.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import com.game.risk.core.util.FastRandom;
+import com.game.risk.model.Country;
+import com.game.risk.model.Player;
+
+/**
+ * Test class for the army index.
+ */
+public class ArmyIndexTest {
+
+	/** Number of countries of the random test. */
+	private static final int COUNTRIES_COUNT = 40;
+
+	/** Number of players of the random test. */
+	private static final int PLAYERS_COUNT = 3;
+
+	/**
+	 * Method to test random changes of owners and armies against a scan of the
+	 * countries of each player.
+	 */
+	@Test
+	public void testRandomUpdates() {
+		int[] armies = new int[COUNTRIES_COUNT];
+		int[] owners = new int[COUNTRIES_COUNT];
+		Arrays.fill(owners, -1);
+		ArmyIndex armyIndex = new ArmyIndex(armies, PLAYERS_COUNT);
+		FastRandom random = new FastRandom(11);
+		for (int operation = 0; operation < 20000; operation++) {
+			int id = random.nextInt(COUNTRIES_COUNT);
+			if (random.nextInt(2) == 0) {
+				int owner = random.nextInt(PLAYERS_COUNT + 1) - 1;
+				if (owners[id] >= 0) {
+					armyIndex.remove(owners[id], id);
+				}
+				owners[id] = owner;
+				if (owner >= 0) {
+					armyIndex.add(owner, id);
+				}
+			} else {
+				armies[id] = random.nextInt(10);
+				if (owners[id] >= 0) {
+					armyIndex.update(owners[id], id);
+				}
+			}
+			for (int player = 0; player < PLAYERS_COUNT; player++) {
+				int strongest = -1;
+				int weakest = -1;
+				for (int country = 0; country < COUNTRIES_COUNT; country++) {
+					if (owners[country] != player) {
+						continue;
+					}
+					if (strongest < 0 || armies[country] > armies[strongest]) {
+						strongest = country;
+					}
+					if (weakest < 0 || armies[country] < armies[weakest]) {
+						weakest = country;
+					}
+				}
+				assertEquals(strongest, armyIndex.getStrongest(player));
+				assertEquals(weakest, armyIndex.getWeakest(player));
+			}
+		}
+	}
+
+	/**
+	 * Method to test that bound players read their strongest and weakest
+	 * countries from the game state as armies and owners change.
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testBoundPlayers() throws IOException {
+		TwoPlayerGame game = new TwoPlayerGame(3);
+		Player player1 = game.getPlayer1();
+		Player player2 = game.getPlayer2();
+		GameState gameState = game.getGameState();
+		Country india = game.getCountry("India");
+		Country china = game.getCountry("China");
+		india.setCurrentNumberOfArmies(9);
+		china.setCurrentNumberOfArmies(1);
+		assertSame(india, player2.getStrongestCountry());
+		assertSame(china, player2.getWeakestCountry());
+		assertEquals(null, player1.getStrongestCountry());
+
+		india.setCurrentNumberOfArmies(2);
+		china.setPlayerName(player1.getPlayerName());
+		assertSame(india, player2.getWeakestCountry());
+		assertSame(china, player1.getStrongestCountry());
+		assertEquals(3, player2.getStrongestCountry().getCurrentNumberOfArmies());
+
+		GameState copy = gameState.copy();
+		china.setPlayerName(player2.getPlayerName());
+		gameState.copyFrom(copy);
+		assertSame(china, player1.getWeakestCountry());
+		assertSame(india, player2.getWeakestCountry());
+	}
+}
@@ -3,13 +3,18 @@ package com.game.risk.core;
 import org.junit.Before;
 import org.junit.Test;
 
+import com.game.risk.core.util.AttackPhaseUtil;
+import com.game.risk.model.CardType;
 import com.game.risk.model.Continent;
 import com.game.risk.model.Country;
+import com.game.risk.model.Player;
 import static org.junit.Assert.*;
 
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 
 /**
  * Test class for Countries Graph.
@@ -100,6 +105,48 @@ public class CountriesGraphTest {
 		assertEquals(1, countriesGraph.getAdjListHashMap().get(c1).size());
 	}
 
+	/**
+	 * Method to test the bulk removal of countries.
+	 */
+	@Test
+	public void testRemoveCountries() {
+		mapFileReader.getContinentHashMap().put("Asia", continent1);
+		countriesGraph.addEdge(c1, c2);
+		countriesGraph.addEdge(c2, c1);
+		countriesGraph.addEdge(c1, c3);
+		countriesGraph.addEdge(c3, c1);
+		countriesGraph.addEdge(c2, c3);
+		countriesGraph.addEdge(c3, c2);
+		assertTrue(countriesGraph.isAdjacent(c3, c1));
+		assertEquals(2, countriesGraph.removeCountries(Arrays.asList(c1, c2, c4)));
+		assertTrue(countriesGraph.getAdjListHashMap().get(c3).isEmpty());
+		assertFalse(countriesGraph.getAdjListHashMap().containsKey(c1));
+		assertFalse(countriesGraph.isAdjacent(c3, c1));
+		assertEquals(Arrays.asList(c3), continent1.getCountries());
+		assertNull(countriesGraph.getTopology().getCountry(c1.getId()));
+	}
+
+	/**
+	 * Method to test the bulk removal of edges, in both directions.
+	 */
+	@Test
+	public void testRemoveEdges() {
+		countriesGraph.addEdge(c1, c2);
+		countriesGraph.addEdge(c2, c1);
+		countriesGraph.addEdge(c1, c3);
+		countriesGraph.addEdge(c3, c1);
+		countriesGraph.addEdge(c2, c3);
+		assertTrue(countriesGraph.isAdjacent(c2, c1));
+		HashMap<Country, List<Country>> edges = new HashMap<>();
+		edges.put(c1, Arrays.asList(c2, c3));
+		countriesGraph.removeEdges(edges);
+		assertTrue(countriesGraph.getAdjListHashMap().get(c1).isEmpty());
+		assertEquals(Arrays.asList(c3), countriesGraph.getAdjListHashMap().get(c2));
+		assertTrue(countriesGraph.getAdjListHashMap().get(c3).isEmpty());
+		assertFalse(countriesGraph.isAdjacent(c2, c1));
+		assertTrue(countriesGraph.isAdjacent(c2, c3));
+	}
+
 	/**
 	 * Method to test add countries to continent.
 	 */
@@ -147,4 +194,210 @@ public class CountriesGraphTest {
 	public void addIsAdjacentNegativeTest() {
 		assertFalse(countriesGraph.isAdjacent(c1, c4));
 	}
+
+	/**
+	 * Method to test the integer-indexed topology of the graph.
+	 */
+	@Test
+	public void testTopology() {
+		countriesGraph.addEdge(c1, c2);
+		countriesGraph.addEdge(c1, c3);
+		countriesGraph.addEdge(c2, c1);
+		MapTopology topology = countriesGraph.getTopology();
+		assertSame(topology, countriesGraph.getTopology());
+		assertTrue(topology.contains(c1));
+		assertFalse(topology.contains(c4));
+		assertEquals(2, topology.getDegree(c1.getId()));
+		int[] neighbours = topology.getNeighbours();
+		int offset = topology.getOffsets()[c1.getId()];
+		assertSame(c2, topology.getCountry(neighbours[offset]));
+		assertSame(c3, topology.getCountry(neighbours[offset + 1]));
+		assertEquals(topology.getContinent(c1.getId()), topology.getContinent(c3.getId()));
+	}
+
+	/**
+	 * Method to test that ids are kept when a country is removed from the graph.
+	 */
+	@Test
+	public void testTopologyRemoveCountry() {
+		mapFileReader.getContinentHashMap().put("Asia", continent1);
+		countriesGraph.addEdge(c1, c2);
+		countriesGraph.addEdge(c2, c1);
+		countriesGraph.addEdge(c2, c3);
+		countriesGraph.addEdge(c3, c2);
+		int id = c3.getId();
+		countriesGraph.removeCountry(c2);
+		MapTopology topology = countriesGraph.getTopology();
+		assertFalse(topology.contains(c2));
+		assertNull(topology.getCountry(c2.getId()));
+		assertEquals(id, c3.getId());
+		assertEquals(0, topology.getDegree(c1.getId()));
+		assertEquals(0, topology.getDegree(c3.getId()));
+	}
+
+	/**
+	 * Method to test that adjacency is updated when edges are removed.
+	 */
+	@Test
+	public void testIsAdjacentRemoveEdge() {
+		countriesGraph.addEdge(c1, c2);
+		countriesGraph.addEdge(c2, c1);
+		countriesGraph.addEdge(c1, c3);
+		countriesGraph.addEdge(c3, c1);
+		assertTrue(countriesGraph.isAdjacent(c1, c2));
+		countriesGraph.removeEdge(c1, c2);
+		assertFalse(countriesGraph.isAdjacent(c1, c2));
+		assertFalse(countriesGraph.isAdjacent(c2, c1));
+		assertTrue(countriesGraph.isAdjacent(c3, c1));
+		countriesGraph.addEdge(c2, c3);
+		assertTrue(countriesGraph.isAdjacent(c2, c3));
+		assertFalse(countriesGraph.isAdjacent(c3, c2));
+	}
+
+	/**
+	 * Method to test that the frontier index follows the ownership changes.
+	 */
+	@Test
+	public void testFrontierIndex() {
+		countriesGraph.addEdge(c1, c2);
+		countriesGraph.addEdge(c2, c1);
+		countriesGraph.addEdge(c2, c3);
+		countriesGraph.addEdge(c3, c2);
+		c1.setPlayerName("Sohrab");
+		c2.setPlayerName("Sohrab");
+		c3.setPlayerName("Sarthak");
+		FrontierIndex frontierIndex = countriesGraph.getFrontierIndex();
+		assertFalse(frontierIndex.isFrontier(c1));
+		assertTrue(frontierIndex.isFrontier(c2));
+		assertEquals(1, frontierIndex.getFrontierCountries("Sohrab").size());
+		assertSame(c3, frontierIndex.getEnemyNeighbours(c2).get(0));
+
+		c2.setPlayerName("Sarthak");
+		countriesGraph.ownerChanged(c2);
+		assertTrue(frontierIndex.isFrontier(c1));
+		assertFalse(frontierIndex.isFrontier(c3));
+		assertSame(c1, frontierIndex.getFrontierCountries("Sohrab").get(0));
+		assertSame(c2, frontierIndex.getFrontierCountries("Sarthak").get(0));
+		assertSame(c1, frontierIndex.getEnemyNeighbours(c2).get(0));
+
+		c1.setPlayerName("Sarthak");
+		countriesGraph.ownerChanged(c1);
+		assertTrue(frontierIndex.getFrontierCountries("Sohrab").isEmpty());
+		assertTrue(frontierIndex.getFrontierCountries("Sarthak").isEmpty());
+	}
+
+	/**
+	 * Method to test that bound countries and players are views of the game
+	 * state, and that a copy of the state is independent.
+	 */
+	@Test
+	public void testGameState() {
+		countriesGraph.addEdge(c1, c2);
+		countriesGraph.addEdge(c2, c1);
+		c1.setPlayerName("Sohrab");
+		c1.setCurrentNumberOfArmies(3);
+		c2.setPlayerName("Sarthak");
+		Player player1 = new Player();
+		player1.setPlayerName("Sohrab");
+		player1.setNumberOfArmies(5);
+		player1.getCardList().add(CardType.Infantry);
+		Player player2 = new Player();
+		player2.setPlayerName("Sarthak");
+		GameState gameState = new GameState(countriesGraph.getTopology(), Arrays.asList("Sohrab", "Sarthak"));
+		gameState.bind(Arrays.asList(player1, player2));
+		assertEquals(0, gameState.getOwner(c1.getId()));
+		assertEquals(3, gameState.getArmies(c1.getId()));
+		assertEquals(-1, gameState.getOwner(c3.getId()));
+		assertEquals(5, gameState.getArmiesToPlace(0));
+		assertEquals(1, gameState.getCardCount(0, CardType.Infantry));
+
+		GameState copy = gameState.copy();
+		c1.addArmy();
+		c3.setPlayerName("Sarthak");
+		player1.setNumberOfArmies(2);
+		assertEquals(4, gameState.getArmies(c1.getId()));
+		assertEquals(1, gameState.getOwner(c3.getId()));
+		assertEquals(2, gameState.getArmiesToPlace(0));
+		assertEquals(3, copy.getArmies(c1.getId()));
+		assertEquals(-1, copy.getOwner(c3.getId()));
+		assertEquals(5, copy.getArmiesToPlace(0));
+		assertEquals(2, gameState.getCountriesCount(1));
+
+		FrontierIndex frontierIndex = countriesGraph.getFrontierIndex();
+		assertSame(gameState.getFrontierIndex(), frontierIndex);
+		assertEquals(Arrays.asList(c1), frontierIndex.getFrontierCountries("Sohrab"));
+		c1.setPlayerName("Sarthak");
+		assertTrue(frontierIndex.getFrontierCountries("Sohrab").isEmpty());
+
+		gameState.copyFrom(copy);
+		assertEquals(3, c1.getCurrentNumberOfArmies());
+		assertNull(c3.getPlayerName());
+		assertEquals(Arrays.asList(c2), frontierIndex.getFrontierCountries("Sarthak"));
+		c1.setGameState(null);
+		assertEquals(3, c1.getCurrentNumberOfArmies());
+		assertEquals("Sohrab", c1.getPlayerName());
+	}
+
+	/**
+	 * Method to test that a capture resolves the players by their index in the
+	 * game state and keeps the indexed countries of the players up to date.
+	 */
+	@Test
+	public void testCaptureCountry() {
+		countriesGraph.addEdge(c1, c2);
+		countriesGraph.addEdge(c2, c3);
+		Player player1 = new Player();
+		player1.setPlayerName("Sohrab");
+		Player player2 = new Player();
+		player2.setPlayerName("Sarthak");
+		for (Country country : Arrays.asList(c1, c2, c3)) {
+			country.setPlayerName("Sarthak");
+			player2.addCountry(country);
+		}
+		c1.setPlayerName("Sohrab");
+		player2.removeCountry(c1);
+		player1.addCountry(c1);
+		player1.addCountry(c1);
+		assertEquals(Arrays.asList(c1), player1.getCountriesOwned());
+		assertEquals(Arrays.asList(c2, c3), player2.getCountriesOwned());
+		assertEquals(0, player2.getCountriesOwned().indexOf(c2));
+
+		GameState gameState = new GameState(countriesGraph.getTopology(), Arrays.asList("Sohrab", "Sarthak"));
+		gameState.bind(Arrays.asList(player1, player2));
+		assertSame(player2, gameState.getPlayer(1));
+		List<Player> players = Arrays.asList(player2, player1);
+		assertSame(player2, AttackPhaseUtil.findOwner(c2, players));
+		AttackPhaseUtil.captureCountry(c2, c1, players, countriesGraph);
+		assertEquals("Sohrab", c2.getPlayerName());
+		assertTrue(player1.ownsCountry(c2));
+		assertFalse(player2.ownsCountry(c2));
+		assertEquals(Arrays.asList(c3), player2.getCountriesOwned());
+		assertEquals(2, gameState.getCountriesCount(0));
+	}
+
+	/**
+	 * Method to test that the countries of a player keep the order they were
+	 * added in across removals, and can only be changed through the player.
+	 */
+	@Test
+	public void testCountriesOwnedOrder() {
+		Player player = new Player();
+		for (Country country : Arrays.asList(c1, c2, c3, c4)) {
+			player.addCountry(country);
+		}
+		player.removeCountry(c2);
+		assertTrue(player.ownsCountry(c3));
+		player.removeCountry(c1);
+		assertEquals(Arrays.asList(c3, c4), player.getCountriesOwned());
+		player.addCountry(c2);
+		assertEquals(2, player.getCountriesOwned().indexOf(c2));
+		assertTrue(player.removeCountries(Arrays.asList(c4, c1)));
+		assertEquals(Arrays.asList(c3, c2), player.getCountriesOwned());
+		try {
+			player.getCountriesOwned().add(c1);
+			fail();
+		} catch (UnsupportedOperationException e) {
+			assertFalse(player.ownsCountry(c1));
+		}
+	}
 }
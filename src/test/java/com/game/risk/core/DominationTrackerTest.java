@@ -0,0 +1,98 @@
+package com.game.risk.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Observable;
+import java.util.Observer;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.game.risk.model.Country;
+import com.game.risk.model.Player;
+
+/**
+ * Test class for the domination tracker.
+ */
+public class DominationTrackerTest {
+
+	/** Map file reader of the World map. */
+	private MapFileReader fileParser;
+
+	/** First player, owning no country. */
+	private Player player1;
+
+	/** State of the game. */
+	private GameState gameState;
+
+	/** Snapshots notified to the observer. */
+	private List<Object> notifications;
+
+	/** Domination tracker of the game state. */
+	private DominationTracker tracker;
+
+	/**
+	 * Bind two players to the World map, the second one owning all the
+	 * countries with one army each.
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Before
+	public void setUp() throws IOException {
+		TwoPlayerGame game = new TwoPlayerGame(1);
+		fileParser = game.getFileParser();
+		player1 = game.getPlayer1();
+		gameState = game.getGameState();
+		notifications = new ArrayList<>();
+		tracker = new DominationTracker(gameState);
+		tracker.addObserver(new Observer() {
+			@Override
+			public void update(Observable observable, Object arg) {
+				notifications.add(arg);
+			}
+		});
+	}
+
+	/**
+	 * Test that the totals follow the captures and army changes, and that the
+	 * observers are only notified of a changed domination.
+	 */
+	@Test
+	public void testPublish() {
+		int countriesCount = fileParser.getCountriesHashMap().size();
+		assertTrue(tracker.publish());
+		DominationSnapshot snapshot = tracker.getLastSnapshot();
+		assertEquals(1, notifications.size());
+		assertSame(snapshot, notifications.get(0));
+		assertEquals(0, snapshot.getCountriesCount(0));
+		assertEquals(countriesCount, snapshot.getCountriesCount(1));
+		assertEquals(countriesCount, snapshot.getArmiesCount(1));
+		assertEquals(1.0, snapshot.getDominationPercentage(1), 0.0);
+		assertFalse(tracker.publish());
+
+		Country india = fileParser.getCountriesHashMap().get("India");
+		india.setPlayerName(player1.getPlayerName());
+		india.setCurrentNumberOfArmies(5);
+		fileParser.getCountriesHashMap().get("China").setCurrentNumberOfArmies(3);
+		assertEquals(1, gameState.getCountriesCount(0));
+		assertEquals(5, gameState.getArmiesCount(0));
+		assertEquals(countriesCount - 1 + 2, gameState.getArmiesCount(1));
+		assertEquals(1.0 / countriesCount, player1.getCurrentDominationPercentage(), 1e-9);
+
+		assertTrue(tracker.publish());
+		assertEquals(2, notifications.size());
+		assertNotEquals(snapshot, tracker.getLastSnapshot());
+		assertEquals(1, tracker.getLastSnapshot().getCountriesCount(0));
+		assertEquals(countriesCount - 1, tracker.getLastSnapshot().getCountriesCount(1));
+		assertFalse(tracker.publish());
+		assertEquals(2, notifications.size());
+	}
+}
@@ -0,0 +1,252 @@
+package com.game.risk.core;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.game.risk.core.util.ConnectivityAnalysis;
+import com.game.risk.core.util.MapValidationState;
+import com.game.risk.model.Country;
+
+/**
+ * Test class for the edits of the map editor and its live validation state.
+ */
+public class MapEditorTest {
+
+	/** Folder of the scripts and written maps. */
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	/** The map read from the test resources. */
+	private MapFileReader fileParser;
+
+	/** The map editor. */
+	private MapEditor mapEditor;
+
+	/**
+	 * Setup method for the test class.
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Before
+	public void setUp() throws IOException {
+		fileParser = new MapFileReader(new File("src//test//resources//World.map")).readFile();
+		mapEditor = new MapEditor(fileParser);
+	}
+
+	/**
+	 * Method to test the validation state of the map before any edit.
+	 */
+	@Test
+	public void testInitialState() {
+		MapValidationState state = mapEditor.getValidationState();
+		assertTrue(state.isValid());
+		assertEquals(1, state.getComponentsCount());
+		assertEquals(1, state.getContinentComponentsCount("Australia"));
+		assertTrue(state.getOrphans().isEmpty());
+	}
+
+	/**
+	 * Method to test that removing edges disconnects a continent, and the map
+	 * through it, and adding them back connects it again.
+	 */
+	@Test
+	public void testDisconnectContinent() {
+		MapValidationState state = mapEditor.getValidationState();
+		assertTrue(mapEditor.removeEdge("Indonesia", "New Guinea"));
+		assertTrue(state.isValid());
+		assertTrue(mapEditor.removeEdge("Western Australia", "Indonesia"));
+		assertFalse(state.isValid());
+		assertEquals(2, state.getComponentsCount());
+		assertEquals(2, state.getContinentComponentsCount("Australia"));
+		assertEquals(Collections.singleton("Australia"), state.getInvalidContinents());
+		assertFalse(fileParser.getCountriesGraph().isAdjacent(fileParser.getCountriesHashMap().get("Indonesia"),
+				fileParser.getCountriesHashMap().get("Western Australia")));
+
+		assertTrue(mapEditor.addEdge("Indonesia", "Western Australia"));
+		assertTrue(state.isValid());
+		assertEquals(1, state.getContinentComponentsCount("Australia"));
+	}
+
+	/**
+	 * Method to test that removing a country disconnects the map.
+	 */
+	@Test
+	public void testRemoveCountry() {
+		MapValidationState state = mapEditor.getValidationState();
+		assertTrue(mapEditor.removeCountry("Indonesia"));
+		assertFalse(state.isValid());
+		assertEquals(2, state.getComponentsCount());
+		assertEquals(1, state.getContinentComponentsCount("Australia"));
+		assertEquals(new ConnectivityAnalysis(fileParser.getCountriesGraph().getTopology()).getComponentsCount(),
+				state.getComponentsCount());
+		assertFalse(mapEditor.removeCountry("Indonesia"));
+	}
+
+	/**
+	 * Method to test that a new country is an orphan until connected.
+	 */
+	@Test
+	public void testOrphanCountry() {
+		MapValidationState state = mapEditor.getValidationState();
+		assertNotNull(mapEditor.addCountry("Tasmania", "Australia"));
+		assertFalse(state.isValid());
+		assertEquals(1, state.getOrphans().size());
+		assertEquals("Tasmania", state.getOrphans().iterator().next().getCountryName());
+		assertEquals(2, state.getContinentComponentsCount("Australia"));
+
+		assertTrue(mapEditor.addEdge("Tasmania", "Eastern Australia"));
+		assertTrue(state.isValid());
+		assertNull(mapEditor.addCountry("Tasmania", "Australia"));
+	}
+
+	/**
+	 * Method to test adding and removing continents.
+	 */
+	@Test
+	public void testContinents() {
+		MapValidationState state = mapEditor.getValidationState();
+		assertNotNull(mapEditor.addContinent("Antarctica", 1));
+		assertEquals(Collections.singleton("Antarctica"), state.getInvalidContinents());
+		assertTrue(fileParser.getContinentHashMap().containsKey("Antarctica"));
+		assertTrue(mapEditor.removeContinent("Antarctica"));
+		assertTrue(state.isValid());
+
+		assertTrue(mapEditor.removeContinent("Australia"));
+		assertTrue(state.isValid());
+		assertEquals(0, state.getContinentComponentsCount("Australia"));
+		assertFalse(fileParser.getCountriesHashMap().containsKey("Indonesia"));
+		assertFalse(mapEditor.removeContinent("Australia"));
+	}
+
+	/**
+	 * Method to test that a script is applied, validated and written.
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testRunScript() throws IOException {
+		File mapFile = folder.newFile("world.map");
+		List<String> errors = mapEditor.runScript(writeScript("; Replace Australia with Atlantis",
+				"addContinent,Atlantis,4", "addCountry,Atlantis North,Atlantis", "addCountry,Atlantis South,Atlantis",
+				"addEdge,Atlantis North,Atlantis South", "addEdge,Atlantis North,Iceland", "",
+				"removeEdge,Indonesia,New Guinea", "removeEdge,Western Australia,Indonesia",
+				"removeCountry,Eastern Australia", "removeCountry,New Guinea", "removeCountry,Western Australia",
+				"removeContinent,Australia"), mapFile, true);
+		assertEquals(Collections.emptyList(), errors);
+		assertTrue(mapEditor.getValidationState().isValid());
+		assertFalse(mapEditor.getMapFileReader().getContinentHashMap().containsKey("Australia"));
+
+		MapFileReader written = new MapFileReader(mapFile).readFile();
+		assertEquals(Collections.emptyList(), written.validateMap());
+		assertEquals(40, written.getCountriesHashMap().size());
+		assertFalse(written.getContinentHashMap().containsKey("Australia"));
+		assertEquals(2, written.getContinentHashMap().get("Atlantis").getCountries().size());
+		assertEquals(Arrays.asList("China", "India"), getAdjacentCountryNames(written, "Siam"));
+	}
+
+	/**
+	 * Method to test that a script with errors does not change the map.
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testRunScriptErrors() throws IOException {
+		File mapFile = new File(folder.getRoot(), "world.map");
+		List<String> errors = mapEditor.runScript(
+				writeScript("removeCountry,Siam", "addEdge,Siam,India", "renameCountry,India,Bharat"), mapFile,
+				false);
+		assertEquals(Arrays.asList("* Line 2 of the script: Siam, India: are not two countries",
+				"* Line 3 of the script: Invalid operation"), errors);
+		assertTrue(fileParser.getCountriesHashMap().containsKey("Siam"));
+		assertFalse(mapFile.exists());
+	}
+
+	/**
+	 * Method to test that a control value out of the range of an int is an
+	 * error of the script, leaving the map unchanged.
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testRunScriptControlValueOverflow() throws IOException {
+		File mapFile = new File(folder.getRoot(), "world.map");
+		List<String> errors = mapEditor.runScript(
+				writeScript("addContinent,Atlantis,99999999999", "addCountry,Atlantis North,Atlantis"), mapFile,
+				false);
+		assertEquals(Arrays.asList("* Line 1 of the script: 99999999999: is not a control value",
+				"* Line 2 of the script: Atlantis: is not a continent"), errors);
+		assertFalse(mapFile.exists());
+		assertSame(fileParser, mapEditor.getMapFileReader());
+		assertTrue(mapEditor.getValidationState().isValid());
+	}
+
+	/**
+	 * Method to test that a script leaving the map invalid does not write it.
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testRunScriptInvalidMap() throws IOException {
+		File mapFile = new File(folder.getRoot(), "world.map");
+		List<String> errors = mapEditor.runScript(writeScript("removeEdge,Siam,Indonesia"), mapFile, false);
+		assertEquals(Arrays.asList("* Map is not a connected graph, it has 2 components"), errors);
+		assertFalse(mapFile.exists());
+		assertSame(fileParser, mapEditor.getMapFileReader());
+		assertEquals(Arrays.asList("China", "India", "Indonesia"), getAdjacentCountryNames(fileParser, "Siam"));
+		assertTrue(mapEditor.getValidationState().isValid());
+		assertEquals(Collections.emptyList(), fileParser.validateMap());
+	}
+
+	/**
+	 * Write a script to a temporary file.
+	 *
+	 * @param lines
+	 *            lines of the script
+	 * @return the script file
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	private File writeScript(String... lines) throws IOException {
+		File script = folder.newFile();
+		Files.write(script.toPath(), Arrays.asList(lines), Charset.defaultCharset());
+		return script;
+	}
+
+	/**
+	 * Get the sorted names of the adjacent countries of a country.
+	 *
+	 * @param reader
+	 *            the map
+	 * @param countryName
+	 *            name of the country
+	 * @return the names
+	 */
+	private static List<String> getAdjacentCountryNames(MapFileReader reader, String countryName) {
+		String[] names = new String[reader.getCountriesGraph().getAdjListHashMap()
+				.get(reader.getCountriesHashMap().get(countryName)).size()];
+		int i = 0;
+		for (Country country : reader.getCountriesGraph().getAdjListHashMap()
+				.get(reader.getCountriesHashMap().get(countryName))) {
+			names[i++] = country.getCountryName();
+		}
+		Arrays.sort(names);
+		return Arrays.asList(names);
+	}
+}
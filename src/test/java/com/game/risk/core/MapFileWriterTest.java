@@ -0,0 +1,122 @@
+package com.game.risk.core;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.LinkedList;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.game.risk.model.Continent;
+import com.game.risk.model.Country;
+
+/**
+ * Test class for the map file writer.
+ */
+public class MapFileWriterTest {
+
+	/** Folder of the written maps. */
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	/** The map read from the test resources. */
+	private MapFileReader fileParser;
+
+	/**
+	 * Setup method for the test class.
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Before
+	public void setUp() throws IOException {
+		fileParser = new MapFileReader(new File("src//test//resources//World.map")).readFile();
+	}
+
+	/**
+	 * Method to test that a written map reads back as the same map.
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testRoundTrip() throws IOException {
+		File file = folder.newFile("world.map");
+		fileParser.getMapFileWriter().saveMapToFile(false, file, false);
+		assertSameMap(new MapFileReader(file).readValidatedFile());
+	}
+
+	/**
+	 * Method to test that a compressed map reads back as the same map through
+	 * every read path, and shares its cached form with the uncompressed map.
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testCompressedRoundTrip() throws IOException {
+		File file = folder.newFile("world.map.gz");
+		fileParser.getMapFileWriter().saveMapToFile(true, file, true);
+		assertTrue(MapFileReader.isCompressed(file));
+		assertSameMap(new MapFileReader(file).readFile());
+		assertSameMap(new MapFileReader(file).readMappedFile());
+		assertSameMap(new MapFileReader(file).readValidatedFile());
+		assertTrue(new MapFileReader(file).readFile().checkFileValidation());
+
+		MapFileCache cache = new MapFileCache(folder.newFolder("cache"));
+		assertSameMap(cache.load(file));
+		assertTrue(cache.isCached(file));
+		assertSameMap(cache.load(file));
+		File uncompressedFile = folder.newFile("world.map");
+		fileParser.getMapFileWriter().saveMapToFile(true, uncompressedFile, false);
+		assertEquals(cache.getCompiledFile(file), cache.getCompiledFile(uncompressedFile));
+	}
+
+	/**
+	 * Method to test that the same map file, read twice, is written the same way.
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testDeterministicOrder() throws IOException {
+		File file1 = folder.newFile("world1.map");
+		File file2 = folder.newFile("world2.map");
+		fileParser.getMapFileWriter().saveMapToFile(false, file1, false);
+		new MapFileReader(new File("src//test//resources//World.map")).readFile().getMapFileWriter()
+				.saveMapToFile(false, file2, false);
+		assertArrayEquals(Files.readAllBytes(file1.toPath()), Files.readAllBytes(file2.toPath()));
+	}
+
+	/**
+	 * Check that a map read back has the continents, countries and adjacent
+	 * countries of the written one.
+	 *
+	 * @param reader
+	 *            the map read back
+	 */
+	private void assertSameMap(MapFileReader reader) {
+		assertEquals(fileParser.getContinentHashMap().keySet(), reader.getContinentHashMap().keySet());
+		for (Continent continent : fileParser.getContinentHashMap().values()) {
+			assertEquals(continent.getControlValue(),
+					reader.getContinentHashMap().get(continent.getContinentName()).getControlValue());
+		}
+		assertEquals(fileParser.getCountriesHashMap().keySet(), reader.getCountriesHashMap().keySet());
+		for (Country country : fileParser.getCountriesHashMap().values()) {
+			Country copy = reader.getCountriesHashMap().get(country.getCountryName());
+			assertEquals(country.getContinentName(), copy.getContinentName());
+			assertEquals(country.getxCoordinate(), copy.getxCoordinate());
+			LinkedList<Country> adjacentCountries = fileParser.getCountriesGraph().getAdjListHashMap().get(country);
+			LinkedList<Country> adjacentCopies = reader.getCountriesGraph().getAdjListHashMap().get(copy);
+			assertEquals(adjacentCountries.size(), adjacentCopies.size());
+			for (int i = 0; i < adjacentCountries.size(); i++) {
+				assertEquals(adjacentCountries.get(i).getCountryName(), adjacentCopies.get(i).getCountryName());
+			}
+		}
+	}
+}
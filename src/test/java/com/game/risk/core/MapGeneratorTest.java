@@ -0,0 +1,128 @@
+package com.game.risk.core;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.LinkedList;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.game.risk.core.MapGenerator.Topology;
+import com.game.risk.core.util.MapValidation;
+import com.game.risk.model.Country;
+
+/**
+ * Test class for the map generator.
+ */
+public class MapGeneratorTest {
+
+	/** Folder of the generated maps. */
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	/**
+	 * Method to test that the planar maps are valid with the requested degree.
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testPlanarMap() throws IOException {
+		checkMap(new MapGenerator(1003, 7, 5, Topology.PLANAR, 42), 1003, 7, 5);
+	}
+
+	/**
+	 * Method to test that the random maps are valid with the requested degree.
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testRandomMap() throws IOException {
+		checkMap(new MapGenerator(1000, 10, 3.5, Topology.RANDOM, 42), 1000, 10, 3.5);
+	}
+
+	/**
+	 * Method to test that a seed reproduces a map and another seed changes it.
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testSeed() throws IOException {
+		for (Topology topology : Topology.values()) {
+			assertEquals(write(new MapGenerator(500, 5, 4, topology, 1)),
+					write(new MapGenerator(500, 5, 4, topology, 1)));
+			assertNotEquals(write(new MapGenerator(500, 5, 4, topology, 1)),
+					write(new MapGenerator(500, 5, 4, topology, 2)));
+		}
+	}
+
+	/**
+	 * Method to test that a planar map cannot have more than 6 adjacent
+	 * territories on average.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testPlanarDegreeTooHigh() {
+		new MapGenerator(1000, 10, 6.5, Topology.PLANAR, 42);
+	}
+
+	/**
+	 * Method to test that a map has more territories than continents.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testTooManyContinents() {
+		new MapGenerator(10, 11, 2, Topology.RANDOM, 42);
+	}
+
+	/**
+	 * Write a map to a file, read it back and check it.
+	 *
+	 * @param generator
+	 *            the generator
+	 * @param territories
+	 *            expected number of territories
+	 * @param continents
+	 *            expected number of continents
+	 * @param averageDegree
+	 *            expected average degree
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	private void checkMap(MapGenerator generator, int territories, int continents, double averageDegree)
+			throws IOException {
+		File file = generator.writeFile(folder.newFile("generated.map"));
+		MapFileReader reader = new MapFileReader(file).readValidatedFile();
+		assertEquals(territories, reader.getCountriesHashMap().size());
+		assertEquals(continents, reader.getContinentHashMap().size());
+		assertTrue(new MapValidation(new MapFileReader(file).readFile().getCountriesGraph()).validateFile(file));
+		long degrees = 0;
+		for (Country country : reader.getCountriesHashMap().values()) {
+			LinkedList<Country> adjacentCountries = reader.getCountriesGraph().getAdjListHashMap().get(country);
+			degrees += adjacentCountries.size();
+			for (Country adjacentCountry : adjacentCountries) {
+				assertTrue(reader.getCountriesGraph().getAdjListHashMap().get(adjacentCountry).contains(country));
+			}
+		}
+		assertEquals(averageDegree, (double) degrees / territories, 0.1);
+	}
+
+	/**
+	 * Write a map to a string.
+	 *
+	 * @param generator
+	 *            the generator
+	 * @return the map
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	private String write(MapGenerator generator) throws IOException {
+		StringWriter writer = new StringWriter();
+		generator.write(writer);
+		return writer.toString();
+	}
+}
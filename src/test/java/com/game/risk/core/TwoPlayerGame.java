@@ -0,0 +1,99 @@
+package com.game.risk.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+
+import com.game.risk.model.Country;
+import com.game.risk.model.Player;
+
+/**
+ * Test fixture of a game of two players bound to the World map, the first
+ * player owning no country and the second one owning all the countries.
+ */
+public class TwoPlayerGame {
+
+	/** Map file reader of the World map. */
+	private final MapFileReader fileParser;
+
+	/** First player, owning no country. */
+	private final Player player1;
+
+	/** Second player, owning all the countries. */
+	private final Player player2;
+
+	/** State of the game, bound to the players. */
+	private final GameState gameState;
+
+	/**
+	 * Instantiates a new game, reading the World map and giving all its
+	 * countries to the second player.
+	 *
+	 * @param armies
+	 *            number of armies of each country
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public TwoPlayerGame(int armies) throws IOException {
+		fileParser = new MapFileReader(new File("src//test//resources//World.map")).readFile();
+		player1 = new Player();
+		player1.setPlayerName("Sohrab");
+		player2 = new Player();
+		player2.setPlayerName("Sarthak");
+		for (Country country : fileParser.getCountriesHashMap().values()) {
+			country.setPlayerName(player2.getPlayerName());
+			country.setCurrentNumberOfArmies(armies);
+			player2.addCountry(country);
+		}
+		gameState = new GameState(fileParser.getCountriesGraph().getTopology(),
+				Arrays.asList(player1.getPlayerName(), player2.getPlayerName()));
+		gameState.bind(Arrays.asList(player1, player2));
+	}
+
+	/**
+	 * Gets the map file reader of the World map.
+	 *
+	 * @return the map file reader
+	 */
+	public MapFileReader getFileParser() {
+		return fileParser;
+	}
+
+	/**
+	 * Gets a country of the map by name.
+	 *
+	 * @param countryName
+	 *            the country name
+	 * @return the country
+	 */
+	public Country getCountry(String countryName) {
+		return fileParser.getCountriesHashMap().get(countryName);
+	}
+
+	/**
+	 * Gets the first player, owning no country at first.
+	 *
+	 * @return the first player
+	 */
+	public Player getPlayer1() {
+		return player1;
+	}
+
+	/**
+	 * Gets the second player, owning all the countries at first.
+	 *
+	 * @return the second player
+	 */
+	public Player getPlayer2() {
+		return player2;
+	}
+
+	/**
+	 * Gets the state of the game.
+	 *
+	 * @return the game state
+	 */
+	public GameState getGameState() {
+		return gameState;
+	}
+}
@@ -3,10 +3,15 @@ package com.game.risk.core.parser;
 import org.junit.Before;
 import org.junit.Test;
 
+import com.game.risk.core.InvalidMapFileException;
+import com.game.risk.core.MapFileCache;
 import com.game.risk.core.MapFileReader;
+import com.game.risk.model.Country;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
 
 import static org.junit.Assert.*;
 
@@ -43,4 +48,175 @@ public class MapFileParserTest {
 		assertNotNull(mapFileReader.readFile());
 	}
 
-}
\ No newline at end of file
+	/**
+	 * Memory-mapped read file test, comparing the model with the one read by
+	 * {@link MapFileReader#readFile()}.
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void readMappedFileTest() throws IOException {
+		MapFileReader mappedFileReader = new MapFileReader(new File("src//test//resources//Quebec.map"))
+				.readMappedFile();
+		assertSameModel(mapFileReader.readFile(), mappedFileReader);
+	}
+
+	/**
+	 * Map file cache test, comparing the model loaded from the compiled file with
+	 * the one read from the text file.
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void mapFileCacheTest() throws IOException {
+		File mapFile = new File("src//test//resources//3D Cliff.map");
+		File cacheDirectory = Files.createTempDirectory("map-cache").toFile();
+		MapFileCache mapFileCache = new MapFileCache(cacheDirectory);
+		try {
+			assertFalse(mapFileCache.isCached(mapFile));
+			MapFileReader compiledFileReader = mapFileCache.load(mapFile);
+			assertTrue(mapFileCache.isCached(mapFile));
+			assertSameModel(compiledFileReader, mapFileCache.load(mapFile));
+			assertSameModel(new MapFileReader(mapFile).readFile(), mapFileCache.load(mapFile));
+		} finally {
+			mapFileCache.getCompiledFile(mapFile).delete();
+			cacheDirectory.delete();
+		}
+	}
+
+	/**
+	 * Copy map test, checking that the copy holds the same model in its own
+	 * countries.
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void copyMapTest() throws IOException {
+		MapFileReader template = new MapFileReader(new File("src//test//resources//3D Cliff.map")).readFile();
+		MapFileReader copy = template.copyMap();
+		assertSameModel(template, copy);
+		Country country = template.getCountriesHashMap().values().iterator().next();
+		Country copiedCountry = copy.getCountriesHashMap().get(country.getCountryName());
+		assertNotSame(country, copiedCountry);
+		copiedCountry.setCurrentNumberOfArmies(country.getCurrentNumberOfArmies() + 5);
+		assertNotEquals(country.getCurrentNumberOfArmies(), copiedCountry.getCurrentNumberOfArmies());
+	}
+
+	/**
+	 * Memory-mapped read file test of the control values, signed ones being read
+	 * as {@link MapFileReader#readFile()} does and too large ones failing
+	 * instead of overflowing.
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void readMappedFileControlValuesTest() throws IOException {
+		File file = writeMap("-3", "2147483647");
+		try {
+			MapFileReader mappedFileReader = new MapFileReader(file).readMappedFile();
+			assertEquals(-3, mappedFileReader.getContinentHashMap().get("North").getControlValue());
+			assertEquals(Integer.MAX_VALUE, mappedFileReader.getContinentHashMap().get("South").getControlValue());
+			assertEquals(-3, new MapFileReader(file).readFile().getContinentHashMap().get("North").getControlValue());
+		} finally {
+			Files.delete(file.toPath());
+		}
+
+		file = writeMap("5", "99999999999");
+		try {
+			new MapFileReader(file).readMappedFile();
+			fail("Overflowing control value should not be read");
+		} catch (NumberFormatException e) {
+			assertTrue(e.getMessage().contains("99999999999"));
+		}
+		try {
+			new MapFileReader(file).readValidatedFile();
+			fail("Overflowing control value should not be validated");
+		} catch (InvalidMapFileException e) {
+			assertFalse(e.getErrors().isEmpty());
+		} finally {
+			Files.delete(file.toPath());
+		}
+	}
+
+	/**
+	 * Write a map of two continents with a country each to a temporary file.
+	 *
+	 * @param northValue
+	 *            control value of the first continent
+	 * @param southValue
+	 *            control value of the second continent
+	 * @return the file
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	private File writeMap(String northValue, String southValue) throws IOException {
+		File file = Files.createTempFile("controlValues", ".map").toFile();
+		String map = "[Map]\nauthor=test\n\n[Continents]\nNorth=" + northValue + "\nSouth=" + southValue
+				+ "\n\n[Territories]\nT1,1,1,North,T2\nT2,2,2,South,T1\n";
+		Files.write(file.toPath(), map.getBytes());
+		return file;
+	}
+
+	/**
+	 * Assert that two map file readers hold the same model.
+	 *
+	 * @param expected
+	 *            expected map file reader
+	 * @param actual
+	 *            actual map file reader
+	 */
+	private void assertSameModel(MapFileReader expected, MapFileReader actual) {
+		assertEquals(expected.getMapMetaData(), actual.getMapMetaData());
+		assertEquals(expected.getContinentHashMap().keySet(), actual.getContinentHashMap().keySet());
+		assertEquals(expected.getCountriesHashMap().keySet(), actual.getCountriesHashMap().keySet());
+		for (Country country : expected.getCountriesHashMap().values()) {
+			Country actualCountry = actual.getCountriesHashMap().get(country.getCountryName());
+			assertEquals(country.getContinentName(), actualCountry.getContinentName());
+			assertEquals(country.getxCoordinate(), actualCountry.getxCoordinate());
+			assertEquals(country.getyCoordinate(), actualCountry.getyCoordinate());
+			List<Country> adjCountries = expected.getCountriesGraph().getAdjListHashMap().get(country);
+			List<Country> actualAdjCountries = actual.getCountriesGraph().getAdjListHashMap().get(actualCountry);
+			assertEquals(adjCountries.size(), actualAdjCountries.size());
+			for (int i = 0; i < adjCountries.size(); i++) {
+				assertEquals(adjCountries.get(i).getCountryName(), actualAdjCountries.get(i).getCountryName());
+			}
+		}
+	}
+
+	/**
+	 * Validated read file test, reading a valid map.
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void readValidatedFileTest() throws IOException {
+		MapFileReader validatedFileReader = new MapFileReader(new File("src//test//resources//3D Cliff.map"))
+				.readValidatedFile();
+		assertFalse(validatedFileReader.getCountriesHashMap().isEmpty());
+		assertEquals(validatedFileReader.getContinentHashMap().size(),
+				validatedFileReader.getCountriesGraph().getContinentHashMap().size());
+	}
+
+	/**
+	 * Negative validated read file test, collecting all the errors of an invalid
+	 * map.
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void readValidatedFileNegativeTest() throws IOException {
+		try {
+			new MapFileReader(new File("src//test//resources//Invalid_Canada.map")).readValidatedFile();
+			fail("Invalid map should not be validated");
+		} catch (InvalidMapFileException e) {
+			assertFalse(e.getErrors().isEmpty());
+		}
+	}
+
+}
@@ -1,11 +1,14 @@
 package com.game.risk.core.strategy.impl;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Observable;
+import java.util.Observer;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -152,6 +155,29 @@ public class CheaterPlayerStrategyTest {
 		assertEquals("Sohrab", country5.getPlayerName());
 	}
 
+	/**
+	 * Test that the attack transfers all the captured countries at once, with a
+	 * single notification of the observers of the player.
+	 */
+	@Test
+	public void testAttackTransfersOwnership() {
+		final List<Object> notifications = new ArrayList<>();
+		player.addObserver(new Observer() {
+			@Override
+			public void update(Observable observable, Object arg) {
+				notifications.add(arg);
+			}
+		});
+		cheaterPlayerStrategy.attack();
+		assertEquals(5, player.getNumberOfCountriesOwned());
+		assertTrue(player.ownsCountry(country4));
+		assertTrue(player.ownsCountry(country5));
+		assertTrue(player2.getCountriesOwned().isEmpty());
+		assertEquals(1, notifications.size());
+		assertEquals(2, ((List<?>) notifications.get(0)).size());
+		assertTrue(countriesGraph.getFrontierIndex().getFrontierCountries("Sohrab").isEmpty());
+	}
+
 	/**
 	 * Test fortify.
 	 */
@@ -0,0 +1,152 @@
+package com.game.risk.core.strategy.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.game.risk.RiskGamePhases;
+import com.game.risk.core.CountriesGraph;
+import com.game.risk.model.Country;
+import com.game.risk.model.Player;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * The Class MctsPlayerStrategyTest.
+ */
+public class MctsPlayerStrategyTest {
+
+	/** The MCTS player strategy. */
+	private MctsPlayerStrategy mctsPlayerStrategy;
+
+	/** The countries. */
+	private List<Country> countries;
+
+	/** The risk game phases. */
+	private RiskGamePhases riskGamePhases;
+
+	/** The player. */
+	Player player;
+
+	/** The player 2. */
+	Player player2;
+
+	/** The countries graph. */
+	private CountriesGraph countriesGraph;
+
+	/** The pool running the rollouts. */
+	private ForkJoinPool pool;
+
+	/**
+	 * Sets the up.
+	 */
+	@Before
+	public void setUp() {
+		List<Player> players = new ArrayList<>();
+		player = new Player();
+		player2 = new Player();
+		player.setPlayerName("Sohrab");
+		player2.setPlayerName("Sarthak");
+		players.add(player);
+		players.add(player2);
+		String[] names = { "India", "Canada", "US", "Pakistan", "Nepal" };
+		int[] armies = { 3, 6, 9, 7, 11 };
+		countries = new ArrayList<>();
+		for (int i = 0; i < names.length; i++) {
+			Country country = new Country(names[i]);
+			country.setCurrentNumberOfArmies(armies[i]);
+			Player owner = i < 3 ? player : player2;
+			country.setPlayerName(owner.getPlayerName());
+			owner.addCountry(country);
+			countries.add(country);
+		}
+		// A ring of the five countries
+		HashMap<Country, LinkedList<Country>> adjacencyListHashMap = new HashMap<>();
+		for (int i = 0; i < countries.size(); i++) {
+			LinkedList<Country> adjCountries = new LinkedList<>();
+			adjCountries.add(countries.get((i + 1) % countries.size()));
+			adjCountries.add(countries.get((i + countries.size() - 1) % countries.size()));
+			adjacencyListHashMap.put(countries.get(i), adjCountries);
+		}
+		countriesGraph = new CountriesGraph();
+		countriesGraph.setAdjListHashMap(adjacencyListHashMap);
+		riskGamePhases = mock(RiskGamePhases.class);
+		when(riskGamePhases.getPlayerList()).thenReturn(players);
+		pool = new ForkJoinPool(2);
+		mctsPlayerStrategy = new MctsPlayerStrategy(player, countriesGraph, riskGamePhases, pool, 200, 0);
+	}
+
+	/**
+	 * Shut down the pool.
+	 */
+	@After
+	public void tearDown() {
+		pool.shutdown();
+	}
+
+	/**
+	 * Test reinforce.
+	 */
+	@Test
+	public void testReinforce() {
+		int armies = countArmies(player);
+		mctsPlayerStrategy.reinforce();
+		assertEquals(0, player.getNumberOfArmies());
+		assertEquals(armies + 3, countArmies(player));
+		assertEquals(200, mctsPlayerStrategy.getRolloutsCount());
+		assertTrue(mctsPlayerStrategy.getRolloutsPerSecond() > 0);
+	}
+
+	/**
+	 * Test that the attacks keep the owners of the countries consistent.
+	 */
+	@Test
+	public void testAttack() {
+		mctsPlayerStrategy.reinforce();
+		mctsPlayerStrategy.attack();
+		for (Country country : countries) {
+			Player owner = country.getPlayerName().equals(player.getPlayerName()) ? player : player2;
+			assertTrue(owner.getCountriesOwned().contains(country));
+			assertTrue(country.getCurrentNumberOfArmies() > 0);
+		}
+		assertEquals(countries.size(),
+				player.getCountriesOwned().size() + player2.getCountriesOwned().size());
+	}
+
+	/**
+	 * Test that the fortification keeps the armies of the player.
+	 */
+	@Test
+	public void testFortify() {
+		int armies = countArmies(player);
+		mctsPlayerStrategy.fortify();
+		assertEquals(armies, countArmies(player));
+		for (Country country : player.getCountriesOwned()) {
+			assertTrue(country.getCurrentNumberOfArmies() > 0);
+		}
+	}
+
+	/**
+	 * Count the armies on the countries of a player.
+	 *
+	 * @param owner
+	 *            the player
+	 * @return the armies count
+	 */
+	private int countArmies(Player owner) {
+		int armies = 0;
+		for (Country country : owner.getCountriesOwned()) {
+			armies += country.getCurrentNumberOfArmies();
+		}
+		return armies;
+	}
+}
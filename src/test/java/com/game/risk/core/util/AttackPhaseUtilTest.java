@@ -7,6 +7,7 @@ import static org.junit.Assert.*;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.Mockito;
 import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
@@ -47,7 +48,7 @@ public class AttackPhaseUtilTest {
 		defender.setCurrentNumberOfArmies(4);
 
 		PowerMockito.mockStatic(LoggingUtil.class);
-		PowerMockito.doNothing().when(LoggingUtil.class);
+		PowerMockito.doNothing().when(LoggingUtil.class, "logMessage", Mockito.anyString());
 
 	}
 
@@ -0,0 +1,83 @@
+package com.game.risk.core.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.game.risk.model.Country;
+
+/**
+ * Test class for the blitz tables and the dice kernel they are built from.
+ */
+public class BlitzTableTest {
+
+	/**
+	 * Method to test that the dice kernel the tables are built from gives the
+	 * loss distribution of three attacker dice against two defender dice, 2890,
+	 * 2611 and 2275 out of 7776 rolls.
+	 */
+	@Test
+	public void testRollDefenderLosses() {
+		FastRandom random = new FastRandom(7);
+		int[] counts = new int[3];
+		int rolls = 200000;
+		for (int i = 0; i < rolls; i++) {
+			counts[AttackPhaseUtil.rollDefenderLosses(3, 2, random)]++;
+		}
+		assertEquals(2275.0 / 7776, (double) counts[0] / rolls, 0.01);
+		assertEquals(2611.0 / 7776, (double) counts[1] / rolls, 0.01);
+		assertEquals(2890.0 / 7776, (double) counts[2] / rolls, 0.01);
+
+		Country attacker = new Country("Iran");
+		Country defender = new Country("India");
+		attacker.setCurrentNumberOfArmies(5);
+		defender.setCurrentNumberOfArmies(4);
+		AttackPhaseUtil.startBattle(attacker, defender, 3, 2, new FastRandom(7));
+		assertEquals(7, attacker.getCurrentNumberOfArmies() + defender.getCurrentNumberOfArmies());
+	}
+
+	/**
+	 * Method to test the blitz outcomes table against the exact probabilities
+	 * of two attacker armies against one defender army, and that a blitz ends
+	 * the engagement.
+	 */
+	@Test
+	public void testStartBlitz() {
+		BlitzTable table = BlitzTable.getTable(2, 1);
+		assertEquals(2, table.getOutcomesCount());
+		assertEquals(15.0 / 36, table.getWinProbability(), 1e-12);
+		assertEquals(2, table.getAttackerArmies(0));
+		assertEquals(1, table.getDefenderArmies(1));
+
+		double total = 0;
+		table = BlitzTable.getTable(20, 15);
+		for (int outcome = 0; outcome < table.getOutcomesCount(); outcome++) {
+			total += table.getProbability(outcome);
+		}
+		assertEquals(1, total, 1e-9);
+
+		Country attacker = new Country("Iran");
+		Country defender = new Country("India");
+		attacker.setCurrentNumberOfArmies(20);
+		defender.setCurrentNumberOfArmies(15);
+		AttackPhaseUtil.startBlitz(attacker, defender, new FastRandom(3));
+		assertTrue(attacker.getCurrentNumberOfArmies() == 1 || defender.getCurrentNumberOfArmies() == 0);
+	}
+
+	/**
+	 * Method to test that a table in use stays cached while enough other
+	 * tables to fill the cache several times are computed.
+	 */
+	@Test
+	public void testTableInUseStaysCached() {
+		BlitzTable table = BlitzTable.getTable(3, 2);
+		for (int attackerArmies = 2; attackerArmies < 102; attackerArmies++) {
+			for (int defenderArmies = 1; defenderArmies <= 60; defenderArmies++) {
+				BlitzTable.getTable(attackerArmies + 100, defenderArmies);
+			}
+			assertSame(table, BlitzTable.getTable(3, 2));
+		}
+	}
+}
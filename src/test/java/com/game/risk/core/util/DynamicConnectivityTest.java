@@ -0,0 +1,109 @@
+package com.game.risk.core.util;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import org.junit.Test;
+
+/**
+ * Test class for the dynamic connectivity structure.
+ */
+public class DynamicConnectivityTest {
+
+	/** Number of vertices of the random graph. */
+	private static final int VERTICES_COUNT = 24;
+
+	/**
+	 * Method to test random insertions and deletions of edges against a breadth
+	 * first search of the same graph.
+	 */
+	@Test
+	public void testRandomUpdates() {
+		DynamicConnectivity connectivity = new DynamicConnectivity();
+		boolean[][] adjacency = new boolean[VERTICES_COUNT][VERTICES_COUNT];
+		FastRandom random = new FastRandom(7);
+		for (int operation = 0; operation < 20000; operation++) {
+			int u = random.nextInt(VERTICES_COUNT);
+			int v = random.nextInt(VERTICES_COUNT);
+			if (u == v) {
+				continue;
+			}
+			boolean wasConnected = isConnected(adjacency, u, v);
+			if (adjacency[u][v]) {
+				adjacency[u][v] = false;
+				adjacency[v][u] = false;
+				assertEquals(!isConnected(adjacency, u, v), connectivity.removeEdge(u, v));
+			} else {
+				adjacency[u][v] = true;
+				adjacency[v][u] = true;
+				assertEquals(!wasConnected, connectivity.addEdge(u, v));
+			}
+			assertEquals(adjacency[u][v], connectivity.hasEdge(v, u));
+			if (operation % 100 == 0) {
+				int componentsCount = 0;
+				for (int x = 0; x < VERTICES_COUNT; x++) {
+					int componentSize = 0;
+					boolean first = true;
+					for (int y = 0; y < VERTICES_COUNT; y++) {
+						boolean connected = isConnected(adjacency, x, y);
+						assertEquals(connected, connectivity.isConnected(x, y));
+						componentSize += connected ? 1 : 0;
+						first &= !(connected && y < x);
+					}
+					assertEquals(componentSize, connectivity.getComponentSize(x));
+					componentsCount += first ? 1 : 0;
+				}
+				assertEquals(componentsCount, VERTICES_COUNT - connectivity.getTreeEdgesCount());
+			}
+		}
+	}
+
+	/**
+	 * Method to test that a path split in its middle is reconnected by a
+	 * replacement edge.
+	 */
+	@Test
+	public void testReplacementEdge() {
+		DynamicConnectivity connectivity = new DynamicConnectivity();
+		for (int i = 0; i < 9; i++) {
+			assertTrue(connectivity.addEdge(i, i + 1));
+		}
+		assertFalse(connectivity.addEdge(0, 9));
+		assertFalse(connectivity.removeEdge(4, 5));
+		assertTrue(connectivity.isConnected(0, 9));
+		assertTrue(connectivity.removeEdge(0, 9));
+		assertFalse(connectivity.isConnected(4, 5));
+		assertEquals(5, connectivity.getComponentSize(9));
+		assertEquals(8, connectivity.getTreeEdgesCount());
+	}
+
+	/**
+	 * Check whether two vertices are connected with a breadth first search.
+	 *
+	 * @param adjacency
+	 *            adjacency matrix
+	 * @param u
+	 *            first vertex
+	 * @param v
+	 *            second vertex
+	 * @return true if connected
+	 */
+	private static boolean isConnected(boolean[][] adjacency, int u, int v) {
+		boolean[] visited = new boolean[adjacency.length];
+		Deque<Integer> queue = new ArrayDeque<>();
+		queue.add(u);
+		visited[u] = true;
+		while (!queue.isEmpty()) {
+			int x = queue.poll();
+			for (int y = 0; y < adjacency.length; y++) {
+				if (adjacency[x][y] && !visited[y]) {
+					visited[y] = true;
+					queue.add(y);
+				}
+			}
+		}
+		return visited[v];
+	}
+}
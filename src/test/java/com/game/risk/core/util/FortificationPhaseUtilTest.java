@@ -11,6 +11,7 @@ import java.util.LinkedList;
 import org.junit.Before;
 import org.junit.Test;
 
+import com.game.risk.core.CountriesGraph;
 import com.game.risk.model.Country;
 
 /**
@@ -71,4 +72,18 @@ public class FortificationPhaseUtilTest {
 
 	}
 
+	/**
+	 * Test move armies between countries checking adjacency with the countries
+	 * graph.
+	 */
+	@Test
+	public void testMoveArmiesBetweenCountriesGraph() {
+		CountriesGraph countriesGraph = new CountriesGraph();
+		countriesGraph.setAdjListHashMap(hashMap);
+		FortificationPhaseUtil.moveArmiesBetweenCountries(country1, country2, numberOfArmies, countriesGraph);
+		assertEquals(1, country1.getCurrentNumberOfArmies());
+		FortificationPhaseUtil.moveArmiesBetweenCountries(country2, country1, numberOfArmies, countriesGraph);
+		assertEquals(11, country2.getCurrentNumberOfArmies());
+	}
+
 }
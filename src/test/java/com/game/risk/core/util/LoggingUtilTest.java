@@ -0,0 +1,125 @@
+package com.game.risk.core.util;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for the logging pipeline.
+ */
+public class LoggingUtilTest {
+
+	/** Messages written to the sink. */
+	private List<String> messages;
+
+	/** Sink collecting the messages. */
+	private LogSink sink;
+
+	/**
+	 * Setup method registering a collecting sink.
+	 */
+	@Before
+	public void setUp() {
+		messages = Collections.synchronizedList(new ArrayList<String>());
+		sink = new LogSink() {
+			@Override
+			public void write(List<String> batch) {
+				messages.addAll(batch);
+			}
+
+			@Override
+			public void close() {
+				// Nothing to release
+			}
+		};
+		LoggingUtil.addSink(sink);
+	}
+
+	/**
+	 * Unregister the sink and restore the level.
+	 */
+	@After
+	public void tearDown() {
+		LoggingUtil.removeSink(sink);
+		LoggingUtil.setLevel(LogLevel.DEBUG);
+	}
+
+	/**
+	 * Method to test that the messages reach the sink in order, filtered by level.
+	 */
+	@Test
+	public void testLogMessage() {
+		LoggingUtil.setLevel(LogLevel.INFO);
+		LoggingUtil.logMessage("first");
+		LoggingUtil.logMessage(LogLevel.DEBUG, "hidden");
+		LoggingUtil.logMessage(LogLevel.DEBUG, new Supplier<String>() {
+			@Override
+			public String get() {
+				fail("Message of a disabled level built");
+				return null;
+			}
+		});
+		LoggingUtil.logMessage(LogLevel.WARNING, new Supplier<String>() {
+			@Override
+			public String get() {
+				return "second";
+			}
+		});
+		assertFalse(LoggingUtil.isLoggable(LogLevel.DEBUG));
+		assertTrue(LoggingUtil.flush());
+		assertEquals(Arrays.asList("first", "second"), messages);
+	}
+
+	/**
+	 * Method to test that a sink failing with an error does not stop the
+	 * logging thread, so flushes still return.
+	 */
+	@Test
+	public void testFailingSink() {
+		LogSink failingSink = new LogSink() {
+			@Override
+			public void write(List<String> batch) {
+				throw new AssertionError("Sink failure");
+			}
+
+			@Override
+			public void close() {
+				// Nothing to release
+			}
+		};
+		LoggingUtil.addSink(failingSink);
+		LoggingUtil.logMessage("first");
+		assertTrue(LoggingUtil.flush());
+		LoggingUtil.removeSink(failingSink);
+		LoggingUtil.logMessage("second");
+		assertTrue(LoggingUtil.flush());
+		assertEquals(Arrays.asList("first", "second"), messages);
+	}
+
+	/**
+	 * Method to test that a full ring buffer drops messages instead of blocking.
+	 */
+	@Test
+	public void testRingBufferFull() {
+		LogRingBuffer buffer = new LogRingBuffer(4);
+		for (int i = 0; i < 4; i++) {
+			assertTrue(buffer.offer("message" + i));
+		}
+		assertFalse(buffer.offer("dropped"));
+		assertEquals(1, buffer.getDroppedCount());
+		List<String> batch = new ArrayList<>();
+		assertEquals(3, buffer.drain(batch, 3));
+		assertEquals("message0", batch.get(0));
+		assertTrue(buffer.offer("message4"));
+		assertEquals(2, buffer.drain(batch, 10));
+		assertEquals("message4", batch.get(4));
+	}
+}
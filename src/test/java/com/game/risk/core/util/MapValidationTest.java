@@ -8,6 +8,10 @@ import org.junit.Test;
 import static org.junit.Assert.*;
 
 import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Test class for Map Validation class.
@@ -112,4 +116,76 @@ public class MapValidationTest {
 		assertFalse(mapValidation.checkMandatoryTags(str1));
 	}
 
-}
\ No newline at end of file
+	/**
+	 * Test that validating the same graph twice gives the same result, the
+	 * visited state being scoped to each traversal.
+	 *
+	 * @throws Exception
+	 *             the exception
+	 */
+	@Test
+	public void testCheckConnectedRepeated() throws Exception {
+		MapFileReader reader = new MapFileReader(new File("src//test//resources//UnconnectedContinent.map"))
+				.readFile();
+		MapValidation validation = new MapValidation(reader.getCountriesGraph());
+		assertTrue(validation.checkConnectedGraph(reader.getCountriesGraph()));
+		assertFalse(validation.checkConnectedContinent(reader.getCountriesGraph()));
+		assertTrue(validation.checkConnectedGraph(reader.getCountriesGraph()));
+		assertFalse(validation.checkConnectedContinent(reader.getCountriesGraph()));
+	}
+
+	/**
+	 * Test checking the continents of a connected and of a disconnected map.
+	 *
+	 * @throws Exception
+	 *             the exception
+	 */
+	@Test
+	public void testCheckConnectedContinent() throws Exception {
+		MapFileReader reader = new MapFileReader(new File("src//test//resources//World.map")).readFile();
+		assertTrue(new MapValidation(reader.getCountriesGraph()).checkConnectedContinent(reader.getCountriesGraph()));
+		reader = new MapFileReader(new File("src//test//resources//UnconnectedContinent.map")).readFile();
+		assertFalse(
+				new MapValidation(reader.getCountriesGraph()).checkConnectedContinent(reader.getCountriesGraph()));
+	}
+
+	/**
+	 * Test validating map files in parallel.
+	 *
+	 * @throws Exception
+	 *             the exception
+	 */
+	@Test
+	public void testValidateMapFiles() throws Exception {
+		ForkJoinPool pool = new ForkJoinPool(2);
+		try {
+			File valid = new File("src//test//resources//3D Cliff.map");
+			File invalid = new File("src//test//resources//UnconnectedContinent.map");
+			Map<File, List<String>> errors = MapValidation.validateMapFiles(Arrays.asList(valid, invalid), pool);
+			assertTrue(errors.get(valid).isEmpty());
+			assertFalse(errors.get(invalid).isEmpty());
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Test the union-find connectivity of the whole map and of each continent.
+	 *
+	 * @throws Exception
+	 *             the exception
+	 */
+	@Test
+	public void testCheckConnectivity() throws Exception {
+		MapFileReader reader = new MapFileReader(new File("src//test//resources//UnconnectedContinent.map"))
+				.readFile();
+		ConnectivityAnalysis connectivity = new MapValidation(reader.getCountriesGraph())
+				.checkConnectivity(reader.getCountriesGraph());
+		assertTrue(connectivity.isConnected());
+		assertFalse(connectivity.isContinentsConnected());
+		assertEquals(1, connectivity.getDisconnectedCountries().size());
+		assertEquals(1, connectivity.getDisconnectedCountries().get("A").size());
+		assertEquals("T4", connectivity.getDisconnectedCountries().get("A").get(0).getCountryName());
+	}
+
+}
@@ -1,12 +1,19 @@
 package com.game.risk.core.util;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 
 import org.junit.Before;
 import org.junit.Test;
 
+import com.game.risk.core.GameState;
+import com.game.risk.core.MapFileReader;
+import com.game.risk.core.TwoPlayerGame;
 import com.game.risk.model.Continent;
 import com.game.risk.model.Country;
 import com.game.risk.model.Player;
@@ -183,4 +190,39 @@ public class ReinforcementPhaseUtilTest {
 
 	}
 
+	/**
+	 * Method to test that the continent bonus follows the captures of the
+	 * countries of a continent.
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testcalculateReinforcementArmiesWithContinentBonus() throws IOException {
+		TwoPlayerGame game = new TwoPlayerGame(1);
+		MapFileReader fileParser = game.getFileParser();
+		Player player1 = game.getPlayer1();
+		Player player2 = game.getPlayer2();
+		GameState gameState = game.getGameState();
+		assertEquals(14 + 5 + 2 + 3 + 5 + 7 + 2, ReinforcementPhaseUtil.calculateReinforcementArmies(player2));
+
+		for (String countryName : Arrays.asList("Indonesia", "New Guinea", "Western Australia",
+				"Eastern Australia")) {
+			Country country = fileParser.getCountriesHashMap().get(countryName);
+			country.setPlayerName(player1.getPlayerName());
+			player2.removeCountry(country);
+			player1.addCountry(country);
+		}
+		assertEquals(Collections.singletonList(fileParser.getContinentHashMap().get("Australia")),
+				player1.getContinentsOwned());
+		assertEquals(3 + 2, ReinforcementPhaseUtil.calculateReinforcementArmies(player1));
+		assertEquals(12 + 5 + 2 + 3 + 5 + 7, ReinforcementPhaseUtil.calculateReinforcementArmies(player2));
+
+		GameState copy = gameState.copy();
+		fileParser.getCountriesHashMap().get("Indonesia").setPlayerName(player2.getPlayerName());
+		assertEquals(0, player1.getContinentBonus());
+		assertTrue(player1.getContinentsOwned().isEmpty());
+		assertEquals(2, copy.getContinentBonus(0));
+		assertEquals(4, copy.getCountriesCount(0));
+	}
 }
@@ -4,15 +4,26 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
 
+import com.game.risk.SavedGameTest;
+import com.game.risk.TournamentEngineTest;
+import com.game.risk.core.ArmyIndexTest;
 import com.game.risk.core.CountriesGraphTest;
+import com.game.risk.core.DominationTrackerTest;
+import com.game.risk.core.MapEditorTest;
+import com.game.risk.core.MapFileWriterTest;
+import com.game.risk.core.MapGeneratorTest;
 import com.game.risk.core.StartUpPhaseTest;
 import com.game.risk.core.parser.MapFileParserTest;
 import com.game.risk.core.strategy.impl.AgressivePlayerStrategyTest;
 import com.game.risk.core.strategy.impl.BenevolentPlayerStrategyTest;
 import com.game.risk.core.strategy.impl.CheaterPlayerStrategyTest;
+import com.game.risk.core.strategy.impl.MctsPlayerStrategyTest;
 import com.game.risk.core.strategy.impl.RandomPlayerStrategyTest;
 import com.game.risk.core.util.AttackPhaseUtilTest;
+import com.game.risk.core.util.BlitzTableTest;
+import com.game.risk.core.util.DynamicConnectivityTest;
 import com.game.risk.core.util.FortificationPhaseUtilTest;
+import com.game.risk.core.util.LoggingUtilTest;
 import com.game.risk.core.util.MapValidationTest;
 import com.game.risk.core.util.ReinforcementPhaseUtilTest;
 
@@ -27,6 +38,10 @@ import com.game.risk.core.util.ReinforcementPhaseUtilTest;
 @SuiteClasses({ StartUpPhaseTest.class, CheaterPlayerStrategyTest.class, RandomPlayerStrategyTest.class,
 		BenevolentPlayerStrategyTest.class, AgressivePlayerStrategyTest.class, AttackPhaseUtilTest.class,
 		CountriesGraphTest.class, MapFileParserTest.class, FortificationPhaseUtilTest.class, MapValidationTest.class,
-		ReinforcementPhaseUtilTest.class })
+		ReinforcementPhaseUtilTest.class, LoggingUtilTest.class, TournamentEngineTest.class,
+		MctsPlayerStrategyTest.class, SavedGameTest.class,
+		MapGeneratorTest.class, MapFileWriterTest.class, DynamicConnectivityTest.class,
+		MapEditorTest.class, DominationTrackerTest.class,
+		ArmyIndexTest.class, BlitzTableTest.class })
 public class JunitTestSuite {
 }
\ No newline at end of file